@@ -0,0 +1,89 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.aladdin.task.practice.PracticeApplication;
+import com.aladdin.task.practice.config.SqliteShards;
+
+/**
+ * <p> 벤치마크용 애플리케이션 컨텍스트 기동 도우미</p>
+ * <p> 매 실행마다 임시 SQLite 파일을 만들어 사용하므로 로컬 mydb.db에는 영향을 주지 않습니다.</p>
+ * */
+final class BenchmarkApplication {
+
+	private BenchmarkApplication() {}
+	
+	static Path createTempDatabase() throws IOException {
+		Path db = Files.createTempFile("practice-bench-", ".db");
+		db.toFile().deleteOnExit();
+		return db;
+	}
+	
+	static ConfigurableApplicationContext start(Path db, String... extraProperties) {
+		String[] properties = new String[] {
+				"spring.datasource.url=jdbc:sqlite:" + db.toAbsolutePath(),
+				"spring.jpa.show-sql=false",
+				"spring.jpa.properties.hibernate.format_sql=false",
+				"logging.level.root=WARN",
+				"server.port=0",
+				// 서명 키를 작업 디렉터리의 jwt-keys.json 에 저장하지 않음 (메모리 키만 사용)
+				"jwt.keys.store=",
+				// 요청 한도는 RequestRateLimiterBenchmark에서 따로 측정 (부하 측정 중 429가 섞이지 않도록)
+				"rate-limit.user.read.permits-per-second=0",
+				"rate-limit.user.write.permits-per-second=0",
+				"rate-limit.ip.read.permits-per-second=0",
+				"rate-limit.ip.write.permits-per-second=0"
+		};
+		
+		// builder.properties()는 기본값(application.properties보다 우선순위가 낮음)이라 명령행 인자로 전달
+		return new SpringApplicationBuilder(PracticeApplication.class)
+				.web(WebApplicationType.SERVLET)
+				.run(args(properties, extraProperties));
+	}
+	
+	// 같은 키를 명령행 인자로 두 번 주면 값이 ','로 합쳐지므로 extraProperties 값으로 덮어씀
+	private static String[] args(String[] properties, String[] extraProperties) {
+		Map<String, String> merged = new LinkedHashMap<>();
+		Stream.concat(Arrays.stream(properties), Arrays.stream(extraProperties)).forEach(property -> {
+			int eq = property.indexOf('=');
+			merged.put(property.substring(0, eq), property.substring(eq + 1));
+		});
+		return merged.entrySet().stream()
+				.map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+				.toArray(String[]::new);
+	}
+	
+	static void deleteDatabase(Path db) throws IOException {
+		deleteDatabase(db, 1);
+	}
+	
+	// sqlite.shards로 기동한 경우 샤드 파일(<이름>-shard<i>.db)까지 삭제
+	static void deleteDatabase(Path db, int shards) throws IOException {
+		for (int i = 0; i < shards; i++) {
+			Path shard = Path.of(SqliteShards.shardUrl(db.toString(), i));
+			Files.deleteIfExists(shard);
+			Files.deleteIfExists(Path.of(shard + "-wal"));
+			Files.deleteIfExists(Path.of(shard + "-shm"));
+		}
+	}
+	
+	// memory-store 로그/스냅샷 디렉터리 삭제
+	static void deleteDirectory(Path dir) throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.aladdin.task.practice.benchmark;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p> JwtAuthenticationFilter -> RestTodosController 전체 요청 처리 비용 측정 (MockMvc, 임시 파일 SQLite)</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterChainBenchmark {
+
+	private static final String USER_JSON = "{\"userId\":\"bench_user\",\"password\":\"testpassword\"}";
+	
+	private Path db;
+	private ConfigurableApplicationContext context;
+	private MockMvc mockMvc;
+	private String bearer;
+	private String todoUrl;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		db = BenchmarkApplication.createTempDatabase();
+		context = BenchmarkApplication.start(db);
+		mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+				.apply(springSecurity())
+				.build();
+		ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+		
+		// 회원 가입/로그인은 CompletableFuture 비동기 응답이므로 asyncDispatch로 결과를 받음
+		MvcResult signup = mockMvc.perform(post("/users/signup").contentType(MediaType.APPLICATION_JSON).content(USER_JSON))
+				.andReturn();
+		mockMvc.perform(asyncDispatch(signup));
+		MvcResult login = mockMvc.perform(asyncDispatch(
+				mockMvc.perform(post("/users/login").contentType(MediaType.APPLICATION_JSON).content(USER_JSON)).andReturn()))
+				.andReturn();
+		bearer = "Bearer " + objectMapper.readTree(login.getResponse().getContentAsString()).get("access_token").asText();
+		
+		MvcResult batch = mockMvc.perform(post("/todos/batch")
+				.header("Authorization", bearer)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"content\":\"벤치마크 할 일 1\"},{\"content\":\"벤치마크 할 일 2\"}]"))
+				.andReturn();
+		long seq = objectMapper.readTree(batch.getResponse().getContentAsString()).get("results").get(0).get("seq").asLong();
+		todoUrl = "/todos/" + seq;
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.close();
+		BenchmarkApplication.deleteDatabase(db);
+	}
+	
+	@Benchmark
+	public int getTodo() throws Exception {
+		return performGet(todoUrl);
+	}
+	
+	@Benchmark
+	public int listTodos() throws Exception {
+		return performGet("/todos");
+	}
+	
+	@Benchmark
+	public int getMe() throws Exception {
+		return mockMvc.perform(get("/users/me").header("Authorization", bearer)).andReturn().getResponse().getStatus();
+	}
+	
+	// todo 조회는 StreamingResponseBody로 응답하므로 본문 기록(asyncDispatch)까지 포함해 측정
+	private int performGet(String url) throws Exception {
+		MvcResult result = mockMvc.perform(get(url).header("Authorization", bearer)).andReturn();
+		if (result.getRequest().isAsyncStarted()) {
+			result = mockMvc.perform(asyncDispatch(result)).andReturn();
+		}
+		return result.getResponse().getStatus();
+	}
+}
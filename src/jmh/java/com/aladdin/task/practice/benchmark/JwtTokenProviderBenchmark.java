@@ -0,0 +1,70 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.aladdin.task.practice.utils.jwt.JwtKeyRing;
+import com.aladdin.task.practice.utils.jwt.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p> JwtTokenProvider 토큰 발급/검증/사용자 추출 비용 측정 (서명 알고리즘별)</p>
+ * <p> ES256/RS256 검증은 JwtKeyRing에 미리 변환해 둔 공개키를 kid로 찾아 사용합니다.</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+	private static final String SECRET = "benchmark-secret-key-which-is-long-enough-for-hs256";
+	private static final long VALIDITY_MILLIS = 900000;
+	
+	@Param({"HS256", "ES256", "RS256"})
+	private String algorithm;
+	
+	private JwtTokenProvider jwtTokenProvider;
+	private Authentication authentication;
+	private String token;
+	
+	@Setup
+	public void setup() {
+		// 키 교체 없음 (Duration.ZERO), 서명 노드
+		JwtKeyRing keyRing = new JwtKeyRing(algorithm, SECRET, VALIDITY_MILLIS, Duration.ZERO, "", "", Duration.ZERO, new ObjectMapper());
+		jwtTokenProvider = new JwtTokenProvider(keyRing, VALIDITY_MILLIS);
+		authentication = new UsernamePasswordAuthenticationToken("bench_user", null, Collections.emptyList());
+		token = jwtTokenProvider.createToken(authentication);
+	}
+	
+	@Benchmark
+	public String createToken() {
+		return jwtTokenProvider.createToken(authentication);
+	}
+	
+	@Benchmark
+	public boolean validateToken() {
+		return jwtTokenProvider.validateToken(token);
+	}
+	
+	@Benchmark
+	public String getUsernameFromToken() {
+		return jwtTokenProvider.getUsernameFromToken(token);
+	}
+}
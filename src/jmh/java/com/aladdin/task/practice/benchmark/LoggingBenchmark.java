@@ -0,0 +1,153 @@
+package com.aladdin.task.practice.benchmark;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+/**
+ * <p> 동시 요청 16개에서 로그 출력 방식에 따른 요청 지연시간 분포 (SampleTime : p50/p99/p99.9)</p>
+ * <p> legacy : 기존 설정 재현 (show-sql + format_sql로 SQL을 stdout에 동기 출력, 요청 경로 로그 출력, 콘솔 appender 동기 호출)<br>
+ * async : 현재 설정 (show-sql 끔, 요청 경로 로그는 DEBUG, 접근 로그 1줄, 비동기 appender)</p>
+ * <p> 콘솔 출력은 임시 파일로 보냅니다. (autoflush, 실제 콘솔/파일 쓰기 비용 포함)</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(16)
+@Fork(1)
+public class LoggingBenchmark {
+
+	private static final String USER_JSON = "{\"userId\":\"bench_user\",\"password\":\"testpassword\"}";
+	
+	@Param({"legacy", "async"})
+	private String logging;
+	
+	private Path db;
+	private Path logFile;
+	private PrintStream originalOut;
+	private ConfigurableApplicationContext context;
+	private MockMvc mockMvc;
+	private String bearer;
+	private String todoUrl;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		db = BenchmarkApplication.createTempDatabase();
+		logFile = Files.createTempFile("practice-bench-log-", ".log");
+		originalOut = System.out;
+		System.setOut(new PrintStream(new FileOutputStream(logFile.toFile()), true, StandardCharsets.UTF_8));
+		
+		if ("legacy".equals(logging)) {
+			context = BenchmarkApplication.start(db,
+					"logging.level.root=INFO",
+					"spring.jpa.show-sql=true",
+					"spring.jpa.properties.hibernate.format_sql=true",
+					// 요청 경로 로그(기존에는 INFO)를 모두 출력
+					"logging.level.com.aladdin.task.practice=DEBUG",
+					"logging.level.access=OFF");
+			useSynchronousConsole();
+		} else {
+			context = BenchmarkApplication.start(db, "logging.level.root=INFO");
+		}
+		
+		mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+				.apply(springSecurity())
+				.build();
+		ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+		
+		mockMvc.perform(asyncDispatch(mockMvc.perform(post("/users/signup")
+				.contentType(MediaType.APPLICATION_JSON).content(USER_JSON)).andReturn()));
+		MvcResult login = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/users/login")
+				.contentType(MediaType.APPLICATION_JSON).content(USER_JSON)).andReturn())).andReturn();
+		bearer = "Bearer " + objectMapper.readTree(login.getResponse().getContentAsString()).get("access_token").asText();
+		
+		StringBuilder batch = new StringBuilder("[");
+		for (int i = 0; i < 20; i++) {
+			batch.append(i == 0 ? "" : ",").append("{\"content\":\"벤치마크 할 일 ").append(i).append("\"}");
+		}
+		MvcResult created = mockMvc.perform(post("/todos/batch")
+				.header("Authorization", bearer)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(batch.append("]").toString()))
+				.andReturn();
+		todoUrl = "/todos/" + objectMapper.readTree(created.getResponse().getContentAsString()).get("results").get(0).get("seq").asLong();
+	}
+	
+	// 루트 logger의 비동기 appender를 떼고 내부 콘솔 appender를 직접 연결 (기존 동기 출력)
+	private static void useSynchronousConsole() {
+		Logger root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+		AsyncAppender async = (AsyncAppender) root.getAppender("ASYNC_CONSOLE");
+		Appender<ILoggingEvent> console = async.getAppender("CONSOLE");
+		root.detachAppender(async);
+		root.addAppender(console);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.close();
+		System.out.close();
+		System.setOut(originalOut);
+		System.out.println("log file size : " + Files.size(logFile) + " bytes");
+		Files.deleteIfExists(logFile);
+		BenchmarkApplication.deleteDatabase(db);
+	}
+	
+	@Benchmark
+	public int listTodos() throws Exception {
+		return performGet("/todos");
+	}
+	
+	@Benchmark
+	public int getTodo() throws Exception {
+		return performGet(todoUrl);
+	}
+	
+	// todo 조회는 StreamingResponseBody로 응답하므로 본문 기록(asyncDispatch)까지 포함해 측정
+	private int performGet(String url) throws Exception {
+		MvcResult result = mockMvc.perform(get(url).header("Authorization", bearer)).andReturn();
+		if (result.getRequest().isAsyncStarted()) {
+			result = mockMvc.perform(asyncDispatch(result)).andReturn();
+		}
+		return result.getResponse().getStatus();
+	}
+}
@@ -0,0 +1,50 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.aladdin.task.practice.config.AppConfig;
+
+/**
+ * <p> 로그인 시 비밀번호 검증(BCrypt matches) 비용 측정. AppConfig와 같은 DelegatingPasswordEncoder 구성을 사용합니다.</p>
+ * <p> strength별 결과로 password.bcrypt.target-millis 예산과 산정 결과를 비교할 수 있습니다.</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+	private static final String RAW_PASSWORD = "testpassword";
+	
+	@Param({"8", "10", "12"})
+	private int strength;
+	
+	private PasswordEncoder passwordEncoder;
+	private String encodedPassword;
+	
+	@Setup
+	public void setup() {
+		passwordEncoder = AppConfig.delegatingPasswordEncoder(strength);
+		encodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+	}
+	
+	@Benchmark
+	public boolean matches() {
+		return passwordEncoder.matches(RAW_PASSWORD, encodedPassword);
+	}
+}
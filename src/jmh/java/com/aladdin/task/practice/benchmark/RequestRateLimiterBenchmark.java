@@ -0,0 +1,89 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aladdin.task.practice.utils.ratelimit.RequestRateLimiter;
+import com.aladdin.task.practice.utils.ratelimit.RequestRateLimiter.Quota;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * <p> RequestRateLimiter 버킷 차감 비용 및 키 수에 따른 힙 사용량 측정</p>
+ * <p> 기존 키 차감(acquireExisting)은 Map 조회 + CAS 1회, 한도 초과(acquireRejected)는 CAS 없이 대기시간만 계산합니다.
+ * 버킷 하나당 힙 사용량(Map 엔트리 + Bucket, 키 문자열 제외)은 Setup에서 GC 전후 힙 차이로 출력합니다.</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestRateLimiterBenchmark {
+
+	@Param({"1000", "100000"})
+	private int keys;
+	
+	private RequestRateLimiter limiter;
+	private String[] users;
+	private int next;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		users = new String[keys];
+		for (int i = 0; i < keys; i++) {
+			users[i] = "bench_user_" + i;
+		}
+		
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		long before = usedHeapAfterGc(memory);
+		// 읽기는 사실상 무제한, 쓰기는 burst 1개만 허용 (두 번째부터 거절)
+		limiter = new RequestRateLimiter(new Quota(1_000_000_000, 1_000_000), new Quota(0.001, 1),
+				new Quota(1_000_000_000, 1_000_000), new Quota(0.001, 1),
+				keys + 1, TimeUnit.HOURS.toMillis(1), new SimpleMeterRegistry());
+		for (String user : users) {
+			limiter.acquireForUser(user, false);
+			limiter.acquireForUser(user, true);
+		}
+		long after = usedHeapAfterGc(memory);
+		System.out.printf("%n[RequestRateLimiter] keys=%d, heap=%d KB, %d bytes/key%n",
+				limiter.size(), (after - before) / 1024, (after - before) / keys);
+	}
+	
+	private static long usedHeapAfterGc(MemoryMXBean memory) {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+	
+	private String nextUser() {
+		int i = next + 1;
+		next = i == keys ? 0 : i;
+		return users[next];
+	}
+	
+	@Benchmark
+	public long acquireExisting() {
+		return limiter.acquireForUser(nextUser(), false);
+	}
+	
+	@Benchmark
+	public long acquireRejected() {
+		return limiter.acquireForUser(nextUser(), true);
+	}
+}
@@ -0,0 +1,104 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.service.TodosIngestService;
+import com.aladdin.task.practice.service.UsersService;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+
+/**
+ * <p> 샤드 수(sqlite.shards)에 따른 todo 등록 처리량</p>
+ * <p> 동시 요청 16개가 요청마다 커밋(todos.ingest.mode=sync)하며, 스레드마다 서로 다른 샤드의 사용자로 고르게 나눠 등록합니다.
+ * 샤드가 1개면 모든 커밋이 하나의 writer(쓰기 풀 커넥션 1개)를 기다리고, 샤드가 N개면 writer가 N개입니다.</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ShardWriteBenchmark {
+
+	@Param({"1", "2", "4"})
+	private int shards;
+
+	@Param({"NORMAL", "FULL"})
+	private String synchronous;
+
+	private Path db;
+	private ConfigurableApplicationContext context;
+	private TodosIngestService todosIngestService;
+	// 샤드별 작성자 seq
+	private long[] ownerSeqs;
+	private final AtomicInteger nextThread = new AtomicInteger();
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		db = BenchmarkApplication.createTempDatabase();
+		context = BenchmarkApplication.start(db,
+				"sqlite.shards=" + shards,
+				"sqlite.synchronous=" + synchronous,
+				"todos.ingest.mode=" + TodosIngestService.MODE_SYNC);
+		todosIngestService = context.getBean(TodosIngestService.class);
+
+		ShardResolver shardResolver = context.getBean(ShardResolver.class);
+		UsersService usersService = context.getBean(UsersService.class);
+		ownerSeqs = new long[shards];
+		int found = 0;
+		for (int n = 0; found < shards; n++) {
+			String userId = "bench_owner_" + n;
+			int shard = shardResolver.shardOf(userId);
+			if (ownerSeqs[shard] == 0) {
+				UsersEntity owner = new UsersEntity(userId, "password");
+				usersService.insertUsers(owner);
+				ownerSeqs[shard] = owner.getSeq();
+				found++;
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.close();
+		BenchmarkApplication.deleteDatabase(db, shards);
+	}
+
+	// 벤치마크 스레드 i는 샤드 (i % shards)의 사용자로 등록
+	@State(Scope.Thread)
+	public static class Owner {
+		private long ownerSeq;
+
+		@Setup(Level.Trial)
+		public void setup(ShardWriteBenchmark benchmark) {
+			ownerSeq = benchmark.ownerSeqs[benchmark.nextThread.getAndIncrement() % benchmark.shards];
+		}
+	}
+
+	@Benchmark
+	public Long insert(Owner owner) {
+		TodosEntity todos = new TodosEntity("벤치마크 신규 할 일");
+		todos.setOwnerSeq(owner.ownerSeq);
+		return todosIngestService.insert(todos).join();
+	}
+}
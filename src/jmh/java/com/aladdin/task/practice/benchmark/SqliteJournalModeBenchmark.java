@@ -0,0 +1,103 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * <p> 읽기/쓰기가 섞인 부하에서 SQLite 저널 모드별 처리량 (DataSourceConfig의 쓰기 풀 1개 + 읽기 풀)</p>
+ * <p> todo 10,000건에 읽기 스레드 4개(seq 이후 100건 조회, 읽기 전용 트랜잭션 -> 읽기 풀)와
+ * 쓰기 스레드 2개(todo 1건 등록, 쓰기 풀)를 동시에 돌립니다. 결과의 mixed:read / mixed:write 가 각각의 초당 처리량입니다.</p>
+ * <ul>
+ *   <li>journal=rollback : 드라이버 기본값 (journal_mode=DELETE, synchronous=FULL, mmap 없음, cache_size 기본)</li>
+ *   <li>journal=wal : application.properties 설정 (journal_mode=WAL, synchronous=NORMAL, mmap 256MB, cache_size 16MB)</li>
+ * </ul>
+ * */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqliteJournalModeBenchmark {
+
+	private static final int TODOS = 10_000;
+	private static final int PAGE = 100;
+
+	@Param({"rollback", "wal"})
+	private String journal;
+
+	private Path db;
+	private ConfigurableApplicationContext context;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readOnlyTransaction;
+	private long ownerSeq;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		db = BenchmarkApplication.createTempDatabase();
+		context = "wal".equals(journal)
+				? BenchmarkApplication.start(db)
+				: BenchmarkApplication.start(db,
+						"sqlite.journal-mode=DELETE",
+						"sqlite.synchronous=FULL",
+						"sqlite.mmap-size=0",
+						"sqlite.cache-size=-2000");
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+		readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		readOnlyTransaction.setReadOnly(true);
+
+		jdbcTemplate.update("INSERT INTO users (user_id, password) VALUES (?, ?)", "bench_journal_owner", "password");
+		ownerSeq = jdbcTemplate.queryForObject("SELECT seq FROM users WHERE user_id = ?", Long.class, "bench_journal_owner");
+		List<Object[]> batch = new ArrayList<>(TODOS);
+		for (int i = 0; i < TODOS; i++) {
+			batch.add(new Object[] {ownerSeq, "벤치마크 할 일 " + i});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO todos (owner_seq, content) VALUES (?, ?)", batch);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.close();
+		BenchmarkApplication.deleteDatabase(db);
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(4)
+	public List<Map<String, Object>> read() {
+		long after = ThreadLocalRandom.current().nextInt(TODOS - PAGE);
+		return readOnlyTransaction.execute(status -> jdbcTemplate.queryForList(
+				"SELECT seq, content FROM todos WHERE seq > ? ORDER BY seq LIMIT ?", after, PAGE));
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(2)
+	public int write() {
+		return jdbcTemplate.update("INSERT INTO todos (owner_seq, content) VALUES (?, ?)", ownerSeq, "벤치마크 신규 할 일");
+	}
+}
@@ -0,0 +1,84 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.service.TodosService;
+
+/**
+ * <p> 이미 마이그레이션된 DB로 재기동하는 시간 (컨텍스트 기동 ~ 종료)</p>
+ * <p> todo 건수가 늘어도 기동 시간이 같아야 함 (마이그레이션은 이력 검증만 하고 건너뜀). lazy 프로필과 비교</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class StartupBenchmark {
+
+	private static final int SEED_BATCH = 1_000;
+	
+	@Param({"0", "200000"})
+	private int todos;
+	
+	@Param({"default", "lazy"})
+	private String profile;
+	
+	private Path db;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		db = BenchmarkApplication.createTempDatabase();
+		try (ConfigurableApplicationContext context = BenchmarkApplication.start(db)) {
+			TodosService todosService = context.getBean(TodosService.class);
+			Long ownerSeq = context.getBean(UsersRepository.class).save(new UsersEntity("bench_owner", "password")).getSeq();
+			
+			List<TodosEntity> batch = new ArrayList<>(SEED_BATCH);
+			for (int i = 0; i < todos; i++) {
+				TodosEntity todo = new TodosEntity("벤치마크 할 일 " + i);
+				todo.setOwnerSeq(ownerSeq);
+				batch.add(todo);
+				if (batch.size() == SEED_BATCH) {
+					todosService.insertTodosGroup(batch);
+					batch.clear();
+				}
+			}
+			if (!batch.isEmpty()) {
+				todosService.insertTodosGroup(batch);
+			}
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		BenchmarkApplication.deleteDatabase(db);
+	}
+	
+	@Benchmark
+	public void restart() {
+		try (ConfigurableApplicationContext context = BenchmarkApplication.start(db, "spring.profiles.active=" + profile)) {
+			// 기동 완료(ready)까지 측정
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.service.TodosIngestService;
+
+/**
+ * <p> POST /todos 등록 처리량 비교 : 요청마다 커밋(sync) vs 단일 writer 배치 커밋(group-commit)</p>
+ * <p> 동시 요청 16개가 각자 등록 후 커밋 완료(seq 반환)까지 기다립니다.
+ * sqlite.synchronous=FULL 은 커밋마다 fsync 하므로 커밋 횟수를 줄이는 group commit의 효과가 가장 크게 드러납니다.</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class TodosIngestBenchmark {
+
+	@Param({TodosIngestService.MODE_SYNC, TodosIngestService.MODE_GROUP_COMMIT})
+	private String mode;
+	
+	@Param({"NORMAL", "FULL"})
+	private String synchronous;
+	
+	private Path db;
+	private ConfigurableApplicationContext context;
+	private TodosIngestService todosIngestService;
+	private Long ownerSeq;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		db = BenchmarkApplication.createTempDatabase();
+		context = BenchmarkApplication.start(db,
+				"todos.ingest.mode=" + mode,
+				"sqlite.synchronous=" + synchronous);
+		todosIngestService = context.getBean(TodosIngestService.class);
+		ownerSeq = context.getBean(UsersRepository.class).save(new UsersEntity("bench_owner", "password")).getSeq();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.close();
+		BenchmarkApplication.deleteDatabase(db);
+	}
+	
+	@Benchmark
+	public Long insert() {
+		TodosEntity todos = new TodosEntity("벤치마크 신규 할 일");
+		todos.setOwnerSeq(ownerSeq);
+		return todosIngestService.insert(todos).join();
+	}
+}
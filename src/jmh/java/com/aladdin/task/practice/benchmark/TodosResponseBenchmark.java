@@ -0,0 +1,100 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.utils.http.TodosJsonWriter;
+import com.aladdin.task.practice.vo.TodoView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p> GET /todos 응답 본문 직렬화 비용 측정 (DB 없이 직렬화만)</p>
+ * <ul>
+ *   <li>entityToString : 이전 방식 (엔티티 toString 문자열을 응답 writer에 기록)</li>
+ *   <li>objectMapperString : 응답 Map을 ObjectMapper.writeValueAsString으로 한 번에 문자열화 후 기록</li>
+ *   <li>streamingWriter : TodosJsonWriter (미리 만든 ObjectWriter + JsonGenerator로 스트림에 바로 기록)</li>
+ * </ul>
+ * <p> 요청당 할당량은 GC 프로파일러로 확인합니다 : ./gradlew jmh -PjmhIncludes=TodosResponseBenchmark -PjmhProfilers=gc</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodosResponseBenchmark {
+
+	private static final String MESSAGE = "todos 리스트 조회 성공!";
+	
+	@Param({"10", "100", "1000"})
+	private int size;
+	
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private TodosJsonWriter todosJsonWriter;
+	// 이전 방식 : 엔티티 목록 / 현재 방식 : TodoView 프로젝션 목록 (같은 데이터)
+	private List<TodosEntity> todos;
+	private List<TodoView> todoViews;
+	// 응답 스트림 대용 (버퍼 증가분이 측정에 섞이지 않도록 버림)
+	private final OutputStream sink = OutputStream.nullOutputStream();
+	
+	@Setup
+	public void setup() {
+		todosJsonWriter = new TodosJsonWriter(objectMapper);
+		todos = new ArrayList<>(size);
+		todoViews = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			TodosEntity todo = new TodosEntity("벤치마크 할 일 " + i);
+			todo.setSeq((long) i + 1);
+			todo.setOwnerSeq(1L);
+			todo.setVersion(0L);
+			todos.add(todo);
+			todoViews.add(TodoView.of(todo.getSeq(), todo.getContent(), todo.getVersion()));
+		}
+	}
+	
+	@Benchmark
+	public void entityToString() {
+		PrintWriter writer = new PrintWriter(new OutputStreamWriter(sink, StandardCharsets.UTF_8));
+		writer.write(MESSAGE + " [");
+		for (int i = 0; i < todos.size(); i++) {
+			if (i > 0) writer.write(", ");
+			writer.write(todos.get(i).toString());
+		}
+		writer.write("]");
+		writer.flush();
+	}
+	
+	@Benchmark
+	public void objectMapperString() throws IOException {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("message", MESSAGE);
+		body.put("todos", todos);
+		sink.write(objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@Benchmark
+	public void streamingWriter() throws IOException {
+		todosJsonWriter.writeTodos(sink, MESSAGE, todoViews, null);
+	}
+}
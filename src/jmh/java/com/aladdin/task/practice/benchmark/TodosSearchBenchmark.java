@@ -0,0 +1,105 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.aladdin.task.practice.service.TodosService;
+
+/**
+ * <p> todo 100만 건(사용자 1,000명 x 1,000건)에서 GET /todos/search 1페이지(20건) 비용</p>
+ * <ul>
+ *   <li>term : 할 (모든 행, 사용자당 1,000건) / t3 (10%, 사용자당 100건) / w7 (0.1%, 사용자당 1건)</li>
+ *   <li>scope=owner : TodosService 검색 (작성자 토큰 AND 검색어, FTS5가 사용자 행으로 좁힌 뒤 bm25)</li>
+ *   <li>scope=join : V3 이전 쿼리 형태 (검색어만 MATCH 후 JOIN에서 작성자 필터, 전체 일치 행에 bm25)</li>
+ * </ul>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodosSearchBenchmark {
+
+	private static final int OWNERS = 1_000;
+	private static final int TODOS_PER_OWNER = 1_000;
+	private static final int BATCH = 10_000;
+	private static final int PAGE = 20;
+
+	private static final String JOIN_SEARCH_SQL = "SELECT t.seq, t.content, t.version"
+			+ " FROM todos_fts JOIN todos t ON t.seq = todos_fts.rowid"
+			+ " WHERE todos_fts MATCH ? AND t.owner_seq = ?"
+			+ " ORDER BY todos_fts.rank LIMIT ? OFFSET 0";
+
+	@Param({"할", "t3", "w7"})
+	private String term;
+
+	@Param({"owner", "join"})
+	private String scope;
+
+	private Path db;
+	private ConfigurableApplicationContext context;
+	private TodosService todosService;
+	private JdbcTemplate jdbcTemplate;
+	private long firstOwnerSeq;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		db = BenchmarkApplication.createTempDatabase();
+		context = BenchmarkApplication.start(db);
+		todosService = context.getBean(TodosService.class);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+		List<Object[]> users = new ArrayList<>(OWNERS);
+		for (int owner = 0; owner < OWNERS; owner++) {
+			users.add(new Object[] {"bench_search_" + owner, "password"});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO users (user_id, password) VALUES (?, ?)", users);
+		firstOwnerSeq = jdbcTemplate.queryForObject("SELECT min(seq) FROM users", Long.class);
+
+		// 사용자별 todo가 seq 상에서 섞이도록 i번째 행은 i % OWNERS 사용자에게 배정 (FTS 트리거로 색인)
+		List<Object[]> batch = new ArrayList<>(BATCH);
+		for (int i = 0; i < OWNERS * TODOS_PER_OWNER; i++) {
+			batch.add(new Object[] {firstOwnerSeq + i % OWNERS, "할 일 t" + (i / OWNERS) % 10 + " w" + (i / OWNERS)});
+			if (batch.size() == BATCH) {
+				jdbcTemplate.batchUpdate("INSERT INTO todos (owner_seq, content) VALUES (?, ?)", batch);
+				batch.clear();
+			}
+		}
+		jdbcTemplate.execute("INSERT INTO todos_fts(todos_fts) VALUES ('optimize')");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.close();
+		BenchmarkApplication.deleteDatabase(db);
+	}
+
+	@Benchmark
+	public List<?> search() {
+		long ownerSeq = firstOwnerSeq + ThreadLocalRandom.current().nextInt(OWNERS);
+		if ("owner".equals(scope)) {
+			return todosService.getSearchTodo(ownerSeq, term, PAGE, 0);
+		}
+		return jdbcTemplate.queryForList(JOIN_SEARCH_SQL, "content : (\"" + term + "\")", ownerSeq, PAGE);
+	}
+}
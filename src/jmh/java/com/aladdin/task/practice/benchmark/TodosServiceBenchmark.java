@@ -0,0 +1,104 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.service.TodosService;
+import com.aladdin.task.practice.vo.TodoView;
+
+/**
+ * <p> TodosService CRUD 비용 측정 (임시 파일 SQLite + 실제 JPA/트랜잭션 구성)</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodosServiceBenchmark {
+
+	private static final int SEED_TODOS = 10_000;
+	
+	private Path db;
+	private ConfigurableApplicationContext context;
+	private TodosService todosService;
+	private Long ownerSeq;
+	private long firstSeq;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		db = BenchmarkApplication.createTempDatabase();
+		context = BenchmarkApplication.start(db);
+		todosService = context.getBean(TodosService.class);
+		
+		UsersEntity owner = context.getBean(UsersRepository.class).save(new UsersEntity("bench_owner", "password"));
+		ownerSeq = owner.getSeq();
+		
+		for (int i = 0; i < SEED_TODOS; i++) {
+			TodosEntity todos = new TodosEntity("벤치마크 할 일 " + i);
+			todos.setOwnerSeq(ownerSeq);
+			todosService.insertTodos(todos);
+			if (i == 0) {
+				firstSeq = todos.getSeq();
+			}
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.close();
+		BenchmarkApplication.deleteDatabase(db);
+	}
+	
+	@Benchmark
+	public TodosEntity insert() {
+		TodosEntity todos = new TodosEntity("벤치마크 신규 할 일");
+		todos.setOwnerSeq(ownerSeq);
+		todosService.insertTodos(todos);
+		return todos;
+	}
+	
+	@Benchmark
+	public TodoView getBySeq() {
+		return todosService.getTodosBySeq(ownerSeq, randomSeq());
+	}
+	
+	@Benchmark
+	public Slice<TodoView> listPage() {
+		return todosService.getTodoList(ownerSeq, randomSeq(), 100);
+	}
+	
+	@Benchmark
+	public Long update() {
+		return todosService.updateTodo(ownerSeq, randomSeq(), "벤치마크 수정 " + System.nanoTime(), null);
+	}
+	
+	@Benchmark
+	public int insertAndDelete() {
+		TodosEntity todos = insert();
+		return todosService.DeleteTodo(ownerSeq, todos.getSeq(), null);
+	}
+	
+	private long randomSeq() {
+		return firstSeq + ThreadLocalRandom.current().nextInt(SEED_TODOS);
+	}
+}
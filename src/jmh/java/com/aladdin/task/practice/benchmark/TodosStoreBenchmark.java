@@ -0,0 +1,115 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.repository.memory.MemoryTodosStore;
+import com.aladdin.task.practice.service.TodosService;
+import com.aladdin.task.practice.vo.TodoView;
+
+/**
+ * <p> todo 저장소 엔진별 TodosService 단건 조회 / 목록 / 등록 비용</p>
+ * <ul>
+ *   <li>jpa : SQLite + JPA (기본, sqlite.synchronous=NORMAL 이라 커밋마다 fsync 하지 않음)</li>
+ *   <li>memory : memory-store 프로필 (등록마다 로그 fsync)</li>
+ *   <li>memory-nofsync : memory-store 프로필, todos.memory-store.fsync=false (로그 write만, SQLite NORMAL과 비슷한 보장)</li>
+ * </ul>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodosStoreBenchmark {
+
+	private static final int SEED_TODOS = 10_000;
+
+	@Param({"jpa", "memory", "memory-nofsync"})
+	private String engine;
+
+	private Path db;
+	private Path storeDir;
+	private ConfigurableApplicationContext context;
+	private TodosService todosService;
+	private Long ownerSeq;
+	private long firstSeq;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		db = BenchmarkApplication.createTempDatabase();
+		if (engine.startsWith("memory")) {
+			storeDir = Files.createTempDirectory("practice-bench-todos-");
+			context = BenchmarkApplication.start(db,
+					"spring.profiles.active=" + MemoryTodosStore.PROFILE,
+					"todos.memory-store.dir=" + storeDir.toAbsolutePath(),
+					"todos.memory-store.fsync=" + !engine.endsWith("nofsync"));
+		} else {
+			context = BenchmarkApplication.start(db);
+		}
+		todosService = context.getBean(TodosService.class);
+
+		UsersEntity owner = context.getBean(UsersRepository.class).save(new UsersEntity("bench_owner", "password"));
+		ownerSeq = owner.getSeq();
+
+		List<TodosEntity> seed = new ArrayList<>(SEED_TODOS);
+		for (int i = 0; i < SEED_TODOS; i++) {
+			seed.add(new TodosEntity("벤치마크 할 일 " + i));
+		}
+		firstSeq = todosService.insertTodosBatch(ownerSeq, seed).get(0).getSeq();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.close();
+		BenchmarkApplication.deleteDatabase(db);
+		if (storeDir != null) {
+			BenchmarkApplication.deleteDirectory(storeDir);
+		}
+	}
+
+	@Benchmark
+	public TodoView getBySeq() {
+		return todosService.getTodosBySeq(ownerSeq, randomSeq());
+	}
+
+	@Benchmark
+	public Slice<TodoView> listPage() {
+		return todosService.getTodoList(ownerSeq, randomSeq(), 100);
+	}
+
+	@Benchmark
+	public TodosEntity insert() {
+		TodosEntity todos = new TodosEntity("벤치마크 신규 할 일");
+		todos.setOwnerSeq(ownerSeq);
+		todosService.insertTodos(todos);
+		return todos;
+	}
+
+	private long randomSeq() {
+		return firstSeq + ThreadLocalRandom.current().nextInt(SEED_TODOS);
+	}
+}
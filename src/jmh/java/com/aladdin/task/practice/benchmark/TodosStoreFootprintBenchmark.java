@@ -0,0 +1,140 @@
+package com.aladdin.task.practice.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.repository.memory.MemoryTodosStore;
+
+/**
+ * <p> memory-store todo 100만 건의 적재 / 기동 시 복구 시간과 heap 사용량</p>
+ * <ul>
+ *   <li>load : 빈 저장소에 등록 (사용자 1,000명 x 1,000건, 1,000건씩 일괄 등록)</li>
+ *   <li>recoverFromLog : 스냅샷 없이 로그 100만 건 재생</li>
+ *   <li>recoverFromSnapshot : 스냅샷 적재</li>
+ * </ul>
+ * <p> 시간은 JMH 결과로, heap은 반복마다 GC 후 저장소가 살아 있는 상태의 사용량에서 적재 전 사용량을 빼서 출력합니다.
+ * (todo 1건당 = TodoRecord + content 문자열 + 해시 테이블 슬롯 + 사용자별 seq 배열)</p>
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TodosStoreFootprintBenchmark {
+
+	private static final int OWNERS = 1_000;
+	private static final int BATCH = 1_000;
+
+	@Param({"1000000"})
+	private int todos;
+
+	private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+	private Path logDir;
+	private Path snapshotDir;
+	private Path loadDir;
+	private MemoryTodosStore store;
+	private long baseline;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		logDir = Files.createTempDirectory("practice-bench-footprint-log-");
+		MemoryTodosStore prepared = open(logDir);
+		fill(prepared);
+		prepared.close();
+
+		snapshotDir = Files.createTempDirectory("practice-bench-footprint-snapshot-");
+		prepared = open(snapshotDir);
+		fill(prepared);
+		prepared.destroy();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		BenchmarkApplication.deleteDirectory(logDir);
+		BenchmarkApplication.deleteDirectory(snapshotDir);
+	}
+
+	@Setup(Level.Iteration)
+	public void beforeIteration() throws Exception {
+		loadDir = Files.createTempDirectory("practice-bench-footprint-load-");
+		baseline = usedHeapAfterGc();
+	}
+
+	@TearDown(Level.Iteration)
+	public void afterIteration() throws Exception {
+		long used = usedHeapAfterGc() - baseline;
+		System.out.printf("heap : %,d todos, %,d bytes (%.1f MB), %d bytes/todo%n",
+				store.size(), used, used / 1024.0 / 1024.0, used / Math.max(1, store.size()));
+		store.close();
+		store = null;
+		BenchmarkApplication.deleteDirectory(loadDir);
+	}
+
+	@Benchmark
+	public MemoryTodosStore load() throws Exception {
+		store = open(loadDir);
+		fill(store);
+		return store;
+	}
+
+	@Benchmark
+	public MemoryTodosStore recoverFromLog() throws Exception {
+		store = open(logDir);
+		return store;
+	}
+
+	@Benchmark
+	public MemoryTodosStore recoverFromSnapshot() throws Exception {
+		store = open(snapshotDir);
+		return store;
+	}
+
+	// 적재 시간만 보도록 fsync 없이, 주기 스냅샷 없이 사용
+	private static MemoryTodosStore open(Path dir) throws Exception {
+		MemoryTodosStore store = new MemoryTodosStore(dir, false, Duration.ZERO, 1024);
+		store.afterPropertiesSet();
+		return store;
+	}
+
+	private void fill(MemoryTodosStore target) {
+		int perOwner = todos / OWNERS;
+		for (int owner = 1; owner <= OWNERS; owner++) {
+			for (int from = 0; from < perOwner; from += BATCH) {
+				List<TodosEntity> batch = new ArrayList<>(BATCH);
+				for (int i = from; i < Math.min(from + BATCH, perOwner); i++) {
+					batch.add(new TodosEntity("벤치마크 할 일 " + owner + "-" + i));
+				}
+				target.insertAll((long) owner, batch);
+			}
+		}
+	}
+
+	private long usedHeapAfterGc() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+}
@@ -0,0 +1,43 @@
+package com.aladdin.task.practice.loadtest;
+
+import java.util.Set;
+
+/**
+ * <p> 부하 테스트에서 호출하는 API (보고서/예산 파일의 엔드포인트 이름)</p>
+ * <p> 목록/검색은 가상 사용자의 todo가 없을 때 404가 정상 응답이므로 오류로 세지 않습니다.</p>
+ * */
+enum Endpoint {
+	SIGNUP("signup", Set.of(201)),
+	LOGIN("login", Set.of(201)),
+	CREATE("create", Set.of(201)),
+	LIST("list", Set.of(200, 404)),
+	GET("get", Set.of(200)),
+	UPDATE("update", Set.of(200)),
+	DELETE("delete", Set.of(200)),
+	SEARCH("search", Set.of(200, 404));
+
+	private final String key;
+	private final Set<Integer> expectedStatuses;
+
+	Endpoint(String key, Set<Integer> expectedStatuses) {
+		this.key = key;
+		this.expectedStatuses = expectedStatuses;
+	}
+
+	String key() {
+		return key;
+	}
+
+	boolean isExpected(int status) {
+		return expectedStatuses.contains(status);
+	}
+
+	static Endpoint of(String key) {
+		for (Endpoint endpoint : values()) {
+			if (endpoint.key.equals(key)) {
+				return endpoint;
+			}
+		}
+		throw new IllegalArgumentException("알 수 없는 엔드포인트입니다: " + key);
+	}
+}
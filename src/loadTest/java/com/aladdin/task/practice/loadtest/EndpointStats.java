@@ -0,0 +1,67 @@
+package com.aladdin.task.practice.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * <p> 엔드포인트 1개의 요청 수, 오류 수, 응답 코드별 건수, 지연시간 분포(HdrHistogram, us 단위, 유효숫자 3자리)</p>
+ * <p> 가상 사용자마다 따로 갖고(단일 스레드 기록) 측정이 끝난 뒤 합칩니다.</p>
+ * */
+final class EndpointStats {
+
+	// 연결 실패, 타임아웃 등 응답을 받지 못한 요청
+	static final String IO_ERROR = "io_error";
+
+	private final Histogram latency = new Histogram(3);
+	private final Map<String, Long> statuses = new TreeMap<>();
+	private long requests;
+	private long errors;
+
+	void record(long latencyNanos, String status, boolean error) {
+		latency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+		statuses.merge(status, 1L, Long::sum);
+		requests++;
+		if (error) {
+			errors++;
+		}
+	}
+
+	void add(EndpointStats other) {
+		latency.add(other.latency);
+		other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+		requests += other.requests;
+		errors += other.errors;
+	}
+
+	long getRequests() {
+		return requests;
+	}
+
+	long getErrors() {
+		return errors;
+	}
+
+	double getErrorRate() {
+		return requests == 0 ? 0 : (double) errors / requests;
+	}
+
+	Map<String, Long> getStatuses() {
+		return statuses;
+	}
+
+	// 백분위 지연시간 (ms)
+	double percentileMillis(double percentile) {
+		return latency.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	double meanMillis() {
+		return latency.getMean() / 1000.0;
+	}
+
+	double maxMillis() {
+		return latency.getMaxValue() / 1000.0;
+	}
+}
@@ -0,0 +1,90 @@
+package com.aladdin.task.practice.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * <p> 지연시간 / 오류율 예산 검사</p>
+ * <ul>
+ * <li> 예산 파일(properties) : &lt;엔드포인트&gt;.p50-ms / p99-ms / p999-ms (상한, ms), &lt;엔드포인트&gt;.error-rate (상한, 0~1), total.error-rate</li>
+ * <li> 기준 결과(loadTest.baseline) : 엔드포인트별 p99가 기준보다 maxRegression 비율 넘게 늘면 실패
+ * (1ms 미만 차이는 측정 편차로 보고 무시)</li>
+ * </ul>
+ * <p> 요청이 없었던 엔드포인트(mix에서 제외 등)는 검사하지 않습니다.</p>
+ * */
+final class LatencyBudgets {
+
+	private static final String CLASSPATH_PREFIX = "classpath:";
+	private static final double MIN_REGRESSION_MILLIS = 1.0;
+	private static final String[][] PERCENTILES = {{"p50", "50.0"}, {"p99", "99.0"}, {"p999", "99.9"}};
+
+	private final Properties budgets;
+
+	private LatencyBudgets(Properties budgets) {
+		this.budgets = budgets;
+	}
+
+	static LatencyBudgets load(String location) throws IOException {
+		Properties properties = new Properties();
+		if (location.startsWith(CLASSPATH_PREFIX)) {
+			String resource = location.substring(CLASSPATH_PREFIX.length());
+			try (InputStream in = LatencyBudgets.class.getClassLoader().getResourceAsStream(resource)) {
+				if (in == null) {
+					throw new IOException("예산 파일을 찾을 수 없습니다: " + location);
+				}
+				properties.load(in);
+			}
+		} else {
+			try (InputStream in = Files.newInputStream(Path.of(location))) {
+				properties.load(in);
+			}
+		}
+		return new LatencyBudgets(properties);
+	}
+
+	/**
+	 * <p> 예산을 넘은 항목 목록 (비어 있으면 통과)</p>
+	 * */
+	List<String> check(Map<Endpoint, EndpointStats> endpoints, EndpointStats total, JsonNode baseline, double maxRegression) {
+		List<String> violations = new ArrayList<>();
+		checkMax(violations, "total.error-rate", total.getErrorRate());
+
+		for (Map.Entry<Endpoint, EndpointStats> entry : endpoints.entrySet()) {
+			String key = entry.getKey().key();
+			EndpointStats stats = entry.getValue();
+			if (stats.getRequests() == 0) {
+				continue;
+			}
+			for (String[] percentile : PERCENTILES) {
+				checkMax(violations, key + "." + percentile[0] + "-ms", stats.percentileMillis(Double.parseDouble(percentile[1])));
+			}
+			checkMax(violations, key + ".error-rate", stats.getErrorRate());
+
+			JsonNode previous = baseline == null ? null : baseline.path("endpoints").path(key).path("latency_ms").get("p99");
+			if (previous != null && previous.isNumber()) {
+				double current = stats.percentileMillis(99.0);
+				double limit = previous.asDouble() * (1 + maxRegression);
+				if (current > limit && current - previous.asDouble() >= MIN_REGRESSION_MILLIS) {
+					violations.add(String.format("%s.p99-ms : %.3f > 기준 %.3f의 %.0f%% 증가 허용치 %.3f",
+							key, current, previous.asDouble(), maxRegression * 100, limit));
+				}
+			}
+		}
+		return violations;
+	}
+
+	private void checkMax(List<String> violations, String name, double value) {
+		String budget = budgets.getProperty(name);
+		if (budget != null && value > Double.parseDouble(budget.trim())) {
+			violations.add(String.format("%s : %.4f > 예산 %s", name, value, budget.trim()));
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package com.aladdin.task.practice.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.aladdin.task.practice.PracticeApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * <p> HTTP 부하 테스트 : ./gradlew loadTest</p>
+ * <p> 임시 디렉터리(SQLite 파일, 샤드 파일, memory-store 로그)로 PracticeApplication을 임의 포트에 띄우고, 가상 사용자 N명이 java.net.http.HttpClient로
+ * 회원 가입 / 로그인 / todo 등록, 목록, 조회, 수정, 삭제, 검색을 mix 가중치대로 호출합니다.</p>
+ * <p> 엔드포인트별 처리량, 오류율, 지연시간(p50/p99/p999)을 JSON으로 저장하고 예산(LatencyBudgets)을 넘으면 종료 코드 1로 끝납니다.</p>
+ * <p> 설정은 {@link LoadTestSettings} 참고.</p>
+ * */
+public final class LoadTestRunner {
+
+	private static final double[] REPORT_PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+	private static final String[] REPORT_PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+	private LoadTestRunner() {}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+		LatencyBudgets budgets = LatencyBudgets.load(settings.getBudgets());
+		ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		JsonNode baseline = settings.getBaseline() == null ? null : objectMapper.readTree(settings.getBaseline().toFile());
+
+		// 샤드 파일(-shard<i>.db), WAL, memory-store 로그까지 한 디렉터리에 만들고 끝나면 통째로 삭제
+		Path dir = Files.createTempDirectory("practice-loadtest-");
+		List<String> violations;
+		ConfigurableApplicationContext context;
+		try {
+			context = new SpringApplicationBuilder(PracticeApplication.class)
+					.web(WebApplicationType.SERVLET)
+					.run(applicationArgs(dir, settings.getAppProperties()));
+		} catch (RuntimeException e) {
+			deleteDirectory(dir);
+			throw e;
+		}
+		try {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			Map<Endpoint, EndpointStats> endpoints = run(settings, URI.create("http://localhost:" + port), objectMapper);
+
+			EndpointStats total = new EndpointStats();
+			endpoints.values().forEach(total::add);
+			violations = budgets.check(endpoints, total, baseline, settings.getMaxRegression());
+
+			ObjectNode report = report(settings, endpoints, total, violations, objectMapper);
+			Files.createDirectories(settings.getReport().toAbsolutePath().getParent());
+			objectMapper.writeValue(settings.getReport().toFile(), report);
+			printSummary(settings, endpoints, total, violations);
+		} finally {
+			context.close();
+			deleteDirectory(dir);
+		}
+		System.exit(violations.isEmpty() ? 0 : 1);
+	}
+
+	// 애플리케이션 설정 (명령행 인자로 전달해야 application.properties보다 우선)
+	private static String[] applicationArgs(Path dir, Map<String, String> appProperties) {
+		Map<String, String> properties = new LinkedHashMap<>();
+		properties.put("spring.datasource.url", "jdbc:sqlite:" + dir.resolve("loadtest.db").toAbsolutePath());
+		properties.put("todos.memory-store.dir", dir.resolve("todos-store").toAbsolutePath().toString());
+		// 프로젝트의 jwt-keys.json 을 읽거나 쓰지 않도록 메모리 키만 사용
+		properties.put("jwt.keys.store", "");
+		properties.put("server.port", "0");
+		properties.put("logging.level.root", "WARN");
+		// 요청마다 콘솔에 접근 로그가 찍히지 않도록 (필요하면 -PloadTest.app.logging.level.access=INFO)
+		properties.put("logging.level.access", "OFF");
+		// 가상 사용자가 모두 127.0.0.1 이므로 IP 한도에 바로 걸림 (한도 자체는 RequestRateLimiterBenchmark에서 측정)
+		properties.put("rate-limit.user.read.permits-per-second", "0");
+		properties.put("rate-limit.user.write.permits-per-second", "0");
+		properties.put("rate-limit.ip.read.permits-per-second", "0");
+		properties.put("rate-limit.ip.write.permits-per-second", "0");
+		properties.putAll(appProperties);
+		return properties.entrySet().stream()
+				.map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+				.toArray(String[]::new);
+	}
+
+	private static void deleteDirectory(Path dir) throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	private static Map<Endpoint, EndpointStats> run(LoadTestSettings settings, URI baseUri, ObjectMapper objectMapper) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(settings.getUsers(), new CustomizableThreadFactory("load-user-"));
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		String runId = UUID.randomUUID().toString().substring(0, 8);
+		long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+		long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+		List<VirtualUser> users = new ArrayList<>();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < settings.getUsers(); i++) {
+			VirtualUser user = new VirtualUser(runId, i, client, baseUri, settings, objectMapper, measureFrom, stopAt);
+			users.add(user);
+			futures.add(executor.submit(user));
+		}
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Map<Endpoint, EndpointStats> merged = new EnumMap<>(Endpoint.class);
+		for (VirtualUser user : users) {
+			user.getStats().forEach((endpoint, stats) -> merged.computeIfAbsent(endpoint, e -> new EndpointStats()).add(stats));
+		}
+		return merged;
+	}
+
+	private static ObjectNode report(LoadTestSettings settings, Map<Endpoint, EndpointStats> endpoints, EndpointStats total,
+	                                 List<String> violations, ObjectMapper objectMapper) {
+		ObjectNode report = objectMapper.createObjectNode();
+		report.put("users", settings.getUsers());
+		report.put("warmup_seconds", settings.getWarmupSeconds());
+		report.put("duration_seconds", settings.getDurationSeconds());
+		ObjectNode mix = report.putObject("mix");
+		settings.getMix().forEach((endpoint, weight) -> mix.put(endpoint.key(), weight));
+
+		writeStats(report.putObject("total"), total, settings.getDurationSeconds());
+		ObjectNode endpointsNode = report.putObject("endpoints");
+		endpoints.forEach((endpoint, stats) -> writeStats(endpointsNode.putObject(endpoint.key()), stats, settings.getDurationSeconds()));
+
+		report.put("passed", violations.isEmpty());
+		violations.forEach(report.putArray("budget_violations")::add);
+		return report;
+	}
+
+	private static void writeStats(ObjectNode node, EndpointStats stats, int durationSeconds) {
+		node.put("requests", stats.getRequests());
+		node.put("errors", stats.getErrors());
+		node.put("error_rate", stats.getErrorRate());
+		node.put("throughput_per_sec", (double) stats.getRequests() / durationSeconds);
+		ObjectNode statuses = node.putObject("statuses");
+		stats.getStatuses().forEach(statuses::put);
+		ObjectNode latency = node.putObject("latency_ms");
+		for (int i = 0; i < REPORT_PERCENTILES.length; i++) {
+			latency.put(REPORT_PERCENTILE_NAMES[i], stats.percentileMillis(REPORT_PERCENTILES[i]));
+		}
+		latency.put("mean", stats.meanMillis());
+		latency.put("max", stats.maxMillis());
+	}
+
+	private static void printSummary(LoadTestSettings settings, Map<Endpoint, EndpointStats> endpoints, EndpointStats total,
+	                                 List<String> violations) {
+		System.out.printf("%-8s %10s %8s %10s %10s %10s %10s%n", "endpoint", "req/s", "errors", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+		endpoints.forEach((endpoint, stats) -> printRow(endpoint.key(), stats, settings.getDurationSeconds()));
+		printRow("total", total, settings.getDurationSeconds());
+		System.out.println("report : " + settings.getReport().toAbsolutePath());
+		if (violations.isEmpty()) {
+			System.out.println("budgets : passed");
+		} else {
+			System.out.println("budgets : FAILED");
+			violations.forEach(violation -> System.out.println("  " + violation));
+		}
+	}
+
+	private static void printRow(String name, EndpointStats stats, int durationSeconds) {
+		System.out.printf("%-8s %10.1f %8d %10.3f %10.3f %10.3f %10.3f%n", name, (double) stats.getRequests() / durationSeconds,
+				stats.getErrors(), stats.percentileMillis(50.0), stats.percentileMillis(99.0), stats.percentileMillis(99.9), stats.maxMillis());
+	}
+}
@@ -0,0 +1,134 @@
+package com.aladdin.task.practice.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p> 부하 테스트 설정 (시스템 속성 loadTest.*, gradle에서는 -PloadTest.users=32 처럼 전달)</p>
+ * <ul>
+ * <li> loadTest.users : 가상 사용자 수 (동시 요청 수, 기본 16)</li>
+ * <li> loadTest.warmupSeconds / loadTest.durationSeconds : 예열 / 측정 시간 (기본 10초 / 30초)</li>
+ * <li> loadTest.mix : 엔드포인트별 가중치 (기본 {@link #DEFAULT_MIX})</li>
+ * <li> loadTest.budgets : 지연시간 예산 파일 (기본 classpath:loadtest-budgets.properties)</li>
+ * <li> loadTest.baseline : 이전 실행 결과 JSON (있으면 p99 회귀 비교), loadTest.maxRegression : 허용 증가율 (기본 0.2)</li>
+ * <li> loadTest.report : 결과 JSON 경로</li>
+ * <li> loadTest.app.* : 애플리케이션 설정 (예: -PloadTest.app.todos.ingest.mode=group-commit)</li>
+ * </ul>
+ * */
+final class LoadTestSettings {
+
+	static final String DEFAULT_MIX = "signup:2,login:3,create:20,list:25,get:25,update:10,delete:5,search:10";
+
+	private static final String PREFIX = "loadTest.";
+	private static final String APP_PREFIX = PREFIX + "app.";
+
+	private final int users;
+	private final int warmupSeconds;
+	private final int durationSeconds;
+	private final Map<Endpoint, Integer> mix;
+	private final Endpoint[] mixTable;
+	private final String budgets;
+	private final Path baseline;
+	private final double maxRegression;
+	private final Path report;
+	private final Map<String, String> appProperties;
+
+	private LoadTestSettings(Properties properties) {
+		this.users = Math.max(1, Integer.parseInt(properties.getProperty(PREFIX + "users", "16")));
+		this.warmupSeconds = Math.max(0, Integer.parseInt(properties.getProperty(PREFIX + "warmupSeconds", "10")));
+		this.durationSeconds = Math.max(1, Integer.parseInt(properties.getProperty(PREFIX + "durationSeconds", "30")));
+		this.mix = parseMix(properties.getProperty(PREFIX + "mix", DEFAULT_MIX));
+		this.mixTable = mixTable(mix);
+		this.budgets = properties.getProperty(PREFIX + "budgets", "classpath:loadtest-budgets.properties");
+		String baselinePath = properties.getProperty(PREFIX + "baseline");
+		this.baseline = baselinePath == null || baselinePath.isBlank() ? null : Path.of(baselinePath);
+		this.maxRegression = Double.parseDouble(properties.getProperty(PREFIX + "maxRegression", "0.2"));
+		this.report = Path.of(properties.getProperty(PREFIX + "report", "build/reports/loadtest/results.json"));
+
+		this.appProperties = new LinkedHashMap<>();
+		for (String name : properties.stringPropertyNames()) {
+			if (name.startsWith(APP_PREFIX)) {
+				appProperties.put(name.substring(APP_PREFIX.length()), properties.getProperty(name));
+			}
+		}
+	}
+
+	static LoadTestSettings fromSystemProperties() {
+		return new LoadTestSettings(System.getProperties());
+	}
+
+	// "create:20,list:25" -> {CREATE=20, LIST=25}
+	private static Map<Endpoint, Integer> parseMix(String value) {
+		Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+		for (String entry : value.split(",")) {
+			String[] pair = entry.trim().split(":");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("loadTest.mix 형식은 <엔드포인트>:<가중치>,... 입니다: " + value);
+			}
+			int weight = Integer.parseInt(pair[1].trim());
+			if (weight > 0) {
+				mix.put(Endpoint.of(pair[0].trim()), weight);
+			}
+		}
+		if (mix.isEmpty()) {
+			throw new IllegalArgumentException("loadTest.mix에 가중치가 1 이상인 엔드포인트가 없습니다: " + value);
+		}
+		return mix;
+	}
+
+	// 가중치만큼 엔드포인트를 반복한 표 (가중치 합이 작아 표에서 바로 뽑음)
+	private static Endpoint[] mixTable(Map<Endpoint, Integer> mix) {
+		Endpoint[] table = new Endpoint[mix.values().stream().mapToInt(Integer::intValue).sum()];
+		int i = 0;
+		for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+			for (int w = 0; w < entry.getValue(); w++) {
+				table[i++] = entry.getKey();
+			}
+		}
+		return table;
+	}
+
+	Endpoint nextEndpoint() {
+		return mixTable[ThreadLocalRandom.current().nextInt(mixTable.length)];
+	}
+
+	int getUsers() {
+		return users;
+	}
+
+	int getWarmupSeconds() {
+		return warmupSeconds;
+	}
+
+	int getDurationSeconds() {
+		return durationSeconds;
+	}
+
+	Map<Endpoint, Integer> getMix() {
+		return mix;
+	}
+
+	String getBudgets() {
+		return budgets;
+	}
+
+	Path getBaseline() {
+		return baseline;
+	}
+
+	double getMaxRegression() {
+		return maxRegression;
+	}
+
+	Path getReport() {
+		return report;
+	}
+
+	Map<String, String> getAppProperties() {
+		return appProperties;
+	}
+}
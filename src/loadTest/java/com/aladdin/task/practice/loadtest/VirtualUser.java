@@ -0,0 +1,191 @@
+package com.aladdin.task.practice.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p> 가상 사용자 1명 : 회원 가입, 로그인 후 측정이 끝날 때까지 mix 가중치대로 요청을 보냅니다. (응답을 받으면 바로 다음 요청, 대기 시간 없음)</p>
+ * <p> 자신이 만든 todo seq만 조회/수정/삭제하며, 가진 todo가 없으면 조회/수정/삭제 대신 등록합니다.</p>
+ * <p> 요청 시작 시각이 예열 구간 이후인 요청만 기록합니다.</p>
+ * */
+final class VirtualUser implements Runnable {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final String PASSWORD = "loadtest-password";
+	// 등록 내용과 검색어에 쓰는 단어 (검색 결과가 적당히 나오도록 작은 집합)
+	private static final String[] WORDS = {"회의", "장보기", "운동", "독서", "청소", "여행", "공부", "정리"};
+
+	private final String runId;
+	private final int id;
+	private final HttpClient client;
+	private final URI baseUri;
+	private final LoadTestSettings settings;
+	private final ObjectMapper objectMapper;
+	private final long measureFromNanos;
+	private final long stopAtNanos;
+
+	private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+	private final List<Long> todoSeqs = new ArrayList<>();
+	private String userId;
+	private String bearer;
+	private int sequence;
+
+	VirtualUser(String runId, int id, HttpClient client, URI baseUri, LoadTestSettings settings,
+	            ObjectMapper objectMapper, long measureFromNanos, long stopAtNanos) {
+		this.runId = runId;
+		this.id = id;
+		this.client = client;
+		this.baseUri = baseUri;
+		this.settings = settings;
+		this.objectMapper = objectMapper;
+		this.measureFromNanos = measureFromNanos;
+		this.stopAtNanos = stopAtNanos;
+	}
+
+	Map<Endpoint, EndpointStats> getStats() {
+		return stats;
+	}
+
+	@Override
+	public void run() {
+		signup();
+		login();
+		while (System.nanoTime() - stopAtNanos < 0) {
+			Endpoint endpoint = settings.nextEndpoint();
+			if (bearer == null) {
+				// 로그인에 실패한 상태면 다른 요청은 모두 401이므로 로그인부터 다시 시도
+				endpoint = Endpoint.LOGIN;
+			} else if (todoSeqs.isEmpty() && (endpoint == Endpoint.GET || endpoint == Endpoint.UPDATE || endpoint == Endpoint.DELETE)) {
+				endpoint = Endpoint.CREATE;
+			}
+			execute(endpoint);
+		}
+	}
+
+	private void execute(Endpoint endpoint) {
+		switch (endpoint) {
+		case SIGNUP:
+			// 새 사용자를 가입시키기만 하고 이 가상 사용자의 계정은 바꾸지 않음
+			send(endpoint, post("/users/signup", credentials(newUserId())));
+			break;
+		case LOGIN:
+			login();
+			break;
+		case CREATE:
+			HttpResponse<String> created = send(endpoint, post("/todos", content()));
+			if (created != null && created.statusCode() == 201) {
+				created.headers().firstValue("Location")
+						.ifPresent(location -> todoSeqs.add(Long.parseLong(location.substring(location.lastIndexOf('/') + 1))));
+			}
+			break;
+		case LIST:
+			send(endpoint, authorized("/todos").GET());
+			break;
+		case GET:
+			send(endpoint, authorized("/todos/" + randomTodoSeq()).GET());
+			break;
+		case UPDATE:
+			send(endpoint, authorized("/todos/" + randomTodoSeq())
+					.header("Content-Type", "application/json")
+					.PUT(HttpRequest.BodyPublishers.ofString(content())));
+			break;
+		case DELETE:
+			Long seq = todoSeqs.remove(ThreadLocalRandom.current().nextInt(todoSeqs.size()));
+			send(endpoint, authorized("/todos/" + seq).DELETE());
+			break;
+		case SEARCH:
+			String word = WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+			send(endpoint, authorized("/todos/search?content=" + URLEncoder.encode(word, StandardCharsets.UTF_8)).GET());
+			break;
+		default:
+			throw new IllegalStateException("처리하지 않는 엔드포인트입니다: " + endpoint);
+		}
+	}
+
+	private void signup() {
+		userId = newUserId();
+		send(Endpoint.SIGNUP, post("/users/signup", credentials(userId)));
+	}
+
+	private void login() {
+		HttpResponse<String> response = send(Endpoint.LOGIN, post("/users/login", credentials(userId)));
+		if (response == null || response.statusCode() != 201) {
+			bearer = null;
+			return;
+		}
+		try {
+			bearer = "Bearer " + objectMapper.readTree(response.body()).get("access_token").asText();
+		} catch (IOException e) {
+			bearer = null;
+		}
+	}
+
+	// 응답을 받지 못하면 null (io_error로 기록)
+	private HttpResponse<String> send(Endpoint endpoint, HttpRequest.Builder request) {
+		long start = System.nanoTime();
+		HttpResponse<String> response;
+		String status;
+		boolean error;
+		try {
+			response = client.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+			status = Integer.toString(response.statusCode());
+			error = !endpoint.isExpected(response.statusCode());
+		} catch (IOException e) {
+			response = null;
+			status = EndpointStats.IO_ERROR;
+			error = true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("부하 테스트가 중단되었습니다.", e);
+		}
+		long elapsed = System.nanoTime() - start;
+		if (start - measureFromNanos >= 0) {
+			stats.computeIfAbsent(endpoint, e -> new EndpointStats()).record(elapsed, status, error);
+		}
+		return response;
+	}
+
+	private HttpRequest.Builder post(String path, String json) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json));
+		if (bearer != null && path.startsWith("/todos")) {
+			builder.header("Authorization", bearer);
+		}
+		return builder;
+	}
+
+	private HttpRequest.Builder authorized(String path) {
+		return HttpRequest.newBuilder(baseUri.resolve(path)).header("Authorization", bearer);
+	}
+
+	private long randomTodoSeq() {
+		return todoSeqs.get(ThreadLocalRandom.current().nextInt(todoSeqs.size()));
+	}
+
+	private String newUserId() {
+		return "lt" + runId + "u" + id + "n" + (sequence++);
+	}
+
+	private static String credentials(String userId) {
+		return "{\"userId\":\"" + userId + "\",\"password\":\"" + PASSWORD + "\"}";
+	}
+
+	private String content() {
+		String word = WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+		return "{\"content\":\"부하 테스트 " + word + " " + id + "-" + (sequence++) + "\"}";
+	}
+}
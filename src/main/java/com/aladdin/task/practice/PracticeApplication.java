@@ -3,14 +3,20 @@ package com.aladdin.task.practice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
+import com.aladdin.task.practice.utils.startup.StartupTimingReporter;
+
 @SpringBootApplication
 //@EntityScan("com.aladdin.task.practice.entity")
 //@EnableJpaRepositories("com.aladdin.task.practice.repository")
 public class PracticeApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(PracticeApplication.class, args);
+		SpringApplication application = new SpringApplication(PracticeApplication.class);
+		// 기동 단계별 소요 시간 기록 (StartupTimingReporter)
+		application.setApplicationStartup(new BufferingApplicationStartup(StartupTimingReporter.STEP_CAPACITY));
+		application.run(args);
 	}
 }
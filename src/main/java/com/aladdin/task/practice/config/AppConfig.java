@@ -1,15 +1,51 @@
 package com.aladdin.task.practice.config;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.aladdin.task.practice.utils.auth.BCryptStrengthCalibrator;
+import com.aladdin.task.practice.utils.auth.TimedPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class AppConfig {
 
+	public static final String BCRYPT_ID = "bcrypt";
+
+	/**
+	 * <p> 비밀번호 인코더 ({bcrypt} 접두어 DelegatingPasswordEncoder)</p>
+	 * <p> password.bcrypt.strength 가 0이면 기동 시 password.bcrypt.target-millis 예산에 맞춰 strength를 산정합니다.
+	 * 현재 정책보다 낮은 strength(또는 접두어 없는 기존) 해시는 로그인 성공 시
+	 * UserDetailsServiceImpl.updatePassword 로 자동 재해시됩니다.</p>
+	 * <p> BCrypt 해시/검증 시간은 password.encoder Timer로 기록합니다.</p>
+	 * */
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+			@Value("${password.bcrypt.strength:0}") int strength,
+			@Value("${password.bcrypt.target-millis:50}") long targetMillis,
+			@Value("${password.bcrypt.min-strength:10}") int minStrength,
+			@Value("${password.bcrypt.max-strength:16}") int maxStrength) {
+		int bcryptStrength = strength > 0 ? strength
+				: BCryptStrengthCalibrator.calibrate(targetMillis, minStrength, maxStrength);
+		return new TimedPasswordEncoder(delegatingPasswordEncoder(bcryptStrength), meterRegistry);
+	}
+
+	public static PasswordEncoder delegatingPasswordEncoder(int bcryptStrength) {
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		encoders.put(BCRYPT_ID, bcrypt);
+
+		DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+		// 접두어 없이 저장된 기존 BCrypt 해시도 검증 가능 (로그인 시 {bcrypt} 형식으로 재해시)
+		delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+		return delegating;
 	}
 }
@@ -0,0 +1,130 @@
+package com.aladdin.task.practice.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.sqlite.SQLiteConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.aladdin.task.practice.utils.logging.SqlStatementCounter;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> SQLite 전용 DataSource 구성 (WAL + 단일 쓰기 풀 / 다중 읽기 풀)</p>
+ * <p> SQLite는 파일당 동시에 하나의 writer만 허용하므로 쓰기는 커넥션 1개짜리 풀로 직렬화하고,
+ * WAL 모드에서 writer와 동시에 읽을 수 있는 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 별도 읽기 풀로 보냅니다.</p>
+ * <p> 모든 커넥션에는 journal_mode, synchronous, mmap_size, cache_size, busy_timeout, foreign_keys PRAGMA가 적용됩니다.</p>
+ * <p> sqlite.shards &gt; 1 이면 사용자별로 나눈 SQLite 파일마다 위 풀 구성을 두고, ShardRoutingDataSource가 샤드를 먼저 고릅니다.
+ * (파일마다 writer가 따로 있으므로 쓰기 처리량이 샤드 수만큼 늘어날 수 있음)</p>
+ * */
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+	@Value("${spring.datasource.url}")
+	private String url;
+	
+	@Value("${sqlite.journal-mode:WAL}")
+	private String journalMode;
+	
+	@Value("${sqlite.synchronous:NORMAL}")
+	private String synchronous;
+	
+	@Value("${sqlite.mmap-size:268435456}")
+	private long mmapSize;
+	
+	// 음수는 KiB 단위 (SQLite cache_size 규칙)
+	@Value("${sqlite.cache-size:-16000}")
+	private int cacheSize;
+	
+	@Value("${sqlite.busy-timeout:5000}")
+	private int busyTimeout;
+	
+	// todos.owner_seq -> users.seq 외래키(ON DELETE CASCADE) 적용
+	@Value("${sqlite.foreign-keys:true}")
+	private boolean foreignKeys;
+	
+	@Value("${sqlite.read-pool-size:4}")
+	private int readPoolSize;
+	
+	@Bean(destroyMethod = "close")
+	public SqliteShards sqliteShards(ShardResolver shardResolver) {
+		List<SqliteShards.Shard> shards = new ArrayList<>(shardResolver.getShardCount());
+		for (int i = 0; i < shardResolver.getShardCount(); i++) {
+			String shardUrl = SqliteShards.shardUrl(url, i);
+			// 단일 DB면 기존 풀 이름 유지 (hikaricp_* 메트릭의 pool 태그)
+			String suffix = shardResolver.isSharded() ? "-" + i : "";
+			HikariDataSource write = createPool(shardUrl, "sqlite-write" + suffix, 1);
+			HikariDataSource read = createPool(shardUrl, "sqlite-read" + suffix, readPoolSize);
+			shards.add(new SqliteShards.Shard(i, shardUrl, write, read, readWriteRouting(write, read)));
+		}
+		return new SqliteShards(shards);
+	}
+	
+	@Bean
+	@Primary
+	public DataSource dataSource(SqliteShards sqliteShards) {
+		// 샤드가 하나면 샤드 선택 없이 읽기/쓰기 라우팅만 사용
+		DataSource routingDataSource = sqliteShards.size() == 1
+				? sqliteShards.get(0).getReadWriteRouting()
+				: new ShardRoutingDataSource(sqliteShards);
+		
+		log.info("SQLite DataSource 구성 : url={}, shards={}, journal_mode={}, synchronous={}, read-pool-size={}",
+				url, sqliteShards.size(), journalMode, synchronous, readPoolSize);
+		
+		// 트랜잭션의 readOnly 여부(와 샤드)가 정해진 뒤(첫 SQL 실행 시점)에 라우팅되도록 지연 프록시로 감쌈
+		// 접근 로그의 요청별 SQL 문장 수 집계를 위해 한 번 더 감쌈 (SqlStatementCounter)
+		return SqlStatementCounter.wrap(new LazyConnectionDataSourceProxy(routingDataSource));
+	}
+	
+	private static DataSource readWriteRouting(DataSource writeDataSource, DataSource readDataSource) {
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(ReadWriteRoutingDataSource.WRITE, writeDataSource);
+		targets.put(ReadWriteRoutingDataSource.READ, readDataSource);
+		
+		ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+		routingDataSource.setTargetDataSources(targets);
+		routingDataSource.setDefaultTargetDataSource(writeDataSource);
+		routingDataSource.afterPropertiesSet();
+		return routingDataSource;
+	}
+	
+	// HikariConfig로 생성하면 bean 생성 시점에 풀을 시작 (커넥션 오류가 기동 시 바로 드러나고, 기동 시간 보고에서 datasource 단계로 집계됨)
+	private HikariDataSource createPool(String jdbcUrl, String poolName, int poolSize) {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName(poolName);
+		config.setJdbcUrl(jdbcUrl);
+		config.setDriverClassName("org.sqlite.JDBC");
+		config.setMaximumPoolSize(poolSize);
+		config.setMinimumIdle(poolSize);
+		config.setDataSourceProperties(sqliteProperties());
+		return new HikariDataSource(config);
+	}
+	
+	// 커넥션을 열 때마다 드라이버가 적용하는 PRAGMA 설정
+	private Properties sqliteProperties() {
+		SQLiteConfig config = new SQLiteConfig();
+		config.setJournalMode(SQLiteConfig.JournalMode.valueOf(journalMode.toUpperCase()));
+		config.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(synchronous.toUpperCase()));
+		config.setCacheSize(cacheSize);
+		config.setBusyTimeout(busyTimeout);
+		config.enforceForeignKeys(foreignKeys);
+		
+		Properties properties = config.toProperties();
+		properties.setProperty(SQLiteConfig.Pragma.MMAP_SIZE.pragmaName, String.valueOf(mmapSize));
+		return properties;
+	}
+}
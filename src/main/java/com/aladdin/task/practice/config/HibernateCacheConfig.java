@@ -0,0 +1,88 @@
+package com.aladdin.task.practice.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+@Configuration
+public class HibernateCacheConfig {
+
+	// @org.hibernate.annotations.Cache / @NaturalIdCache 의 region 이름
+	public static final String TODOS_REGION = "todos";
+	public static final String USERS_REGION = "users";
+	public static final String USERS_NATURAL_ID_REGION = "users.natural-id";
+	private static final String[] REGIONS = {TODOS_REGION, USERS_REGION, USERS_NATURAL_ID_REGION};
+
+	/**
+	 * <p> Hibernate 2차 캐시(JCache, Ehcache 힙 캐시) region 구성</p>
+	 * <p> region마다 최대 엔트리 수와 TTL을 따로 둡니다. todos는 읽기 비중이 커서 크고 길게,
+	 * users는 UsersCacheService(60초) 뒤에서 한 번 더 받치는 용도라 짧게 둡니다.</p>
+	 * <p> 테스트처럼 한 JVM에서 컨텍스트가 여러 개 뜨더라도 region이 겹치지 않도록 컨텍스트마다 별도 CacheManager를 만듭니다.</p>
+	 * */
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager(
+			@Value("${second-level-cache.todos.max-entries:10000}") long todosMaxEntries,
+			@Value("${second-level-cache.todos.ttl:PT10M}") Duration todosTtl,
+			@Value("${second-level-cache.users.max-entries:10000}") long usersMaxEntries,
+			@Value("${second-level-cache.users.ttl:PT5M}") Duration usersTtl) {
+		org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+				.withCache(TODOS_REGION, region(todosMaxEntries, todosTtl))
+				.withCache(USERS_REGION, region(usersMaxEntries, usersTtl))
+				.withCache(USERS_NATURAL_ID_REGION, region(usersMaxEntries, usersTtl))
+				.build();
+		EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+		CacheManager cacheManager = provider.getCacheManager(URI.create("practice-hibernate-" + UUID.randomUUID()), configuration);
+		for (String region : REGIONS) {
+			// JCacheMetrics가 evictions 등을 JMX(CacheStatisticsMXBean)로 읽음
+			cacheManager.enableStatistics(region, true);
+		}
+		return cacheManager;
+	}
+
+	private static CacheConfiguration<Object, Object> region(long maxEntries, Duration ttl) {
+		return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+				.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))
+				.build();
+	}
+
+	/**
+	 * <p> 위 CacheManager를 Hibernate JCache region factory에 전달 (설정 파일 대신 region 정책을 property로 관리)</p>
+	 * */
+	@Bean
+	public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+
+	/**
+	 * <p> region별 eviction / 크기 메트릭 (cache.evictions, cache.gets 등, cache=region 이름)</p>
+	 * <p> hit/miss/put은 hibernate.generate_statistics=true 일 때 Spring Boot가 등록하는
+	 * Hibernate Statistics 메트릭(hibernate.second.level.cache.requests, hibernate.cache.natural.id.requests 등)을 사용합니다.
+	 * Hibernate Statistics에는 eviction 항목이 없어 JCache 통계에서 가져옵니다.</p>
+	 * */
+	@Bean
+	public MeterBinder hibernateCacheRegionMetrics(CacheManager hibernateCacheManager) {
+		return registry -> {
+			for (String region : REGIONS) {
+				JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region), "layer", "hibernate");
+			}
+		};
+	}
+}
@@ -0,0 +1,88 @@
+package com.aladdin.task.practice.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> Flyway 도입 전 schema.sql 로 만들어진 DB의 컬럼 보정 (beforeMigrate)</p>
+ * <p> 이력 테이블이 없는 기존 DB는 버전 0으로 baseline 후 V1을 적용하는데, V1의 CREATE TABLE IF NOT EXISTS 는 이미 있는 테이블을 건너뛰므로
+ * 초기 schema.sql 의 todos(seq, content) / users(seq, user_id, password) 가 그대로 남아 V1의 인덱스, 트리거가 없는 컬럼을 참조하게 됩니다.
+ * V1 적용 전에 빠진 컬럼만 ALTER TABLE ... ADD COLUMN 으로 추가합니다.</p>
+ * <p> 이미 V1 형태인 DB(신규 DB 포함)에서는 PRAGMA table_info 조회만 하고 아무것도 바꾸지 않습니다.
+ * 적용된 V1 파일은 체크섬 때문에 고칠 수 없고, V1보다 낮은 버전의 마이그레이션을 추가하면 이미 V1이 적용된 DB에서 검증이 실패하므로 callback으로 처리합니다.</p>
+ * <p> 작성자 컬럼이 없던 시절의 todo는 owner_seq = NULL 로 남습니다. (어느 사용자의 목록/검색에도 나오지 않으며, 필요하면 직접 배정)</p>
+ * */
+@Slf4j
+public class LegacySchemaCallback implements Callback {
+
+	// 테이블, 컬럼, ADD COLUMN 정의 (SQLite는 NOT NULL 컬럼 추가 시 기본값 필요, REFERENCES 컬럼은 기본값 NULL 이어야 함)
+	private static final String[][] COLUMNS = {
+			{"users", "todos_version", "todos_version INTEGER NOT NULL DEFAULT 0"},
+			{"todos", "owner_seq", "owner_seq INTEGER REFERENCES users(seq) ON DELETE CASCADE"},
+			{"todos", "version", "version INTEGER NOT NULL DEFAULT 0"}
+	};
+
+	@Override
+	public boolean supports(Event event, Context context) {
+		return event == Event.BEFORE_MIGRATE;
+	}
+
+	@Override
+	public boolean canHandleInTransaction(Event event, Context context) {
+		return true;
+	}
+
+	@Override
+	public void handle(Event event, Context context) {
+		Connection connection = context.getConnection();
+		try (Statement statement = connection.createStatement()) {
+			for (String[] column : COLUMNS) {
+				Set<String> existing = columns(statement, column[0]);
+				// 테이블이 없으면(신규 DB) V1이 만듦
+				if (!existing.isEmpty() && !existing.contains(column[1])) {
+					statement.executeUpdate("ALTER TABLE " + column[0] + " ADD COLUMN " + column[2]);
+					log.warn("기존 schema.sql DB 보정 : {}.{} 컬럼 추가", column[0], column[1]);
+					if ("owner_seq".equals(column[1])) {
+						warnOrphans(statement);
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw new FlywayException("기존 schema.sql DB 컬럼 보정 실패 : " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public String getCallbackName() {
+		return "legacySchema";
+	}
+
+	private static void warnOrphans(Statement statement) throws SQLException {
+		try (ResultSet rs = statement.executeQuery("SELECT count(*) FROM todos")) {
+			if (rs.next() && rs.getLong(1) > 0) {
+				log.warn("작성자(owner_seq)가 없는 기존 todo {}건은 어느 사용자에게도 조회되지 않습니다.", rs.getLong(1));
+			}
+		}
+	}
+
+	private static Set<String> columns(Statement statement, String table) throws SQLException {
+		Set<String> columns = new HashSet<>();
+		try (ResultSet rs = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+			while (rs.next()) {
+				columns.add(rs.getString("name"));
+			}
+		}
+		return columns;
+	}
+}
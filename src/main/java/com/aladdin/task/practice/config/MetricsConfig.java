@@ -0,0 +1,87 @@
+package com.aladdin.task.practice.config;
+
+import java.util.Iterator;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.aladdin.task.practice.service.UsersCacheService;
+import com.aladdin.task.practice.utils.jwt.JwtRevocationList;
+import com.aladdin.task.practice.utils.jwt.JwtTokenCache;
+import com.aladdin.task.practice.utils.logging.DiscardingAsyncAppender;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * <p> 애플리케이션 캐시 메트릭 등록</p>
+ * <p> JwtTokenCache / UsersCacheService 가 이미 집계하고 있는 hit/miss 카운터와 크기를
+ * cache.requests(cache, result) / cache.size(cache) 로 노출합니다.</p>
+ * <p> 비동기 로그 appender(DiscardingAsyncAppender)의 큐 대기 건수와 버린 건수도 함께 등록합니다.</p>
+ * */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public MeterBinder jwtTokenCacheMetrics(JwtTokenCache jwtTokenCache) {
+		return registry -> {
+			FunctionCounter.builder("cache.requests", jwtTokenCache, JwtTokenCache::getHitCount)
+					.tag("cache", "jwt.token").tag("result", "hit").register(registry);
+			FunctionCounter.builder("cache.requests", jwtTokenCache, JwtTokenCache::getMissCount)
+					.tag("cache", "jwt.token").tag("result", "miss").register(registry);
+			Gauge.builder("cache.size", jwtTokenCache, JwtTokenCache::size)
+					.tag("cache", "jwt.token").register(registry);
+		};
+	}
+
+	@Bean
+	public MeterBinder jwtRevocationListMetrics(JwtRevocationList jwtRevocationList) {
+		return registry -> Gauge.builder("jwt.revocation.size", jwtRevocationList, JwtRevocationList::size)
+				.description("메모리에 적재된 폐기 토큰(jti) 수").register(registry);
+	}
+
+	@Bean
+	public MeterBinder asyncLoggingMetrics() {
+		return registry -> {
+			if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+				return;
+			}
+			for (Logger logger : ((LoggerContext) LoggerFactory.getILoggerFactory()).getLoggerList()) {
+				for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext();) {
+					Appender<ILoggingEvent> appender = it.next();
+					if (!(appender instanceof DiscardingAsyncAppender)) {
+						continue;
+					}
+					DiscardingAsyncAppender asyncAppender = (DiscardingAsyncAppender) appender;
+					Gauge.builder("logging.async.queued", asyncAppender, DiscardingAsyncAppender::getNumberOfElementsInQueue)
+							.description("출력을 기다리는 로그 이벤트 수").tag("appender", appender.getName()).register(registry);
+					FunctionCounter.builder("logging.async.dropped", asyncAppender, DiscardingAsyncAppender::getDiscardedCount)
+							.description("큐 부족으로 버린 로그 이벤트 수").tag("appender", appender.getName()).tag("reason", "discarded")
+							.register(registry);
+					FunctionCounter.builder("logging.async.dropped", asyncAppender, DiscardingAsyncAppender::getOverflowCount)
+							.description("큐 부족으로 버린 로그 이벤트 수").tag("appender", appender.getName()).tag("reason", "overflow")
+							.register(registry);
+				}
+			}
+		};
+	}
+
+	@Bean
+	public MeterBinder usersCacheMetrics(UsersCacheService usersCacheService) {
+		return registry -> {
+			FunctionCounter.builder("cache.requests", usersCacheService, UsersCacheService::getHitCount)
+					.tag("cache", "users").tag("result", "hit").register(registry);
+			FunctionCounter.builder("cache.requests", usersCacheService, UsersCacheService::getMissCount)
+					.tag("cache", "users").tag("result", "miss").register(registry);
+			Gauge.builder("cache.size", usersCacheService, UsersCacheService::size)
+					.tag("cache", "users").register(registry);
+		};
+	}
+}
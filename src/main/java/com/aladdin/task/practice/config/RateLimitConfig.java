@@ -0,0 +1,37 @@
+package com.aladdin.task.practice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.aladdin.task.practice.utils.ratelimit.RequestRateLimiter;
+import com.aladdin.task.practice.utils.ratelimit.RequestRateLimiter.Quota;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class RateLimitConfig {
+
+	/**
+	 * <p> 요청 한도 (SecurityConfig에서 JwtAuthenticationFilter 앞의 RateLimitFilter, 뒤의 UserRateLimitFilter로 적용)</p>
+	 * <p> 모든 요청은 IP별, 인증된 요청은 사용자별로도 읽기/쓰기 한도를 따로 둡니다.
+	 * SQLite 쓰기 커넥션은 1개뿐이므로 쓰기 한도를 읽기보다 낮게 잡습니다. permits-per-second가 0이면 해당 한도를 끕니다.</p>
+	 * */
+	@Bean
+	public RequestRateLimiter requestRateLimiter(MeterRegistry meterRegistry,
+			@Value("${rate-limit.user.read.permits-per-second:50}") double userReadRate,
+			@Value("${rate-limit.user.read.burst:200}") int userReadBurst,
+			@Value("${rate-limit.user.write.permits-per-second:20}") double userWriteRate,
+			@Value("${rate-limit.user.write.burst:100}") int userWriteBurst,
+			@Value("${rate-limit.ip.read.permits-per-second:100}") double ipReadRate,
+			@Value("${rate-limit.ip.read.burst:400}") int ipReadBurst,
+			@Value("${rate-limit.ip.write.permits-per-second:40}") double ipWriteRate,
+			@Value("${rate-limit.ip.write.burst:200}") int ipWriteBurst,
+			@Value("${rate-limit.max-keys:100000}") int maxKeys,
+			@Value("${rate-limit.idle-timeout-ms:60000}") long idleTimeoutMillis) {
+		return new RequestRateLimiter(
+				new Quota(userReadRate, userReadBurst), new Quota(userWriteRate, userWriteBurst),
+				new Quota(ipReadRate, ipReadBurst), new Quota(ipWriteRate, ipWriteBurst),
+				maxKeys, idleTimeoutMillis, meterRegistry);
+	}
+}
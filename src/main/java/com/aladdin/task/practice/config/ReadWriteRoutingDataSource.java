@@ -0,0 +1,20 @@
+package com.aladdin.task.practice.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * <p> 현재 트랜잭션이 readOnly이면 읽기 풀, 그 외(쓰기 트랜잭션, 트랜잭션 없음)는 단일 쓰기 풀로 라우팅</p>
+ * <p> 트랜잭션 시작 이후 실제 커넥션을 얻어야 readOnly 여부가 반영되므로
+ * 반드시 LazyConnectionDataSourceProxy로 감싸서 사용합니다.</p>
+ * */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	public static final String WRITE = "write";
+	public static final String READ = "read";
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READ : WRITE;
+	}
+}
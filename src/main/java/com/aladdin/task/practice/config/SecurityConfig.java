@@ -16,7 +16,14 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import com.aladdin.task.practice.utils.jwt.JwtAuthenticationEntryPoint;
 import com.aladdin.task.practice.utils.jwt.JwtAuthenticationFilter;
+import com.aladdin.task.practice.utils.jwt.JwtAuthenticationMetrics;
+import com.aladdin.task.practice.utils.jwt.JwtRevocationList;
+import com.aladdin.task.practice.utils.jwt.JwtTokenCache;
 import com.aladdin.task.practice.utils.jwt.JwtTokenProvider;
+import com.aladdin.task.practice.utils.logging.AccessLogFilter;
+import com.aladdin.task.practice.utils.ratelimit.RateLimitFilter;
+import com.aladdin.task.practice.utils.ratelimit.UserRateLimitFilter;
+import com.aladdin.task.practice.utils.ratelimit.RequestRateLimiter;
 
 @Configuration
 @EnableWebSecurity // Spring Security 활성화
@@ -25,13 +32,25 @@ public class SecurityConfig {
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint; // EntryPoint 주입
     private final JwtTokenProvider jwtTokenProvider; // JWT Provider 주입
     private final UserDetailsService userDetailsService; // UserDetailsService 주입
+    private final JwtTokenCache jwtTokenCache; // 검증된 토큰 캐시 주입
+    private final JwtAuthenticationMetrics jwtAuthenticationMetrics; // JWT 필터 메트릭 주입
+    private final JwtRevocationList jwtRevocationList; // 폐기 토큰 목록 주입
+    private final RequestRateLimiter requestRateLimiter; // 사용자/IP별 요청 한도 주입
 
     public SecurityConfig(JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
                           JwtTokenProvider jwtTokenProvider,
-                          UserDetailsService userDetailsService) {
+                          UserDetailsService userDetailsService,
+                          JwtTokenCache jwtTokenCache,
+                          JwtAuthenticationMetrics jwtAuthenticationMetrics,
+                          JwtRevocationList jwtRevocationList,
+                          RequestRateLimiter requestRateLimiter) {
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
+        this.jwtTokenCache = jwtTokenCache;
+        this.jwtAuthenticationMetrics = jwtAuthenticationMetrics;
+        this.jwtRevocationList = jwtRevocationList;
+        this.requestRateLimiter = requestRateLimiter;
     }
 
     // PasswordEncoder 빈은 AppConfig에서 이미 등록했다고 가정합니다.
@@ -61,9 +80,15 @@ public class SecurityConfig {
             // 요청별 인가 규칙 설정 (authorizeRequests() 및 antMatchers 사용)
             .authorizeRequests() // <- authorizeHttpRequests 대신 authorizeRequests 사용
                 // 회원 가입 및 로그인 경로는 인증 없이 허용 (antMatchers 사용)
-                .antMatchers("/users/signup", "/users/login").permitAll()
+                .antMatchers("/users/signup", "/users/login", "/users/token/refresh").permitAll()
                 // .antMatchers(HttpMethod.POST, "/users/signup", "/users/login").permitAll() // 메소드 명시도 가능
 
+                // 헬스체크 / Prometheus 스크레이프 경로 (운영 환경에서는 네트워크 레벨에서 접근 제한 필요)
+                .antMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+
+                // JWT 검증용 공개키 (JWKS) - 검증 전용 노드가 인증 없이 조회
+                .antMatchers("/.well-known/jwks.json").permitAll()
+
                 // 내 정보 조회 경로는 인증 필요 (authenticated)
                 .antMatchers("/users/me").authenticated() // 모든 HTTP 메소드에 적용
                 // 만약 특정 메소드만 필요하다면 아래와 같이 사용
@@ -76,7 +101,16 @@ public class SecurityConfig {
                 .and() // 이전 설정으로 돌아가 다른 설정 시작
 
             // JWT 인증 필터를 Spring Security 필터 체인에 추가
-            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, jwtTokenCache, jwtAuthenticationMetrics, jwtRevocationList), UsernamePasswordAuthenticationFilter.class)
+
+            // IP별 요청 한도 필터 (잘못된 토큰으로 401/404가 되는 요청도 차감되도록 JWT 필터 앞, 한도 초과 시 429)
+            .addFilterBefore(new RateLimitFilter(requestRateLimiter), JwtAuthenticationFilter.class)
+
+            // 사용자별 요청 한도 필터 (인증 결과가 필요하므로 JWT 필터 다음)
+            .addFilterAfter(new UserRateLimitFilter(requestRateLimiter), JwtAuthenticationFilter.class)
+
+            // 요청별 접근 로그 (요청 한도 초과, 인증 실패 응답까지 포함되도록 가장 앞에 배치)
+            .addFilterBefore(new AccessLogFilter(), RateLimitFilter.class);
 
         // 최종 SecurityFilterChain 빌드 및 반환
         return http.build();
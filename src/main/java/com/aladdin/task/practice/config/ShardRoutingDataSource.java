@@ -0,0 +1,52 @@
+package com.aladdin.task.practice.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.aladdin.task.practice.service.impl.UserDetailsImpl;
+import com.aladdin.task.practice.utils.shard.ShardContext;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+
+/**
+ * <p> 샤드 선택 (sqlite.shards &gt; 1). 각 샤드는 다시 ReadWriteRoutingDataSource로 읽기/쓰기 풀을 고릅니다.</p>
+ * <ol>
+ *   <li>ShardContext로 지정된 샤드</li>
+ *   <li>인증된 사용자(JwtAuthenticationFilter가 넣은 UserDetailsImpl)의 users.seq가 속한 샤드</li>
+ *   <li>그 외(기동, 스케줄러 등)는 샤드 0</li>
+ * </ol>
+ * <p> ReadWriteRoutingDataSource와 같이 LazyConnectionDataSourceProxy로 감싸 첫 SQL 시점에 라우팅합니다.</p>
+ * */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+	public ShardRoutingDataSource(SqliteShards shards) {
+		Map<Object, Object> targets = new HashMap<>();
+		for (SqliteShards.Shard shard : shards.getShards()) {
+			targets.put(shard.getIndex(), shard.getReadWriteRouting());
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(shards.get(ShardResolver.HOME_SHARD).getReadWriteRouting());
+		// 범위를 벗어난 seq(샤드 수를 줄인 경우 등)는 샤드 0으로 보내지 않고 실패
+		setLenientFallback(false);
+		afterPropertiesSet();
+	}
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		Integer shard = ShardContext.current();
+		if (shard != null) {
+			return shard;
+		}
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+			Long seq = ((UserDetailsImpl) authentication.getPrincipal()).getUser().getSeq();
+			if (seq != null) {
+				return ShardResolver.shardOfSeq(seq);
+			}
+		}
+		return ShardResolver.HOME_SHARD;
+	}
+}
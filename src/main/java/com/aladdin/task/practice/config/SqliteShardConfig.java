@@ -0,0 +1,96 @@
+package com.aladdin.task.practice.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> 샤드별 스키마 마이그레이션, 헬스 체크, 커넥션 풀 메트릭</p>
+ * <p> Spring Boot의 Flyway / Hikari 메트릭 자동 구성은 @Primary DataSource(라우팅) 하나만 대상으로 하므로
+ * SqliteShards의 샤드 파일마다 같은 구성을 적용합니다. sqlite.shards=1 이면 기존 단일 DB와 동작이 같습니다.</p>
+ * */
+@Slf4j
+@Configuration
+public class SqliteShardConfig {
+
+	/**
+	 * <p> spring.flyway.* 설정 그대로 샤드마다 migrate (V2의 shard_index / shard_count / id_base placeholder만 샤드별로 채움)</p>
+	 * <p> 적용 후 shard_info가 현재 설정과 다르면(샤드 수를 바꾼 경우) 사용자 배정이 달라져 데이터를 찾을 수 없으므로 기동을 중단합니다.</p>
+	 * */
+	@Bean
+	public FlywayMigrationStrategy shardMigrationStrategy(SqliteShards sqliteShards) {
+		return flyway -> {
+			for (SqliteShards.Shard shard : sqliteShards.getShards()) {
+				Map<String, String> placeholders = new HashMap<>(flyway.getConfiguration().getPlaceholders());
+				placeholders.put("shard_index", Integer.toString(shard.getIndex()));
+				placeholders.put("shard_count", Integer.toString(sqliteShards.size()));
+				placeholders.put("id_base", Long.toString(ShardResolver.idBase(shard.getIndex())));
+
+				Flyway.configure()
+						.configuration(flyway.getConfiguration())
+						.dataSource(shard.getWriteDataSource())
+						.placeholders(placeholders)
+						.load()
+						.migrate();
+				verifyShardInfo(shard, sqliteShards.size());
+			}
+			log.info("SQLite 샤드 마이그레이션 완료 : shards={}", sqliteShards.size());
+		};
+	}
+
+	/**
+	 * <p> V1 적용 전 기존 schema.sql DB에 빠진 컬럼 추가 (Spring Boot가 Callback bean을 spring.flyway 설정에 등록, 샤드별 migrate에도 그대로 적용)</p>
+	 * */
+	@Bean
+	public LegacySchemaCallback legacySchemaCallback() {
+		return new LegacySchemaCallback();
+	}
+
+	private static void verifyShardInfo(SqliteShards.Shard shard, int shardCount) {
+		Map<String, Object> info = new JdbcTemplate(shard.getWriteDataSource())
+				.queryForMap("SELECT shard_index, shard_count FROM shard_info");
+		int index = ((Number) info.get("shard_index")).intValue();
+		int count = ((Number) info.get("shard_count")).intValue();
+		if (index != shard.getIndex() || count != shardCount) {
+			throw new IllegalStateException(String.format(
+					"샤드 파일 %s 는 shard %d/%d 로 만들어졌지만 현재 설정은 shard %d/%d 입니다. (sqlite.shards 변경 시 데이터 재배치 필요)",
+					shard.getUrl(), index, count, shard.getIndex(), shardCount));
+		}
+	}
+
+	/**
+	 * <p> 샤드별 읽기 커넥션 확인 + 스키마 버전 (/actuator/health 의 sqliteShards)</p>
+	 * */
+	@Bean
+	public SqliteShardsHealthIndicator sqliteShardsHealthIndicator(SqliteShards sqliteShards) {
+		return new SqliteShardsHealthIndicator(sqliteShards);
+	}
+
+	/**
+	 * <p> 샤드 풀의 hikaricp.* 메트릭 (pool 태그 = 풀 이름). 풀이 bean이 아니어서 자동 구성 대신 직접 등록합니다.</p>
+	 * */
+	@Bean
+	public MeterBinder sqliteShardPoolMetrics(SqliteShards sqliteShards) {
+		return registry -> {
+			for (SqliteShards.Shard shard : sqliteShards.getShards()) {
+				for (HikariDataSource pool : new HikariDataSource[] {shard.getWriteDataSource(), shard.getReadDataSource()}) {
+					if (pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null) {
+						pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+					}
+				}
+			}
+		};
+	}
+}
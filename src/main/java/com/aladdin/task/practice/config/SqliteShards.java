@@ -0,0 +1,92 @@
+package com.aladdin.task.practice.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * <p> 샤드별 SQLite 커넥션 풀 (sqlite.shards 개, 샤드마다 쓰기 풀 1개 + 읽기 풀)</p>
+ * <p> 샤드 0은 spring.datasource.url 파일 그대로이고, 샤드 i(i &gt; 0)는 같은 경로의 &lt;이름&gt;-shard&lt;i&gt;.db 파일입니다.</p>
+ * */
+public class SqliteShards implements AutoCloseable {
+
+	private static final String DB_SUFFIX = ".db";
+	
+	private final List<Shard> shards;
+	
+	public SqliteShards(List<Shard> shards) {
+		this.shards = List.copyOf(shards);
+	}
+	
+	public int size() {
+		return shards.size();
+	}
+	
+	public Shard get(int index) {
+		return shards.get(index);
+	}
+	
+	public List<Shard> getShards() {
+		return shards;
+	}
+	
+	/**
+	 * <p> 샤드 index의 JDBC URL (jdbc:sqlite:data/mydb.db -> jdbc:sqlite:data/mydb-shard1.db)</p>
+	 * */
+	public static String shardUrl(String baseUrl, int index) {
+		if (index == 0) {
+			return baseUrl;
+		}
+		if (baseUrl.endsWith(DB_SUFFIX)) {
+			return baseUrl.substring(0, baseUrl.length() - DB_SUFFIX.length()) + "-shard" + index + DB_SUFFIX;
+		}
+		return baseUrl + "-shard" + index;
+	}
+	
+	@Override
+	public void close() {
+		for (Shard shard : shards) {
+			shard.read.close();
+			shard.write.close();
+		}
+	}
+	
+	public static final class Shard {
+		private final int index;
+		private final String url;
+		private final HikariDataSource write;
+		private final HikariDataSource read;
+		private final DataSource readWriteRouting;
+		
+		public Shard(int index, String url, HikariDataSource write, HikariDataSource read, DataSource readWriteRouting) {
+			this.index = index;
+			this.url = url;
+			this.write = write;
+			this.read = read;
+			this.readWriteRouting = readWriteRouting;
+		}
+		
+		public int getIndex() {
+			return index;
+		}
+		
+		public String getUrl() {
+			return url;
+		}
+		
+		public HikariDataSource getWriteDataSource() {
+			return write;
+		}
+		
+		public HikariDataSource getReadDataSource() {
+			return read;
+		}
+		
+		// readOnly 트랜잭션이면 읽기 풀, 그 외는 쓰기 풀 (ReadWriteRoutingDataSource)
+		public DataSource getReadWriteRouting() {
+			return readWriteRouting;
+		}
+	}
+}
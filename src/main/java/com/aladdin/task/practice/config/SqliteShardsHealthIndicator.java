@@ -0,0 +1,61 @@
+package com.aladdin.task.practice.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * <p> 샤드 파일마다 읽기 풀에서 커넥션을 받아 적용된 스키마 버전을 조회합니다. 하나라도 실패하면 DOWN</p>
+ * <p> 상세 : shard.&lt;i&gt; = {schemaVersion, writeActive, readActive, readIdle, awaiting} 또는 {error}</p>
+ * */
+public class SqliteShardsHealthIndicator extends AbstractHealthIndicator {
+
+	private static final String SCHEMA_VERSION_SQL =
+			"SELECT version FROM flyway_schema_history WHERE success = 1 AND version IS NOT NULL ORDER BY installed_rank DESC LIMIT 1";
+
+	private final SqliteShards sqliteShards;
+
+	public SqliteShardsHealthIndicator(SqliteShards sqliteShards) {
+		super("SQLite 샤드 헬스 체크 실패");
+		this.sqliteShards = sqliteShards;
+	}
+
+	@Override
+	protected void doHealthCheck(Health.Builder builder) {
+		boolean up = true;
+		for (SqliteShards.Shard shard : sqliteShards.getShards()) {
+			Map<String, Object> detail = new LinkedHashMap<>();
+			try (Connection connection = shard.getReadDataSource().getConnection();
+					Statement statement = connection.createStatement();
+					ResultSet rs = statement.executeQuery(SCHEMA_VERSION_SQL)) {
+				detail.put("schemaVersion", rs.next() ? rs.getString(1) : null);
+			} catch (SQLException e) {
+				up = false;
+				detail.put("error", e.getMessage());
+			}
+			HikariPoolMXBean write = shard.getWriteDataSource().getHikariPoolMXBean();
+			HikariPoolMXBean read = shard.getReadDataSource().getHikariPoolMXBean();
+			if (write != null && read != null) {
+				detail.put("writeActive", write.getActiveConnections());
+				detail.put("readActive", read.getActiveConnections());
+				detail.put("readIdle", read.getIdleConnections());
+				detail.put("awaiting", write.getThreadsAwaitingConnection() + read.getThreadsAwaitingConnection());
+			}
+			builder.withDetail("shard." + shard.getIndex(), detail);
+		}
+		builder.withDetail("shards", sqliteShards.size());
+		if (up) {
+			builder.up();
+		} else {
+			builder.down();
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.aladdin.task.practice.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.aladdin.task.practice.repository.memory.MemoryTodosStore;
+import com.aladdin.task.practice.service.TokenRevocationService;
+import com.aladdin.task.practice.utils.startup.StartupTimingReporter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class StartupConfig {
+
+	/**
+	 * <p> 기동 단계별 소요 시간 로그 / application.startup.phase 메트릭 (PracticeApplication.main 으로 기동한 경우)</p>
+	 * */
+	@Bean
+	public StartupTimingReporter startupTimingReporter(MeterRegistry meterRegistry,
+			@Value("${startup.report.top-beans:10}") int topBeans) {
+		return new StartupTimingReporter(meterRegistry, topBeans);
+	}
+
+	/**
+	 * <p> lazy 프로필(spring.main.lazy-initialization=true)에서도 기동 시 생성해야 하는 bean</p>
+	 * <p> 마이그레이션 : 스키마 변경/체크섬 검증 실패가 첫 요청이 아니라 기동 시 드러나도록<br>
+	 * TokenRevocationService : 폐기 토큰 목록을 적재하기 전에 요청을 받으면 폐기된 토큰이 통과하므로<br>
+	 * MemoryTodosStore : 로그 재생(복구) 시간이 첫 todo 요청이 아니라 기동 시간에 포함되도록</p>
+	 * */
+	@Bean
+	public static LazyInitializationExcludeFilter eagerStartupBeans() {
+		return LazyInitializationExcludeFilter.forBeanTypes(Flyway.class, FlywayMigrationInitializer.class,
+				TokenRevocationService.class, MemoryTodosStore.class);
+	}
+}
@@ -0,0 +1,35 @@
+package com.aladdin.task.practice.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.aladdin.task.practice.utils.jwt.JwtKeyRing;
+
+@RestController
+public class JwksController {
+//	 ○ GET /.well-known/jwks.json
+	
+	// 다음 키는 교체 한 주기 전에 미리 공개되므로 짧게 캐시해도 검증 노드가 새 kid를 놓치지 않음
+	private static final Duration JWKS_MAX_AGE = Duration.ofMinutes(5);
+	
+	private final JwtKeyRing jwtKeyRing;
+	
+	public JwksController(JwtKeyRing jwtKeyRing) {
+		this.jwtKeyRing = jwtKeyRing;
+	}
+	
+	// 검증 전용 노드가 사용할 공개키 목록 (현재/다음/아직 유효한 토큰이 남은 이전 키). 비밀키는 포함하지 않음
+	@GetMapping("/.well-known/jwks.json")
+	public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+		return ResponseEntity.status(HttpStatus.OK)
+				.cacheControl(CacheControl.maxAge(JWKS_MAX_AGE).cachePublic())
+				.body(Map.of("keys", jwtKeyRing.publicJwks()));
+	}
+}
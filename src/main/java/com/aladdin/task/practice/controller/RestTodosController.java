@@ -1,16 +1,20 @@
 package com.aladdin.task.practice.controller;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.persistence.PersistenceException;
 
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,15 +22,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.aladdin.task.practice.entity.TodosEntity;
 import com.aladdin.task.practice.entity.UsersEntity;
-import com.aladdin.task.practice.service.CommonService;
+import com.aladdin.task.practice.service.TodosIngestService;
 import com.aladdin.task.practice.service.TodosService;
+import com.aladdin.task.practice.utils.auth.CurrentUser;
+import com.aladdin.task.practice.utils.http.ETags;
+import com.aladdin.task.practice.utils.http.TodosJsonWriter;
 import com.aladdin.task.practice.utils.jwt.JwtTokenProvider;
+import com.aladdin.task.practice.utils.logging.LogFields;
+import com.aladdin.task.practice.vo.TodoView;
+import com.aladdin.task.practice.vo.TodosBatchResponse;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,173 +53,267 @@ public class RestTodosController {
 //	 ○ DELETE /todos/{id}
 //	 ○ GET /todos/search
 	
-	private final CommonService commonService;
+	// GET /todos 커서 페이지 기본/최대 크기
+	private static final int DEFAULT_PAGE_LIMIT = 100;
+	private static final int MAX_PAGE_LIMIT = 1000;
+	// 다음 페이지 조회용 커서(마지막 seq) 응답 헤더
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	// GET /todos/search 기본/최대 페이지 크기
+	private static final int DEFAULT_SEARCH_LIMIT = 20;
+	private static final int MAX_SEARCH_LIMIT = 100;
+	// POST /todos/batch 최대 건수
+	private static final int MAX_BATCH_SIZE = 1000;
+	// POST /todos group commit 버퍼가 가득 찼을 때 재시도 대기 시간 (초)
+	private static final String INGEST_RETRY_AFTER_SECONDS = "1";
+	// StreamingResponseBody로 응답하는 핸들러의 오류 메시지 본문
+	private static final MediaType TEXT_CONTENT_TYPE = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+	
 	private final TodosService todosService; 
 	private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager; // AuthenticationManager 주입
     private final JwtTokenProvider jwtTokenProvider;
+    private final TodosJsonWriter todosJsonWriter;
+    private final TodosIngestService todosIngestService;
 	
-	public RestTodosController(CommonService commonService, PasswordEncoder passwordEncoder,
+	public RestTodosController(PasswordEncoder passwordEncoder,
             AuthenticationManager authenticationManager,
-            JwtTokenProvider jwtTokenProvider, TodosService todosService) {
-		this.commonService = commonService;
+            JwtTokenProvider jwtTokenProvider, TodosService todosService,
+            TodosJsonWriter todosJsonWriter, TodosIngestService todosIngestService) {
 		this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
         this.todosService = todosService;
+        this.todosJsonWriter = todosJsonWriter;
+        this.todosIngestService = todosIngestService;
 	}
 	
+	// group commit 모드에서는 배치가 커밋된 뒤 writer 스레드에서 future가 완료됨 (요청 스레드는 즉시 반환)
+	// 버퍼가 가득 차면 503 + Retry-After
 	@PostMapping
-	public ResponseEntity<String> postTodos(@RequestBody TodosEntity todos) {
+	public CompletableFuture<ResponseEntity<String>> postTodos(@CurrentUser UsersEntity existingUser, @RequestBody TodosEntity todos) {
 		
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName(); // 인증된 사용자의 username (UsersEntity.username)
+        if (existingUser == null) {
+        	return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다."));
+        }
+        
+        if (todosService.isNullCheck(todos)) {
+        	return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("필수 체크값이 빠져있습니다. 확인 바랍니다."));
+        }
         
-        UsersEntity existingUser = commonService.getUser(currentUsername);
+        todos.setSeq(null);
+        todos.setVersion(null);
+        todos.setOwnerSeq(existingUser.getSeq()); // 작성자는 항상 인증된 사용자
         
+        CompletableFuture<Long> inserted;
+        try {
+        	inserted = todosIngestService.insert(todos);
+        } catch (RejectedExecutionException e) {
+        	return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        			.header(HttpHeaders.RETRY_AFTER, INGEST_RETRY_AFTER_SECONDS)
+        			.body("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+        }
+		
+		return inserted.handle((seq, e) -> {
+			if (e != null) {
+				log.error("todo 등록 실패", e);
+				return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("DB에 접근할 수 없습니다!");
+			}
+			return ResponseEntity.created(URI.create("/todos/" + seq)).body("todos 리스트 생성 완료!");
+		});
+	}
+	
+	@PostMapping("/batch")
+	public ResponseEntity<?> postTodosBatch(@CurrentUser UsersEntity existingUser, @RequestBody List<TodosEntity> todosList) {
+		
         if (existingUser == null) {
         	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
         }
         
-        if (todosService.isNullCheck(todos)) {
-        	return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("필수 체크값이 빠져있습니다. 확인 바랍니다.");
+        if (todosList == null || todosList.isEmpty()) {
+        	return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("등록할 todo 목록이 비어있습니다.");
         }
         
-        todosService.insertTodos(todos);
-		
-		return ResponseEntity.status(HttpStatus.CREATED).body("todos 리스트 생성 완료!");
+        if (todosList.size() > MAX_BATCH_SIZE) {
+        	return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("한 번에 등록할 수 있는 todo는 최대 " + MAX_BATCH_SIZE + "건입니다.");
+        }
+        
+        TodosBatchResponse batchResponse;
+        try {
+        	batchResponse = new TodosBatchResponse(todosService.insertTodosBatch(existingUser.getSeq(), todosList));
+		} catch (DataAccessException e) {
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("DB에 접근할 수 없습니다!");
+		}
+        
+        log.debug("todos 일괄 등록 : requested={}, created={}, failed={}",
+        		batchResponse.getRequested(), batchResponse.getCreated(), batchResponse.getFailed());
+        
+        // 한 건도 생성되지 않았으면 400, 그 외에는 항목별 결과와 함께 201 반환
+        HttpStatus status = batchResponse.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+		return ResponseEntity.status(status).body(batchResponse);
 	}
 	
 	@GetMapping
-	public ResponseEntity<String> getTodos() {
+	public ResponseEntity<StreamingResponseBody> getTodos(@CurrentUser UsersEntity existingUser,
+			@RequestParam(name = "after", defaultValue = "0") long after,
+			@RequestParam(name = "limit", defaultValue = "" + DEFAULT_PAGE_LIMIT) int limit,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 		
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName(); // 인증된 사용자의 username (UsersEntity.username)
+        if (existingUser == null) {
+        	return text(HttpStatus.NOT_FOUND, "유저 정보가 존재하지 않습니다.");
+        }
         
-        UsersEntity existingUser = commonService.getUser(currentUsername);
+        if (after < 0 || limit < 1) {
+        	return text(HttpStatus.BAD_REQUEST, "after는 0 이상, limit은 1 이상이어야 합니다.");
+        }
         
-        if (existingUser == null) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
+        // 목록 버전이 같으면 목록 조회/직렬화 없이 304 (users PK 조회 1회)
+        String etag = ETags.todoCollection(todosService.getTodoCollectionVersion(existingUser.getSeq()));
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+        	return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
         
-        List<TodosEntity> todoList = todosService.getTodoList();
+        Slice<TodoView> todoSlice = todosService.getTodoList(existingUser.getSeq(), after, Math.min(limit, MAX_PAGE_LIMIT));
         
-        if (todoList == null || todoList.size() == 0) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("조회되는 todo리스트가 없습니다.");
+        if (!todoSlice.hasContent()) {
+        	return text(HttpStatus.NOT_FOUND, "조회되는 todo리스트가 없습니다.");
         }
         
-        log.info("todoList : {} ", todoList);
+        List<TodoView> todoList = todoSlice.getContent();
+        Long nextCursor = todoSlice.hasNext() ? todoList.get(todoList.size() - 1).getSeq() : null;
+        
+        log.debug("todoList 조회 : after={}, size={}, nextCursor={}", after, todoList.size(), nextCursor);
         
-		return ResponseEntity.status(HttpStatus.OK).body("todos 리스트 조회 성공! " + todoList);
+        // 전체 리스트를 하나의 문자열로 만들지 않고 한 건씩 응답 스트림에 JSON으로 바로 기록합니다.
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag).contentType(TodosJsonWriter.CONTENT_TYPE);
+        if (nextCursor != null) {
+        	builder.header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor));
+        }
+		return builder.body(todosJsonWriter.todos("todos 리스트 조회 성공!", todoList, nextCursor));
 	}
 	
 	@GetMapping("/{id}")
-	public ResponseEntity<String> getTodosBySeq(@PathVariable("id") Long seq) {
+	public ResponseEntity<StreamingResponseBody> getTodosBySeq(@CurrentUser UsersEntity existingUser, @PathVariable("id") Long seq,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 		
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName(); // 인증된 사용자의 username (UsersEntity.username)
-        
-        UsersEntity existingUser = commonService.getUser(currentUsername);
-        
         if (existingUser == null) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
+        	return text(HttpStatus.NOT_FOUND, "유저 정보가 존재하지 않습니다.");
         }
         
-        TodosEntity existingTodo = todosService.getTodosBySeq(seq);
+        TodoView existingTodo = todosService.getTodosBySeq(existingUser.getSeq(), seq);
         if (existingTodo == null) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("조회되는 todo가 없습니다.");
+        	return text(HttpStatus.NOT_FOUND, "조회되는 todo가 없습니다.");
+        }
+        
+        // 버전이 같으면 본문 없이 304
+        String etag = ETags.todo(existingTodo);
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+        	return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
         
-        log.info("existingTodo : {} ", existingTodo);
-     
-		return ResponseEntity.status(HttpStatus.OK).body("todo 조회 성공! " + existingTodo);
+        log.debug("existingTodo : seq={}, version={}", existingTodo.getSeq(), existingTodo.getVersion());
+        
+		return ResponseEntity.ok().eTag(etag).contentType(TodosJsonWriter.CONTENT_TYPE)
+				.body(todosJsonWriter.todo("todo 조회 성공!", existingTodo));
 	}
 	
 	@PutMapping("/{id}")
-	public ResponseEntity<String> putTodosBySeq(@PathVariable("id") Long seq, @RequestBody TodosEntity updateTodos) {
+	public ResponseEntity<StreamingResponseBody> putTodosBySeq(@CurrentUser UsersEntity existingUser, @PathVariable("id") Long seq,
+			@RequestBody TodosEntity updateTodos,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName(); // 인증된 사용자의 username (UsersEntity.username)
-        
-        UsersEntity existingUser = commonService.getUser(currentUsername);
-        
         if (existingUser == null) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
+        	return text(HttpStatus.NOT_FOUND, "유저 정보가 존재하지 않습니다.");
         }
         
-        TodosEntity existingTodo = todosService.getTodosBySeq(seq);
-        if (existingTodo == null) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("조회되는 todo가 없습니다.");
+        if (todosService.isNullCheck(updateTodos)) {
+        	return text(HttpStatus.BAD_REQUEST, "필수 체크값이 빠져있습니다. 확인 바랍니다.");
         }
         
-        existingTodo.setContent(updateTodos.getContent());
-        TodosEntity updatedTodo;
+        // 조회 없이 단일 UPDATE 문으로 수정 (If-Match가 있으면 version 조건 포함), 변경 후 version을 함께 받음
+        List<Long> expectedVersions = ETags.ifMatchVersions(ifMatch, seq);
+        Long updatedVersion;
         try {
-        	updatedTodo = todosService.updateTodo(existingTodo);
+        	updatedVersion = todosService.updateTodo(existingUser.getSeq(), seq, updateTodos.getContent(), expectedVersions);
 		} catch (DataAccessException e) {
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("DB에 접근할 수 없습니다!");
+			return text(HttpStatus.INTERNAL_SERVER_ERROR, "DB에 접근할 수 없습니다!");
 		} catch (PersistenceException e) {
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Jpa/Hibernate에 예외가 발생했습니다.");
+			return text(HttpStatus.INTERNAL_SERVER_ERROR, "Jpa/Hibernate에 예외가 발생했습니다.");
 		} catch (Exception e) {
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("예외가 발생했습니다.!");
+			return text(HttpStatus.INTERNAL_SERVER_ERROR, "예외가 발생했습니다.!");
 		}
         
-        log.info("existingTodo : {} ", existingTodo);
-		return ResponseEntity.status(HttpStatus.OK).body("todo 업데이트 성공!! " + updatedTodo);
+        if (updatedVersion == null) {
+        	ResponseEntity<String> failed = notFoundOrPreconditionFailed(existingUser, seq, expectedVersions, "수정");
+        	return text(failed.getStatusCode(), failed.getBody());
+        }
+        
+        TodoView updatedTodo = TodoView.of(seq, updateTodos.getContent(), updatedVersion);
+        
+        log.debug("updatedTodo : seq={}, version={}", seq, updatedVersion);
+		return ResponseEntity.ok().eTag(ETags.todo(updatedTodo)).contentType(TodosJsonWriter.CONTENT_TYPE)
+				.body(todosJsonWriter.todo("todo 업데이트 성공!!", updatedTodo));
 	}
 	
 	@DeleteMapping("/{id}")
-	public ResponseEntity<String> deleteTodosBySeq(@PathVariable("id") Long seq) {
+	public ResponseEntity<String> deleteTodosBySeq(@CurrentUser UsersEntity existingUser, @PathVariable("id") Long seq,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName(); // 인증된 사용자의 username (UsersEntity.username)
-        
-        UsersEntity existingUser = commonService.getUser(currentUsername);
-        
         if (existingUser == null) {
         	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
         }
         
-        TodosEntity existingTodo = todosService.getTodosBySeq(seq);
-        if (existingTodo == null) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("조회되는 todo가 없습니다.");
-        }
-        
-        long deleteCnt = 0;
+        // 조회 없이 단일 DELETE 문으로 삭제 (If-Match가 있으면 version 조건 포함)
+        List<Long> expectedVersions = ETags.ifMatchVersions(ifMatch, seq);
+        int deleteCnt = 0;
         try {
-        	deleteCnt = todosService.DeleteTodo(existingTodo);
-        	log.info(">>>>>>>>>>>>>>삭제된 deleteCnt는??? {} ", deleteCnt);
-		} catch (EmptyResultDataAccessException e) {
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("삭제하려는 seq가 없습니다!");
+        	deleteCnt = todosService.DeleteTodo(existingUser.getSeq(), seq, expectedVersions);
+        	log.debug("todo 삭제 : seq={}, deleteCnt={}", seq, deleteCnt);
 		} catch (Exception e) {
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("예외가 발생했습니다.!");
 		}
         if (deleteCnt > 0) return ResponseEntity.status(HttpStatus.OK).body("todo 삭제 성공!!");
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("todo 삭제를 실패했습니다!!");
+        return notFoundOrPreconditionFailed(existingUser, seq, expectedVersions, "삭제");
+	}
+	
+	// 변경된 행이 0건일 때 : 조건 없는 요청이면 404, If-Match 요청이면 todo가 남아 있는 경우에만 412 (실패 경로에서만 추가 조회)
+	private ResponseEntity<String> notFoundOrPreconditionFailed(UsersEntity existingUser, Long seq,
+			List<Long> expectedVersions, String action) {
+		if (expectedVersions != null && todosService.getTodosBySeq(existingUser.getSeq(), seq) != null) {
+			return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("todo가 이미 변경되었습니다. 다시 조회 후 " + action + "해주세요.");
+		}
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body("조회되는 todo가 없습니다.");
 	}
 	
 	@GetMapping("/search")
-	public ResponseEntity<String> getTodosSearch(@RequestParam(required = true) String content) {
+	public ResponseEntity<StreamingResponseBody> getTodosSearch(@CurrentUser UsersEntity existingUser,
+			@RequestParam(required = true) String content,
+			@RequestParam(name = "limit", defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit,
+			@RequestParam(name = "offset", defaultValue = "0") long offset) {
 		
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName(); // 인증된 사용자의 username (UsersEntity.username)
-        
-        UsersEntity existingUser = commonService.getUser(currentUsername);
-        
         if (existingUser == null) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
+        	return text(HttpStatus.NOT_FOUND, "유저 정보가 존재하지 않습니다.");
         }
         if (content == null || content.isBlank()) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("필수 체크값이 빠져있습니다. 확인 바랍니다.");
+        	return text(HttpStatus.NOT_FOUND, "필수 체크값이 빠져있습니다. 확인 바랍니다.");
+        }
+        if (offset < 0 || limit < 1) {
+        	return text(HttpStatus.BAD_REQUEST, "offset은 0 이상, limit은 1 이상이어야 합니다.");
         }
         
-        TodosEntity searchTodo = todosService.getSearchTodo(content);
+        List<TodoView> searchTodos = todosService.getSearchTodo(existingUser.getSeq(), content, Math.min(limit, MAX_SEARCH_LIMIT), offset);
         
-        if (searchTodo == null) {
-        	return ResponseEntity.status(HttpStatus.NOT_FOUND).body("조회되는 todo가 없습니다.");
+        if (searchTodos.isEmpty()) {
+        	return text(HttpStatus.NOT_FOUND, "조회되는 todo가 없습니다.");
         }
         
-        log.info("searchTodo : {} ", searchTodo);
-		return ResponseEntity.status(HttpStatus.OK).body("todos검색 성공! " + searchTodo);
+        log.debug("searchTodo : content={}, offset={}, size={}", LogFields.abbreviate(content, 64), offset, searchTodos.size());
+		return ResponseEntity.ok().contentType(TodosJsonWriter.CONTENT_TYPE)
+				.body(todosJsonWriter.todos("todos검색 성공!", searchTodos, null));
+	}
+	
+	// 조회/수정 핸들러는 반환 타입이 ResponseEntity<StreamingResponseBody>여야 본문을 스트림으로 기록하므로 오류 메시지도 같은 타입으로 응답
+	private static ResponseEntity<StreamingResponseBody> text(HttpStatus status, String message) {
+		byte[] body = message.getBytes(StandardCharsets.UTF_8);
+		return ResponseEntity.status(status).contentType(TEXT_CONTENT_TYPE).body(out -> out.write(body));
 	}
 }
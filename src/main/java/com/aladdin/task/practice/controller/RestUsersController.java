@@ -1,30 +1,45 @@
 package com.aladdin.task.practice.controller;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
 import javax.persistence.PersistenceException;
 
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication; // 인증 결과 객체
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.aladdin.task.practice.entity.UsersEntity;
-import com.aladdin.task.practice.service.CommonService;
+import com.aladdin.task.practice.service.RefreshTokenService;
+import com.aladdin.task.practice.service.TokenRevocationService;
+import com.aladdin.task.practice.service.UsersCacheService;
 import com.aladdin.task.practice.service.UsersService;
+import com.aladdin.task.practice.service.impl.UserDetailsImpl;
+import com.aladdin.task.practice.utils.auth.CurrentUser;
+import com.aladdin.task.practice.utils.auth.PasswordHashingExecutor;
+import com.aladdin.task.practice.utils.jwt.JwtAuthenticationFilter;
+import com.aladdin.task.practice.utils.jwt.JwtTokenCache;
 import com.aladdin.task.practice.utils.jwt.JwtTokenProvider;
+import com.aladdin.task.practice.utils.logging.LogFields;
+import com.aladdin.task.practice.vo.IssuedRefreshToken;
 import com.aladdin.task.practice.vo.JwtResponse;
 import com.aladdin.task.practice.vo.LoginRequest;
+import com.aladdin.task.practice.vo.RefreshTokenRequest;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,56 +48,87 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/users")
 public class RestUsersController {
 	
+	// 비밀번호 해시 대기 큐가 가득 찬 경우 재시도 권장 시간(초)
+	private static final String HASHING_RETRY_AFTER_SECONDS = "1";
+	
 	private final UsersService usersService;
-	private final CommonService commonService;
+	private final UsersCacheService usersCacheService;
 	private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager; // AuthenticationManager 주입
     private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordHashingExecutor passwordHashingExecutor; // BCrypt 전용 실행기
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 	
 	public RestUsersController(UsersService usersService, PasswordEncoder passwordEncoder,
             AuthenticationManager authenticationManager,
-            JwtTokenProvider jwtTokenProvider, CommonService commonService) {
+            JwtTokenProvider jwtTokenProvider, UsersCacheService usersCacheService,
+            PasswordHashingExecutor passwordHashingExecutor, RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService) {
 		this.usersService = usersService;
 		this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
-        this.commonService = commonService;
+        this.usersCacheService = usersCacheService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
 	}
+    
+    // BCrypt 연산이 포함된 작업을 전용 실행기로 넘기고 요청 스레드는 즉시 반환
+    // 대기 큐가 가득 차면 503 + Retry-After (클라이언트별 한도가 아닌 서버 전체 과부하이므로 429 대신 503)
+    private CompletableFuture<ResponseEntity<?>> offloadHashing(Supplier<ResponseEntity<?>> task) {
+    	try {
+    		return passwordHashingExecutor.submit(task);
+    	} catch (RejectedExecutionException e) {
+    		return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+    				.header(HttpHeaders.RETRY_AFTER, HASHING_RETRY_AFTER_SECONDS)
+    				.body("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+    	}
+    }
 
 
     // 회원 가입 (POST /users/signup)
     // SecurityConfig에서 permitAll() 설정
     @PostMapping("/signup")
-    public ResponseEntity<String> postSignup (@RequestBody UsersEntity user) {
+    // 비밀번호 해시 및 저장은 PasswordHashingExecutor에서 수행
+    public CompletableFuture<ResponseEntity<?>> postSignup (@RequestBody UsersEntity user) {
     	
     	if (usersService.checkDuplicateUserId(user.getUserId())) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("사용자 아이디가 이미 존재합니다.");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("사용자 아이디가 이미 존재합니다."));
     	}
     	// 필수 값 발리데이션 체크
     	if (usersService.isNullCheck(user)) {
-    		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("필수 체크값이 빠져있습니다. 확인 바랍니다.");
+    		return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("필수 체크값이 빠져있습니다. 확인 바랍니다."));
     	}
     	
-        String rawPassword = user.getPassword();
-        String encodedPassword = passwordEncoder.encode(rawPassword);
-        user.setPassword(encodedPassword);
-
-        usersService.insertUsers(user);
-        
-        log.info("회원 가입 사용자 : {}", user.getUserId());
-        return ResponseEntity.status(HttpStatus.CREATED).body("회원 가입 성공!!");
+        return offloadHashing(() -> {
+	        String rawPassword = user.getPassword();
+	        String encodedPassword = passwordEncoder.encode(rawPassword);
+	        user.setPassword(encodedPassword);
+	
+	        usersService.insertUsers(user);
+	        
+	        log.info("회원 가입 사용자 : {}", user.getUserId());
+	        return ResponseEntity.status(HttpStatus.CREATED).body("회원 가입 성공!!");
+        });
     }
 
     // 로그인 (POST /users/login)
     // SecurityConfig에서 permitAll() 설정
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
+    // 인증(BCrypt matches)과 토큰 발급은 PasswordHashingExecutor에서 수행
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@RequestBody LoginRequest loginRequest) {
     	
     	// 필수 값 발리데이션 체크
     	if (usersService.isNullCheck(loginRequest)) {
-    		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("필수 체크값이 빠져있습니다. 확인 바랍니다.");
+    		return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("필수 체크값이 빠져있습니다. 확인 바랍니다."));
     	}
     	
+        return offloadHashing(() -> authenticate(loginRequest));
+    }
+    
+    private ResponseEntity<?> authenticate(LoginRequest loginRequest) {
         try {
             // AuthenticationManager를 사용하여 인증 시도
             // loadUserByUsername(loginRequest.getUsername()) 호출 및 비밀번호 검증은 AuthenticationManager 내부에서 처리됨
@@ -93,34 +139,75 @@ public class RestUsersController {
                 )
             );
 
-            // 인증 성공 시, 인증된 Authentication 객체를 Security Context에 설정 (선택 사항이지만 일반적)
-            // 이후 SecurityContextHolder.getContext().getAuthentication()으로 인증 정보 접근 가능
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            // 세션을 사용하지 않으므로(STATELESS) SecurityContext에 설정하지 않음
+            // (실행기 스레드의 ThreadLocal에 인증 정보가 남지 않도록 주의)
 
             // 인증 성공 시 JWT 토큰 생성 (Authentication 객체 사용)
             String jwt = jwtTokenProvider.createToken(authentication);
+            // access token 만료 후 BCrypt 로그인 없이 재발급받을 수 있도록 refresh token 함께 발급
+            Long userSeq = ((UserDetailsImpl) authentication.getPrincipal()).getUser().getSeq();
+            String refreshToken = refreshTokenService.issue(userSeq).getToken();
 
-            // 클라이언트에 JWT 토큰 반환 (access_token 필드 사용)
-            return ResponseEntity.status(HttpStatus.CREATED).body(new JwtResponse(jwt));
+            // 클라이언트에 JWT 토큰 반환 (access_token, refresh_token 필드 사용)
+            return ResponseEntity.status(HttpStatus.CREATED).body(new JwtResponse(jwt, refreshToken));
 
         } catch (org.springframework.security.core.AuthenticationException e) {
             // Spring Security 예외를 잡아 401 Unauthorized 응답 반환
             // UserDetailsServiceImpl의 UsernameNotFoundException 또는 DaoAuthenticationProvider의 BadCredentialsException 등
-            System.err.println("Authentication failed: " + e.getMessage());
+            log.debug("로그인 실패 : userId={}, reason={}", LogFields.abbreviate(loginRequest.getUserId(), 64), e.getClass().getSimpleName());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("로그인 실패: 사용자 정보 불일치");
         }
     }
 
+    // access token 재발급 (POST /users/token/refresh)
+    // SecurityConfig에서 permitAll() 설정. BCrypt 연산이 없으므로 요청 스레드에서 처리
+    // 사용한 refresh token은 교체(rotation)되어 다시 사용할 수 없음
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest refreshTokenRequest) {
+    	String refreshToken = refreshTokenRequest.getRefresh_token();
+    	if (refreshToken == null || refreshToken.isBlank()) {
+    		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("필수 체크값이 빠져있습니다. 확인 바랍니다.");
+    	}
+    	
+    	Optional<IssuedRefreshToken> rotated = refreshTokenService.rotate(refreshToken);
+    	Optional<UsersEntity> user = rotated.flatMap(issued -> usersService.getUserBySeq(issued.getUserSeq()));
+    	if (user.isEmpty()) {
+    		return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("유효하지 않은 refresh token입니다. 다시 로그인해주세요.");
+    	}
+    	
+    	String jwt = jwtTokenProvider.createToken(user.get().getUserId());
+    	return ResponseEntity.status(HttpStatus.CREATED).body(new JwtResponse(jwt, rotated.get().getToken()));
+    }
+    
+    // 로그아웃 (POST /users/logout)
+    // 현재 access token(jti)을 폐기하고, 본문에 refresh_token이 있으면 함께 폐기
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@CurrentUser UsersEntity existingUser,
+    		@RequestAttribute(name = JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) JwtTokenCache.CachedToken verifiedToken,
+    		@RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+    	if (existingUser == null) {
+    		return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
+    	}
+    	
+    	revokeAccessToken(verifiedToken);
+    	if (refreshTokenRequest != null && refreshTokenRequest.getRefresh_token() != null) {
+    		refreshTokenService.revoke(refreshTokenRequest.getRefresh_token(), existingUser.getSeq());
+    	}
+    	return ResponseEntity.status(HttpStatus.OK).body("로그아웃 성공!!");
+    }
+    
+    private void revokeAccessToken(JwtTokenCache.CachedToken verifiedToken) {
+    	if (verifiedToken != null) {
+    		tokenRevocationService.revoke(verifiedToken.getTokenId(), verifiedToken.getExpiresAtMillis());
+    	}
+    }
+
     // 내 정보 조회 (GET /users/me)
     // SecurityConfig에서 authenticated()로 보호됩니다.
     // JWT 필터를 통과하고 인증되면 이 메소드에 접근 가능합니다.
     @GetMapping("/me")
-    public ResponseEntity<String> getMe() {
-        // 현재 인증된 사용자 정보는 SecurityContextHolder에서 가져올 수 있습니다.
-         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-         String currentUsername = authentication.getName(); // 인증된 사용자의 username (UsersEntity.username)
-         
-         UsersEntity existingUser = commonService.getUser(currentUsername);
+    public ResponseEntity<String> getMe(@CurrentUser UsersEntity existingUser) {
+        // 현재 인증된 사용자 정보는 JWT 필터가 SecurityContext에 넣어둔 UsersEntity를 @CurrentUser로 주입받습니다.
          if (existingUser == null) {
         	 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
          }
@@ -132,58 +219,76 @@ public class RestUsersController {
     // 이 경로들도 SecurityConfig의 authenticated() 설정에 의해 자동 보호됩니다.
 	
     @PutMapping("/me")
-    public ResponseEntity<String> putMe(@RequestBody UsersEntity updateUser) {
-        // 현재 인증된 사용자 정보는 SecurityContextHolder에서 가져올 수 있습니다.
-         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-         String currentUsername = authentication.getName(); // 인증된 사용자의 username (UsersEntity.username)
-         
-         UsersEntity existingUser = commonService.getUser(currentUsername);
+    // 비밀번호 해시 및 수정은 PasswordHashingExecutor에서 수행
+    public CompletableFuture<ResponseEntity<?>> putMe(@CurrentUser UsersEntity existingUser, @RequestBody UsersEntity updateUser) {
+        // 현재 인증된 사용자 정보는 JWT 필터가 SecurityContext에 넣어둔 UsersEntity를 @CurrentUser로 주입받습니다.
          if (existingUser == null) {
-        	 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
+        	 return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다."));
          }
          
          if (usersService.isNullCheck(updateUser)) {
-        	 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("필수 체크값이 빠져있습니다. 확인 바랍니다.");
+        	 return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("필수 체크값이 빠져있습니다. 확인 바랍니다."));
          }
          
+         // 샤드 모드(sqlite.shards > 1)에서 다른 샤드에 배정되는 아이디로는 변경 불가 (사용자 데이터 이동 미지원)
+         if (!usersService.canChangeUserId(existingUser, updateUser.getUserId())) {
+        	 return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).body("이 아이디로는 변경할 수 없습니다."));
+         }
+         
+         return offloadHashing(() -> updateMe(existingUser, updateUser));
+    }
+    
+    private ResponseEntity<?> updateMe(UsersEntity existingUser, UsersEntity updateUser) {
+         String currentUsername = existingUser.getUserId(); // 변경 전 userId (캐시 무효화용)
          existingUser.setUserId(updateUser.getUserId());
          existingUser.setPassword(passwordEncoder.encode(updateUser.getPassword()));
          
-         UsersEntity updatedUser;
+         // 조회/merge 없이 단일 UPDATE 문으로 수정
+         int updateCnt;
          try {
-        	 updatedUser = usersService.updateUsers(existingUser);
+        	 updateCnt = usersService.updateUsers(existingUser);
  		 } catch (DataAccessException e) {
  			 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("DB에 접근할 수 없습니다!");
  		 } catch (PersistenceException e) {
  			 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Jpa/Hibernate에 예외가 발생했습니다.");
  		 } catch (Exception e) {
  			 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("예외가 발생했습니다.!");
- 		}
+ 		 } finally {
+ 			 // 변경 전/후 userId 모두 캐시에서 제거 (이전 아이디로는 즉시 인증 불가)
+ 			 usersCacheService.evict(currentUsername, updateUser.getUserId());
+ 		 }
          
-        return ResponseEntity.status(HttpStatus.OK).body("내 정보 수정 성공!!" + updatedUser);
+         if (updateCnt == 0) {
+        	 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
+         }
+         
+        return ResponseEntity.status(HttpStatus.OK).body("내 정보 수정 성공!!" + existingUser);
     }
     
     @DeleteMapping("/me")
-    public ResponseEntity<String> deleteMe() {
-        // 현재 인증된 사용자 정보는 SecurityContextHolder에서 가져올 수 있습니다.
-         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-         String currentUsername = authentication.getName(); // 인증된 사용자의 username (UsersEntity.username)
-
-         UsersEntity existingUser = commonService.getUser(currentUsername);
+    public ResponseEntity<String> deleteMe(@CurrentUser UsersEntity existingUser,
+    		@RequestAttribute(name = JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) JwtTokenCache.CachedToken verifiedToken) {
+        // 현재 인증된 사용자 정보는 JWT 필터가 SecurityContext에 넣어둔 UsersEntity를 @CurrentUser로 주입받습니다.
          if (existingUser == null) {
         	 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
          }
          
-         long deleteCnt = 0;
+         // 조회 없이 단일 DELETE 문으로 삭제
+         int deleteCnt = 0;
          try {
         	 deleteCnt = usersService.deleteUser(existingUser);
-		 } catch (EmptyResultDataAccessException e) {
-			 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("삭제하려는 UserId가 없습니다!");
 		 } catch (Exception e) {
 			 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("예외가 발생했습니다.!");
+		 } finally {
+			 // 삭제된 계정은 캐시에서 즉시 제거
+			 usersCacheService.evict(existingUser.getUserId());
 		 }
          
-         if (deleteCnt > 0) return ResponseEntity.status(HttpStatus.OK).body("내 정보 삭제 성공!!");
-         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("내 정보 삭제를 실패했습니다!!");
+         if (deleteCnt > 0) {
+        	 // refresh token은 user_seq ON DELETE CASCADE로 함께 삭제, 사용 중인 access token은 즉시 폐기
+        	 revokeAccessToken(verifiedToken);
+        	 return ResponseEntity.status(HttpStatus.OK).body("내 정보 삭제 성공!!");
+         }
+         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("유저 정보가 존재하지 않습니다.");
     }
 }
@@ -0,0 +1,38 @@
+package com.aladdin.task.practice.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Data;
+
+@Entity
+@Table(name = "refresh_tokens")
+@Data
+public class RefreshTokensEntity {
+
+	// 토큰 원문의 SHA-256 (hex). 원문은 저장하지 않음
+	@Id
+	@Column(name = "token_hash")
+	String tokenHash;
+	
+	@Column(name = "user_seq", nullable = false)
+	Long userSeq;
+	
+	// 만료시각 (epoch millis)
+	@Column(name = "expires_at", nullable = false)
+	Long expiresAt;
+	
+	// 교체(rotation)된 시각. 이미 사용된 토큰이 다시 들어오면 탈취로 보고 해당 사용자의 토큰을 모두 폐기
+	@Column(name = "used_at")
+	Long usedAt;
+
+	public RefreshTokensEntity() {}
+	
+	public RefreshTokensEntity(String tokenHash, Long userSeq, Long expiresAt) {
+		this.tokenHash = tokenHash;
+		this.userSeq = userSeq;
+		this.expiresAt = expiresAt;
+	}
+}
@@ -0,0 +1,29 @@
+package com.aladdin.task.practice.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Data;
+
+@Entity
+@Table(name = "revoked_tokens")
+@Data
+public class RevokedTokensEntity {
+
+	// 폐기된 access token의 jti
+	@Id
+	String jti;
+	
+	// 토큰 exp (epoch millis). 이후에는 토큰 자체가 만료되므로 목록에서 제거
+	@Column(name = "expires_at", nullable = false)
+	Long expiresAt;
+
+	public RevokedTokensEntity() {}
+	
+	public RevokedTokensEntity(String jti, Long expiresAt) {
+		this.jti = jti;
+		this.expiresAt = expiresAt;
+	}
+}
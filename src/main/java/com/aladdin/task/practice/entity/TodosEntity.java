@@ -1,17 +1,26 @@
 package com.aladdin.task.practice.entity;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.aladdin.task.practice.config.HibernateCacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import lombok.Data;
 
+// 2차 캐시 (PK 조회). 수정/삭제는 JpaTodosStore가 JDBC로 처리하면서 해당 엔트리만 무효화합니다.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TODOS_REGION)
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Table(name = "todos")
 @Data
@@ -20,9 +29,18 @@ public class TodosEntity {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	Long seq;
 	
+	// 작성자 (users.seq). 요청 본문 값은 무시하고 인증된 사용자로 채웁니다.
+	@Column(name = "owner_seq", nullable = false)
+	Long ownerSeq;
+	
 	@Column(nullable = false)
 	String content;
 	
+	// 낙관적 잠금 버전. 수정 시마다 증가하며 ETag("seq-version")로 사용합니다.
+	@Version
+	@Column(nullable = false)
+	Long version;
+	
 
 	public TodosEntity() {}
 	
@@ -1,5 +1,6 @@
 package com.aladdin.task.practice.entity;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -7,12 +8,21 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+import com.aladdin.task.practice.config.HibernateCacheConfig;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import lombok.Data;
 
+// 2차 캐시 (PK 조회, userId 자연키 조회). UsersRepository의 JPQL 일괄 UPDATE/DELETE는 Hibernate가 두 region을 함께 비웁니다.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USERS_REGION)
+@NaturalIdCache(region = HibernateCacheConfig.USERS_NATURAL_ID_REGION)
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Table(name = "users")
 @Data
@@ -22,6 +32,8 @@ public class UsersEntity {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	Long seq;
 	
+	// 아이디 변경(PUT /users/me)이 가능하므로 mutable 자연키
+	@NaturalId(mutable = true)
 	@Column(nullable = false, unique = true)
 	String userId;
 	
@@ -0,0 +1,270 @@
+package com.aladdin.task.practice.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.repository.memory.MemoryTodosStore;
+import com.aladdin.task.practice.vo.TodoView;
+import com.aladdin.task.practice.vo.TodosBatchItemResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> SQLite todos 테이블 저장소 (기본 엔진). 조회는 TodosRepository(JPA, 2차 캐시), 등록/수정/삭제는 JDBC 단일 문장으로 처리합니다.</p>
+ * */
+@Slf4j
+@Repository
+@Profile("!" + MemoryTodosStore.PROFILE)
+public class JpaTodosStore implements TodosStore {
+
+	private static final String INSERT_TODO_SQL = "INSERT INTO todos (owner_seq, content) VALUES (?, ?)";
+	private static final String UPDATE_TODO_SQL = "UPDATE todos SET content = ?, version = version + 1 WHERE seq = ? AND owner_seq = ?";
+	private static final String RETURNING_VERSION = " RETURNING version";
+	private static final String DELETE_TODO_SQL = "DELETE FROM todos WHERE seq = ? AND owner_seq = ?";
+	
+	private final TodosRepository todosRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final EntityManager entityManager;
+	
+	public JpaTodosStore(TodosRepository todosRepository, JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+		this.todosRepository = todosRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.entityManager = entityManager;
+	}
+	
+	@Override
+	public void insert(TodosEntity todos) {
+		todosRepository.save(todos);
+	}
+	
+	/**
+	 * <p> 전체를 하나의 트랜잭션(커밋/fsync 1회)으로 처리합니다.</p>
+	 * <p> IDENTITY 전략이라 Hibernate 배치 insert가 불가능하므로, 하나의 PreparedStatement를 재사용해 JDBC로 직접 insert하고
+	 * 행마다 생성된 seq를 받아 요청 순서대로 돌려줍니다.</p>
+	 * */
+	@Override
+	@Transactional
+	public List<TodosBatchItemResult> insertAll(Long ownerSeq, List<TodosEntity> todosList) {
+		List<TodosBatchItemResult> results = new ArrayList<>(todosList.size());
+		
+		jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+			try (PreparedStatement ps = con.prepareStatement(INSERT_TODO_SQL, Statement.RETURN_GENERATED_KEYS)) {
+				for (int i = 0; i < todosList.size(); i++) {
+					TodosEntity todos = todosList.get(i);
+					if (TodosStore.isInvalid(todos)) {
+						results.add(TodosBatchItemResult.failure(i, "필수 체크값이 빠져있습니다."));
+						continue;
+					}
+					
+					try {
+						ps.setLong(1, ownerSeq != null ? ownerSeq : todos.getOwnerSeq());
+						ps.setString(2, todos.getContent());
+						ps.executeUpdate();
+						try (ResultSet keys = ps.getGeneratedKeys()) {
+							keys.next();
+							results.add(TodosBatchItemResult.success(i, keys.getLong(1)));
+						}
+					} catch (SQLException e) {
+						// SQLite는 실패한 문장만 롤백하므로 트랜잭션은 유지한 채 다음 항목을 계속 처리
+						log.warn("todo 일괄 등록 중 {}번째 항목 실패: {}", i, e.getMessage());
+						results.add(TodosBatchItemResult.failure(i, "DB 저장에 실패했습니다."));
+					}
+				}
+			}
+			return null;
+		});
+		
+		return results;
+	}
+	
+	/**
+	 * <p> (owner_seq, seq) 인덱스 범위 스캔 (TodoView 프로젝션)</p>
+	 * */
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<TodoView> findPage(Long ownerSeq, long after, int limit) {
+		return todosRepository.findViewByOwnerSeqAndSeqGreaterThanOrderBySeqAsc(ownerSeq, after, PageRequest.of(0, limit));
+	}
+
+	/**
+	 * <p> users.todos_version (todos 변경 트리거가 증가). 목록보다 먼저 조회해야 ETag가 실제 내용보다 앞서지 않습니다.</p>
+	 * */
+	@Override
+	@Transactional(readOnly = true)
+	public long collectionVersion(Long ownerSeq) {
+		return todosRepository.findCollectionVersion(ownerSeq).orElse(0L);
+	}
+
+	/**
+	 * <p> PK 조회(Hibernate 2차 캐시)로 읽고 소유자를 확인하므로 캐시에 있으면 SQL을 실행하지 않습니다.</p>
+	 * */
+	@Override
+	@Transactional(readOnly = true)
+	public TodoView findById(Long ownerSeq, Long seq) {
+		return todosRepository.findById(seq)
+				.filter(todos -> todos.getOwnerSeq().equals(ownerSeq)) // 다른 사용자의 todo는 없는 것으로 처리
+				.map(todos -> TodoView.of(todos.getSeq(), todos.getContent(), todos.getVersion()))
+				.orElse(null);
+	}
+
+	/**
+	 * <p> 단일 UPDATE 문. JPQL 일괄 UPDATE는 2차 캐시 todos region 전체를 비우므로, JDBC로 실행하고 해당 todo 엔트리만 무효화합니다.</p>
+	 * <p> 변경 후 version은 같은 문장의 RETURNING으로 받으므로 조건 없는 수정도 추가 조회 없이 새 ETag를 만들 수 있습니다.</p>
+	 * */
+	@Override
+	@Transactional
+	public Long update(Long ownerSeq, Long seq, String content, List<Long> expectedVersions) {
+		if (expectedVersions != null && expectedVersions.isEmpty()) {
+			return null;
+		}
+		lockCachedTodo(seq);
+		List<Object> args = new ArrayList<>(List.of(content, seq, ownerSeq));
+		List<Long> versions = jdbcTemplate.queryForList(UPDATE_TODO_SQL + versionCondition(expectedVersions, args) + RETURNING_VERSION,
+				Long.class, args.toArray());
+		return versions.isEmpty() ? null : versions.get(0);
+	}
+
+	/**
+	 * <p> 단일 DELETE 문. 2차 캐시 무효화는 update와 같습니다.</p>
+	 * */
+	@Override
+	@Transactional
+	public int delete(Long ownerSeq, Long seq, List<Long> expectedVersions) {
+		if (expectedVersions != null && expectedVersions.isEmpty()) {
+			return 0;
+		}
+		lockCachedTodo(seq);
+		List<Object> args = new ArrayList<>(List.of(seq, ownerSeq));
+		return jdbcTemplate.update(DELETE_TODO_SQL + versionCondition(expectedVersions, args), args.toArray());
+	}
+	
+	// If-Match 조건 (version IN (?, ...)), 바인딩 값은 args에 추가
+	private static String versionCondition(List<Long> expectedVersions, List<Object> args) {
+		if (expectedVersions == null) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder(" AND version IN (");
+		for (int i = 0; i < expectedVersions.size(); i++) {
+			sb.append(i == 0 ? "?" : ", ?");
+			args.add(expectedVersions.get(i));
+		}
+		return sb.append(')').toString();
+	}
+	
+	/**
+	 * <p> 현재 트랜잭션에서 변경할 todo의 2차 캐시 엔트리를 soft lock 하고, 트랜잭션이 끝나면 해제합니다.
+	 * Hibernate가 엔티티 수정 시 하는 것과 같은 방식이라, 커밋 전에 시작한 읽기 트랜잭션이 이전 값을 캐시에 다시 넣지 못합니다.</p>
+	 * */
+	private void lockCachedTodo(Long seq) {
+		SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+		EntityPersister persister = session.getFactory().getMetamodel().entityPersister(TodosEntity.class);
+		if (!persister.canWriteToCache()) {
+			return;
+		}
+		EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+		Object cacheKey = cacheAccess.generateCacheKey(seq, persister, session.getFactory(), session.getTenantIdentifier());
+		SoftLock lock = cacheAccess.lockItem(session, cacheKey, null);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				cacheAccess.unlockItem(session, cacheKey, lock);
+			}
+		});
+	}
+
+	/**
+	 * <p> FTS5 전문 검색</p>
+	 * @return bm25 순위로 정렬된 검색 결과
+	 * */
+	@Override
+	@Transactional(readOnly = true)
+	public List<TodoView> search(Long ownerSeq, String content, int limit, long offset) {
+		String matchQuery = toMatchQuery(content);
+		if (matchQuery == null) {
+			return List.of();
+		}
+		return todosRepository.searchByContent(ownerSeq, ownerMatchQuery(ownerSeq, matchQuery), limit, offset);
+	}
+	
+	/**
+	 * <p> 작성자 토큰과 검색어를 AND로 묶고, 검색어는 content 컬럼으로 한정 (V3의 todos_fts owner 컬럼)</p>
+	 * <ul>
+	 *   <li>"할" "일" → owner : "o1" AND content : ("할" "일")</li>
+	 * </ul>
+	 * */
+	private static String ownerMatchQuery(Long ownerSeq, String matchQuery) {
+		return "owner : \"o" + ownerSeq + "\" AND content : (" + matchQuery + ")";
+	}
+	
+	/**
+	 * <p> 사용자 입력을 FTS5 MATCH 문법으로 변환. 각 단어를 큰따옴표로 감싸 FTS 연산자/특수문자가 그대로 해석되지 않도록 합니다.</p>
+	 * <ul>
+	 *   <li>할 일 → "할" "일"</li>
+	 *   <li>할* → "할"*</li>
+	 *   <li>"수정된 할 일" → "수정된 할 일"</li>
+	 * </ul>
+	 * */
+	private static String toMatchQuery(String content) {
+		if (content == null || content.isBlank()) {
+			return null;
+		}
+		String trimmed = content.strip();
+		
+		// 구문 검색
+		if (trimmed.length() > 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+			String phrase = trimmed.substring(1, trimmed.length() - 1).strip();
+			return phrase.isEmpty() ? null : quote(phrase);
+		}
+		
+		StringBuilder sb = new StringBuilder();
+		for (String token : trimmed.split("\\s+")) {
+			boolean prefix = token.endsWith("*");
+			String term = token.replaceAll("\\*+$", "");
+			if (term.isEmpty()) {
+				continue;
+			}
+			if (sb.length() > 0) {
+				sb.append(' ');
+			}
+			sb.append(quote(term));
+			if (prefix) {
+				sb.append('*');
+			}
+		}
+		return sb.length() == 0 ? null : sb.toString();
+	}
+	
+	private static String quote(String term) {
+		return "\"" + term.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * <p> todos는 DB의 ON DELETE CASCADE로 이미 삭제되었고 Hibernate가 알 수 없으므로 todos 2차 캐시를 비웁니다.
+	 * (users region은 JPQL 일괄 DELETE 시 Hibernate가 비움)</p>
+	 * */
+	@Override
+	public void deleteByOwner(Long ownerSeq) {
+		entityManager.getEntityManagerFactory().getCache().evict(TodosEntity.class);
+	}
+}
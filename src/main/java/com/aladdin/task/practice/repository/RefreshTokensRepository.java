@@ -0,0 +1,38 @@
+package com.aladdin.task.practice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aladdin.task.practice.entity.RefreshTokensEntity;
+
+@Repository
+public interface RefreshTokensRepository extends JpaRepository<RefreshTokensEntity, String> {
+	
+	/**
+	 * <p> 미사용/미만료 토큰만 사용 처리 (동시에 같은 토큰으로 교체 요청이 와도 한 요청만 1을 반환)</p>
+	 * */
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE RefreshTokensEntity r SET r.usedAt = :now"
+			+ " WHERE r.tokenHash = :tokenHash AND r.usedAt IS NULL AND r.expiresAt > :now")
+	int markUsed(@Param("tokenHash") String tokenHash, @Param("now") long now);
+	
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM RefreshTokensEntity r WHERE r.tokenHash = :tokenHash AND r.userSeq = :userSeq")
+	int deleteByTokenHashAndUserSeq(@Param("tokenHash") String tokenHash, @Param("userSeq") Long userSeq);
+	
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM RefreshTokensEntity r WHERE r.userSeq = :userSeq")
+	int deleteByUserSeq(@Param("userSeq") Long userSeq);
+	
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM RefreshTokensEntity r WHERE r.expiresAt <= :now")
+	int deleteExpired(@Param("now") long now);
+}
@@ -0,0 +1,27 @@
+package com.aladdin.task.practice.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aladdin.task.practice.entity.RevokedTokensEntity;
+
+@Repository
+public interface RevokedTokensRepository extends JpaRepository<RevokedTokensEntity, String> {
+	
+	/**
+	 * <p> 아직 만료되지 않은 폐기 토큰 (기동 시 메모리 적재용)</p>
+	 * */
+	@Transactional(readOnly = true)
+	List<RevokedTokensEntity> findByExpiresAtGreaterThan(Long now);
+	
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM RevokedTokensEntity r WHERE r.expiresAt <= :now")
+	int deleteExpired(@Param("now") long now);
+}
@@ -1,16 +1,46 @@
 package com.aladdin.task.practice.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.vo.TodoView;
 
 public interface TodosRepository extends JpaRepository<TodosEntity, Long>{
 	Optional<TodosEntity> findBySeq(Long seq);
 	
-	Optional<TodosEntity> findByContent(String content);
+	/**
+	 * <p> 사용자별 seq 기준 keyset(커서) 페이지 조회 (TodoView 프로젝션)</p>
+	 * <p> offset 없이 (owner_seq, seq) 인덱스 범위 스캔만 하므로 해당 사용자의 todo 건수에만 비례하는 비용으로 조회됩니다.</p>
+	 * */
+	Slice<TodoView> findViewByOwnerSeqAndSeqGreaterThanOrderBySeqAsc(Long ownerSeq, Long seq, Pageable pageable);
+	
+	/**
+	 * <p> FTS5 전문 검색. 요청한 사용자의 todo만 bm25 점수(rank) 순으로 정렬하여 limit/offset 페이지를 반환합니다.</p>
+	 * <p> matchQuery에 작성자 토큰(owner : "o&lt;ownerSeq&gt;")이 AND로 들어 있어 FTS5가 해당 사용자의 행으로 좁힌 뒤 점수를 매깁니다.
+	 * (비용이 전체 테이블이 아니라 사용자의 일치 행 수에 비례, t.owner_seq 조건은 같은 결과를 한 번 더 확인)</p>
+	 * @param matchQuery FTS5 MATCH 문법의 검색어 (JpaTodosStore에서 이스케이프 처리된 값)
+	 * */
+	@Query(value = "SELECT t.seq AS seq, t.content AS content, t.version AS version"
+			+ " FROM todos_fts JOIN todos t ON t.seq = todos_fts.rowid"
+			+ " WHERE todos_fts MATCH :matchQuery AND t.owner_seq = :ownerSeq"
+			+ " ORDER BY todos_fts.rank LIMIT :limit OFFSET :offset",
+			nativeQuery = true)
+	List<TodoView> searchByContent(@Param("ownerSeq") Long ownerSeq, @Param("matchQuery") String matchQuery,
+			@Param("limit") int limit, @Param("offset") long offset);
+	
+	/**
+	 * <p> 사용자 todo 목록 버전 조회 (users PK 조회 1회). todos 변경 트리거가 증가시키며 GET /todos ETag로 사용합니다.</p>
+	 * */
+	@Query(value = "SELECT todos_version FROM users WHERE seq = :ownerSeq", nativeQuery = true)
+	Optional<Long> findCollectionVersion(@Param("ownerSeq") Long ownerSeq);
 	
 	@Transactional
 	long deleteBySeq(Long seq);
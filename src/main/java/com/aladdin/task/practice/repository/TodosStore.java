@@ -0,0 +1,77 @@
+package com.aladdin.task.practice.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.vo.TodoView;
+import com.aladdin.task.practice.vo.TodosBatchItemResult;
+
+/**
+ * <p> todo 저장소 엔진. TodosService는 이 인터페이스로만 todo를 읽고 씁니다.</p>
+ * <ul>
+ *   <li>JpaTodosStore : SQLite todos 테이블 (기본)</li>
+ *   <li>MemoryTodosStore : seq(long) 키 해시맵 + append-only 로그/스냅샷 (--spring.profiles.active=memory-store)</li>
+ * </ul>
+ * <p> 두 엔진 모두 ownerSeq가 다른 todo는 없는 것으로 처리하고, version은 0부터 시작해 수정 시마다 1씩 증가합니다.</p>
+ * */
+public interface TodosStore {
+
+	/**
+	 * <p> todo 등록. 발급된 seq와 version을 todos에 채웁니다.</p>
+	 * */
+	void insert(TodosEntity todos);
+
+	/**
+	 * <p> todo 여러 건을 한 번에 등록 (커밋/fsync 1회). 결과는 요청 순서대로 돌려주며,
+	 * 필수값 누락이나 개별 저장 실패는 해당 항목만 실패로 기록합니다.</p>
+	 * @param ownerSeq 작성자 seq (null이면 항목별 ownerSeq 사용)
+	 * */
+	List<TodosBatchItemResult> insertAll(Long ownerSeq, List<TodosEntity> todosList);
+
+	/**
+	 * <p> 단건 조회 (없거나 다른 사용자의 todo면 null)</p>
+	 * */
+	TodoView findById(Long ownerSeq, Long seq);
+
+	/**
+	 * <p> 사용자별 keyset 페이지 조회. after보다 큰 seq를 limit건까지 오름차순으로 반환합니다.</p>
+	 * */
+	Slice<TodoView> findPage(Long ownerSeq, long after, int limit);
+
+	/**
+	 * <p> 사용자 todo 목록 버전 (등록/수정/삭제 시마다 증가, GET /todos ETag)</p>
+	 * */
+	long collectionVersion(Long ownerSeq);
+
+	/**
+	 * <p> todo 내용 수정. 수정 후 version을 반환하며 null이면 없는 todo이거나 버전 불일치입니다.</p>
+	 * @param expectedVersions If-Match로 허용된 version 목록 (null이면 조건 없음)
+	 * */
+	Long update(Long ownerSeq, Long seq, String content, List<Long> expectedVersions);
+
+	/**
+	 * <p> todo 삭제. 삭제된 건수를 반환하며 0이면 없는 todo이거나 버전 불일치입니다.</p>
+	 * @param expectedVersions If-Match로 허용된 version 목록 (null이면 조건 없음)
+	 * */
+	int delete(Long ownerSeq, Long seq, List<Long> expectedVersions);
+
+	/**
+	 * <p> 전문 검색. 공백으로 구분된 단어는 모두 포함(AND), 단어 끝의 '*'는 접두어 검색,
+	 * 전체를 큰따옴표로 감싸면 구문(phrase) 검색으로 처리합니다. 검색어가 비어 있으면 빈 리스트</p>
+	 * */
+	List<TodoView> search(Long ownerSeq, String content, int limit, long offset);
+
+	/**
+	 * <p> 회원 탈퇴 후 해당 사용자의 todo 정리 (users 행 삭제가 커밋된 뒤 호출)</p>
+	 * */
+	void deleteByOwner(Long ownerSeq);
+
+	/**
+	 * <p> 일괄 등록 항목 필수값 확인</p>
+	 * */
+	static boolean isInvalid(TodosEntity todos) {
+		return todos == null || todos.getContent() == null || todos.getContent().isBlank();
+	}
+}
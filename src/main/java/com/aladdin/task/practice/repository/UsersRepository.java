@@ -3,15 +3,42 @@ package com.aladdin.task.practice.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.aladdin.task.practice.entity.UsersEntity;
 
 @Repository
-public interface UsersRepository extends JpaRepository<UsersEntity, Long>{
+public interface UsersRepository extends JpaRepository<UsersEntity, Long>, UsersRepositoryCustom {
 	Optional<UsersEntity> findByUserId(String userId);
 	
 	@Transactional
 	long deleteByUserId(String userId);
+	
+	/**
+	 * <p> 아이디/비밀번호 변경 단일 UPDATE 문 (조회/merge 없이 1회 왕복). 변경된 행 수를 반환합니다.</p>
+	 * */
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE UsersEntity u SET u.userId = :userId, u.password = :password WHERE u.seq = :seq")
+	int updateUserIdAndPassword(@Param("seq") Long seq, @Param("userId") String userId, @Param("password") String password);
+	
+	/**
+	 * <p> 비밀번호 해시만 교체 (로그인 시 재해시)</p>
+	 * */
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE UsersEntity u SET u.password = :password WHERE u.userId = :userId")
+	int updatePasswordByUserId(@Param("userId") String userId, @Param("password") String password);
+	
+	/**
+	 * <p> seq 기준 단일 DELETE 문. 사용자의 todos는 owner_seq ON DELETE CASCADE로 함께 삭제됩니다.</p>
+	 * */
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM UsersEntity u WHERE u.seq = :seq")
+	int deleteUserBySeq(@Param("seq") Long seq);
 }
@@ -0,0 +1,14 @@
+package com.aladdin.task.practice.repository;
+
+import java.util.Optional;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+
+public interface UsersRepositoryCustom {
+	
+	/**
+	 * <p> userId(자연키) 조회. findByUserId(JPQL)와 달리 자연키 캐시 -> 엔티티 캐시 순으로 조회하므로
+	 * 캐시에 있으면 SQL을 실행하지 않습니다.</p>
+	 * */
+	Optional<UsersEntity> findByNaturalId(String userId);
+}
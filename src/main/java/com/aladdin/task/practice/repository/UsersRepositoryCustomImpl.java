@@ -0,0 +1,25 @@
+package com.aladdin.task.practice.repository;
+
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+
+public class UsersRepositoryCustomImpl implements UsersRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<UsersEntity> findByNaturalId(String userId) {
+		return entityManager.unwrap(Session.class)
+				.bySimpleNaturalId(UsersEntity.class)
+				.loadOptional(userId);
+	}
+}
@@ -0,0 +1,179 @@
+package com.aladdin.task.practice.repository.memory;
+
+import java.util.function.Consumer;
+
+/**
+ * <p> long 키 open addressing 해시맵 (선형 탐사, 삭제 시 backward shift로 tombstone 없음)</p>
+ * <p> 키를 Long으로 박싱하지 않고 엔트리 객체도 만들지 않으므로 HashMap&lt;Long, V&gt;(Node 32B + Long 16B + 테이블 슬롯)보다
+ * 엔트리당 메모리가 적고(long 8B + 참조 4B, 부하율 0.75) 조회 시 할당이 없습니다.</p>
+ * <p> 키 0은 빈 슬롯 표시라 저장할 수 없습니다. 동기화하지 않으며 MemoryTodosStore의 락 안에서만 변경합니다.
+ * get은 락 없는 낙관적 읽기(StampedLock)에서도 호출되므로, 크기 변경 시 키/값 배열을 Table 하나로 묶어 교체하고
+ * 탐사 횟수를 테이블 크기로 제한합니다. (동시 변경 중 읽은 값은 호출자가 validate로 버림)</p>
+ * */
+final class LongObjectHashMap<V> {
+
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final int MIN_CAPACITY = 16;
+
+	private static final class Table {
+		final long[] keys;
+		final Object[] values;
+		final int mask;
+
+		Table(int capacity) {
+			keys = new long[capacity];
+			values = new Object[capacity];
+			mask = capacity - 1;
+		}
+	}
+
+	private Table table;
+	private int size;
+	private int resizeAt;
+
+	LongObjectHashMap(int expectedSize) {
+		int capacity = capacityFor(expectedSize);
+		table = new Table(capacity);
+		resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+
+	int size() {
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	V get(long key) {
+		Table t = table;
+		long[] keys = t.keys;
+		int i = index(key, t.mask);
+		for (int probes = 0; probes <= t.mask; probes++, i = (i + 1) & t.mask) {
+			long k = keys[i];
+			if (k == key) {
+				return (V) t.values[i];
+			}
+			if (k == 0) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return 이전 값 (없으면 null)
+	 * */
+	@SuppressWarnings("unchecked")
+	V put(long key, V value) {
+		if (key == 0) {
+			throw new IllegalArgumentException("key 0은 저장할 수 없습니다.");
+		}
+		Table t = table;
+		int i = index(key, t.mask);
+		for (;; i = (i + 1) & t.mask) {
+			long k = t.keys[i];
+			if (k == key) {
+				V previous = (V) t.values[i];
+				t.values[i] = value;
+				return previous;
+			}
+			if (k == 0) {
+				break;
+			}
+		}
+		// 값을 먼저 써서 낙관적 읽기가 키만 있고 값이 없는 슬롯을 보지 않도록 함
+		t.values[i] = value;
+		t.keys[i] = key;
+		if (++size > resizeAt) {
+			resize(t.keys.length << 1);
+		}
+		return null;
+	}
+
+	/**
+	 * @return 삭제된 값 (없으면 null)
+	 * */
+	@SuppressWarnings("unchecked")
+	V remove(long key) {
+		Table t = table;
+		int mask = t.mask;
+		int i = index(key, mask);
+		for (;; i = (i + 1) & mask) {
+			long k = t.keys[i];
+			if (k == 0) {
+				return null;
+			}
+			if (k == key) {
+				break;
+			}
+		}
+		V removed = (V) t.values[i];
+
+		// 빈 슬롯(gap) 뒤 같은 클러스터의 엔트리 중 gap으로 옮겨도 탐사 경로가 끊기지 않는 엔트리를 앞으로 당김
+		int gap = i;
+		for (int j = (gap + 1) & mask;; j = (j + 1) & mask) {
+			long k = t.keys[j];
+			if (k == 0) {
+				break;
+			}
+			int home = index(k, mask);
+			if (((j - home) & mask) >= ((j - gap) & mask)) {
+				t.values[gap] = t.values[j];
+				t.keys[gap] = k;
+				gap = j;
+			}
+		}
+		t.keys[gap] = 0;
+		t.values[gap] = null;
+		size--;
+		return removed;
+	}
+
+	/**
+	 * <p> 값 배열 복사본 (빈 슬롯은 null). 값이 불변 객체면 락 안에서 이 복사만으로 시점 스냅샷이 됩니다.</p>
+	 * */
+	Object[] copyValues() {
+		return table.values.clone();
+	}
+
+	@SuppressWarnings("unchecked")
+	void forEachValue(Consumer<? super V> action) {
+		for (Object value : table.values) {
+			if (value != null) {
+				action.accept((V) value);
+			}
+		}
+	}
+
+	private void resize(int capacity) {
+		Table old = table;
+		Table t = new Table(capacity);
+		for (int j = 0; j < old.keys.length; j++) {
+			long k = old.keys[j];
+			if (k != 0) {
+				int i = index(k, t.mask);
+				while (t.keys[i] != 0) {
+					i = (i + 1) & t.mask;
+				}
+				t.keys[i] = k;
+				t.values[i] = old.values[j];
+			}
+		}
+		// 새 테이블을 다 채운 뒤 교체
+		table = t;
+		resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+		return Math.max(MIN_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+	}
+
+	// seq처럼 연속된 키도 고르게 흩어지도록 MurmurHash3 fmix64로 섞음
+	private static int index(long key, int mask) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb93c185ec53bL;
+		key ^= key >>> 33;
+		return (int) key & mask;
+	}
+}
@@ -0,0 +1,687 @@
+package com.aladdin.task.practice.repository.memory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Repository;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.repository.TodosStore;
+import com.aladdin.task.practice.vo.TodoView;
+import com.aladdin.task.practice.vo.TodosBatchItemResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> 메모리 todo 저장소 (--spring.profiles.active=memory-store). 조회는 JDBC/JPA 없이 메모리에서만 처리합니다.</p>
+ * <ul>
+ *   <li>todo : seq → TodoRecord (LongObjectHashMap, 키 박싱 없음)</li>
+ *   <li>사용자 : ownerSeq → OwnerTodos (오름차순 seq 배열 + 목록 버전)</li>
+ * </ul>
+ * <p> 쓰기는 StampedLock 쓰기 락 안에서 로그 버퍼에 레코드를 추가한 뒤 메모리에 반영하고, 락을 놓은 뒤 로그 fsync(group commit)를 기다려 반환합니다.
+ * 그래서 다른 요청이 fsync 전의 변경을 먼저 볼 수는 있지만, 응답을 받은 변경은 재시작 후에도 남습니다.
+ * 단건 조회는 락 없는 낙관적 읽기, 목록/검색은 읽기 락으로 처리합니다.</p>
+ * <p> 파일 (todos.memory-store.dir)</p>
+ * <ul>
+ *   <li>log-&lt;n&gt;.bin : n세대 변경 로그 (TodosLog)</li>
+ *   <li>snapshot-&lt;n&gt;.bin : log-&lt;n&gt;.bin 시작 시점의 전체 상태. 완성된 뒤 이전 세대의 로그/스냅샷을 지웁니다.</li>
+ * </ul>
+ * <p> 기동 시 가장 최근 스냅샷을 적재하고 그 세대부터의 로그를 재생합니다. 마지막 로그의 잘린 꼬리(기록 중 종료)는 잘라내고,
+ * 그 외의 손상이나 누락된 세대가 있으면 기동을 중단합니다.</p>
+ * <p> 검색은 FTS 인덱스 없이 사용자의 todo를 순서대로 확인하며 결과는 bm25 순위가 아닌 seq 순입니다.
+ * todo는 users 테이블과 다른 저장소에 있으므로 외래 키 대신 회원 탈퇴 시 deleteByOwner로 정리합니다.</p>
+ * */
+@Slf4j
+@Repository
+@Profile(MemoryTodosStore.PROFILE)
+public class MemoryTodosStore implements TodosStore, InitializingBean, DisposableBean {
+
+	public static final String PROFILE = "memory-store";
+
+	private static final Pattern FILE_NAME = Pattern.compile("(log|snapshot)-(\\d+)\\.bin");
+	private static final int SNAPSHOT_BUFFER_BYTES = 1 << 20;
+
+	private final Path dir;
+	private final boolean fsync;
+	private final Duration snapshotInterval;
+
+	private final StampedLock lock = new StampedLock();
+	private final LongObjectHashMap<TodoRecord> todos;
+	private final LongObjectHashMap<OwnerTodos> owners;
+	private long nextSeq = 1;
+	private TodosLog todosLog;
+	// 로그 기록 실패 후에는 메모리와 로그가 달라질 수 있으므로 쓰기를 거부
+	private volatile boolean failed;
+
+	private final Object snapshotLock = new Object();
+	private ScheduledExecutorService scheduler;
+
+	public MemoryTodosStore(@Value("${todos.memory-store.dir}") Path dir,
+			@Value("${todos.memory-store.fsync:true}") boolean fsync,
+			@Value("${todos.memory-store.snapshot-interval:PT10M}") Duration snapshotInterval,
+			@Value("${todos.memory-store.initial-capacity:1024}") int initialCapacity) {
+		this.dir = dir;
+		this.fsync = fsync;
+		this.snapshotInterval = snapshotInterval;
+		this.todos = new LongObjectHashMap<>(initialCapacity);
+		this.owners = new LongObjectHashMap<>(Math.max(16, initialCapacity / 64));
+	}
+
+	@Override
+	public void afterPropertiesSet() throws IOException {
+		recover();
+
+		long snapshotMillis = snapshotInterval.toMillis();
+		if (snapshotMillis > 0) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("todos-snapshot-");
+			threadFactory.setDaemon(true);
+			scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+			scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * <p> 종료 시 스냅샷을 남겨 다음 기동 시 재생할 로그를 줄임</p>
+	 * */
+	@Override
+	public void destroy() throws IOException {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		try {
+			snapshot();
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * <p> 스냅샷 없이 로그만 닫음 (벤치마크/테스트에서 재시작 재생을 확인할 때)</p>
+	 * */
+	public void close() throws IOException {
+		long stamp = lock.writeLock();
+		try {
+			if (todosLog != null) {
+				todosLog.close();
+				todosLog = null;
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	public int size() {
+		long stamp = lock.readLock();
+		try {
+			return todos.size();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public void insert(TodosEntity todos) {
+		long position;
+		long stamp = lock.writeLock();
+		try {
+			checkWritable();
+			TodoRecord record = new TodoRecord(nextSeq, todos.getOwnerSeq(), 0, todos.getContent());
+			position = todosLog.appendInsert(record);
+			nextSeq++;
+			applyInsert(record);
+			todos.setSeq(record.seq);
+			todos.setVersion(record.version);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+		sync(position);
+	}
+
+	/**
+	 * <p> 전체를 쓰기 락 한 번, 로그 fsync 한 번으로 처리합니다.</p>
+	 * <p> 로그 레코드 상한(TodosRecordCodec.MAX_RECORD_BYTES)을 넘는 항목은 상태를 바꾸기 전에 실패로 돌려,
+	 * 중간 항목의 예외로 앞 항목만 반영되고 fsync 없이 전체가 실패하는 일이 없도록 합니다.</p>
+	 * */
+	@Override
+	public List<TodosBatchItemResult> insertAll(Long ownerSeq, List<TodosEntity> todosList) {
+		List<TodosBatchItemResult> results = new ArrayList<>(todosList.size());
+		long position;
+		long stamp = lock.writeLock();
+		try {
+			checkWritable();
+			for (int i = 0; i < todosList.size(); i++) {
+				TodosEntity todos = todosList.get(i);
+				if (TodosStore.isInvalid(todos)) {
+					results.add(TodosBatchItemResult.failure(i, "필수 체크값이 빠져있습니다."));
+					continue;
+				}
+				Long owner = ownerSeq != null ? ownerSeq : todos.getOwnerSeq();
+				if (owner == null) {
+					results.add(TodosBatchItemResult.failure(i, "DB 저장에 실패했습니다."));
+					continue;
+				}
+				if (!TodosRecordCodec.fits(todos.getContent())) {
+					results.add(TodosBatchItemResult.failure(i, "내용이 너무 깁니다."));
+					continue;
+				}
+				TodoRecord record = new TodoRecord(nextSeq, owner, 0, todos.getContent());
+				todosLog.appendInsert(record);
+				nextSeq++;
+				applyInsert(record);
+				results.add(TodosBatchItemResult.success(i, record.seq));
+			}
+			position = todosLog.appendedPosition();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+		sync(position);
+		return results;
+	}
+
+	@Override
+	public TodoView findById(Long ownerSeq, Long seq) {
+		long stamp = lock.tryOptimisticRead();
+		TodoRecord record = todos.get(seq);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				record = todos.get(seq);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		// 다른 사용자의 todo는 없는 것으로 처리
+		return record != null && record.ownerSeq == ownerSeq ? record : null;
+	}
+
+	@Override
+	public Slice<TodoView> findPage(Long ownerSeq, long after, int limit) {
+		PageRequest pageable = PageRequest.of(0, limit);
+		long stamp = lock.readLock();
+		try {
+			OwnerTodos owner = owners.get(ownerSeq);
+			if (owner == null) {
+				return new SliceImpl<>(List.of(), pageable, false);
+			}
+			int from = owner.indexAfter(after);
+			int to = (int) Math.min((long) from + limit, owner.size());
+			List<TodoView> content = new ArrayList<>(to - from);
+			for (int i = from; i < to; i++) {
+				content.add(todos.get(owner.seqAt(i)));
+			}
+			return new SliceImpl<>(content, pageable, to < owner.size());
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public long collectionVersion(Long ownerSeq) {
+		long stamp = lock.readLock();
+		try {
+			OwnerTodos owner = owners.get(ownerSeq);
+			return owner != null ? owner.version : 0L;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public Long update(Long ownerSeq, Long seq, String content, List<Long> expectedVersions) {
+		if (expectedVersions != null && expectedVersions.isEmpty()) {
+			return null;
+		}
+		long position;
+		TodoRecord updated;
+		long stamp = lock.writeLock();
+		try {
+			checkWritable();
+			TodoRecord record = todos.get(seq);
+			if (!matches(record, ownerSeq, expectedVersions)) {
+				return null;
+			}
+			updated = new TodoRecord(record.seq, record.ownerSeq, record.version + 1, content);
+			position = todosLog.appendUpdate(updated);
+			applyUpdate(updated);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+		sync(position);
+		return updated.version;
+	}
+
+	@Override
+	public int delete(Long ownerSeq, Long seq, List<Long> expectedVersions) {
+		if (expectedVersions != null && expectedVersions.isEmpty()) {
+			return 0;
+		}
+		long position;
+		long stamp = lock.writeLock();
+		try {
+			checkWritable();
+			TodoRecord record = todos.get(seq);
+			if (!matches(record, ownerSeq, expectedVersions)) {
+				return 0;
+			}
+			position = todosLog.appendDelete(seq);
+			applyDelete(seq);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+		sync(position);
+		return 1;
+	}
+
+	private static boolean matches(TodoRecord record, Long ownerSeq, List<Long> expectedVersions) {
+		return record != null && record.ownerSeq == ownerSeq
+				&& (expectedVersions == null || expectedVersions.contains(record.version));
+	}
+
+	/**
+	 * <p> 사용자의 todo를 seq 순으로 확인 (FTS 인덱스 없음)</p>
+	 * @return seq 순으로 정렬된 검색 결과
+	 * */
+	@Override
+	public List<TodoView> search(Long ownerSeq, String content, int limit, long offset) {
+		TodoSearchQuery query = TodoSearchQuery.parse(content);
+		if (query == null) {
+			return List.of();
+		}
+		List<TodoView> result = new ArrayList<>();
+		long skipped = 0;
+		long stamp = lock.readLock();
+		try {
+			OwnerTodos owner = owners.get(ownerSeq);
+			for (int i = 0; owner != null && i < owner.size() && result.size() < limit; i++) {
+				TodoRecord record = todos.get(owner.seqAt(i));
+				if (query.matches(record.content) && skipped++ >= offset) {
+					result.add(record);
+				}
+			}
+		} finally {
+			lock.unlockRead(stamp);
+		}
+		return result;
+	}
+
+	@Override
+	public void deleteByOwner(Long ownerSeq) {
+		long position;
+		long stamp = lock.writeLock();
+		try {
+			checkWritable();
+			if (owners.get(ownerSeq) == null) {
+				return;
+			}
+			position = todosLog.appendDeleteOwner(ownerSeq);
+			applyDeleteOwner(ownerSeq);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+		sync(position);
+	}
+
+	// ---- 메모리 반영 (요청 처리와 로그 재생이 같이 사용, 쓰기 락 안에서 호출) ----
+
+	private void applyInsert(TodoRecord record) {
+		todos.put(record.seq, record);
+		OwnerTodos owner = owners.get(record.ownerSeq);
+		if (owner == null) {
+			owner = new OwnerTodos(record.ownerSeq, 0);
+			owners.put(record.ownerSeq, owner);
+		}
+		owner.add(record.seq);
+		owner.version++;
+	}
+
+	private void applyUpdate(TodoRecord updated) {
+		todos.put(updated.seq, updated);
+		owners.get(updated.ownerSeq).version++;
+	}
+
+	private void applyDelete(long seq) {
+		TodoRecord removed = todos.remove(seq);
+		OwnerTodos owner = owners.get(removed.ownerSeq);
+		owner.remove(seq);
+		owner.version++;
+	}
+
+	private void applyDeleteOwner(long ownerSeq) {
+		OwnerTodos owner = owners.remove(ownerSeq);
+		for (int i = 0; i < owner.size(); i++) {
+			todos.remove(owner.seqAt(i));
+		}
+	}
+
+	private void checkWritable() {
+		if (failed) {
+			throw new IllegalStateException("todo 로그 기록에 실패해 memory-store가 읽기 전용으로 전환되었습니다.");
+		}
+		if (todosLog == null) {
+			throw new IllegalStateException("memory-store가 닫혔습니다.");
+		}
+	}
+
+	private void sync(long position) {
+		try {
+			todosLog.sync(position);
+		} catch (IOException e) {
+			failed = true;
+			throw new IllegalStateException("todo 로그 기록 실패", e);
+		}
+	}
+
+	// ---- 스냅샷 ----
+
+	private void scheduledSnapshot() {
+		try {
+			snapshot();
+		} catch (Exception e) {
+			log.warn("todo 스냅샷 실패 : {}", e.toString());
+		}
+	}
+
+	/**
+	 * <p> 현재 상태를 snapshot-&lt;n&gt;.bin으로 기록하고 이전 세대의 로그/스냅샷을 지웁니다.</p>
+	 * <p> 쓰기 락 안에서는 로그 세대 교체와 값 배열 복사만 하고(레코드가 불변이라 복사본이 곧 시점 스냅샷),
+	 * 파일 기록은 락 밖에서 하므로 스냅샷 중에도 요청을 처리합니다.</p>
+	 * */
+	public void snapshot() throws IOException {
+		synchronized (snapshotLock) {
+			long generation;
+			Object[] records;
+			long[] ownerSeqs;
+			long[] ownerVersions;
+			long seqLimit;
+			long stamp = lock.writeLock();
+			try {
+				checkWritable();
+				try {
+					generation = todosLog.rotate();
+				} catch (IOException e) {
+					failed = true;
+					throw e;
+				}
+				records = todos.copyValues();
+				ownerSeqs = new long[owners.size()];
+				ownerVersions = new long[owners.size()];
+				int[] index = new int[1];
+				owners.forEachValue(owner -> {
+					ownerSeqs[index[0]] = owner.ownerSeq;
+					ownerVersions[index[0]++] = owner.version;
+				});
+				seqLimit = nextSeq;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+
+			long started = System.nanoTime();
+			long count = writeSnapshot(generation, records, ownerSeqs, ownerVersions, seqLimit);
+			deleteBefore(generation);
+			log.info("todo 스냅샷 완료 : generation={}, {}건, {}ms", generation, count,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+		}
+	}
+
+	private long writeSnapshot(long generation, Object[] records, long[] ownerSeqs, long[] ownerVersions, long seqLimit)
+			throws IOException {
+		Path target = snapshotPath(generation);
+		Path tmp = dir.resolve(target.getFileName() + ".tmp");
+		long count = 0;
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE)) {
+			TodosRecordCodec.Writer writer = new TodosRecordCodec.Writer(SNAPSHOT_BUFFER_BYTES);
+			for (int i = 0; i < ownerSeqs.length; i++) {
+				writer.owner(ownerSeqs[i], ownerVersions[i]);
+				flushIfFull(writer, channel);
+			}
+			for (Object value : records) {
+				if (value != null) {
+					TodoRecord record = (TodoRecord) value;
+					writer.insert(record.seq, record.ownerSeq, record.version, record.content);
+					count++;
+					flushIfFull(writer, channel);
+				}
+			}
+			writer.end(seqLimit, count);
+			write(writer, channel);
+			channel.force(true);
+		}
+		// 완성된 파일만 snapshot-<n>.bin 이름을 가짐
+		Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		syncDirectory(dir);
+		return count;
+	}
+
+	private static void flushIfFull(TodosRecordCodec.Writer writer, FileChannel channel) throws IOException {
+		if (writer.buffer().position() >= SNAPSHOT_BUFFER_BYTES - (SNAPSHOT_BUFFER_BYTES >> 3)) {
+			write(writer, channel);
+		}
+	}
+
+	private static void write(TodosRecordCodec.Writer writer, FileChannel channel) throws IOException {
+		ByteBuffer buffer = writer.buffer();
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	private void deleteBefore(long generation) throws IOException {
+		for (Path file : listFiles("log").headMap(generation).values()) {
+			Files.deleteIfExists(file);
+		}
+		for (Path file : listFiles("snapshot").headMap(generation).values()) {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	// ---- 기동 시 복구 ----
+
+	private void recover() throws IOException {
+		long started = System.nanoTime();
+		Files.createDirectories(dir);
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path tmp : (Iterable<Path>) files.filter(file -> file.toString().endsWith(".tmp"))::iterator) {
+				Files.deleteIfExists(tmp);
+			}
+		}
+
+		long generation = 0;
+		long snapshotCount = 0;
+		TreeMap<Long, Path> snapshots = listFiles("snapshot");
+		TreeMap<Long, Path> logs = listFiles("log");
+		if (!snapshots.isEmpty()) {
+			generation = snapshots.lastKey();
+			snapshotCount = loadSnapshot(snapshots.lastEntry().getValue());
+			// 스냅샷 완성 후 지우지 못한 이전 세대
+			for (Path stale : logs.headMap(generation).values()) {
+				Files.deleteIfExists(stale);
+			}
+		}
+
+		// 스냅샷 세대부터 로그를 순서대로 재생 (세대가 비면 그 사이 변경이 유실된 것이므로 중단)
+		ReplayHandler handler = new ReplayHandler();
+		SortedMap<Long, Path> replay = logs.tailMap(generation);
+		for (Map.Entry<Long, Path> entry : replay.entrySet()) {
+			if (entry.getKey() != generation) {
+				throw new IllegalStateException("todo 로그 세대가 누락되었습니다. (기대 " + generation + ", 발견 " + entry.getValue() + ")");
+			}
+			Path file = entry.getValue();
+			long valid = TodosRecordCodec.read(file, handler);
+			long size = Files.size(file);
+			if (valid < size) {
+				if (!entry.getKey().equals(replay.lastKey())) {
+					throw new IllegalStateException("todo 로그가 손상되었습니다. (" + file + ", " + valid + " / " + size + " bytes)");
+				}
+				log.warn("todo 로그 마지막 레코드가 완전하지 않아 잘라냅니다. ({}, {} → {} bytes)", file, size, valid);
+				try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+					channel.truncate(valid);
+					channel.force(true);
+				}
+			}
+			if (!entry.getKey().equals(replay.lastKey())) {
+				generation++;
+			}
+		}
+
+		todosLog = TodosLog.open(dir, generation, fsync);
+		log.info("todo memory-store 복구 : 스냅샷 {}건, 로그 {}건 재생, 현재 {}건, generation={}, {}ms", snapshotCount, handler.count,
+				todos.size(), generation, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+	}
+
+	private long loadSnapshot(Path file) throws IOException {
+		SnapshotHandler handler = new SnapshotHandler();
+		long valid = TodosRecordCodec.read(file, handler);
+		if (!handler.complete || valid != Files.size(file)) {
+			throw new IllegalStateException("todo 스냅샷이 손상되었습니다. (" + file + ")");
+		}
+		owners.forEachValue(OwnerTodos::sort);
+		return handler.count;
+	}
+
+	// 스냅샷 레코드는 이미 반영된 상태이므로 목록 버전을 올리지 않음
+	private class SnapshotHandler implements TodosRecordCodec.Handler {
+		private long count;
+		private boolean complete;
+
+		@Override
+		public void owner(long ownerSeq, long version) {
+			owners.put(ownerSeq, new OwnerTodos(ownerSeq, version));
+		}
+
+		@Override
+		public void insert(long seq, long ownerSeq, long version, String content) {
+			todos.put(seq, new TodoRecord(seq, ownerSeq, version, content));
+			owners.get(ownerSeq).add(seq);
+			count++;
+		}
+
+		@Override
+		public void end(long seqLimit, long expectedCount) {
+			nextSeq = seqLimit;
+			complete = count == expectedCount;
+		}
+
+		@Override
+		public void update(long seq, long version, String content) {
+			throw new IllegalStateException("스냅샷에 UPDATE 레코드가 있습니다.");
+		}
+
+		@Override
+		public void delete(long seq) {
+			throw new IllegalStateException("스냅샷에 DELETE 레코드가 있습니다.");
+		}
+
+		@Override
+		public void deleteOwner(long ownerSeq) {
+			throw new IllegalStateException("스냅샷에 DELETE_OWNER 레코드가 있습니다.");
+		}
+	}
+
+	// 로그 레코드를 요청 처리와 같은 apply 메소드로 반영
+	private class ReplayHandler implements TodosRecordCodec.Handler {
+		private long count;
+
+		@Override
+		public void insert(long seq, long ownerSeq, long version, String content) {
+			applyInsert(new TodoRecord(seq, ownerSeq, version, content));
+			nextSeq = Math.max(nextSeq, seq + 1);
+			count++;
+		}
+
+		@Override
+		public void update(long seq, long version, String content) {
+			applyUpdate(new TodoRecord(seq, existing(seq).ownerSeq, version, content));
+			count++;
+		}
+
+		@Override
+		public void delete(long seq) {
+			existing(seq);
+			applyDelete(seq);
+			count++;
+		}
+
+		@Override
+		public void deleteOwner(long ownerSeq) {
+			if (owners.get(ownerSeq) != null) {
+				applyDeleteOwner(ownerSeq);
+			}
+			count++;
+		}
+
+		@Override
+		public void owner(long ownerSeq, long version) {
+			throw new IllegalStateException("로그에 OWNER 레코드가 있습니다.");
+		}
+
+		@Override
+		public void end(long seqLimit, long expectedCount) {
+			throw new IllegalStateException("로그에 END 레코드가 있습니다.");
+		}
+
+		private TodoRecord existing(long seq) {
+			TodoRecord record = todos.get(seq);
+			if (record == null) {
+				throw new IllegalStateException("todo 로그가 없는 seq를 변경합니다. (seq=" + seq + ")");
+			}
+			return record;
+		}
+	}
+
+	private TreeMap<Long, Path> listFiles(String kind) throws IOException {
+		TreeMap<Long, Path> files = new TreeMap<>();
+		try (Stream<Path> list = Files.list(dir)) {
+			list.forEach(file -> {
+				Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+				if (matcher.matches() && matcher.group(1).equals(kind)) {
+					files.put(Long.parseLong(matcher.group(2)), file);
+				}
+			});
+		}
+		return files;
+	}
+
+	private Path snapshotPath(long generation) {
+		return dir.resolve("snapshot-" + generation + ".bin");
+	}
+
+	/**
+	 * <p> 파일 생성/이름 변경이 디렉터리 항목까지 디스크에 기록되도록 디렉터리를 fsync (지원하지 않는 OS에서는 무시)</p>
+	 * */
+	static void syncDirectory(Path dir) {
+		try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			log.debug("디렉터리 fsync 미지원 : {}", e.toString());
+		}
+	}
+}
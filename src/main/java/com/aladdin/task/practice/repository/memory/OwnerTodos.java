@@ -0,0 +1,61 @@
+package com.aladdin.task.practice.repository.memory;
+
+import java.util.Arrays;
+
+/**
+ * <p> 사용자별 todo seq 목록 (오름차순 long[]) + 목록 버전</p>
+ * <p> seq는 증가하는 값으로만 발급되므로 등록은 배열 끝에 추가하고, keyset 페이지 조회는 이진 탐색 후 순차로 읽습니다.
+ * 삭제는 배열을 당기므로 해당 사용자의 todo 건수에 비례합니다.</p>
+ * <p> 목록 버전은 등록/수정/삭제마다 1씩 증가하며, todo를 모두 지워도 사용자 항목을 남겨 버전이 이전 값으로 돌아가지 않게 합니다.
+ * (이전 ETag와 같은 값이 다시 나오면 바뀐 목록에 304를 응답하게 되므로)</p>
+ * */
+final class OwnerTodos {
+
+	final long ownerSeq;
+	long version;
+	private long[] seqs = new long[4];
+	private int size;
+
+	OwnerTodos(long ownerSeq, long version) {
+		this.ownerSeq = ownerSeq;
+		this.version = version;
+	}
+
+	int size() {
+		return size;
+	}
+
+	long seqAt(int index) {
+		return seqs[index];
+	}
+
+	void add(long seq) {
+		if (size == seqs.length) {
+			seqs = Arrays.copyOf(seqs, size + (size >> 1) + 1);
+		}
+		seqs[size++] = seq;
+	}
+
+	void remove(long seq) {
+		int index = Arrays.binarySearch(seqs, 0, size, seq);
+		if (index >= 0) {
+			System.arraycopy(seqs, index + 1, seqs, index, size - index - 1);
+			size--;
+		}
+	}
+
+	/**
+	 * <p> after보다 큰 첫 seq의 위치 (없으면 size)</p>
+	 * */
+	int indexAfter(long after) {
+		int index = Arrays.binarySearch(seqs, 0, size, after);
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	/**
+	 * <p> 스냅샷 적재 후 정렬 (스냅샷은 해시 테이블 순서로 기록됨)</p>
+	 * */
+	void sort() {
+		Arrays.sort(seqs, 0, size);
+	}
+}
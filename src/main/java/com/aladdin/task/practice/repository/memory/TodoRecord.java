@@ -0,0 +1,38 @@
+package com.aladdin.task.practice.repository.memory;
+
+import com.aladdin.task.practice.vo.TodoView;
+
+/**
+ * <p> 메모리 저장소의 todo 1건 (불변, 수정 시 새 객체로 교체)</p>
+ * <p> TodoView를 직접 구현하므로 조회 결과를 복사 없이 그대로 응답합니다. 응답에 나가지 않도록 ownerSeq는 getter를 두지 않습니다.</p>
+ * <p> 객체 크기 : 헤더 12B + seq/ownerSeq/version 24B + content 참조 4B = 40B (압축 oop 기준, content 문자열 별도)</p>
+ * */
+final class TodoRecord implements TodoView {
+
+	final long seq;
+	final long ownerSeq;
+	final long version;
+	final String content;
+
+	TodoRecord(long seq, long ownerSeq, long version, String content) {
+		this.seq = seq;
+		this.ownerSeq = ownerSeq;
+		this.version = version;
+		this.content = content;
+	}
+
+	@Override
+	public Long getSeq() {
+		return seq;
+	}
+
+	@Override
+	public String getContent() {
+		return content;
+	}
+
+	@Override
+	public Long getVersion() {
+		return version;
+	}
+}
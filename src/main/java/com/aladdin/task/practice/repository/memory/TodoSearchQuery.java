@@ -0,0 +1,99 @@
+package com.aladdin.task.practice.repository.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p> memory-store 전문 검색어. SQLite FTS5(unicode61 토크나이저)와 같은 규칙으로 해석합니다.</p>
+ * <ul>
+ *   <li>할 일 → "할", "일" 단어를 모두 포함 (AND)</li>
+ *   <li>할* → "할"로 시작하는 단어 포함</li>
+ *   <li>"수정된 할 일" → 세 단어가 이 순서로 연속</li>
+ * </ul>
+ * <p> 단어는 문자/숫자가 이어진 구간이며 대소문자를 구분하지 않습니다. 인덱스 없이 사용자의 todo를 순서대로 확인하므로
+ * 비용은 해당 사용자의 todo 건수에 비례합니다.</p>
+ * */
+final class TodoSearchQuery {
+
+	// 조건마다 연속해야 하는 단어 목록, prefix면 마지막 단어는 접두어 일치
+	private final List<String[]> terms;
+	private final List<Boolean> prefixes;
+
+	private TodoSearchQuery(List<String[]> terms, List<Boolean> prefixes) {
+		this.terms = terms;
+		this.prefixes = prefixes;
+	}
+
+	/**
+	 * @return 검색어가 비어 있으면 null
+	 * */
+	static TodoSearchQuery parse(String content) {
+		if (content == null || content.isBlank()) {
+			return null;
+		}
+		String trimmed = content.strip();
+		List<String[]> terms = new ArrayList<>();
+		List<Boolean> prefixes = new ArrayList<>();
+
+		// 구문 검색
+		if (trimmed.length() > 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+			add(terms, prefixes, trimmed.substring(1, trimmed.length() - 1), false);
+		} else {
+			for (String token : trimmed.split("\\s+")) {
+				add(terms, prefixes, token.replaceAll("\\*+$", ""), token.endsWith("*"));
+			}
+		}
+		return terms.isEmpty() ? null : new TodoSearchQuery(terms, prefixes);
+	}
+
+	private static void add(List<String[]> terms, List<Boolean> prefixes, String term, boolean prefix) {
+		String[] words = tokenize(term);
+		if (words.length > 0) {
+			terms.add(words);
+			prefixes.add(prefix);
+		}
+	}
+
+	boolean matches(String content) {
+		String[] words = tokenize(content);
+		for (int i = 0; i < terms.size(); i++) {
+			if (!contains(words, terms.get(i), prefixes.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean contains(String[] words, String[] term, boolean prefix) {
+		for (int start = 0; start + term.length <= words.length; start++) {
+			int i = 0;
+			for (; i < term.length; i++) {
+				String word = words[start + i];
+				boolean last = i == term.length - 1;
+				if (!(prefix && last ? word.startsWith(term[i]) : word.equals(term[i]))) {
+					break;
+				}
+			}
+			if (i == term.length) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	static String[] tokenize(String text) {
+		List<String> words = new ArrayList<>();
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (wordChar && start < 0) {
+				start = i;
+			} else if (!wordChar && start >= 0) {
+				words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return words.toArray(new String[0]);
+	}
+}
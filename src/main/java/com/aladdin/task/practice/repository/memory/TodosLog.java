@@ -0,0 +1,151 @@
+package com.aladdin.task.practice.repository.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p> todo 변경 append-only 로그 (log-&lt;generation&gt;.bin, 레코드 형식은 TodosRecordCodec)</p>
+ * <p> append는 MemoryTodosStore 쓰기 락 안에서 메모리 버퍼에 인코딩만 하고 누적 위치를 반환합니다.
+ * 요청 스레드는 락을 놓은 뒤 sync(위치)로 기록을 기다리며, 동시에 여러 스레드가 기다리면 먼저 들어온 스레드가
+ * 그때까지 쌓인 레코드를 모두 write + fsync 1회로 처리하고 나머지는 자기 위치가 이미 기록되었으므로 바로 반환합니다. (group commit)</p>
+ * <p> 위치는 세대(generation)를 넘어 이어지는 누적 바이트 수라, 스냅샷 시 rotate로 파일이 바뀌어도 기다리던 위치가 유효합니다.</p>
+ * */
+final class TodosLog implements Closeable {
+
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	private final Path dir;
+	private final boolean fsync;
+
+	// append 중인 버퍼와 누적 위치 (this로 동기화)
+	private TodosRecordCodec.Writer current = new TodosRecordCodec.Writer(BUFFER_BYTES);
+	private long appended;
+
+	// 파일 기록 (syncLock으로 동기화)
+	private final Object syncLock = new Object();
+	private TodosRecordCodec.Writer spare = new TodosRecordCodec.Writer(BUFFER_BYTES);
+	private FileChannel channel;
+	private long generation;
+	private volatile long durable;
+
+	private TodosLog(Path dir, long generation, boolean fsync) throws IOException {
+		this.dir = dir;
+		this.fsync = fsync;
+		this.generation = generation;
+		this.channel = openChannel(dir, generation);
+	}
+
+	/**
+	 * <p> log-&lt;generation&gt;.bin 끝에 이어서 기록 (없으면 생성)</p>
+	 * @param fsync false면 write만 하고 force하지 않음 (프로세스 종료에는 안전, OS 장애 시 마지막 기록 유실 가능)
+	 * */
+	static TodosLog open(Path dir, long generation, boolean fsync) throws IOException {
+		return new TodosLog(dir, generation, fsync);
+	}
+
+	static Path path(Path dir, long generation) {
+		return dir.resolve("log-" + generation + ".bin");
+	}
+
+	synchronized long appendInsert(TodoRecord record) {
+		appended += current.insert(record.seq, record.ownerSeq, record.version, record.content);
+		return appended;
+	}
+
+	synchronized long appendUpdate(TodoRecord record) {
+		appended += current.update(record.seq, record.version, record.content);
+		return appended;
+	}
+
+	synchronized long appendDelete(long seq) {
+		appended += current.delete(seq);
+		return appended;
+	}
+
+	synchronized long appendDeleteOwner(long ownerSeq) {
+		appended += current.deleteOwner(ownerSeq);
+		return appended;
+	}
+
+	/**
+	 * <p> 지금까지 append한 누적 위치 (여러 건을 추가한 뒤 한 번에 sync 할 때)</p>
+	 * */
+	synchronized long appendedPosition() {
+		return appended;
+	}
+
+	/**
+	 * <p> position까지 파일에 기록 (fsync 설정이면 force까지) 될 때까지 기다립니다.</p>
+	 * */
+	void sync(long position) throws IOException {
+		if (durable >= position) {
+			return;
+		}
+		synchronized (syncLock) {
+			// 앞선 리더가 함께 기록했으면 바로 반환
+			if (durable < position) {
+				flush();
+			}
+		}
+	}
+
+	/**
+	 * <p> 쌓인 레코드를 현재 파일에 기록하고 다음 세대 파일로 교체 (MemoryTodosStore 쓰기 락 안에서 호출)</p>
+	 * @return 새 세대 번호. 이 세대 이전의 로그는 같은 시점의 스냅샷이 완성되면 지울 수 있습니다.
+	 * */
+	long rotate() throws IOException {
+		synchronized (syncLock) {
+			// 이전 파일의 내용은 곧 기록할 스냅샷에 모두 포함되므로 write까지만 하면 됨
+			flush();
+			channel.close();
+			channel = openChannel(dir, generation + 1);
+			generation++;
+			return generation;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (syncLock) {
+			if (channel.isOpen()) {
+				flush();
+				channel.force(false);
+				channel.close();
+			}
+		}
+	}
+
+	// syncLock 안에서 호출. append 중인 버퍼를 빈 버퍼와 바꾼 뒤 락 밖에서(append를 막지 않고) 기록
+	private void flush() throws IOException {
+		TodosRecordCodec.Writer pending;
+		long upTo;
+		synchronized (this) {
+			pending = current;
+			current = spare != null ? spare : new TodosRecordCodec.Writer(BUFFER_BYTES);
+			upTo = appended;
+		}
+		spare = null;
+		ByteBuffer buffer = pending.buffer();
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		if (fsync) {
+			channel.force(false);
+		}
+		buffer.clear();
+		spare = pending;
+		durable = upTo;
+	}
+
+	private static FileChannel openChannel(Path dir, long generation) throws IOException {
+		FileChannel channel = FileChannel.open(path(dir, generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		channel.position(channel.size());
+		MemoryTodosStore.syncDirectory(dir);
+		return channel;
+	}
+}
@@ -0,0 +1,225 @@
+package com.aladdin.task.practice.repository.memory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * <p> 로그 / 스냅샷 파일의 레코드 형식</p>
+ * <p> 레코드 : [본문 길이 int][본문 CRC32 int][본문]. 본문은 type 1바이트 + 필드(big endian), 문자열은 UTF-8 길이 int + 바이트입니다.</p>
+ * <ul>
+ *   <li>INSERT seq, ownerSeq, version, content</li>
+ *   <li>UPDATE seq, version, content (수정 후 version)</li>
+ *   <li>DELETE seq</li>
+ *   <li>DELETE_OWNER ownerSeq (회원 탈퇴)</li>
+ *   <li>OWNER ownerSeq, version (스냅샷 전용, 사용자 목록 버전)</li>
+ *   <li>END nextSeq, count (스냅샷 전용, 마지막 레코드. 없으면 완성되지 않은 스냅샷)</li>
+ * </ul>
+ * */
+final class TodosRecordCodec {
+
+	static final byte INSERT = 1;
+	static final byte UPDATE = 2;
+	static final byte DELETE = 3;
+	static final byte DELETE_OWNER = 4;
+	static final byte OWNER = 5;
+	static final byte END = 6;
+
+	static final int HEADER_BYTES = 8;
+	// 손상된 길이 값으로 큰 배열을 할당하지 않도록 상한
+	static final int MAX_RECORD_BYTES = 1 << 20;
+
+	// INSERT 본문 중 content 바이트를 뺀 고정 길이 (type + seq + ownerSeq + version + content 길이)
+	private static final int INSERT_FIXED_BYTES = 1 + 8 + 8 + 8 + 4;
+
+	private TodosRecordCodec() {}
+
+	/**
+	 * <p> content를 INSERT 레코드로 기록할 수 있는지 (MAX_RECORD_BYTES 이하). UPDATE 레코드는 INSERT보다 작으므로 같이 판단할 수 있습니다.</p>
+	 * */
+	static boolean fits(String content) {
+		// UTF-8은 char 1개당 최대 3바이트 (보조 문자는 char 2개에 4바이트)이므로 대부분은 인코딩 없이 판단
+		if (INSERT_FIXED_BYTES + (long) content.length() * 3 <= MAX_RECORD_BYTES) {
+			return true;
+		}
+		return INSERT_FIXED_BYTES + (long) content.getBytes(StandardCharsets.UTF_8).length <= MAX_RECORD_BYTES;
+	}
+
+	/**
+	 * <p> 레코드를 읽어 적용하는 쪽 (로그 재생 / 스냅샷 적재)</p>
+	 * */
+	interface Handler {
+		void insert(long seq, long ownerSeq, long version, String content);
+
+		void update(long seq, long version, String content);
+
+		void delete(long seq);
+
+		void deleteOwner(long ownerSeq);
+
+		void owner(long ownerSeq, long version);
+
+		void end(long nextSeq, long count);
+	}
+
+	/**
+	 * <p> 레코드를 메모리 버퍼에 인코딩 (동기화하지 않음)</p>
+	 * */
+	static final class Writer {
+
+		private final CRC32 crc = new CRC32();
+		private ByteBuffer buffer;
+		private int start;
+
+		Writer(int capacity) {
+			buffer = ByteBuffer.allocate(capacity);
+		}
+
+		/**
+		 * <p> 기록된 바이트 (flip 하지 않은 상태, position = 기록된 길이)</p>
+		 * */
+		ByteBuffer buffer() {
+			return buffer;
+		}
+
+		int insert(long seq, long ownerSeq, long version, String content) {
+			byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+			begin(INSERT_FIXED_BYTES + bytes.length);
+			buffer.put(INSERT).putLong(seq).putLong(ownerSeq).putLong(version).putInt(bytes.length).put(bytes);
+			return end();
+		}
+
+		int update(long seq, long version, String content) {
+			byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+			begin(1 + 8 + 8 + 4 + bytes.length);
+			buffer.put(UPDATE).putLong(seq).putLong(version).putInt(bytes.length).put(bytes);
+			return end();
+		}
+
+		int delete(long seq) {
+			begin(1 + 8);
+			buffer.put(DELETE).putLong(seq);
+			return end();
+		}
+
+		int deleteOwner(long ownerSeq) {
+			begin(1 + 8);
+			buffer.put(DELETE_OWNER).putLong(ownerSeq);
+			return end();
+		}
+
+		int owner(long ownerSeq, long version) {
+			begin(1 + 8 + 8);
+			buffer.put(OWNER).putLong(ownerSeq).putLong(version);
+			return end();
+		}
+
+		int end(long nextSeq, long count) {
+			begin(1 + 8 + 8);
+			buffer.put(END).putLong(nextSeq).putLong(count);
+			return end();
+		}
+
+		private void begin(int length) {
+			if (length > MAX_RECORD_BYTES) {
+				throw new IllegalArgumentException("todo 레코드가 너무 큽니다. (" + length + " bytes)");
+			}
+			if (buffer.remaining() < HEADER_BYTES + length) {
+				ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + HEADER_BYTES + length));
+				buffer.flip();
+				grown.put(buffer);
+				buffer = grown;
+			}
+			start = buffer.position();
+			buffer.putInt(length).putInt(0);
+		}
+
+		// CRC를 채우고 레코드 전체 길이를 반환
+		private int end() {
+			int payload = start + HEADER_BYTES;
+			crc.reset();
+			crc.update(buffer.array(), payload, buffer.position() - payload);
+			buffer.putInt(start + 4, (int) crc.getValue());
+			return buffer.position() - start;
+		}
+	}
+
+	/**
+	 * <p> 파일의 레코드를 처음부터 읽어 handler에 적용합니다.
+	 * 길이가 잘렸거나 CRC가 맞지 않는 레코드를 만나면 거기서 멈춥니다. (기록 도중 종료된 꼬리)</p>
+	 * @return 온전한 레코드들의 바이트 수 (파일 크기보다 작으면 그 뒤는 버려야 할 꼬리)
+	 * */
+	static long read(Path file, Handler handler) throws IOException {
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+			DataInputStream data = new DataInputStream(in);
+			CRC32 crc = new CRC32();
+			byte[] payload = new byte[256];
+			long valid = 0;
+			while (true) {
+				int length;
+				int checksum;
+				try {
+					length = data.readInt();
+					if (length <= 0 || length > MAX_RECORD_BYTES) {
+						return valid;
+					}
+					checksum = data.readInt();
+					if (payload.length < length) {
+						payload = new byte[Math.max(length, payload.length * 2)];
+					}
+					data.readFully(payload, 0, length);
+				} catch (EOFException e) {
+					return valid;
+				}
+				crc.reset();
+				crc.update(payload, 0, length);
+				if ((int) crc.getValue() != checksum) {
+					return valid;
+				}
+				apply(ByteBuffer.wrap(payload, 0, length), handler);
+				valid += HEADER_BYTES + length;
+			}
+		}
+	}
+
+	private static void apply(ByteBuffer record, Handler handler) {
+		byte type = record.get();
+		switch (type) {
+		case INSERT:
+			handler.insert(record.getLong(), record.getLong(), record.getLong(), string(record));
+			break;
+		case UPDATE:
+			handler.update(record.getLong(), record.getLong(), string(record));
+			break;
+		case DELETE:
+			handler.delete(record.getLong());
+			break;
+		case DELETE_OWNER:
+			handler.deleteOwner(record.getLong());
+			break;
+		case OWNER:
+			handler.owner(record.getLong(), record.getLong());
+			break;
+		case END:
+			handler.end(record.getLong(), record.getLong());
+			break;
+		default:
+			// CRC가 맞는데 모르는 type이면 다른 형식의 파일
+			throw new IllegalStateException("알 수 없는 todo 레코드 type : " + type);
+		}
+	}
+
+	private static String string(ByteBuffer record) {
+		int length = record.getInt();
+		String value = new String(record.array(), record.position(), length, StandardCharsets.UTF_8);
+		record.position(record.position() + length);
+		return value;
+	}
+}
@@ -7,7 +7,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import com.aladdin.task.practice.entity.UsersEntity;
-import com.aladdin.task.practice.repository.UsersRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,14 +14,14 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CommonService {
 	
-	private final UsersRepository usersRepository;
+	private final UsersCacheService usersCacheService;
 	
-	public CommonService (UsersRepository usersRepository) {
-		this.usersRepository = usersRepository;
+	public CommonService (UsersCacheService usersCacheService) {
+		this.usersCacheService = usersCacheService;
 	}
 	
 	public UsersEntity getUser(String userId) {		
-		Optional<UsersEntity> userOptional =  usersRepository.findByUserId(userId);
+		Optional<UsersEntity> userOptional =  usersCacheService.getUser(userId);
 		return userOptional.orElse(null);
 	}
 }
@@ -0,0 +1,133 @@
+package com.aladdin.task.practice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.aladdin.task.practice.entity.RefreshTokensEntity;
+import com.aladdin.task.practice.repository.RefreshTokensRepository;
+import com.aladdin.task.practice.utils.shard.ShardContext;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+import com.aladdin.task.practice.vo.IssuedRefreshToken;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> Refresh token 발급 / 교체(rotation) / 폐기</p>
+ * <p> refresh token은 서명 키 교체와 무관하게 오래 유지되어야 하므로 JWT가 아닌 256비트 난수(opaque)이며,
+ * DB에는 SHA-256 해시만 저장합니다. 교체 시 이전 토큰은 사용 처리되고, 사용된 토큰이 다시 들어오면
+ * 탈취로 보고 해당 사용자의 refresh token을 모두 폐기합니다.</p>
+ * <p> 샤드 모드(sqlite.shards &gt; 1)에서는 토큰 뒤에 ".&lt;샤드 번호&gt;"를 붙여, 인증 정보 없이 들어오는 교체 요청을
+ * 사용자의 샤드로 보냅니다. (번호가 없는 토큰은 샤드 0)</p>
+ * */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+	private static final int TOKEN_BYTES = 32;
+	private static final SecureRandom RANDOM = new SecureRandom();
+	
+	// 토큰 원문과 샤드 번호 구분자 (Base64 URL 문자에 없는 문자)
+	private static final char SHARD_SEPARATOR = '.';
+	
+	private final RefreshTokensRepository refreshTokensRepository;
+	private final ShardResolver shardResolver;
+	private final TransactionTemplate transactionTemplate;
+	private final long validityInMilliseconds;
+	
+	public RefreshTokenService(RefreshTokensRepository refreshTokensRepository, ShardResolver shardResolver,
+			TransactionTemplate transactionTemplate,
+			@Value("${jwt.refresh-expiration:1209600000}") long validityInMilliseconds) {
+		this.refreshTokensRepository = refreshTokensRepository;
+		this.shardResolver = shardResolver;
+		this.transactionTemplate = transactionTemplate;
+		this.validityInMilliseconds = validityInMilliseconds;
+	}
+	
+	// 로그인(비밀번호 해시 실행기 스레드)에서 호출되므로 seq로 샤드를 지정
+	public IssuedRefreshToken issue(Long userSeq) {
+		return ShardContext.callIn(ShardResolver.shardOfSeq(userSeq), () -> issueInShard(userSeq));
+	}
+	
+	private IssuedRefreshToken issueInShard(Long userSeq) {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		RANDOM.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		if (shardResolver.isSharded()) {
+			token = token + SHARD_SEPARATOR + ShardResolver.shardOfSeq(userSeq);
+		}
+		refreshTokensRepository.save(new RefreshTokensEntity(hash(token), userSeq, System.currentTimeMillis() + validityInMilliseconds));
+		return new IssuedRefreshToken(userSeq, token);
+	}
+	
+	/**
+	 * <p> 유효한 refresh token이면 사용 처리 후 같은 사용자에게 새 토큰 발급. 없거나 만료/재사용이면 empty</p>
+	 * <p> 조회, 사용 처리, 새 토큰 저장은 토큰의 샤드에서 하나의 트랜잭션으로 처리합니다.</p>
+	 * */
+	public Optional<IssuedRefreshToken> rotate(String token) {
+		int shard = shardOf(token);
+		if (shard < 0) {
+			return Optional.empty();
+		}
+		return ShardContext.callIn(shard, () -> transactionTemplate.execute(status -> rotateInShard(token)));
+	}
+	
+	private Optional<IssuedRefreshToken> rotateInShard(String token) {
+		String tokenHash = hash(token);
+		Optional<RefreshTokensEntity> stored = refreshTokensRepository.findById(tokenHash);
+		if (stored.isEmpty()) {
+			return Optional.empty();
+		}
+		
+		Long userSeq = stored.get().getUserSeq();
+		if (refreshTokensRepository.markUsed(tokenHash, System.currentTimeMillis()) == 0) {
+			// 만료됐거나 이미 교체된 토큰. 이미 사용된 토큰의 재사용이면 같은 사용자의 토큰을 모두 폐기
+			if (stored.get().getUsedAt() != null) {
+				int revoked = refreshTokensRepository.deleteByUserSeq(userSeq);
+				log.warn("refresh token 재사용 감지 : userSeq={}, 폐기된 토큰={}건", userSeq, revoked);
+			}
+			return Optional.empty();
+		}
+		return Optional.of(issueInShard(userSeq));
+	}
+	
+	// 로그아웃 시 전달된 refresh token 폐기 (본인 토큰만)
+	public int revoke(String token, Long userSeq) {
+		return ShardContext.callIn(ShardResolver.shardOfSeq(userSeq),
+				() -> refreshTokensRepository.deleteByTokenHashAndUserSeq(hash(token), userSeq));
+	}
+	
+	// 토큰에 붙은 샤드 번호 (없으면 샤드 0, 범위를 벗어나면 -1)
+	private int shardOf(String token) {
+		int separator = token.lastIndexOf(SHARD_SEPARATOR);
+		if (separator < 0) {
+			return ShardResolver.HOME_SHARD;
+		}
+		try {
+			int shard = Integer.parseInt(token.substring(separator + 1));
+			return shard >= 0 && shard < shardResolver.getShardCount() ? shard : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+	
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+		}
+	}
+}
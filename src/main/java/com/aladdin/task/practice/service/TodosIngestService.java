@@ -0,0 +1,226 @@
+package com.aladdin.task.practice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.utils.shard.ShardContext;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+import com.aladdin.task.practice.vo.TodosBatchItemResult;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> POST /todos 등록 경로</p>
+ * <p> todos.ingest.mode=sync(기본)이면 요청마다 TodosService.insertTodos로 트랜잭션(커밋) 1회를 수행합니다.</p>
+ * <p> todos.ingest.mode=group-commit 이면 등록 요청을 고정 크기 링 버퍼(ArrayBlockingQueue)에 넣고,
+ * 단일 writer 스레드가 max-delay-ms 또는 max-batch 건 단위로 모아 하나의 트랜잭션으로 커밋합니다.
+ * 각 요청의 future는 자신이 포함된 배치가 커밋된 뒤 생성된 seq로 완료됩니다.
+ * 커밋의 내구성은 sync 모드와 같은 sqlite.synchronous 설정을 따릅니다.</p>
+ * <p> 샤드 모드(sqlite.shards &gt; 1)에서는 배치를 작성자(ownerSeq)의 샤드별로 나눠 샤드마다 하나의 트랜잭션으로 커밋합니다.</p>
+ * <p> 버퍼가 가득 차면 {@link RejectedExecutionException}을 던지며, 컨트롤러는 이를 503 응답으로 변환합니다.</p>
+ * <p> 메트릭 : todos.ingest.queued (버퍼 대기 건수), todos.ingest.batch.size (커밋(샤드)당 건수), todos.ingest.rejected (거절 횟수)</p>
+ * */
+@Slf4j
+@Service
+public class TodosIngestService implements InitializingBean, DisposableBean {
+
+	public static final String MODE_SYNC = "sync";
+	public static final String MODE_GROUP_COMMIT = "group-commit";
+
+	// 종료 시 버퍼에 남은 요청을 커밋할 때까지 기다리는 최대 시간
+	private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+	private final TodosService todosService;
+	private final boolean groupCommit;
+	private final int maxBatch;
+	private final long maxDelayNanos;
+	private final BlockingQueue<PendingTodo> buffer;
+
+	private final Counter rejectedCounter;
+	private final DistributionSummary batchSizeSummary;
+
+	private volatile boolean running;
+	private Thread writer;
+
+	public TodosIngestService(TodosService todosService, MeterRegistry meterRegistry,
+			@Value("${todos.ingest.mode:sync}") String mode,
+			@Value("${todos.ingest.capacity:4096}") int capacity,
+			@Value("${todos.ingest.max-batch:256}") int maxBatch,
+			@Value("${todos.ingest.max-delay-ms:2}") long maxDelayMillis) {
+		if (!MODE_SYNC.equals(mode) && !MODE_GROUP_COMMIT.equals(mode)) {
+			throw new IllegalArgumentException("todos.ingest.mode는 sync 또는 group-commit 이어야 합니다: " + mode);
+		}
+		this.todosService = todosService;
+		this.groupCommit = MODE_GROUP_COMMIT.equals(mode);
+		this.maxBatch = Math.max(maxBatch, 1);
+		this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(maxDelayMillis, 0));
+		this.buffer = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+
+		this.rejectedCounter = Counter.builder("todos.ingest.rejected")
+				.description("버퍼 초과로 거절된 todo 등록 요청 수")
+				.register(meterRegistry);
+		this.batchSizeSummary = DistributionSummary.builder("todos.ingest.batch.size")
+				.description("group commit 1회에 커밋된 todo 수")
+				.register(meterRegistry);
+		Gauge.builder("todos.ingest.queued", buffer, BlockingQueue::size)
+				.description("커밋을 기다리는 todo 등록 요청 수")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (!groupCommit) {
+			return;
+		}
+		running = true;
+		writer = new CustomizableThreadFactory("todos-writer-").newThread(this::drainLoop);
+		writer.start();
+		log.info("todo 등록 group commit 모드 : capacity={}, max-batch={}, max-delay={}ms",
+				buffer.remainingCapacity(), maxBatch, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+	}
+
+	public boolean isGroupCommit() {
+		return groupCommit;
+	}
+
+	/**
+	 * <p> todo 1건 등록. 커밋이 끝나면 생성된 seq로 완료되는 future를 반환합니다.</p>
+	 * <p> group commit 모드에서 버퍼가 가득 찼거나 종료 중이면 RejectedExecutionException</p>
+	 * */
+	public CompletableFuture<Long> insert(TodosEntity todos) {
+		if (!groupCommit) {
+			try {
+				// 인증 정보가 없는 스레드(벤치마크, 배치 등)에서 호출되어도 작성자의 샤드에 저장
+				ShardContext.runIn(shardOf(todos), () -> todosService.insertTodos(todos));
+				return CompletableFuture.completedFuture(todos.getSeq());
+			} catch (RuntimeException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+
+		PendingTodo pending = new PendingTodo(todos);
+		if (!running || !buffer.offer(pending)) {
+			rejectedCounter.increment();
+			throw new RejectedExecutionException("todo 등록 버퍼가 가득 찼습니다.");
+		}
+		return pending.future;
+	}
+
+	// 첫 요청이 들어오면 max-delay 동안 또는 max-batch 건이 찰 때까지 모은 뒤 커밋 (종료 시에는 버퍼를 비울 때까지 계속)
+	private void drainLoop() {
+		List<PendingTodo> batch = new ArrayList<>(maxBatch);
+		while (running || !buffer.isEmpty()) {
+			try {
+				PendingTodo first = buffer.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + maxDelayNanos;
+				while (batch.size() < maxBatch) {
+					buffer.drainTo(batch, maxBatch - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= maxBatch || remaining <= 0) {
+						break;
+					}
+					PendingTodo next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				// 종료 요청 : 모아둔 배치는 커밋하고 남은 버퍼를 계속 비움
+				running = false;
+			}
+			if (!batch.isEmpty()) {
+				commit(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	private void commit(List<PendingTodo> batch) {
+		// 샤드마다 writer(파일)가 다르므로 샤드별로 나눠 커밋
+		Map<Integer, List<PendingTodo>> byShard = new TreeMap<>();
+		for (PendingTodo pending : batch) {
+			byShard.computeIfAbsent(shardOf(pending.todos), shard -> new ArrayList<>()).add(pending);
+		}
+		byShard.forEach(this::commitShard);
+	}
+	
+	private void commitShard(int shard, List<PendingTodo> batch) {
+		List<TodosEntity> todosList = new ArrayList<>(batch.size());
+		for (PendingTodo pending : batch) {
+			todosList.add(pending.todos);
+		}
+		
+		List<TodosBatchItemResult> results;
+		try {
+			results = ShardContext.callIn(shard, () -> todosService.insertTodosGroup(todosList));
+		} catch (RuntimeException e) {
+			log.error("todo group commit 실패 (shard={}, {}건)", shard, batch.size(), e);
+			for (PendingTodo pending : batch) {
+				pending.future.completeExceptionally(e);
+			}
+			return;
+		}
+		batchSizeSummary.record(batch.size());
+
+		for (TodosBatchItemResult result : results) {
+			PendingTodo pending = batch.get(result.getIndex());
+			if (result.getSeq() != null) {
+				pending.todos.setSeq(result.getSeq());
+				pending.future.complete(result.getSeq());
+			} else {
+				pending.future.completeExceptionally(new IllegalStateException(result.getError()));
+			}
+		}
+	}
+
+	private static int shardOf(TodosEntity todos) {
+		return todos.getOwnerSeq() != null ? ShardResolver.shardOfSeq(todos.getOwnerSeq()) : ShardResolver.HOME_SHARD;
+	}
+	
+	@Override
+	public void destroy() throws InterruptedException {
+		if (writer == null) {
+			return;
+		}
+		running = false;
+		writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+
+		// 시간 안에 커밋하지 못한 요청은 실패로 완료
+		PendingTodo pending;
+		while ((pending = buffer.poll()) != null) {
+			pending.future.completeExceptionally(new RejectedExecutionException("서버 종료 중입니다."));
+		}
+	}
+
+	private static final class PendingTodo {
+		private final TodosEntity todos;
+		private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+		private PendingTodo(TodosEntity todos) {
+			this.todos = todos;
+		}
+	}
+}
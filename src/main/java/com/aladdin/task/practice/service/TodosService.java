@@ -1,74 +1,102 @@
 package com.aladdin.task.practice.service;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-
-
 
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.repository.TodosStore;
+import com.aladdin.task.practice.vo.TodoView;
+import com.aladdin.task.practice.vo.TodosBatchItemResult;
 
-import com.aladdin.task.practice.repository.TodosRepository;
-
-import lombok.extern.slf4j.Slf4j;
-
-@Slf4j
+/**
+ * <p> todo 저장/조회. 저장소 엔진(TodosStore)은 프로필로 선택합니다. (기본 SQLite, memory-store 프로필은 메모리 + 로그)</p>
+ * <p> 트랜잭션은 엔진이 관리하므로 이 클래스는 트랜잭션을 시작하지 않습니다.</p>
+ * */
 @Service
 public class TodosService {
 
-	private final TodosRepository todosRepository;
-	
-	public TodosService(TodosRepository todosRepository) {
-		this.todosRepository = todosRepository;
+	private final TodosStore todosStore;
+
+	public TodosService(TodosStore todosStore) {
+		this.todosStore = todosStore;
 	}
-	
+
 	public void insertTodos(TodosEntity todos) {
-		// TODO Auto-generated method stub
-		todosRepository.save(todos);
+		todosStore.insert(todos);
 	}
-	
+
+	/**
+	 * <p> todo 일괄 등록. 전체를 한 번에 커밋(fsync 1회)하고 항목별 생성 seq를 요청 순서대로 돌려줍니다.</p>
+	 * <p> 필수값 누락이나 개별 insert 실패는 해당 항목만 실패로 기록하고 나머지는 계속 처리합니다.</p>
+	 * */
+	public List<TodosBatchItemResult> insertTodosBatch(Long ownerSeq, List<TodosEntity> todosList) {
+		return todosStore.insertAll(ownerSeq, todosList);
+	}
+
+	/**
+	 * <p> 여러 사용자의 todo를 한 번에 등록 (TodosIngestService group commit 모드).
+	 * 작성자는 항목별 ownerSeq를 사용하며, 결과는 insertTodosBatch와 같이 요청 순서대로 돌려줍니다.</p>
+	 * */
+	public List<TodosBatchItemResult> insertTodosGroup(List<TodosEntity> todosList) {
+		return todosStore.insertAll(null, todosList);
+	}
+
 	public boolean isNullCheck(TodosEntity todos) {
 		if (todos.getContent() == null || todos.getContent().isBlank()) {
 			return true;
-		} else {			
+		} else {
 			return false;
 		}
 	}
 
-	public List<TodosEntity> getTodoList() {
-		// TODO Auto-generated method stub
-		List<TodosEntity> resList = new ArrayList<TodosEntity>();
-		resList = todosRepository.findAll();
-		return resList;
+	/**
+	 * <p> 사용자별 keyset 페이지 조회. after보다 큰 seq를 limit건까지 오름차순으로 반환합니다.</p>
+	 * @param ownerSeq 조회할 사용자 seq
+	 * @param after 이전 페이지의 마지막 seq (첫 페이지는 0)
+	 * @param limit 페이지 크기
+	 * */
+	public Slice<TodoView> getTodoList(Long ownerSeq, long after, int limit) {
+		return todosStore.findPage(ownerSeq, after, limit);
+	}
+
+	/**
+	 * <p> 사용자 todo 목록 버전. 목록보다 먼저 조회해야 ETag가 실제 내용보다 앞서지 않습니다.</p>
+	 * */
+	public long getTodoCollectionVersion(Long ownerSeq) {
+		return todosStore.collectionVersion(ownerSeq);
 	}
 
-	public TodosEntity getTodosBySeq(Long seq) {
-		// TODO Auto-generated method stub
-		Optional<TodosEntity> todoOptional = todosRepository.findBySeq(seq);
-		return todoOptional.orElse(null);
-		
+	/**
+	 * <p> 단건 조회. 다른 사용자의 todo는 없는 것으로 처리합니다.</p>
+	 * */
+	public TodoView getTodosBySeq(Long ownerSeq, Long seq) {
+		return todosStore.findById(ownerSeq, seq);
 	}
 
-	public TodosEntity updateTodo(TodosEntity existingTodo) {
-		// TODO Auto-generated method stub
-		return todosRepository.save(existingTodo);
-		
+	/**
+	 * <p> todo 내용 수정. 수정 후 version을 반환하며 null이면 없는 todo이거나 버전 불일치입니다.</p>
+	 * @param expectedVersions If-Match로 허용된 version 목록 (null이면 조건 없음)
+	 * */
+	public Long updateTodo(Long ownerSeq, Long seq, String content, List<Long> expectedVersions) {
+		return todosStore.update(ownerSeq, seq, content, expectedVersions);
 	}
 
-	@Transactional
-	public long DeleteTodo(TodosEntity existingTodo) {
-		// TODO Auto-generated method stub
-		return todosRepository.deleteBySeq(existingTodo.getSeq());
+	/**
+	 * <p> todo 삭제. 삭제된 건수를 반환하며 0이면 없는 todo이거나 버전 불일치입니다.</p>
+	 * @param expectedVersions If-Match로 허용된 version 목록 (null이면 조건 없음)
+	 * */
+	public int DeleteTodo(Long ownerSeq, Long seq, List<Long> expectedVersions) {
+		return todosStore.delete(ownerSeq, seq, expectedVersions);
 	}
 
-	public TodosEntity getSearchTodo(String content) {
-		// TODO Auto-generated method stub
-		Optional<TodosEntity> todoOptional = todosRepository.findByContent(content);
-		return todoOptional.orElse(null);
+	/**
+	 * <p> 전문 검색. 공백으로 구분된 단어는 모두 포함(AND), 단어 끝의 '*'는 접두어 검색,
+	 * 전체를 큰따옴표로 감싸면 구문(phrase) 검색으로 처리합니다.</p>
+	 * @return 검색 결과 (SQLite는 bm25 순위, memory-store는 seq 순. 검색어가 비어 있으면 빈 리스트)
+	 * */
+	public List<TodoView> getSearchTodo(Long ownerSeq, String content, int limit, long offset) {
+		return todosStore.search(ownerSeq, content, limit, offset);
 	}
-	
-	
 }
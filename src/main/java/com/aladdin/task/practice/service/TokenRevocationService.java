@@ -0,0 +1,113 @@
+package com.aladdin.task.practice.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.aladdin.task.practice.entity.RevokedTokensEntity;
+import com.aladdin.task.practice.repository.RefreshTokensRepository;
+import com.aladdin.task.practice.repository.RevokedTokensRepository;
+import com.aladdin.task.practice.utils.jwt.JwtRevocationList;
+import com.aladdin.task.practice.utils.shard.ShardContext;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> access token 폐기 (로그아웃 / 회원 탈퇴)</p>
+ * <p> revoked_tokens에 저장한 뒤 JwtRevocationList(메모리)에 반영합니다. 요청 경로의 폐기 여부 확인은 메모리에서만 합니다.</p>
+ * <p> 기동 시 만료되지 않은 폐기 목록을 메모리로 적재하고, jwt.revocation.purge-interval 마다
+ * 만료된 폐기 목록 / refresh token을 메모리와 DB에서 정리합니다.</p>
+ * <p> revoked_tokens는 사용자와 무관한 공용 데이터라 샤드 0에만 두고, refresh token 정리는 모든 샤드에서 수행합니다.</p>
+ * */
+@Slf4j
+@Service
+public class TokenRevocationService implements InitializingBean, DisposableBean {
+
+	private final RevokedTokensRepository revokedTokensRepository;
+	private final RefreshTokensRepository refreshTokensRepository;
+	private final JwtRevocationList jwtRevocationList;
+	private final ShardResolver shardResolver;
+	private final Duration purgeInterval;
+	private ScheduledExecutorService scheduler;
+	
+	public TokenRevocationService(RevokedTokensRepository revokedTokensRepository,
+			RefreshTokensRepository refreshTokensRepository, JwtRevocationList jwtRevocationList, ShardResolver shardResolver,
+			@Value("${jwt.revocation.purge-interval:PT5M}") Duration purgeInterval) {
+		this.revokedTokensRepository = revokedTokensRepository;
+		this.refreshTokensRepository = refreshTokensRepository;
+		this.jwtRevocationList = jwtRevocationList;
+		this.shardResolver = shardResolver;
+		this.purgeInterval = purgeInterval;
+	}
+	
+	@Override
+	public void afterPropertiesSet() {
+		reload();
+		
+		long purgeMillis = purgeInterval.toMillis();
+		if (purgeMillis > 0) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("token-purge-");
+			threadFactory.setDaemon(true);
+			scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+			scheduler.scheduleWithFixedDelay(this::purgeExpired, purgeMillis, purgeMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+	
+	/**
+	 * <p> 저장소의 만료되지 않은 폐기 목록으로 메모리 목록을 다시 만듦 (기동 시)</p>
+	 * */
+	public void reload() {
+		Map<String, Long> entries = new HashMap<>();
+		long now = System.currentTimeMillis();
+		for (RevokedTokensEntity revoked : ShardContext.callIn(ShardResolver.HOME_SHARD,
+				() -> revokedTokensRepository.findByExpiresAtGreaterThan(now))) {
+			entries.put(revoked.getJti(), revoked.getExpiresAt());
+		}
+		jwtRevocationList.replaceAll(entries);
+		log.info("폐기 토큰 목록 적재 : {}건", entries.size());
+	}
+	
+	/**
+	 * <p> access token 폐기. jti가 없거나 이미 만료된 토큰은 저장하지 않습니다.</p>
+	 * */
+	public void revoke(String jti, long expiresAtMillis) {
+		if (jti == null || expiresAtMillis <= System.currentTimeMillis()) {
+			return;
+		}
+		ShardContext.runIn(ShardResolver.HOME_SHARD, () -> revokedTokensRepository.save(new RevokedTokensEntity(jti, expiresAtMillis)));
+		jwtRevocationList.add(jti, expiresAtMillis);
+	}
+	
+	public void purgeExpired() {
+		try {
+			long now = System.currentTimeMillis();
+			int purgedInMemory = jwtRevocationList.purgeExpired(now);
+			int purgedRevoked = ShardContext.callIn(ShardResolver.HOME_SHARD, () -> revokedTokensRepository.deleteExpired(now));
+			int purgedRefresh = 0;
+			for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+				purgedRefresh += ShardContext.callIn(shard, () -> refreshTokensRepository.deleteExpired(now));
+			}
+			log.debug("만료 토큰 정리 : memory={}, revoked_tokens={}, refresh_tokens={}", purgedInMemory, purgedRevoked, purgedRefresh);
+		} catch (RuntimeException e) {
+			// 예외가 스케줄러 밖으로 나가면 이후 정리가 중단되므로 로그만 남김
+			log.warn("만료 토큰 정리 실패 : {}", e.toString());
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+}
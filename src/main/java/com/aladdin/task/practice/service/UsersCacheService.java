@@ -0,0 +1,166 @@
+package com.aladdin.task.practice.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.utils.shard.ShardContext;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> userId 기준 사용자 조회 캐시 (크기/TTL 제한)</p>
+ * <p> UserDetailsServiceImpl, CommonService의 사용자 조회가 모두 이 캐시를 거칩니다.
+ * 사용자 수정/삭제 시에는 반드시 {@link #evict(String...)}를 호출해 즉시 무효화해야 합니다.</p>
+ * <p> evict는 엔트리를 지우는 대신 무효화 표시로 바꾸고, 캐시 미스 조회는 조회 시작 때 본 엔트리가 그대로일 때만(compute) 결과를 넣습니다.
+ * 그래서 수정/삭제 전에 DB를 읽은 조회가 evict 뒤에 이전 값을 다시 캐시에 넣지 못합니다.</p>
+ * */
+@Slf4j
+@Service
+public class UsersCacheService {
+
+	private final UsersRepository usersRepository;
+	private final ShardResolver shardResolver;
+	private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+	private final int maxSize;
+	private final long ttlMillis;
+	
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	
+	public UsersCacheService(UsersRepository usersRepository, ShardResolver shardResolver,
+			@Value("${users.cache.max-size:10000}") int maxSize,
+			@Value("${users.cache.ttl-ms:60000}") long ttlMillis) {
+		this.usersRepository = usersRepository;
+		this.shardResolver = shardResolver;
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+	}
+	
+	/**
+	 * <p> 캐시에서 사용자를 조회하고, 없거나 TTL이 지났으면 DB에서 읽어 캐시에 넣습니다.</p>
+	 * <p> 캐시된 객체를 호출자가 수정해도 캐시가 오염되지 않도록 항상 복사본을 반환합니다.</p>
+	 * */
+	public Optional<UsersEntity> getUser(String userId) {
+		if (userId == null) {
+			return Optional.empty();
+		}
+		long now = System.currentTimeMillis();
+		CachedUser cached = cache.get(userId);
+		if (cached != null && !cached.isEvicted() && !cached.isExpired(now)) {
+			hitCount.increment();
+			return Optional.of(cached.copy());
+		}
+		missCount.increment();
+		
+		// 자연키 조회 (Hibernate 2차 캐시에 있으면 SQL 없음). JWT 필터 / 로그인은 인증 전이므로 userId로 샤드 지정
+		Optional<UsersEntity> userOptional = ShardContext.callIn(shardResolver.shardOf(userId),
+				() -> usersRepository.findByNaturalId(userId));
+		userOptional.ifPresent(user -> put(userId, user, cached, now));
+		return userOptional.map(UsersCacheService::copyOf);
+	}
+	
+	/**
+	 * <p> 사용자 캐시 무효화. 아이디 변경 시에는 변경 전/후 userId를 모두 전달합니다.</p>
+	 * */
+	public void evict(String... userIds) {
+		long expiresAtMillis = System.currentTimeMillis() + ttlMillis;
+		for (String userId : userIds) {
+			if (userId == null) {
+				continue;
+			}
+			if (maxSize <= 0 || ttlMillis <= 0) {
+				cache.remove(userId);
+			} else {
+				// 진행 중인 조회가 이전 값을 넣지 못하도록 무효화 표시를 남김 (TTL이 지나면 만료 엔트리처럼 정리)
+				cache.put(userId, CachedUser.evicted(expiresAtMillis));
+			}
+		}
+	}
+	
+	public void clear() {
+		cache.clear();
+	}
+	
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+	
+	public long getMissCount() {
+		return missCount.sum();
+	}
+	
+	// 무효화 표시 포함
+	public int size() {
+		return cache.size();
+	}
+	
+	// 조회 시작 때 본 엔트리(expected, 없었으면 null)가 그대로일 때만 넣음. 그 사이 evict나 다른 조회가 바꿨으면 버림
+	private void put(String userId, UsersEntity user, CachedUser expected, long now) {
+		if (maxSize <= 0 || ttlMillis <= 0) {
+			return;
+		}
+		if (cache.size() >= maxSize) {
+			evictExpiredOrAny(now);
+		}
+		CachedUser loaded = new CachedUser(user.getSeq(), userId, user.getPassword(), now + ttlMillis);
+		cache.compute(userId, (key, current) -> current == expected ? loaded : current);
+	}
+	
+	// 만료된 엔트리를 먼저 정리하고, 그래도 가득 차 있으면 임의의 엔트리를 제거
+	private void evictExpiredOrAny(long now) {
+		cache.values().removeIf(cached -> cached.isExpired(now));
+		
+		Iterator<String> it = cache.keySet().iterator();
+		while (cache.size() >= maxSize && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+	
+	private static UsersEntity copyOf(UsersEntity user) {
+		UsersEntity copy = new UsersEntity(user.getUserId(), user.getPassword());
+		copy.setSeq(user.getSeq());
+		return copy;
+	}
+	
+	private static final class CachedUser {
+		private final Long seq;
+		private final String userId;
+		private final String password;
+		private final long expiresAtMillis;
+		
+		private CachedUser(Long seq, String userId, String password, long expiresAtMillis) {
+			this.seq = seq;
+			this.userId = userId;
+			this.password = password;
+			this.expiresAtMillis = expiresAtMillis;
+		}
+		
+		private static CachedUser evicted(long expiresAtMillis) {
+			return new CachedUser(null, null, null, expiresAtMillis);
+		}
+		
+		private boolean isEvicted() {
+			return userId == null;
+		}
+		
+		private boolean isExpired(long now) {
+			return now >= expiresAtMillis;
+		}
+		
+		private UsersEntity copy() {
+			UsersEntity user = new UsersEntity(userId, password);
+			user.setSeq(seq);
+			return user;
+		}
+	}
+}
@@ -4,10 +4,12 @@ package com.aladdin.task.practice.service;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.TodosStore;
 import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.utils.shard.ShardContext;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
 import com.aladdin.task.practice.vo.LoginRequest;
 
 import lombok.extern.slf4j.Slf4j;
@@ -17,8 +19,12 @@ import lombok.extern.slf4j.Slf4j;
 public class UsersService {
 	
 	private final UsersRepository usersRepository;
-	public UsersService(UsersRepository usersRepository) {
+	private final TodosStore todosStore;
+	private final ShardResolver shardResolver;
+	public UsersService(UsersRepository usersRepository, TodosStore todosStore, ShardResolver shardResolver) {
 		this.usersRepository = usersRepository;
+		this.todosStore = todosStore;
+		this.shardResolver = shardResolver;
 	}
 
 	/**
@@ -26,16 +32,23 @@ public class UsersService {
 	 * @author 이민재
 	 * */
 	public void insertUsers(UsersEntity users) {
-		// TODO Auto-generated method stub
-		usersRepository.save(users);
-		
+		// 가입은 인증 정보가 없으므로 userId로 샤드를 지정 (seq는 해당 샤드의 범위에서 발급)
+		ShardContext.runIn(shardResolver.shardOf(users.getUserId()), () -> usersRepository.save(users));
 	}
 	
 	/**
 	 * <p> userId 중복검사</p>
 	 * */
 	public boolean checkDuplicateUserId(String userId) {
-		return usersRepository.findByUserId(userId).isPresent();
+		// 같은 userId는 항상 같은 샤드에 배정되므로 해당 샤드만 확인하면 전체 중복검사와 같음
+		return ShardContext.callIn(shardResolver.shardOf(userId), () -> usersRepository.findByNaturalId(userId).isPresent());
+	}
+	
+	/**
+	 * <p> 아이디 변경 가능 여부. 변경 후 userId가 다른 샤드에 배정되면 사용자 행과 todos를 옮겨야 하므로 허용하지 않습니다.</p>
+	 * */
+	public boolean canChangeUserId(UsersEntity existingUser, String newUserId) {
+		return shardResolver.shardOf(newUserId) == ShardResolver.shardOfSeq(existingUser.getSeq());
 	}
 	
 	
@@ -58,13 +71,29 @@ public class UsersService {
 		}
 	}
 	
-	public UsersEntity updateUsers(UsersEntity existingUser) {
-		return usersRepository.save(existingUser);
+	/**
+	 * <p> seq로 사용자 조회 (refresh token 교체 시 새 access token의 subject 확인용)</p>
+	 * */
+	public Optional<UsersEntity> getUserBySeq(Long seq) {
+		return ShardContext.callIn(ShardResolver.shardOfSeq(seq), () -> usersRepository.findById(seq));
+	}
+	
+	// 변경된 행 수 반환 (0이면 이미 삭제된 사용자)
+	// 비밀번호 해시 실행기 스레드에서 호출되므로 인증 정보 대신 seq로 샤드를 지정
+	public int updateUsers(UsersEntity existingUser) {
+		return ShardContext.callIn(ShardResolver.shardOfSeq(existingUser.getSeq()),
+				() -> usersRepository.updateUserIdAndPassword(existingUser.getSeq(), existingUser.getUserId(), existingUser.getPassword()));
 	}
 		
-	@Transactional
-	public long deleteUser(UsersEntity existingUser) {
-		return usersRepository.deleteByUserId(existingUser.getUserId());
+	// 삭제된 행 수 반환 (0이면 이미 삭제된 사용자)
+	public int deleteUser(UsersEntity existingUser) {
+		int deleteCnt = ShardContext.callIn(ShardResolver.shardOfSeq(existingUser.getSeq()),
+				() -> usersRepository.deleteUserBySeq(existingUser.getSeq()));
+		if (deleteCnt > 0) {
+			// 커밋 후 todo 저장소 정리 (SQLite는 ON DELETE CASCADE로 삭제된 todos 2차 캐시 무효화, memory-store는 todo 삭제)
+			todosStore.deleteByOwner(existingUser.getSeq());
+		}
+		return deleteCnt;
 	}
 
 	
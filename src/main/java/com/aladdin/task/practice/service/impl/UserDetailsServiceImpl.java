@@ -2,27 +2,53 @@ package com.aladdin.task.practice.service.impl;
 
 import com.aladdin.task.practice.entity.UsersEntity;
 import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.service.UsersCacheService;
+import com.aladdin.task.practice.utils.shard.ShardContext;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service // Spring 빈으로 등록
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UsersCacheService usersCacheService;
     private final UsersRepository usersRepository;
+    private final ShardResolver shardResolver;
 
-    public UserDetailsServiceImpl(UsersRepository usersRepository) {
+    public UserDetailsServiceImpl(UsersCacheService usersCacheService, UsersRepository usersRepository, ShardResolver shardResolver) {
+        this.usersCacheService = usersCacheService;
         this.usersRepository = usersRepository;
+        this.shardResolver = shardResolver;
     }
 
     // Spring Security가 사용자 이름을 기반으로 UserDetails를 로드할 때 호출
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UsersEntity user = usersRepository.findByUserId(username) // username 필드로 조회
+        UsersEntity user = usersCacheService.getUser(username) // username 필드로 조회 (캐시 우선)
                           .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
         return new UserDetailsImpl(user); // 조회된 UsersEntity로 UserDetailsImpl 객체 생성
     }
+
+    // 로그인 성공 시 저장된 해시가 현재 정책(PasswordEncoder.upgradeEncoding)보다 약하면
+    // DaoAuthenticationProvider가 새로 해시한 비밀번호로 호출 (강제 비밀번호 초기화 없이 strength 상향)
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        // 조회 없이 단일 UPDATE 문으로 해시 교체 (로그인 중이라 인증 정보가 없으므로 userId로 샤드 지정)
+        int updateCnt = ShardContext.callIn(shardResolver.shardOf(userDetails.getUsername()),
+                () -> usersRepository.updatePasswordByUserId(userDetails.getUsername(), newPassword));
+        if (updateCnt == 0) {
+            throw new UsernameNotFoundException("User not found with username: " + userDetails.getUsername());
+        }
+        usersCacheService.evict(userDetails.getUsername()); // 이전 해시가 캐시에 남지 않도록 무효화
+
+        // loadUserByUsername이 돌려준 UserDetailsImpl (캐시 복사본)에 새 해시 반영
+        UsersEntity user = ((UserDetailsImpl) userDetails).getUser();
+        user.setPassword(newPassword);
+        return new UserDetailsImpl(user);
+    }
 }
@@ -0,0 +1,50 @@
+package com.aladdin.task.practice.utils.auth;
+
+import java.util.Arrays;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> 지연시간 예산에 맞는 BCrypt strength(work factor) 산정</p>
+ * <p> 최소 strength로 몇 차례 해시 시간을 측정한 뒤, strength가 1 오를 때마다 비용이 2배가 되는 특성으로
+ * 예산(targetMillis) 이내의 가장 큰 strength를 고릅니다. 최소값 아래로는 내려가지 않습니다(보안 하한).</p>
+ * */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+	private static final String SAMPLE_PASSWORD = "calibration-password";
+	private static final int SAMPLES = 3;
+
+	private BCryptStrengthCalibrator() {
+	}
+
+	public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+		encoder.encode(SAMPLE_PASSWORD); // JIT 워밍업
+
+		long[] samples = new long[SAMPLES];
+		for (int i = 0; i < SAMPLES; i++) {
+			long start = System.nanoTime();
+			encoder.encode(SAMPLE_PASSWORD);
+			samples[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(samples);
+		double baseMillis = samples[SAMPLES / 2] / 1_000_000.0; // 중앙값
+
+		int strength = minStrength;
+		while (strength < maxStrength && baseMillis * (1L << (strength + 1 - minStrength)) <= targetMillis) {
+			strength++;
+		}
+
+		double expectedMillis = baseMillis * (1L << (strength - minStrength));
+		if (expectedMillis > targetMillis) {
+			log.warn("BCrypt 최소 strength {} 의 해시 시간({}ms)이 예산 {}ms 를 초과합니다.",
+					minStrength, String.format("%.1f", expectedMillis), targetMillis);
+		}
+		log.info("BCrypt strength 산정 : {} (예상 해시 시간 {}ms, 예산 {}ms)",
+				strength, String.format("%.1f", expectedMillis), targetMillis);
+		return strength;
+	}
+}
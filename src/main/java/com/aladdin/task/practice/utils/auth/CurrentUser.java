@@ -0,0 +1,21 @@
+package com.aladdin.task.practice.utils.auth;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p> 컨트롤러 파라미터에 현재 인증된 사용자(UsersEntity)를 주입받기 위한 어노테이션</p>
+ * <p> 인증 정보가 없으면 null이 주입됩니다.</p>
+ * 
+ * <pre>
+ * public ResponseEntity&lt;String&gt; getMe(@CurrentUser UsersEntity existingUser) { ... }
+ * </pre>
+ * */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,54 @@
+package com.aladdin.task.practice.utils.auth;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.service.CommonService;
+import com.aladdin.task.practice.service.impl.UserDetailsImpl;
+
+/**
+ * <p> {@link CurrentUser}가 붙은 UsersEntity 파라미터를 해석하는 리졸버</p>
+ * <p> JwtAuthenticationFilter가 이미 SecurityContext에 넣어둔 UserDetailsImpl의 UsersEntity를 그대로 꺼내 쓰므로
+ * 핸들러에서 사용자 조회 쿼리를 다시 실행하지 않습니다.</p>
+ * */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+	private final CommonService commonService;
+	
+	public CurrentUserArgumentResolver(CommonService commonService) {
+		this.commonService = commonService;
+	}
+	
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		return parameter.hasParameterAnnotation(CurrentUser.class)
+				&& UsersEntity.class.isAssignableFrom(parameter.getParameterType());
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+			NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+		
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+			return null;
+		}
+		
+		Object principal = authentication.getPrincipal();
+		if (principal instanceof UserDetailsImpl) {
+			return ((UserDetailsImpl) principal).getUser();
+		}
+		
+		// JWT 필터 외의 경로로 인증된 경우(principal이 UserDetailsImpl이 아님)에만 사용자 조회
+		return commonService.getUser(authentication.getName());
+	}
+}
@@ -0,0 +1,66 @@
+package com.aladdin.task.practice.utils.auth;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * <p> 비밀번호 해시/검증(BCrypt) 전용 실행기</p>
+ * <p> 로그인/회원가입/내 정보 수정의 BCrypt 연산을 Tomcat 요청 스레드가 아닌 코어 수 크기의 전용 풀에서 수행하여,
+ * 로그인 요청이 몰려도 TODO CRUD 요청 스레드가 고갈되지 않도록 합니다.</p>
+ * <p> 대기 큐가 가득 차면 {@link RejectedExecutionException}을 던지며, 컨트롤러는 이를 503 응답으로 변환합니다.</p>
+ * <p> 메트릭 : executor.queued / executor.queue.remaining / executor.active (name=password.hashing),
+ * executor.idle (큐 대기시간), executor (실행시간), password.hashing.rejected (거절 횟수)</p>
+ * */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+	private static final String EXECUTOR_NAME = "password.hashing";
+
+	private final ThreadPoolExecutor threadPool;
+	private final ExecutorService executor; // 메트릭 측정용으로 감싼 실행기
+	private final Counter rejectedCounter;
+
+	public PasswordHashingExecutor(@Value("${password.hashing.threads:0}") int threads,
+	                               @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+	                               MeterRegistry meterRegistry) {
+		// threads가 0 이하이면 코어 수만큼 (BCrypt는 CPU 바운드 작업)
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.threadPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				new CustomizableThreadFactory("password-hash-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, EXECUTOR_NAME);
+		this.rejectedCounter = Counter.builder(EXECUTOR_NAME + ".rejected")
+				.description("대기 큐 초과로 거절된 비밀번호 해시 작업 수")
+				.register(meterRegistry);
+	}
+
+	// 전용 풀에서 작업 실행, 큐가 가득 찬 경우 RejectedExecutionException
+	public <T> CompletableFuture<T> submit(Supplier<T> task) {
+		try {
+			return CompletableFuture.supplyAsync(task, executor);
+		} catch (RejectedExecutionException e) {
+			rejectedCounter.increment();
+			throw e;
+		}
+	}
+
+	@Override
+	public void destroy() {
+		threadPool.shutdown();
+	}
+}
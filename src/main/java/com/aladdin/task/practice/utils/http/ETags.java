@@ -0,0 +1,82 @@
+package com.aladdin.task.practice.utils.http;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.aladdin.task.practice.vo.TodoView;
+
+/**
+ * <p> todo 리소스 ETag 생성 및 조건부 요청 헤더 비교</p>
+ * <ul>
+ *   <li>단건 : "seq-version" (TodosEntity @Version / TodoView)</li>
+ *   <li>목록 : "todos-목록버전" (users.todos_version)</li>
+ * </ul>
+ * */
+public final class ETags {
+
+	private static final String WEAK_PREFIX = "W/";
+	private static final String ANY = "*";
+
+	private ETags() {
+	}
+
+	public static String todo(TodoView todo) {
+		return todo(todo.getSeq(), todo.getVersion());
+	}
+
+	public static String todo(Long seq, long version) {
+		return "\"" + seq + "-" + version + "\"";
+	}
+
+	public static String todoCollection(long collectionVersion) {
+		return "\"todos-" + collectionVersion + "\"";
+	}
+
+	/**
+	 * <p> If-None-Match 비교 (약한 비교 : W/ 접두어는 무시). 헤더가 없으면 false</p>
+	 * */
+	public static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (ANY.equals(tag)) {
+				return true;
+			}
+			if (tag.startsWith(WEAK_PREFIX)) {
+				tag = tag.substring(WEAK_PREFIX.length());
+			}
+			if (tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * <p> If-Match 헤더에서 해당 todo에 대해 허용된 version 목록 추출 (강한 비교 : W/ 태그는 무시)</p>
+	 * <p> 헤더가 없거나 * 이면 조건 없음(null), 일치하는 태그가 없으면 빈 목록을 반환합니다.</p>
+	 * */
+	public static List<Long> ifMatchVersions(String ifMatch, Long seq) {
+		if (ifMatch == null || ifMatch.isBlank()) {
+			return null;
+		}
+		String prefix = "\"" + seq + "-";
+		List<Long> versions = new ArrayList<>();
+		for (String candidate : ifMatch.split(",")) {
+			String tag = candidate.trim();
+			if (ANY.equals(tag)) {
+				return null;
+			}
+			if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+				try {
+					versions.add(Long.parseLong(tag.substring(prefix.length(), tag.length() - 1)));
+				} catch (NumberFormatException e) {
+					// 이 서버가 발급하지 않은 형식의 태그는 불일치로 처리
+				}
+			}
+		}
+		return versions;
+	}
+}
@@ -0,0 +1,88 @@
+package com.aladdin.task.practice.utils.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.aladdin.task.practice.vo.TodoView;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * <p> todo 조회 응답 JSON 직렬화</p>
+ * <p> TodoView용 ObjectWriter를 한 번만 만들어 재사용하고, JsonGenerator로 전달받은 OutputStream에 바로 기록합니다.
+ * 컨트롤러는 상태/헤더를 ResponseEntity에 정하고 본문으로 {@link #todo}/{@link #todos}의 StreamingResponseBody를 반환합니다.</p>
+ * <p> 응답 전체를 문자열로 만들지 않을 뿐, 목록은 조회 단계에서 이미 한 페이지 분량으로 메모리에 올라와 있습니다.
+ * (DB 커서를 응답 스트림까지 열어 두지 않으므로 커넥션/트랜잭션은 본문 기록 전에 반환)</p>
+ * <pre>
+ * 단건 : {"message":"...","todo":{"seq":1,"content":"...","version":0}}
+ * 목록 : {"message":"...","todos":[...],"nextCursor":100}  (nextCursor는 다음 페이지가 있을 때만)
+ * </pre>
+ * */
+@Component
+public class TodosJsonWriter {
+
+	public static final MediaType CONTENT_TYPE = new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8);
+	
+	private final JsonFactory jsonFactory;
+	private final ObjectWriter todoWriter;
+	
+	public TodosJsonWriter(ObjectMapper objectMapper) {
+		this.jsonFactory = objectMapper.getFactory();
+		// 선언 타입을 TodoView로 고정해 엔티티가 넘어와도 seq, content, version만 직렬화
+		// 항목마다 flush 하지 않도록 FLUSH_AFTER_WRITE_VALUE 해제 (generator close 시 한 번에 flush)
+		this.todoWriter = objectMapper.writerFor(TodoView.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+	
+	public StreamingResponseBody todo(String message, TodoView todo) {
+		return out -> writeTodo(out, message, todo);
+	}
+	
+	public StreamingResponseBody todos(String message, List<? extends TodoView> todos, Long nextCursor) {
+		return out -> writeTodos(out, message, todos, nextCursor);
+	}
+	
+	public void writeTodo(OutputStream out, String message, TodoView todo) throws IOException {
+		try (JsonGenerator generator = createGenerator(out)) {
+			generator.writeStartObject();
+			generator.writeStringField("message", message);
+			generator.writeFieldName("todo");
+			todoWriter.writeValue(generator, todo);
+			generator.writeEndObject();
+		}
+	}
+	
+	public void writeTodos(OutputStream out, String message, List<? extends TodoView> todos, Long nextCursor) throws IOException {
+		try (JsonGenerator generator = createGenerator(out)) {
+			generator.writeStartObject();
+			generator.writeStringField("message", message);
+			generator.writeArrayFieldStart("todos");
+			for (TodoView todo : todos) {
+				todoWriter.writeValue(generator, todo);
+			}
+			generator.writeEndArray();
+			if (nextCursor != null) {
+				generator.writeNumberField("nextCursor", nextCursor);
+			}
+			generator.writeEndObject();
+		}
+	}
+	
+	private JsonGenerator createGenerator(OutputStream out) throws IOException {
+		// 응답 스트림은 컨테이너가 닫도록 generator close 시 함께 닫지 않음
+		JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		return generator;
+	}
+}
@@ -0,0 +1,107 @@
+package com.aladdin.task.practice.utils.jwt;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * <p> JWK(RFC 7517) 공개키 변환 (ES256 : EC P-256, RS256 : RSA)</p>
+ * <p> 서명 노드는 공개키를 JWK로 내보내고, 검증 노드는 JWKS 응답을 한 번만 PublicKey로 변환해 보관합니다.</p>
+ * */
+public final class Jwks {
+
+	private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder B64URL_DECODER = Base64.getUrlDecoder();
+	private static final String P256 = "P-256";
+	private static final int P256_COORDINATE_BYTES = 32;
+	
+	private Jwks() {
+	}
+	
+	public static Map<String, Object> toJwk(String kid, SignatureAlgorithm algorithm, PublicKey publicKey) {
+		Map<String, Object> jwk = new LinkedHashMap<>();
+		if (publicKey instanceof ECPublicKey) {
+			ECPoint point = ((ECPublicKey) publicKey).getW();
+			jwk.put("kty", "EC");
+			jwk.put("crv", P256);
+			jwk.put("x", encode(point.getAffineX(), P256_COORDINATE_BYTES));
+			jwk.put("y", encode(point.getAffineY(), P256_COORDINATE_BYTES));
+		} else if (publicKey instanceof RSAPublicKey) {
+			RSAPublicKey rsa = (RSAPublicKey) publicKey;
+			jwk.put("kty", "RSA");
+			jwk.put("n", encode(rsa.getModulus(), 0));
+			jwk.put("e", encode(rsa.getPublicExponent(), 0));
+		} else {
+			throw new IllegalArgumentException("JWK로 내보낼 수 없는 키 형식입니다 : " + publicKey.getAlgorithm());
+		}
+		jwk.put("use", "sig");
+		jwk.put("alg", algorithm.getValue());
+		jwk.put("kid", kid);
+		return jwk;
+	}
+	
+	public static PublicKey parsePublicKey(JsonNode jwk) throws GeneralSecurityException {
+		String kty = jwk.path("kty").asText();
+		if ("EC".equals(kty)) {
+			if (!P256.equals(jwk.path("crv").asText())) {
+				throw new GeneralSecurityException("지원하지 않는 EC 곡선입니다 : " + jwk.path("crv").asText());
+			}
+			AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+			parameters.init(new ECGenParameterSpec("secp256r1"));
+			ECPoint point = new ECPoint(decode(jwk.path("x").asText()), decode(jwk.path("y").asText()));
+			return KeyFactory.getInstance("EC")
+					.generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+		}
+		if ("RSA".equals(kty)) {
+			return KeyFactory.getInstance("RSA")
+					.generatePublic(new RSAPublicKeySpec(decode(jwk.path("n").asText()), decode(jwk.path("e").asText())));
+		}
+		throw new GeneralSecurityException("지원하지 않는 kty입니다 : " + kty);
+	}
+	
+	// 공개키 인코딩의 SHA-256 앞 12바이트 (키마다 고정, 노드 간 충돌 없음)
+	public static String keyId(PublicKey publicKey) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+			return B64URL.encodeToString(Arrays.copyOf(digest, 12));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+		}
+	}
+	
+	// 부호 없는 big-endian 바이트 (length > 0 이면 앞을 0으로 채워 고정 길이)
+	private static String encode(BigInteger value, int length) {
+		byte[] bytes = value.toByteArray();
+		if (bytes.length > 1 && bytes[0] == 0) {
+			bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+		}
+		if (length > bytes.length) {
+			byte[] padded = new byte[length];
+			System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+			bytes = padded;
+		}
+		return B64URL.encodeToString(bytes);
+	}
+	
+	private static BigInteger decode(String value) {
+		return new BigInteger(1, B64URL_DECODER.decode(value));
+	}
+}
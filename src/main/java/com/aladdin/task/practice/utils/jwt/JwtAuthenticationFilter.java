@@ -15,16 +15,32 @@ import org.springframework.security.core.userdetails.UserDetailsService; // 사
 import org.springframework.security.core.userdetails.UsernameNotFoundException; // 사용자 없음 예외
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException; // 만료 예외
+import io.jsonwebtoken.MalformedJwtException; // 형식 오류 예외
+import io.jsonwebtoken.security.SignatureException; // 서명 불일치 예외
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // 검증된 토큰 정보(JwtTokenCache.CachedToken) 요청 속성 이름 (로그아웃/탈퇴 시 jti 폐기용, 재파싱 없음)
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "com.aladdin.task.practice.utils.jwt.JwtAuthenticationFilter.VERIFIED_TOKEN";
+
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService; // UserDetailsService 주입
+    private final JwtTokenCache jwtTokenCache; // 검증 완료된 토큰 캐시
+    private final JwtAuthenticationMetrics metrics; // 단계별 Timer / 실패 사유 Counter
+    private final JwtRevocationList jwtRevocationList; // 폐기된 jti 메모리 목록 (DB 조회 없음)
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService,
+                                   JwtTokenCache jwtTokenCache, JwtAuthenticationMetrics metrics,
+                                   JwtRevocationList jwtRevocationList) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
+        this.jwtTokenCache = jwtTokenCache;
+        this.metrics = metrics;
+        this.jwtRevocationList = jwtRevocationList;
     }
 
     @Override
@@ -32,19 +48,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        String token = jwtTokenProvider.resolveToken(request); // 요청에서 토큰 추출
+        String token = metrics.resolve(() -> jwtTokenProvider.resolveToken(request)); // 요청에서 토큰 추출
 
         // 토큰이 존재하고 현재 Security Context에 인증 정보가 없는 경우에만 처리
         if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                // 1. 토큰 유효성 검사 (만료 시 validateToken에서 ExpiredJwtException 발생)
-                jwtTokenProvider.validateToken(token); // validateToken에서 예외 발생 가능
-
-                // 2. 토큰에서 사용자 이름 추출
-                String username = jwtTokenProvider.getUsernameFromToken(token);
+                // 1~2. 캐시에 검증된 토큰이 있으면 그대로 사용하고,
+                //      없으면 서명 검증과 사용자 이름 추출을 한 번의 파싱으로 처리 (만료 시 ExpiredJwtException 발생)
+                JwtTokenCache.CachedToken verified = metrics.validate(() -> {
+                    JwtTokenCache.CachedToken cached = jwtTokenCache.get(token);
+                    if (cached != null) {
+                        return cached;
+                    }
+                    Claims claims = metrics.parse(() -> jwtTokenProvider.parseClaims(token));
+                    return jwtTokenCache.put(token, claims.getSubject(), claims.getId(), claims.getExpiration());
+                });
+
+                // 로그아웃/탈퇴로 폐기된 토큰 (캐시 히트여도 매번 확인, 메모리 조회만 수행)
+                if (jwtRevocationList.isRevoked(verified.getTokenId())) {
+                    metrics.recordFailure(JwtAuthenticationMetrics.REASON_REVOKED);
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED); // 401
+                    response.setContentType("application/json");
+                    response.getWriter().write("{\"error\": \"JWT token revoked\"}");
+                    response.getWriter().flush();
+                    return; // 필터 체인 중단
+                }
+                String username = verified.getSubject();
 
                 // 3. UserDetailsService를 사용하여 사용자 정보(UserDetails) 로드
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = metrics.loadUser(() -> userDetailsService.loadUserByUsername(username));
 
                 // 4. UserDetails와 토큰을 기반으로 인증 객체 (Authentication) 생성
                 // 인증된 상태임을 나타내기 위해 password는 null, authorities 전달
@@ -53,6 +85,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 // 5. 생성된 인증 객체를 Security Context에 설정
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified);
 
             } catch (ExpiredJwtException e) {
                  // JWT 토큰 만료 예외는 SecurityConfig의 EntryPoint에서 처리하도록 예외를 다시 던지거나,
@@ -68,6 +101,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                  // throw e; // <-- EntryPoint로 넘어가도록 예외 다시 던지기 (필요시)
 
                  // 만약 필터에서 직접 응답을 작성하려면:
+                 metrics.recordFailure(JwtAuthenticationMetrics.REASON_EXPIRED);
                  response.setStatus(HttpServletResponse.SC_UNAUTHORIZED); // 401
                  response.setContentType("application/json");
                  response.getWriter().write("{\"error\": \"JWT token expired\"}");
@@ -76,6 +110,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             } catch (UsernameNotFoundException e) {
                 // 토큰의 사용자 이름에 해당하는 사용자가 DB에 없는 경우
+                 metrics.recordFailure(JwtAuthenticationMetrics.REASON_UNKNOWN_USER);
                  response.setStatus(HttpServletResponse.SC_NOT_FOUND); // 404
                  response.setContentType("application/json");
                  response.getWriter().write("{\"error\": \"User not found from token\"}");
@@ -84,7 +119,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             } catch (Exception e) {
                 // 다른 JWT 유효성 검사 실패 (잘못된 서명, 형식 등)
-                 System.err.println("JWT validation failed: " + e.getMessage());
+                 metrics.recordFailure(failureReason(e));
+                 log.debug("JWT 인증 실패 : reason={}", e.getClass().getSimpleName());
                  response.setStatus(HttpServletResponse.SC_UNAUTHORIZED); // 401
                  response.setContentType("application/json");
                  response.getWriter().write("{\"error\": \"Invalid JWT token\"}");
@@ -96,4 +132,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Security Context에 인증 정보가 설정되었거나, 토큰이 없거나, 예외 처리로 응답이 작성되지 않았다면 다음 필터로 진행
         filterChain.doFilter(request, response);
     }
+
+    // 메트릭 집계용 실패 사유 분류
+    private static String failureReason(Exception e) {
+        if (e instanceof SignatureException) {
+            return JwtAuthenticationMetrics.REASON_BAD_SIGNATURE;
+        }
+        if (e instanceof MalformedJwtException) {
+            return JwtAuthenticationMetrics.REASON_MALFORMED;
+        }
+        return JwtAuthenticationMetrics.REASON_INVALID;
+    }
 }
@@ -0,0 +1,78 @@
+package com.aladdin.task.practice.utils.jwt;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * <p> JwtAuthenticationFilter 단계별 소요시간 / 실패 사유 메트릭</p>
+ * <p> jwt.filter.phase (phase=resolve|validate|parse|user_load) : 단계별 Timer</p>
+ * <p> jwt.filter.failures (reason=expired|bad_signature|malformed|unknown_user|invalid) : 실패 사유별 Counter</p>
+ * <p> 퍼센타일 히스토그램은 management.metrics.distribution.percentiles-histogram.jwt.filter.phase 로 설정합니다.</p>
+ * */
+@Component
+public class JwtAuthenticationMetrics {
+
+    public static final String PHASE_RESOLVE = "resolve";     // 헤더에서 토큰 추출
+    public static final String PHASE_VALIDATE = "validate";   // 캐시 조회 + (미스 시) 서명 검증/파싱
+    public static final String PHASE_PARSE = "parse";         // 캐시 미스일 때의 서명 검증/파싱만
+    public static final String PHASE_USER_LOAD = "user_load"; // UserDetailsService 사용자 로드
+
+    public static final String REASON_EXPIRED = "expired";
+    public static final String REASON_BAD_SIGNATURE = "bad_signature";
+    public static final String REASON_MALFORMED = "malformed";
+    public static final String REASON_UNKNOWN_USER = "unknown_user";
+    public static final String REASON_REVOKED = "revoked";
+    public static final String REASON_INVALID = "invalid";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer resolveTimer;
+    private final Timer validateTimer;
+    private final Timer parseTimer;
+    private final Timer userLoadTimer;
+
+    public JwtAuthenticationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.resolveTimer = phaseTimer(PHASE_RESOLVE);
+        this.validateTimer = phaseTimer(PHASE_VALIDATE);
+        this.parseTimer = phaseTimer(PHASE_PARSE);
+        this.userLoadTimer = phaseTimer(PHASE_USER_LOAD);
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("jwt.filter.phase")
+                .description("JwtAuthenticationFilter 단계별 소요시간")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    // 예외가 발생해도 소요시간은 기록됩니다 (Timer.record(Supplier))
+    public <T> T resolve(Supplier<T> supplier) {
+        return resolveTimer.record(supplier);
+    }
+
+    public <T> T validate(Supplier<T> supplier) {
+        return validateTimer.record(supplier);
+    }
+
+    public <T> T parse(Supplier<T> supplier) {
+        return parseTimer.record(supplier);
+    }
+
+    public <T> T loadUser(Supplier<T> supplier) {
+        return userLoadTimer.record(supplier);
+    }
+
+    public void recordFailure(String reason) {
+        Counter.builder("jwt.filter.failures")
+                .description("JwtAuthenticationFilter 인증 실패 횟수")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
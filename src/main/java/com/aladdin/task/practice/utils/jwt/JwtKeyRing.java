@@ -0,0 +1,403 @@
+package com.aladdin.task.practice.utils.jwt;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.aladdin.task.practice.utils.jwt.JwtKeyStore.KeySet;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> JWT 서명/검증 키 보관소</p>
+ * <ul>
+ *   <li>서명 노드 (RS256/ES256, jwt.jwks-uri 미지정) : 키 쌍을 jwt.keys.store 파일(JwtKeyStore)에서 읽고, 저장된 키가 없을 때만 생성해 저장합니다.
+ *       jwt.keys.rotation-interval 마다 교체해 다시 저장하며, 다음 키를 미리 JWKS에 공개해 두고 교체된 이전 키는 그 키로 발급한 토큰이 만료될 때까지 검증용으로 남겨둡니다.
+ *       같은 파일을 쓰는 다른 노드가 먼저 교체했으면 새로 교체하지 않고 그 키를 그대로 사용합니다. (jwt.keys.store가 비어 있으면 메모리에만 보관)</li>
+ *   <li>검증 노드 (jwt.jwks-uri 지정) : 서명 노드의 JWKS를 주기적으로 받아 공개키로 변환해 두고 검증만 합니다. 토큰 발급은 할 수 없습니다.
+ *       모르는 kid는 백그라운드 갱신을 요청하고 요청 스레드는 최대 UNKNOWN_KID_WAIT 만큼만 기다립니다.</li>
+ *   <li>HS256 : 기존 공유 비밀키(jwt.secret) 방식. kid 없이 서명하며 키 교체/JWKS 공개는 하지 않습니다.</li>
+ * </ul>
+ * <p> 검증 키는 kid별로 미리 변환한 Key 객체를 불변 Map으로 교체하므로 요청 경로에서는 조회만 합니다.</p>
+ * */
+@Slf4j
+@Component
+public class JwtKeyRing implements DisposableBean {
+
+	// 검증 노드에서 모르는 kid가 들어왔을 때 JWKS를 다시 받는 최소 간격
+	private static final long MIN_REFETCH_INTERVAL_MILLIS = 10_000L;
+	// 노드 간 시계 오차 허용 (이전 키 보관 기간에 더함)
+	private static final long CLOCK_SKEW_MILLIS = 60_000L;
+	private static final Duration JWKS_TIMEOUT = Duration.ofSeconds(2);
+	// 모르는 kid로 JWKS 갱신을 요청한 요청 스레드가 갱신 완료를 기다리는 최대 시간 (넘으면 401, 갱신은 계속 진행)
+	private static final long UNKNOWN_KID_WAIT_MILLIS = 300L;
+	private static final TypeReference<Map<String, Object>> JWK_TYPE = new TypeReference<>() {};
+	
+	private final SignatureAlgorithm algorithm;
+	private final long tokenValidityMillis;
+	private final Key hmacKey; // HS256일 때만
+	private final URI jwksUri; // 검증 노드일 때만
+	private final JwtKeyStore keyStore; // 서명 노드 + jwt.keys.store 지정일 때만
+	private final ObjectMapper objectMapper;
+	private final HttpClient httpClient;
+	private final ScheduledExecutorService scheduler;
+	private final AtomicLong lastFetchMillis = new AtomicLong();
+	private volatile CompletableFuture<Void> pendingRefresh = CompletableFuture.completedFuture(null);
+	
+	private volatile SigningKey signingKey;
+	private SigningKey nextKey; // 다음 교체 때 사용할 키 (JWKS에는 미리 공개)
+	private final Deque<RetiredKey> retiredKeys = new ArrayDeque<>();
+	private long rotatedAt;
+	
+	private volatile Map<String, VerificationKey> verificationKeys = Map.of();
+	private volatile List<Map<String, Object>> publicJwks = List.of();
+	
+	public JwtKeyRing(@Value("${jwt.algorithm:RS256}") String algorithm,
+	                  @Value("${jwt.secret}") String secret,
+	                  @Value("${jwt.expiration}") long tokenValidityMillis,
+	                  @Value("${jwt.keys.rotation-interval:PT24H}") Duration rotationInterval,
+	                  @Value("${jwt.keys.store:}") String keyStorePath,
+	                  @Value("${jwt.jwks-uri:}") String jwksUri,
+	                  @Value("${jwt.jwks-refresh-interval:PT5M}") Duration jwksRefreshInterval,
+	                  ObjectMapper objectMapper) {
+		this.algorithm = SignatureAlgorithm.forName(algorithm);
+		if (this.algorithm != SignatureAlgorithm.HS256 && this.algorithm != SignatureAlgorithm.ES256
+				&& this.algorithm != SignatureAlgorithm.RS256) {
+			throw new IllegalArgumentException("jwt.algorithm은 HS256, ES256, RS256 중 하나여야 합니다 : " + algorithm);
+		}
+		this.tokenValidityMillis = tokenValidityMillis;
+		this.objectMapper = objectMapper;
+		
+		if (this.algorithm == SignatureAlgorithm.HS256) {
+			this.hmacKey = Keys.hmacShaKeyFor(secret.getBytes());
+			this.signingKey = new SigningKey(null, this.algorithm, hmacKey);
+			this.jwksUri = null;
+			this.keyStore = null;
+			this.httpClient = null;
+			this.scheduler = null;
+			return;
+		}
+		
+		this.hmacKey = null;
+		if (jwksUri != null && !jwksUri.isBlank()) {
+			// 검증 노드 : 기동 시 한 번 받고 이후 주기적으로 갱신 (실패해도 기동은 계속, 다음 갱신/모르는 kid 요청 때 재시도)
+			this.jwksUri = URI.create(jwksUri);
+			this.keyStore = null;
+			this.httpClient = HttpClient.newBuilder().connectTimeout(JWKS_TIMEOUT).build();
+			this.scheduler = newScheduler();
+			refresh();
+			long refreshMillis = jwksRefreshInterval.toMillis();
+			if (refreshMillis > 0) {
+				scheduler.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+			}
+			return;
+		}
+		
+		// 서명 노드 : 저장된 키를 읽고 (없으면 현재 키와 다음 키를 생성해 저장) 공개
+		this.jwksUri = null;
+		this.httpClient = null;
+		this.keyStore = keyStorePath == null || keyStorePath.isBlank() ? null : new JwtKeyStore(Path.of(keyStorePath), objectMapper);
+		long now = System.currentTimeMillis();
+		try {
+			apply(keyStore == null ? initial(now) : keyStore.update(stored -> loaded(stored, now)));
+		} catch (IOException e) {
+			// 저장된 키를 못 읽은 채 새 키로 기동하면 기존 토큰이 모두 무효가 되므로 기동 중단
+			throw new IllegalStateException("JWT 서명 키 파일을 읽거나 저장할 수 없습니다 : " + keyStorePath, e);
+		}
+		long rotationMillis = rotationInterval.toMillis();
+		if (rotationMillis > 0) {
+			// 재시작해도 교체 주기가 이어지도록 마지막 교체 시각 기준으로 첫 교체 시점을 정함
+			long initialDelay = Math.max(0, rotatedAt + rotationMillis - now);
+			this.scheduler = newScheduler();
+			scheduler.scheduleAtFixedRate(this::rotate, initialDelay, rotationMillis, TimeUnit.MILLISECONDS);
+		} else {
+			this.scheduler = null;
+		}
+		log.info("JWT 서명 키 적재 : algorithm={}, kid={}, retained={}, store={}, rotationInterval={}",
+				this.algorithm, signingKey.getKid(), retiredKeys.size(), keyStore == null ? "memory" : keyStore.path(), rotationInterval);
+	}
+	
+	// 토큰 발급에 사용할 현재 키 (검증 노드에서는 발급 불가)
+	public SigningKey signingKey() {
+		SigningKey current = signingKey;
+		if (current == null) {
+			throw new IllegalStateException("검증 전용 노드(jwt.jwks-uri 지정)에서는 토큰을 발급할 수 없습니다.");
+		}
+		return current;
+	}
+	
+	// 토큰 헤더의 kid/alg로 검증 키 조회 (모르는 kid거나 alg가 키와 다르면 SignatureException)
+	public Key verificationKey(String kid, String alg) {
+		if (hmacKey != null) {
+			if (kid == null && algorithm.getValue().equals(alg)) {
+				return hmacKey;
+			}
+			throw new SignatureException("HS256 토큰이 아닙니다 : alg=" + alg + ", kid=" + kid);
+		}
+		if (kid == null) {
+			throw new SignatureException("토큰 헤더에 kid가 없습니다.");
+		}
+		VerificationKey key = verificationKeys.get(kid);
+		if (key == null && jwksUri != null) {
+			awaitRefresh();
+			key = verificationKeys.get(kid);
+		}
+		if (key == null) {
+			throw new SignatureException("알 수 없는 서명 키(kid)입니다 : " + kid);
+		}
+		if (!key.algorithm.getValue().equals(alg)) {
+			throw new SignatureException("kid와 alg가 일치하지 않습니다 : kid=" + kid + ", alg=" + alg);
+		}
+		return key.key;
+	}
+	
+	// /.well-known/jwks.json 으로 공개할 공개키 목록 (HS256이면 비어 있음)
+	public List<Map<String, Object>> publicJwks() {
+		return publicJwks;
+	}
+	
+	public SignatureAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+	
+	/**
+	 * <p> 서명 키 교체 (다음 키 → 현재 키, 새 다음 키 생성). 만료된 토큰만 남은 이전 키는 제거합니다.</p>
+	 * <p> 키 파일을 쓰면 파일 락 안에서 저장된 키를 다시 읽어, 다른 노드가 이미 교체했으면 그 키를 사용하고 아니면 교체 후 저장합니다.
+	 * 저장에 실패하면 기존 키를 그대로 사용합니다.</p>
+	 * */
+	public synchronized void rotate() {
+		if (nextKey == null) {
+			return; // HS256 / 검증 노드
+		}
+		try {
+			long now = System.currentTimeMillis();
+			KeySet current = new KeySet(rotatedAt, signingKey, nextKey, new ArrayList<>(retiredKeys));
+			KeySet keys = keyStore == null ? rotated(current, now)
+					: keyStore.update(stored -> stored != null && stored.rotatedAt > current.rotatedAt ? stored
+							: rotated(stored != null ? stored : current, now));
+			apply(keys);
+			log.info("JWT 서명 키 교체 : kid={}, next={}, retained={}", signingKey.getKid(), nextKey.getKid(), retiredKeys.size());
+		} catch (IOException | RuntimeException e) {
+			// 예외가 스케줄러 밖으로 나가면 이후 교체가 중단되므로 로그만 남김
+			log.error("JWT 서명 키 교체 실패", e);
+		}
+	}
+	
+	/**
+	 * <p> 검증 노드 : JWKS를 받아 공개키로 변환 후 교체. 실패하면 기존 키를 그대로 유지합니다.</p>
+	 * */
+	public void refresh() {
+		if (jwksUri == null) {
+			return;
+		}
+		lastFetchMillis.set(System.currentTimeMillis());
+		try {
+			HttpRequest request = HttpRequest.newBuilder(jwksUri).timeout(JWKS_TIMEOUT).GET().build();
+			HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+			if (response.statusCode() != 200) {
+				log.warn("JWKS 조회 실패 : uri={}, status={}", jwksUri, response.statusCode());
+				return;
+			}
+			Map<String, VerificationKey> keys = new LinkedHashMap<>();
+			List<Map<String, Object>> jwks = new ArrayList<>();
+			for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+				String kid = jwk.path("kid").asText(null);
+				SignatureAlgorithm keyAlgorithm = SignatureAlgorithm.forName(jwk.path("alg").asText());
+				if (kid == null || keyAlgorithm.isHmac()) {
+					continue;
+				}
+				keys.put(kid, new VerificationKey(keyAlgorithm, Jwks.parsePublicKey(jwk)));
+				jwks.add(objectMapper.convertValue(jwk, JWK_TYPE));
+			}
+			verificationKeys = Map.copyOf(keys);
+			publicJwks = List.copyOf(jwks);
+			log.info("JWKS 갱신 : uri={}, kids={}", jwksUri, keys.keySet());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			log.warn("JWKS 조회 실패 : uri={}, error={}", jwksUri, e.toString());
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+	
+	// 모르는 kid : 최소 간격이 지났으면 스케줄러 스레드에 갱신을 맡기고, 진행 중인 갱신을 최대 UNKNOWN_KID_WAIT_MILLIS 만큼 기다림
+	private void awaitRefresh() {
+		if (refetchAllowed()) {
+			pendingRefresh = CompletableFuture.runAsync(this::refresh, scheduler);
+		}
+		try {
+			pendingRefresh.get(UNKNOWN_KID_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (TimeoutException | ExecutionException e) {
+			log.debug("JWKS 갱신 대기 종료 : {}", e.toString());
+		}
+	}
+	
+	private boolean refetchAllowed() {
+		long last = lastFetchMillis.get();
+		long now = System.currentTimeMillis();
+		return now - last >= MIN_REFETCH_INTERVAL_MILLIS && lastFetchMillis.compareAndSet(last, now);
+	}
+	
+	// 저장된 키가 없으면 새로 생성, 알고리즘 설정이 바뀌었으면 저장된 키는 이전 키로 남기고 새로 생성, 그 외에는 저장된 키를 그대로 사용
+	private KeySet loaded(KeySet stored, long now) {
+		if (stored == null) {
+			return initial(now);
+		}
+		if (stored.active.getAlgorithm() == algorithm) {
+			return stored;
+		}
+		List<RetiredKey> retired = new ArrayList<>(stored.retired);
+		retired.add(new RetiredKey(stored.active, now));
+		retired.add(new RetiredKey(stored.next, now));
+		return new KeySet(now, generate(), generate(), retained(retired, now));
+	}
+	
+	private KeySet initial(long now) {
+		return new KeySet(now, generate(), generate(), List.of());
+	}
+	
+	private KeySet rotated(KeySet from, long now) {
+		List<RetiredKey> retired = new ArrayList<>(from.retired);
+		retired.add(new RetiredKey(from.active, now));
+		return new KeySet(now, from.next, generate(), retained(retired, now));
+	}
+	
+	// 그 키로 발급한 토큰이 아직 만료되지 않았을 수 있는 이전 키만 남김
+	private List<RetiredKey> retained(List<RetiredKey> retired, long now) {
+		retired.removeIf(key -> key.retiredAt + tokenValidityMillis + CLOCK_SKEW_MILLIS < now);
+		return retired;
+	}
+	
+	private void apply(KeySet keys) {
+		signingKey = keys.active;
+		nextKey = keys.next;
+		rotatedAt = keys.rotatedAt;
+		retiredKeys.clear();
+		retiredKeys.addAll(retained(new ArrayList<>(keys.retired), System.currentTimeMillis()));
+		publish();
+	}
+	
+	private SigningKey generate() {
+		KeyPair keyPair = Keys.keyPairFor(algorithm);
+		String kid = Jwks.keyId(keyPair.getPublic());
+		return new SigningKey(kid, algorithm, keyPair.getPrivate(), keyPair);
+	}
+	
+	// 현재/다음/이전 키의 공개키로 검증 키 Map과 JWKS를 다시 만듦 (생성자/rotate에서 호출)
+	private void publish() {
+		Map<String, VerificationKey> keys = new LinkedHashMap<>();
+		List<Map<String, Object>> jwks = new ArrayList<>();
+		List<SigningKey> published = new ArrayList<>();
+		published.add(signingKey);
+		published.add(nextKey);
+		retiredKeys.forEach(retired -> published.add(retired.key));
+		for (SigningKey key : published) {
+			keys.put(key.getKid(), new VerificationKey(key.getAlgorithm(), key.keyPair.getPublic()));
+			jwks.add(Jwks.toJwk(key.getKid(), key.getAlgorithm(), key.keyPair.getPublic()));
+		}
+		verificationKeys = Map.copyOf(keys);
+		publicJwks = List.copyOf(jwks);
+	}
+	
+	private static ScheduledExecutorService newScheduler() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jwt-keys-");
+		threadFactory.setDaemon(true);
+		return Executors.newSingleThreadScheduledExecutor(threadFactory);
+	}
+	
+	/**
+	 * <p> 토큰 서명 키 (kid는 HS256이면 null)</p>
+	 * */
+	public static final class SigningKey {
+		private final String kid;
+		private final SignatureAlgorithm algorithm;
+		private final Key key;
+		private final KeyPair keyPair;
+		
+		private SigningKey(String kid, SignatureAlgorithm algorithm, Key key) {
+			this(kid, algorithm, key, null);
+		}
+		
+		SigningKey(String kid, SignatureAlgorithm algorithm, Key key, KeyPair keyPair) {
+			this.kid = kid;
+			this.algorithm = algorithm;
+			this.key = key;
+			this.keyPair = keyPair;
+		}
+		
+		public String getKid() {
+			return kid;
+		}
+		
+		public SignatureAlgorithm getAlgorithm() {
+			return algorithm;
+		}
+		
+		public Key getKey() {
+			return key;
+		}
+		
+		KeyPair keyPair() {
+			return keyPair;
+		}
+	}
+	
+	private static final class VerificationKey {
+		private final SignatureAlgorithm algorithm;
+		private final Key key;
+		
+		private VerificationKey(SignatureAlgorithm algorithm, Key key) {
+			this.algorithm = algorithm;
+			this.key = key;
+		}
+	}
+	
+	static final class RetiredKey {
+		final SigningKey key;
+		final long retiredAt;
+		
+		RetiredKey(SigningKey key, long retiredAt) {
+			this.key = key;
+			this.retiredAt = retiredAt;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package com.aladdin.task.practice.utils.jwt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import com.aladdin.task.practice.utils.jwt.JwtKeyRing.RetiredKey;
+import com.aladdin.task.practice.utils.jwt.JwtKeyRing.SigningKey;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * <p> JWT 서명 키 파일 (jwt.keys.store, JSON)</p>
+ * <p> 현재/다음/이전 키의 비밀키(PKCS#8)와 공개키(X.509)를 Base64로 저장합니다. 재시작 후에도 같은 키로 기존 토큰을 검증하고,
+ * 같은 파일을 공유하는 서명 노드들은 같은 키 집합으로 서명합니다.</p>
+ * <p> 읽고 고치는 동안 &lt;파일&gt;.lock 에 파일 락을 잡아 노드 간 교체가 겹치지 않게 하고, 쓰기는 임시 파일에 쓴 뒤 원자적으로 교체합니다.
+ * 비밀키가 들어 있으므로 POSIX 파일 시스템에서는 소유자만 읽고 쓸 수 있게 만듭니다.</p>
+ * */
+final class JwtKeyStore {
+
+	private static final int FORMAT_VERSION = 1;
+	private static final Base64.Encoder B64 = Base64.getEncoder();
+	private static final Base64.Decoder B64_DECODER = Base64.getDecoder();
+
+	private final Path path;
+	private final Path lockPath;
+	private final ObjectMapper objectMapper;
+
+	JwtKeyStore(Path path, ObjectMapper objectMapper) {
+		this.path = path.toAbsolutePath();
+		this.lockPath = this.path.resolveSibling(this.path.getFileName() + ".lock");
+		this.objectMapper = objectMapper;
+	}
+
+	Path path() {
+		return path;
+	}
+
+	/**
+	 * <p> 파일 락을 잡고 저장된 키(없으면 null)를 update에 넘긴 뒤, 다른 객체를 반환하면 저장합니다.</p>
+	 * @return update가 반환한 키 집합
+	 * */
+	KeySet update(UnaryOperator<KeySet> update) throws IOException {
+		Path parent = path.getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		try (FileChannel lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		     FileLock lock = lockChannel.lock()) {
+			KeySet stored = Files.exists(path) ? read() : null;
+			KeySet updated = update.apply(stored);
+			if (updated != stored) {
+				write(updated);
+			}
+			return updated;
+		}
+	}
+
+	private KeySet read() throws IOException {
+		JsonNode root = objectMapper.readTree(path.toFile());
+		if (root.path("version").asInt() != FORMAT_VERSION) {
+			throw new IOException("지원하지 않는 JWT 키 파일 형식입니다 : " + path);
+		}
+		try {
+			SigningKey active = null;
+			SigningKey next = null;
+			List<RetiredKey> retired = new ArrayList<>();
+			for (JsonNode node : root.path("keys")) {
+				SigningKey key = parseKey(node);
+				switch (node.path("status").asText()) {
+					case "active":
+						active = key;
+						break;
+					case "next":
+						next = key;
+						break;
+					default:
+						retired.add(new RetiredKey(key, node.path("retiredAt").asLong()));
+				}
+			}
+			if (active == null || next == null) {
+				throw new IOException("JWT 키 파일에 현재/다음 키가 없습니다 : " + path);
+			}
+			return new KeySet(root.path("rotatedAt").asLong(), active, next, retired);
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			throw new IOException("JWT 키 파일을 읽을 수 없습니다 : " + path, e);
+		}
+	}
+
+	private void write(KeySet keys) throws IOException {
+		ObjectNode root = objectMapper.createObjectNode();
+		root.put("version", FORMAT_VERSION);
+		root.put("rotatedAt", keys.rotatedAt);
+		ArrayNode nodes = root.putArray("keys");
+		nodes.add(toNode(keys.active, "active").putNull("retiredAt"));
+		nodes.add(toNode(keys.next, "next").putNull("retiredAt"));
+		for (RetiredKey retired : keys.retired) {
+			nodes.add(toNode(retired.key, "retired").put("retiredAt", retired.retiredAt));
+		}
+
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		Files.deleteIfExists(tmp);
+		createOwnerOnly(tmp);
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(root)));
+			channel.force(false);
+		}
+		Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private ObjectNode toNode(SigningKey key, String status) {
+		ObjectNode node = objectMapper.createObjectNode();
+		node.put("kid", key.getKid());
+		node.put("alg", key.getAlgorithm().getValue());
+		node.put("status", status);
+		node.put("private", B64.encodeToString(key.keyPair().getPrivate().getEncoded()));
+		node.put("public", B64.encodeToString(key.keyPair().getPublic().getEncoded()));
+		return node;
+	}
+
+	private static SigningKey parseKey(JsonNode node) throws GeneralSecurityException {
+		SignatureAlgorithm algorithm = SignatureAlgorithm.forName(node.path("alg").asText());
+		KeyFactory keyFactory = KeyFactory.getInstance(algorithm.isRsa() ? "RSA" : "EC");
+		PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(B64_DECODER.decode(node.path("private").asText())));
+		PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(B64_DECODER.decode(node.path("public").asText())));
+		return new SigningKey(node.path("kid").asText(), algorithm, privateKey, new KeyPair(publicKey, privateKey));
+	}
+
+	private static void createOwnerOnly(Path file) throws IOException {
+		try {
+			Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		} catch (UnsupportedOperationException e) {
+			Files.createFile(file);
+		}
+	}
+
+	/**
+	 * <p> 저장/교체 단위의 키 집합 (rotatedAt : 마지막 교체 시각, 처음 생성했으면 생성 시각)</p>
+	 * */
+	static final class KeySet {
+		final long rotatedAt;
+		final SigningKey active;
+		final SigningKey next;
+		final List<RetiredKey> retired;
+
+		KeySet(long rotatedAt, SigningKey active, SigningKey next, List<RetiredKey> retired) {
+			this.rotatedAt = rotatedAt;
+			this.active = active;
+			this.next = next;
+			this.retired = List.copyOf(retired);
+		}
+	}
+}
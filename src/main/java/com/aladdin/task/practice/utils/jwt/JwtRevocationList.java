@@ -0,0 +1,130 @@
+package com.aladdin.task.practice.utils.jwt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p> 폐기된 access token(jti) 메모리 목록</p>
+ * <p> JwtAuthenticationFilter가 요청마다 조회하므로 DB를 거치지 않습니다.
+ * 대부분의 토큰은 폐기되지 않았으므로 먼저 Bloom filter로 거르고, "있을 수도 있음"일 때만 정확한 Map을 조회합니다.</p>
+ * <p> 엔트리는 토큰 exp까지만 유지되며 (purgeExpired), 정리 시 남은 엔트리로 Bloom filter를 다시 만듭니다.
+ * 저장소(revoked_tokens) 적재/정리는 TokenRevocationService가 담당합니다.</p>
+ * */
+@Component
+public class JwtRevocationList {
+
+	// Bloom filter 오탐률 (오탐이면 Map 조회 1회가 추가될 뿐 결과는 항상 정확)
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+	
+	private final int expectedEntries;
+	private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> exp (epoch millis)
+	private volatile BloomFilter bloomFilter;
+	
+	public JwtRevocationList(@Value("${jwt.revocation.expected-entries:10000}") int expectedEntries) {
+		this.expectedEntries = Math.max(expectedEntries, 64);
+		this.bloomFilter = new BloomFilter(this.expectedEntries);
+	}
+	
+	// 잠금 없이 조회 (jti 없는 토큰은 폐기 대상이 아님)
+	public boolean isRevoked(String jti) {
+		if (jti == null || !bloomFilter.mightContain(jti)) {
+			return false;
+		}
+		return revoked.containsKey(jti);
+	}
+	
+	// 추가/재구성은 드물기 때문에 직렬화 (재구성 중 추가된 jti가 새 filter에서 빠지지 않도록)
+	public synchronized void add(String jti, long expiresAtMillis) {
+		revoked.put(jti, expiresAtMillis);
+		if (revoked.size() > bloomFilter.capacity) {
+			rebuild();
+		} else {
+			bloomFilter.put(jti);
+		}
+	}
+	
+	// 기동 시 저장소 내용으로 교체
+	public synchronized void replaceAll(Map<String, Long> entries) {
+		revoked.clear();
+		revoked.putAll(entries);
+		rebuild();
+	}
+	
+	// exp가 지난 엔트리 제거 후 filter 재구성, 제거된 건수 반환
+	public synchronized int purgeExpired(long now) {
+		int before = revoked.size();
+		revoked.values().removeIf(expiresAt -> expiresAt <= now);
+		rebuild();
+		return before - revoked.size();
+	}
+	
+	public int size() {
+		return revoked.size();
+	}
+	
+	private void rebuild() {
+		BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2));
+		revoked.keySet().forEach(rebuilt::put);
+		bloomFilter = rebuilt;
+	}
+	
+	/**
+	 * <p> 비트 배열 Bloom filter (64비트 FNV-1a 해시를 두 개의 32비트 해시로 나눠 k개 위치 계산)</p>
+	 * */
+	private static final class BloomFilter {
+		private final int capacity;
+		private final int numBits;
+		private final int numHashes;
+		private final AtomicLongArray words;
+		
+		private BloomFilter(int capacity) {
+			this.capacity = capacity;
+			double ln2 = Math.log(2);
+			long bits = (long) Math.ceil(-capacity * Math.log(FALSE_POSITIVE_RATE) / (ln2 * ln2));
+			this.numBits = (int) Math.min(Math.max(bits, 64), Integer.MAX_VALUE - 63);
+			this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * ln2));
+			this.words = new AtomicLongArray((numBits + 63) >>> 6);
+		}
+		
+		private void put(String key) {
+			long hash = hash64(key);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+			for (int i = 1; i <= numHashes; i++) {
+				int bit = index(h1 + i * h2);
+				long mask = 1L << bit;
+				words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+			}
+		}
+		
+		private boolean mightContain(String key) {
+			long hash = hash64(key);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+			for (int i = 1; i <= numHashes; i++) {
+				int bit = index(h1 + i * h2);
+				if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		private int index(int combinedHash) {
+			return (combinedHash & Integer.MAX_VALUE) % numBits;
+		}
+		
+		private static long hash64(String key) {
+			long hash = 0xcbf29ce484222325L;
+			for (int i = 0; i < key.length(); i++) {
+				hash ^= key.charAt(i);
+				hash *= 0x100000001b3L;
+			}
+			return hash;
+		}
+	}
+}
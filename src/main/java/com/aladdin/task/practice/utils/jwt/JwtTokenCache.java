@@ -0,0 +1,132 @@
+package com.aladdin.task.practice.utils.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p> 서명 검증이 끝난 JWT 토큰 캐시</p>
+ * <p> 토큰 다이제스트(SHA-256)를 키로 subject, jti, 만료시각(exp)을 보관하여,
+ * 같은 토큰이 반복해서 들어오면 서명 검증/JSON 파싱 없이 사용자 이름과 jti(폐기 여부 확인용)를 돌려줍니다.</p>
+ * <p> 만료시각이 지난 엔트리는 조회 시점에 즉시 제거되므로 exp 이후에는 절대 사용되지 않습니다.</p>
+ * */
+@Component
+public class JwtTokenCache {
+
+    private final Map<String, CachedToken> cache = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public JwtTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // 캐시에 검증된 토큰이 있으면 반환, 없거나 만료됐으면 null 반환
+    public CachedToken get(String token) {
+        String digest = digest(token);
+        CachedToken cached = cache.get(digest);
+        if (cached == null) {
+            missCount.increment();
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            // exp가 지난 토큰은 바로 제거 (이후 파싱 단계에서 ExpiredJwtException 발생)
+            cache.remove(digest, cached);
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return cached;
+    }
+
+    // 검증이 끝난 토큰의 subject, jti, 만료시각 저장 (exp 없는 토큰은 저장하지 않고 반환값만 사용)
+    public CachedToken put(String token, String subject, String tokenId, Date expiration) {
+        CachedToken verified = new CachedToken(subject, tokenId, expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        if (maxSize <= 0 || expiration == null) {
+            return verified;
+        }
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        cache.put(digest(token), verified);
+        return verified;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    // 만료된 엔트리를 먼저 정리하고, 그래도 가득 차 있으면 임의의 엔트리를 제거해 크기를 제한
+    private void evict() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.isExpired(now));
+
+        Iterator<String> it = cache.keySet().iterator();
+        while (cache.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    // 토큰 원문 대신 다이제스트를 키로 사용 (메모리 절약 및 토큰 원문 보관 방지)
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    public static final class CachedToken {
+        private final String subject;
+        private final String tokenId; // jti (없는 토큰이면 null)
+        private final long expiresAtMillis;
+
+        private CachedToken(String subject, String tokenId, long expiresAtMillis) {
+            this.subject = subject;
+            this.tokenId = tokenId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getTokenId() {
+            return tokenId;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
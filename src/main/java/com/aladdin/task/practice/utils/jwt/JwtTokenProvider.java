@@ -1,55 +1,89 @@
 package com.aladdin.task.practice.utils.jwt;
 
+import java.nio.ByteBuffer;
+import java.security.Key;
+import java.util.Base64;
 import java.util.Date;
-
-import javax.crypto.SecretKey;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication; // Spring Security Authentication 임포트
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.http.HttpServletRequest; // Spring Boot 2.x 용 임포트 (추가)
 
+@Slf4j
 @Component
 public class JwtTokenProvider {
 
-    private final SecretKey key;
+    private final JwtKeyRing keyRing; // 서명 키(kid) / 검증 공개키 보관소
+    private final JwtParser jwtParser; // 스레드 안전하므로 한 번만 생성해서 재사용
     private final long validityInMilliseconds;
 
-    public JwtTokenProvider(@Value("${jwt.secret}") String secretKey,
+    public JwtTokenProvider(JwtKeyRing keyRing,
                             @Value("${jwt.expiration}") long validityInMilliseconds) {
-        // JJWT 0.11.5에서 사용 가능한 메소드입니다.
-    	this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.keyRing = keyRing;
+        // 토큰 헤더의 kid/alg로 미리 변환해 둔 검증 키를 찾음 (키 교체와 무관하게 파서는 한 번만 생성)
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            @SuppressWarnings("rawtypes") // jjwt 어댑터 시그니처가 raw JwsHeader
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return keyRing.verificationKey(header.getKeyId(), header.getAlgorithm());
+            }
+        }).build();
         this.validityInMilliseconds = validityInMilliseconds;
     }
 
     // JWT 토큰 생성 메소드 (Spring Security Authentication 객체를 받음)
     public String createToken(Authentication authentication) {
-        String username = authentication.getName();
+        return createToken(authentication.getName());
+    }
 
+    // JWT 토큰 생성 (refresh token 교체처럼 인증 객체 없이 사용자 이름만 있는 경우)
+    // 폐기(로그아웃/탈퇴) 대상을 식별할 수 있도록 토큰마다 jti를 부여
+    public String createToken(String username) {
         Date now = new Date();
         Date validity = new Date(now.getTime() + validityInMilliseconds);
 
-        return Jwts.builder()
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username)
+                .setId(newTokenId())
                 .setIssuedAt(now)
-                .setExpiration(validity)
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(validity);
+        if (signingKey.getKid() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid());
+        }
+        return builder.signWith(signingKey.getKey(), signingKey.getAlgorithm()).compact();
+    }
+
+    // 128비트 난수 jti (base64url 22자)
+    private static String newTokenId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ByteBuffer buffer = ByteBuffer.allocate(16).putLong(random.nextLong()).putLong(random.nextLong());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
     }
 
     // JWT 토큰으로부터 사용자 이름 추출 (필요시 사용)
     public String getUsernameFromToken(String token) {
          // JJWT 0.11.5에서 사용 가능한 메소드입니다.
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parseClaims(token).getSubject();
+    }
+
+    // 서명 검증과 파싱을 한 번에 수행하여 Claims 반환 (검증 실패 시 JwtException 계열 예외 발생)
+    public Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     // 요청 헤더에서 JWT 토큰 추출
@@ -61,25 +95,25 @@ public class JwtTokenProvider {
         return null;
     }
 
-    // JWT 토큰 유효성 검사
+    // JWT 토큰 유효성 검사 (실패 사유만 DEBUG로 기록, 토큰/예외 메시지는 남기지 않음)
     public boolean validateToken(String token) {
         try {
              // JJWT 0.11.5에서 사용 가능한 메소드입니다.
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
             return true;
         } catch (io.jsonwebtoken.security.SignatureException e) {
-            System.err.println("Invalid JWT signature: " + e.getMessage());
+            log.debug("JWT 검증 실패 : reason=bad_signature");
         } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            log.debug("JWT 검증 실패 : reason=malformed");
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
+            log.debug("JWT 검증 실패 : reason=expired");
              throw e;
         } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
+            log.debug("JWT 검증 실패 : reason=unsupported");
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            log.debug("JWT 검증 실패 : reason=empty");
         } catch (Exception e) {
-             System.err.println("JWT validation error: " + e.getMessage());
+             log.debug("JWT 검증 실패 : reason={}", e.getClass().getSimpleName());
         }
         return false;
     }
@@ -0,0 +1,103 @@
+package com.aladdin.task.practice.utils.logging;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * <p> 요청별 구조화 접근 로그 (JwtAuthenticationFilter 앞에서 실행, logger 이름 "access")</p>
+ * <p> 한 요청당 한 줄의 JSON : method, route(매핑된 URL 패턴, 예 /todos/{id}), status, user, latency_ms, sql(요청 스레드의 SQL 문장 수)</p>
+ * <p> 인증 실패(401), 요청 한도 초과(429)도 기록되며, 비동기(CompletableFuture) 응답은 완료 시점에 기록합니다.
+ * 출력은 logback-spring.xml의 비동기 appender가 담당하므로 요청 스레드는 큐에 넣기만 합니다.</p>
+ * <p> logging.level.access=OFF 이면 기록하지 않습니다.</p>
+ * */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+	public static final String LOGGER_NAME = "access";
+	
+	// 매핑되지 않은 경로(404, 인증 실패 등)는 URI를 그대로 쓰되 길이 제한
+	private static final int MAX_URI_LENGTH = 128;
+	private static final int MAX_USER_LENGTH = 64;
+	
+	private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request,
+	                                HttpServletResponse response,
+	                                FilterChain filterChain) throws ServletException, IOException {
+		
+		if (!accessLog.isInfoEnabled()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		long startNanos = System.nanoTime();
+		SqlStatementCounter.reset();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			// SecurityContext는 요청 스레드에만 있으므로 비동기 응답이어도 여기서 사용자 확인
+			String user = currentUser();
+			long sqlCount = SqlStatementCounter.current();
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new AsyncListener() {
+					@Override
+					public void onComplete(AsyncEvent event) {
+						log(request, response, user, startNanos, sqlCount);
+					}
+					
+					@Override
+					public void onTimeout(AsyncEvent event) {}
+					
+					@Override
+					public void onError(AsyncEvent event) {}
+					
+					@Override
+					public void onStartAsync(AsyncEvent event) {}
+				});
+			} else {
+				log(request, response, user, startNanos, sqlCount);
+			}
+		}
+	}
+	
+	private static void log(HttpServletRequest request, HttpServletResponse response,
+			String user, long startNanos, long sqlCount) {
+		double latencyMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String route = pattern != null ? pattern.toString() : LogFields.abbreviate(request.getRequestURI(), MAX_URI_LENGTH);
+		
+		StringBuilder sb = new StringBuilder(160);
+		sb.append("\"method\":");
+		LogFields.appendJsonString(sb, request.getMethod());
+		sb.append(",\"route\":");
+		LogFields.appendJsonString(sb, route);
+		sb.append(",\"status\":").append(response.getStatus());
+		sb.append(",\"user\":");
+		LogFields.appendJsonString(sb, user);
+		sb.append(",\"latency_ms\":").append(Math.round(latencyMillis * 1000) / 1000.0);
+		sb.append(",\"sql\":").append(sqlCount);
+		accessLog.info(sb.toString());
+	}
+	
+	private static String currentUser() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+			return null;
+		}
+		return LogFields.abbreviate(authentication.getName(), MAX_USER_LENGTH);
+	}
+}
@@ -0,0 +1,53 @@
+package com.aladdin.task.practice.utils.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * <p> 요청 스레드를 막지 않는 비동기 appender (logback-spring.xml)</p>
+ * <p> 로그 이벤트를 고정 크기 큐(queueSize)에 넣고 별도 worker 스레드가 실제 appender(콘솔)에 씁니다.
+ * 큐의 남은 용량이 discardingThreshold(기본 queueSize의 20%) 아래로 내려가면 DEBUG/TRACE만 버리고
+ * (logback 기본 AsyncAppender는 INFO까지 버림) INFO 이상은 계속 받습니다.</p>
+ * <p> neverBlock=true 이므로 큐가 가득 차면 레벨과 관계없이 버립니다. 버린 건수는 reason별로 집계합니다.</p>
+ * <p> 메트릭 : logging.async.queued{appender}, logging.async.dropped{appender, reason=discarded|overflow} (MetricsConfig)</p>
+ * */
+public class DiscardingAsyncAppender extends AsyncAppender {
+
+	private final LongAdder discarded = new LongAdder();
+	private final LongAdder overflow = new LongAdder();
+	
+	public DiscardingAsyncAppender() {
+		setNeverBlock(true);
+	}
+	
+	@Override
+	protected void append(ILoggingEvent event) {
+		// 큐가 가득 차 있으면 offer가 실패해 조용히 버려지므로 먼저 확인해서 집계 (동시 요청 간 경합으로 약간 적게 셀 수 있음)
+		if (getRemainingCapacity() == 0) {
+			overflow.increment();
+			return;
+		}
+		super.append(event);
+	}
+	
+	// 남은 용량이 discardingThreshold 미만일 때만 호출됨
+	@Override
+	protected boolean isDiscardable(ILoggingEvent event) {
+		if (event.getLevel().toInt() <= Level.DEBUG_INT) {
+			discarded.increment();
+			return true;
+		}
+		return false;
+	}
+	
+	public long getDiscardedCount() {
+		return discarded.sum();
+	}
+	
+	public long getOverflowCount() {
+		return overflow.sum();
+	}
+}
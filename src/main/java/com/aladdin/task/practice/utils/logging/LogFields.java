@@ -0,0 +1,46 @@
+package com.aladdin.task.practice.utils.logging;
+
+/**
+ * <p> 로그 필드 길이 제한 / JSON 문자열 escape (요청 값이 로그 한 줄을 무한정 키우지 않도록)</p>
+ * */
+public final class LogFields {
+
+	private LogFields() {}
+	
+	/**
+	 * <p> maxLength를 넘으면 앞부분만 남기고 "...(+N)" 을 붙임</p>
+	 * */
+	public static String abbreviate(String value, int maxLength) {
+		if (value == null || value.length() <= maxLength) {
+			return value;
+		}
+		return value.substring(0, maxLength) + "...(+" + (value.length() - maxLength) + ")";
+	}
+	
+	/**
+	 * <p> JSON 문자열 값으로 추가 (따옴표 포함, null이면 null)</p>
+	 * */
+	public static StringBuilder appendJsonString(StringBuilder sb, String value) {
+		if (value == null) {
+			return sb.append("null");
+		}
+		sb.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"': sb.append("\\\""); break;
+				case '\\': sb.append("\\\\"); break;
+				case '\n': sb.append("\\n"); break;
+				case '\r': sb.append("\\r"); break;
+				case '\t': sb.append("\\t"); break;
+				default:
+					if (c < 0x20) {
+						sb.append(String.format("\\u%04x", (int) c));
+					} else {
+						sb.append(c);
+					}
+			}
+		}
+		return sb.append('"');
+	}
+}
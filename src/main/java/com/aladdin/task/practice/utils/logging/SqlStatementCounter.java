@@ -0,0 +1,86 @@
+package com.aladdin.task.practice.utils.logging;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * <p> 스레드별 SQL 문장 수 (접근 로그의 sql 필드)</p>
+ * <p> {@link #wrap(DataSource)}로 감싼 DataSource의 커넥션에서 prepareStatement / prepareCall / createStatement 가
+ * 호출될 때마다 현재 스레드의 카운터를 1 증가시킵니다. JPA(Hibernate)와 JdbcTemplate 모두 같은 DataSource를 쓰므로 함께 집계됩니다.
+ * 배치 등록(addBatch)은 준비한 문장 1개로 셉니다.</p>
+ * <p> 요청 스레드 기준이므로 다른 스레드(비밀번호 해시 실행기, group commit writer)에서 실행된 SQL은 포함되지 않습니다.</p>
+ * */
+public final class SqlStatementCounter {
+
+	private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+	
+	private SqlStatementCounter() {}
+	
+	public static void reset() {
+		COUNT.get()[0] = 0;
+	}
+	
+	public static long current() {
+		return COUNT.get()[0];
+	}
+	
+	public static DataSource wrap(DataSource dataSource) {
+		return new CountingDataSource(dataSource);
+	}
+	
+	private static final class CountingDataSource extends DelegatingDataSource {
+		
+		private CountingDataSource(DataSource target) {
+			super(target);
+		}
+		
+		@Override
+		public Connection getConnection() throws SQLException {
+			return counting(super.getConnection());
+		}
+		
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return counting(super.getConnection(username, password));
+		}
+		
+		private static Connection counting(Connection target) {
+			return (Connection) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(),
+					new Class<?>[] {Connection.class}, new CountingHandler(target));
+		}
+	}
+	
+	private static final class CountingHandler implements InvocationHandler {
+		
+		private final Connection target;
+		
+		private CountingHandler(Connection target) {
+			this.target = target;
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.startsWith("prepare") || name.equals("createStatement")) {
+				COUNT.get()[0]++;
+			} else if (name.equals("equals")) {
+				return proxy == args[0];
+			} else if (name.equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.aladdin.task.practice.utils.ratelimit;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * <p> IP별 요청 한도 필터 (JwtAuthenticationFilter 앞에서 실행)</p>
+ * <p> 토큰 유무/유효성과 관계없이 모든 요청을 클라이언트 IP로 RequestRateLimiter 버킷에서 차감합니다.
+ * JWT 검증 전에 실행되므로 잘못된/만료된 토큰을 반복해서 보내는 요청(401/404)도 IP 한도에 걸리고, 서명 검증 비용을 치르기 전에 거절됩니다.
+ * 인증된 요청은 JwtAuthenticationFilter 다음의 UserRateLimitFilter에서 사용자 한도를 한 번 더 차감합니다.</p>
+ * <p> GET/HEAD/OPTIONS는 읽기 한도, 그 외 메소드는 쓰기 한도를 사용합니다.
+ * 한도를 넘으면 429 + Retry-After(초)로 응답하고 컨트롤러까지 가지 않습니다. /actuator/** (헬스체크, 스크레이프)는 제외합니다.</p>
+ * */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private final RequestRateLimiter rateLimiter;
+
+	public RateLimitFilter(RequestRateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return isActuator(request);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request,
+	                                HttpServletResponse response,
+	                                FilterChain filterChain) throws ServletException, IOException {
+
+		// 프록시 뒤에서는 server.forward-headers-strategy 설정으로 getRemoteAddr()가 실제 클라이언트 IP가 되도록 함
+		long waitNanos = rateLimiter.acquireForIp(request.getRemoteAddr(), isWrite(request.getMethod()));
+		if (waitNanos > 0) {
+			reject(response, waitNanos);
+			return; // 필터 체인 중단
+		}
+
+		filterChain.doFilter(request, response);
+	}
+
+	static boolean isActuator(HttpServletRequest request) {
+		return request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+	}
+
+	static boolean isWrite(String method) {
+		return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+	}
+
+	// 429 + Retry-After(초, 올림)
+	static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+		long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value()); // 429
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+		response.setContentType("application/json");
+		response.getWriter().write("{\"error\": \"Too many requests\"}");
+		response.getWriter().flush();
+	}
+}
@@ -0,0 +1,199 @@
+package com.aladdin.task.practice.utils.ratelimit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * <p> 사용자별 / IP별 토큰 버킷 (읽기, 쓰기 한도 분리)</p>
+ * <p> 버킷 상태는 "다음 토큰이 채워지는 이론상 시각(TAT, GCRA)" long 하나이며, 요청마다 CAS 1회로 갱신하므로 잠금이 없습니다.
+ * 키마다 읽기/쓰기 TAT 두 개를 가진 Bucket 객체 하나만 보관합니다.</p>
+ * <p> TAT가 현재 시각보다 idle-timeout 이상 지난 버킷은 가득 찬 버킷과 같으므로 지워도 동작이 달라지지 않습니다.
+ * 새 키가 추가될 때 sweep-interval 마다 한 번씩 정리하고, max-keys를 넘으면 (IP 분산 요청 등) 임의의 버킷을 제거해 메모리를 제한합니다.</p>
+ * <p> 메트릭 : rate.limit.rejected(scope=user|ip, type=read|write), rate.limit.keys(scope)</p>
+ * */
+public class RequestRateLimiter {
+
+	public static final String SCOPE_USER = "user";
+	public static final String SCOPE_IP = "ip";
+
+	private final Quota userRead;
+	private final Quota userWrite;
+	private final Quota ipRead;
+	private final Quota ipWrite;
+	private final int maxKeys;
+	private final long idleNanos;
+	private final long sweepIntervalNanos;
+	private final LongSupplier nanoClock;
+
+	private final Map<String, Bucket> userBuckets = new ConcurrentHashMap<>();
+	private final Map<String, Bucket> ipBuckets = new ConcurrentHashMap<>();
+	private final AtomicLong nextSweepAt;
+
+	private final Counter userReadRejected;
+	private final Counter userWriteRejected;
+	private final Counter ipReadRejected;
+	private final Counter ipWriteRejected;
+
+	public RequestRateLimiter(Quota userRead, Quota userWrite, Quota ipRead, Quota ipWrite,
+	                          int maxKeys, long idleTimeoutMillis, MeterRegistry meterRegistry) {
+		this(userRead, userWrite, ipRead, ipWrite, maxKeys, idleTimeoutMillis, meterRegistry, System::nanoTime);
+	}
+
+	RequestRateLimiter(Quota userRead, Quota userWrite, Quota ipRead, Quota ipWrite,
+	                   int maxKeys, long idleTimeoutMillis, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+		this.userRead = userRead;
+		this.userWrite = userWrite;
+		this.ipRead = ipRead;
+		this.ipWrite = ipWrite;
+		this.maxKeys = Math.max(maxKeys, 1);
+		this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(idleTimeoutMillis, 0));
+		// 정리 주기는 idle-timeout과 같게 (최소 1초)
+		this.sweepIntervalNanos = Math.max(idleNanos, TimeUnit.SECONDS.toNanos(1));
+		this.nanoClock = nanoClock;
+		this.nextSweepAt = new AtomicLong(nanoClock.getAsLong() + sweepIntervalNanos);
+
+		this.userReadRejected = rejectedCounter(meterRegistry, SCOPE_USER, "read");
+		this.userWriteRejected = rejectedCounter(meterRegistry, SCOPE_USER, "write");
+		this.ipReadRejected = rejectedCounter(meterRegistry, SCOPE_IP, "read");
+		this.ipWriteRejected = rejectedCounter(meterRegistry, SCOPE_IP, "write");
+		Gauge.builder("rate.limit.keys", userBuckets, Map::size)
+				.description("메모리에 있는 토큰 버킷 수").tag("scope", SCOPE_USER).register(meterRegistry);
+		Gauge.builder("rate.limit.keys", ipBuckets, Map::size)
+				.description("메모리에 있는 토큰 버킷 수").tag("scope", SCOPE_IP).register(meterRegistry);
+	}
+
+	private static Counter rejectedCounter(MeterRegistry meterRegistry, String scope, String type) {
+		return Counter.builder("rate.limit.rejected")
+				.description("요청 한도 초과로 거절된 요청 수 (429)")
+				.tag("scope", scope).tag("type", type)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * <p> 인증된 사용자 요청 1건 차감. 허용이면 0, 거절이면 다시 시도할 수 있을 때까지 남은 시간(ns)을 반환합니다.</p>
+	 * */
+	public long acquireForUser(String username, boolean write) {
+		long waitNanos = acquire(userBuckets, username, write ? userWrite : userRead, write);
+		if (waitNanos > 0) {
+			(write ? userWriteRejected : userReadRejected).increment();
+		}
+		return waitNanos;
+	}
+
+	/**
+	 * <p> 요청 1건을 클라이언트 IP 기준으로 차감 (JWT 검증 전, 인증 여부와 관계없이 모든 요청). 반환값은 acquireForUser와 같습니다.</p>
+	 * */
+	public long acquireForIp(String ip, boolean write) {
+		long waitNanos = acquire(ipBuckets, ip, write ? ipWrite : ipRead, write);
+		if (waitNanos > 0) {
+			(write ? ipWriteRejected : ipReadRejected).increment();
+		}
+		return waitNanos;
+	}
+
+	public int size() {
+		return userBuckets.size() + ipBuckets.size();
+	}
+
+	private long acquire(Map<String, Bucket> buckets, String key, Quota quota, boolean write) {
+		long now = nanoClock.getAsLong();
+		Bucket bucket = buckets.get(key);
+		if (bucket == null) {
+			maybeSweep(buckets, now);
+			bucket = buckets.computeIfAbsent(key, k -> new Bucket(now));
+		}
+		return bucket.acquire(write ? Bucket.WRITE_TAT : Bucket.READ_TAT, quota, now);
+	}
+
+	// sweep-interval이 지났거나 max-keys에 도달했을 때만 정리 (새 키 추가 시에만 호출되므로 기존 키 요청 경로에는 비용 없음)
+	private void maybeSweep(Map<String, Bucket> buckets, long now) {
+		long sweepAt = nextSweepAt.get();
+		boolean due = now - sweepAt >= 0 && nextSweepAt.compareAndSet(sweepAt, now + sweepIntervalNanos);
+		if (due) {
+			evictIdle(userBuckets, now);
+			evictIdle(ipBuckets, now);
+		}
+		if (buckets.size() >= maxKeys) {
+			if (!due) {
+				evictIdle(buckets, now);
+			}
+			// 그래도 가득 차 있으면 임의의 버킷 제거 (제거된 키는 가득 찬 버킷으로 다시 시작)
+			Iterator<String> it = buckets.keySet().iterator();
+			while (buckets.size() >= maxKeys && it.hasNext()) {
+				it.next();
+				it.remove();
+			}
+		}
+	}
+
+	private void evictIdle(Map<String, Bucket> buckets, long now) {
+		long idleBefore = now - idleNanos;
+		buckets.values().removeIf(bucket -> bucket.isIdle(idleBefore));
+	}
+
+	/**
+	 * <p> 초당 허용 요청 수와 순간 허용량(burst). permitsPerSecond가 0 이하이면 제한하지 않습니다.</p>
+	 * */
+	public static final class Quota {
+		private final long emissionNanos; // 토큰 1개가 채워지는 간격
+		private final long burstNanos;    // 버킷 크기 (emissionNanos * burst)
+
+		public Quota(double permitsPerSecond, int burst) {
+			if (permitsPerSecond <= 0) {
+				this.emissionNanos = 0;
+				this.burstNanos = 0;
+			} else {
+				this.emissionNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+				this.burstNanos = emissionNanos * Math.max(burst, 1);
+			}
+		}
+
+		private boolean isUnlimited() {
+			return emissionNanos == 0;
+		}
+	}
+
+	private static final class Bucket {
+		private static final AtomicLongFieldUpdater<Bucket> READ_TAT = AtomicLongFieldUpdater.newUpdater(Bucket.class, "readTat");
+		private static final AtomicLongFieldUpdater<Bucket> WRITE_TAT = AtomicLongFieldUpdater.newUpdater(Bucket.class, "writeTat");
+
+		// 다음 토큰이 채워지는 이론상 시각 (nanoTime 기준, 현재 시각 이하이면 버킷이 가득 찬 상태)
+		private volatile long readTat;
+		private volatile long writeTat;
+
+		private Bucket(long now) {
+			this.readTat = now;
+			this.writeTat = now;
+		}
+
+		private long acquire(AtomicLongFieldUpdater<Bucket> tatUpdater, Quota quota, long now) {
+			if (quota.isUnlimited()) {
+				return 0;
+			}
+			while (true) {
+				long tat = tatUpdater.get(this);
+				long newTat = Math.max(tat - now, 0) + now + quota.emissionNanos;
+				long overflow = newTat - now - quota.burstNanos;
+				if (overflow > 0) {
+					return overflow;
+				}
+				if (tatUpdater.compareAndSet(this, tat, newTat)) {
+					return 0;
+				}
+			}
+		}
+
+		private boolean isIdle(long idleBefore) {
+			return readTat - idleBefore <= 0 && writeTat - idleBefore <= 0;
+		}
+	}
+}
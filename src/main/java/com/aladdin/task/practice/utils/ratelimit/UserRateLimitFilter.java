@@ -0,0 +1,49 @@
+package com.aladdin.task.practice.utils.ratelimit;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * <p> 사용자별 요청 한도 필터 (JwtAuthenticationFilter 다음에 실행)</p>
+ * <p> JWT 인증이 끝난 요청만 사용자 이름으로 RequestRateLimiter 버킷을 차감합니다. (IP 한도는 앞선 RateLimitFilter에서 이미 차감)
+ * 인증 정보가 없는 요청은 그대로 통과시킵니다.</p>
+ * */
+public class UserRateLimitFilter extends OncePerRequestFilter {
+
+	private final RequestRateLimiter rateLimiter;
+
+	public UserRateLimitFilter(RequestRateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return RateLimitFilter.isActuator(request);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request,
+	                                HttpServletResponse response,
+	                                FilterChain filterChain) throws ServletException, IOException {
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+			long waitNanos = rateLimiter.acquireForUser(authentication.getName(), RateLimitFilter.isWrite(request.getMethod()));
+			if (waitNanos > 0) {
+				RateLimitFilter.reject(response, waitNanos);
+				return; // 필터 체인 중단
+			}
+		}
+
+		filterChain.doFilter(request, response);
+	}
+}
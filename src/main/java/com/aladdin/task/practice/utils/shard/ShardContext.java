@@ -0,0 +1,48 @@
+package com.aladdin.task.practice.utils.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * <p> 현재 스레드에서 사용할 샤드를 명시적으로 지정 (ShardRoutingDataSource가 인증 사용자보다 먼저 확인)</p>
+ * <p> 인증 정보가 없는 경로(회원 가입, 로그인, JWT 필터의 사용자 조회, refresh token 교체)나
+ * 요청 스레드가 아닌 곳(비밀번호 해시 실행기, group commit writer)에서 사용합니다.</p>
+ * <p> 커넥션은 트랜잭션의 첫 SQL 시점에 정해지므로 @Transactional 메소드 안에서 지정해도 되지만,
+ * 한 트랜잭션 안에서 다른 샤드로 바꿀 수는 없습니다.</p>
+ * */
+public final class ShardContext {
+
+	private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+	
+	private ShardContext() {}
+	
+	/**
+	 * <p> 지정된 샤드가 없으면 null</p>
+	 * */
+	public static Integer current() {
+		return CURRENT.get();
+	}
+	
+	/**
+	 * <p> shard를 지정한 상태로 task를 실행하고, 끝나면 이전 값으로 되돌립니다.</p>
+	 * */
+	public static <T> T callIn(int shard, Supplier<T> task) {
+		Integer previous = CURRENT.get();
+		CURRENT.set(shard);
+		try {
+			return task.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+	
+	public static void runIn(int shard, Runnable task) {
+		callIn(shard, () -> {
+			task.run();
+			return null;
+		});
+	}
+}
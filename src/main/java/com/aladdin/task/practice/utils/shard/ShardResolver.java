@@ -0,0 +1,75 @@
+package com.aladdin.task.practice.utils.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p> 사용자 -> 샤드 배정 (sqlite.shards)</p>
+ * <p> 사용자는 userId의 CRC32 해시(fmix64로 섞음)로 샤드가 정해지며, 사용자 행과 그 사용자의 todos / refresh_tokens가 모두 같은 샤드 파일에 저장됩니다.
+ * 해시는 JVM/재기동과 무관하게 같으므로 샤드 수만 바꾸지 않으면 배정이 유지됩니다. (샤드 수 변경은 기동 시 거부, SqliteShardConfig)</p>
+ * <p> users.seq / todos.seq는 샤드마다 {@link #idBase(int)}부터 발급되므로(V2 마이그레이션) 전체에서 겹치지 않고,
+ * seq만으로 샤드를 알 수 있습니다. (Hibernate 2차 캐시 키, 인증된 사용자의 샤드 판단에 사용)</p>
+ * <p> 샤드 0은 기존 단일 DB 파일이며, 전체 공용 데이터(revoked_tokens)는 샤드 0에 둡니다.</p>
+ * */
+@Component
+public class ShardResolver {
+
+	public static final int HOME_SHARD = 0;
+	
+	// 샤드별 seq 범위 크기 (2^40, 샤드 64개까지 JavaScript 안전 정수 범위 안)
+	public static final int ID_BITS = 40;
+	public static final int MAX_SHARDS = 64;
+	
+	private final int shardCount;
+	
+	public ShardResolver(@Value("${sqlite.shards:1}") int shardCount) {
+		if (shardCount < 1 || shardCount > MAX_SHARDS) {
+			throw new IllegalArgumentException("sqlite.shards는 1 ~ " + MAX_SHARDS + " 이어야 합니다: " + shardCount);
+		}
+		this.shardCount = shardCount;
+	}
+	
+	public int getShardCount() {
+		return shardCount;
+	}
+	
+	public boolean isSharded() {
+		return shardCount > 1;
+	}
+	
+	/**
+	 * <p> userId가 배정되는 샤드 (가입, 로그인, userId 조회)</p>
+	 * */
+	public int shardOf(String userId) {
+		if (shardCount == 1) {
+			return HOME_SHARD;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(userId.getBytes(StandardCharsets.UTF_8));
+		// 끝 글자만 다른 아이디(user1, user2 ...)는 CRC32 하위 비트가 고르게 섞이지 않으므로 한 번 더 섞은 뒤 나눔 (MurmurHash3 fmix64)
+		long h = crc.getValue();
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (int) Long.remainderUnsigned(h, shardCount);
+	}
+	
+	/**
+	 * <p> users.seq / todos.seq가 발급된 샤드</p>
+	 * */
+	public static int shardOfSeq(long seq) {
+		return (int) (seq >>> ID_BITS);
+	}
+	
+	/**
+	 * <p> 샤드의 seq 시작값 (샤드 0은 0이라 기존 데이터의 seq가 그대로 유지됨)</p>
+	 * */
+	public static long idBase(int shard) {
+		return (long) shard << ID_BITS;
+	}
+}
@@ -0,0 +1,136 @@
+package com.aladdin.task.practice.utils.startup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p> 기동 단계별 소요 시간 보고 (ApplicationReadyEvent 시점에 1회 로그)</p>
+ * <p> PracticeApplication.main 에서 BufferingApplicationStartup 으로 기록한 StartupStep 중
+ * context refresh 전체 시간과 datasource / migrations(Flyway) / jpa(EntityManagerFactory) bean 생성 시간을 모아 출력합니다.
+ * bean 생성 step에는 의존 bean 생성 시간이 포함되므로 하위 step 시간을 뺀 자체 시간으로 계산합니다.</p>
+ * <p> 메트릭 : application.startup.phase{phase=context_refresh|datasource|migrations|jpa}</p>
+ * <p> BufferingApplicationStartup 없이 기동한 경우(@SpringBootTest 등)에는 아무것도 하지 않습니다.</p>
+ * */
+@Slf4j
+public class StartupTimingReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+	// BufferingApplicationStartup 최대 step 수 (bean 수 x 2 정도면 충분, 초과분은 기록되지 않음)
+	public static final int STEP_CAPACITY = 10_000;
+	
+	public static final String PHASE_CONTEXT_REFRESH = "context_refresh";
+	public static final String PHASE_DATASOURCE = "datasource";
+	public static final String PHASE_MIGRATIONS = "migrations";
+	public static final String PHASE_JPA = "jpa";
+	
+	private static final String REFRESH_STEP = "spring.context.refresh";
+	private static final String INSTANTIATE_STEP = "spring.beans.instantiate";
+	
+	// 단계별로 묶을 bean 이름 (DataSourceConfig, FlywayAutoConfiguration, HibernateJpaConfiguration)
+	private static final Map<String, String> PHASE_BEANS = Map.of(
+			"sqliteShards", PHASE_DATASOURCE,
+			"dataSource", PHASE_DATASOURCE,
+			"flyway", PHASE_MIGRATIONS,
+			"flywayInitializer", PHASE_MIGRATIONS,
+			"entityManagerFactory", PHASE_JPA);
+	
+	private final MeterRegistry meterRegistry;
+	private final int topBeans;
+	private final Map<String, Duration> phases = new LinkedHashMap<>();
+	
+	public StartupTimingReporter(MeterRegistry meterRegistry, int topBeans) {
+		this.meterRegistry = meterRegistry;
+		this.topBeans = topBeans;
+	}
+	
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		ApplicationStartup applicationStartup = event.getApplicationContext().getApplicationStartup();
+		if (!(applicationStartup instanceof BufferingApplicationStartup) || !phases.isEmpty()) {
+			return;
+		}
+		List<TimelineEvent> events = ((BufferingApplicationStartup) applicationStartup).getBufferedTimeline().getEvents();
+		
+		List<Map.Entry<String, Duration>> beans = collect(events);
+		for (Map.Entry<String, Duration> phase : phases.entrySet()) {
+			TimeGauge.builder("application.startup.phase", phase, TimeUnit.MILLISECONDS, p -> p.getValue().toMillis())
+					.description("기동 단계별 소요 시간")
+					.tag("phase", phase.getKey())
+					.register(meterRegistry);
+		}
+		
+		log.info("기동 단계별 소요 시간 : {} (ready {}ms)", format(phases.entrySet()),
+				event.getTimeTaken() == null ? "-" : event.getTimeTaken().toMillis());
+		if (topBeans > 0) {
+			beans.sort(Map.Entry.<String, Duration>comparingByValue(Comparator.reverseOrder()));
+			log.info("오래 걸린 bean (자체 시간) : {}", format(beans.subList(0, Math.min(topBeans, beans.size()))));
+		}
+	}
+	
+	/**
+	 * <p> 단계별 시간(phases)을 채우고, bean별 자체 생성 시간 목록을 반환</p>
+	 * */
+	private List<Map.Entry<String, Duration>> collect(List<TimelineEvent> events) {
+		phases.put(PHASE_CONTEXT_REFRESH, Duration.ZERO);
+		phases.put(PHASE_DATASOURCE, Duration.ZERO);
+		phases.put(PHASE_MIGRATIONS, Duration.ZERO);
+		phases.put(PHASE_JPA, Duration.ZERO);
+		
+		Map<Long, Duration> childDurations = new HashMap<>();
+		for (TimelineEvent timelineEvent : events) {
+			Long parentId = timelineEvent.getStartupStep().getParentId();
+			if (parentId != null) {
+				childDurations.merge(parentId, timelineEvent.getDuration(), Duration::plus);
+			}
+		}
+		
+		List<Map.Entry<String, Duration>> beans = new ArrayList<>();
+		for (TimelineEvent timelineEvent : events) {
+			StartupStep step = timelineEvent.getStartupStep();
+			if (REFRESH_STEP.equals(step.getName())) {
+				// 관리(actuator) 자식 컨텍스트 등 refresh가 여러 번이면 가장 긴 것(루트 컨텍스트)
+				phases.merge(PHASE_CONTEXT_REFRESH, timelineEvent.getDuration(), (a, b) -> a.compareTo(b) >= 0 ? a : b);
+			} else if (INSTANTIATE_STEP.equals(step.getName())) {
+				String beanName = beanName(step);
+				Duration self = timelineEvent.getDuration().minus(childDurations.getOrDefault(step.getId(), Duration.ZERO));
+				String phase = PHASE_BEANS.get(beanName);
+				if (phase != null) {
+					phases.merge(phase, self, Duration::plus);
+				}
+				beans.add(Map.entry(beanName, self));
+			}
+		}
+		return beans;
+	}
+	
+	private static String beanName(StartupStep step) {
+		for (StartupStep.Tag tag : step.getTags()) {
+			if ("beanName".equals(tag.getKey())) {
+				return tag.getValue();
+			}
+		}
+		return "?";
+	}
+	
+	private static String format(Iterable<Map.Entry<String, Duration>> entries) {
+		List<String> parts = new ArrayList<>();
+		entries.forEach(entry -> parts.add(entry.getKey() + "=" + entry.getValue().toMillis() + "ms"));
+		return String.join(", ", parts);
+	}
+}
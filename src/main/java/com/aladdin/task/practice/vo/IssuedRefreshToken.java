@@ -0,0 +1,14 @@
+package com.aladdin.task.practice.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * <p> 발급된 refresh token 원문과 소유자 (원문은 응답으로만 전달되고 DB에는 해시만 저장)</p>
+ * */
+@Data
+@AllArgsConstructor
+public class IssuedRefreshToken {
+    private Long userSeq;
+    private String token;
+}
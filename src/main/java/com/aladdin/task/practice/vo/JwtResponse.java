@@ -1,12 +1,21 @@
 package com.aladdin.task.practice.vo;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Data;
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class JwtResponse {
     private String access_token;
+    private String refresh_token;
     private String type = "Bearer";
     
     public JwtResponse(String accessToken) {
         this.access_token = accessToken;
     }
-}
\ No newline at end of file
+    
+    public JwtResponse(String accessToken, String refreshToken) {
+        this.access_token = accessToken;
+        this.refresh_token = refreshToken;
+    }
+}
@@ -0,0 +1,7 @@
+package com.aladdin.task.practice.vo;
+
+import lombok.Data;
+@Data
+public class RefreshTokenRequest {
+    private String refresh_token;
+}
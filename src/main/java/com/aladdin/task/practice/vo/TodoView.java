@@ -0,0 +1,43 @@
+package com.aladdin.task.practice.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * <p> todo 응답용 프로젝션 (seq, content, version)</p>
+ * <p> TodosRepository 조회 메소드가 이 인터페이스를 반환하면 필요한 컬럼만 SELECT 하며,
+ * 엔티티 생성/영속성 컨텍스트 스냅샷 없이 결과를 돌려줍니다.</p>
+ * <p> TodosEntity가 이 인터페이스를 구현하면 Spring Data가 프로젝션이 아닌 엔티티 조회로 판단하므로 구현하지 않습니다.</p>
+ * */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"seq", "content", "version"})
+public interface TodoView {
+
+	Long getSeq();
+
+	String getContent();
+
+	Long getVersion();
+	
+	/**
+	 * <p> 조회 없이 응답을 만들 때 사용 (예: 단일 UPDATE 후 수정 결과 응답)</p>
+	 * */
+	static TodoView of(Long seq, String content, Long version) {
+		return new TodoView() {
+			@Override
+			public Long getSeq() {
+				return seq;
+			}
+			
+			@Override
+			public String getContent() {
+				return content;
+			}
+			
+			@Override
+			public Long getVersion() {
+				return version;
+			}
+		};
+	}
+}
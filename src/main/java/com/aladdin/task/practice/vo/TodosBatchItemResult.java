@@ -0,0 +1,28 @@
+package com.aladdin.task.practice.vo;
+
+import lombok.Data;
+
+/**
+ * <p> POST /todos/batch 항목별 처리 결과</p>
+ * <p> 성공 시 seq에 생성된 seq가, 실패 시 error에 실패 사유가 채워집니다.</p>
+ * */
+@Data
+public class TodosBatchItemResult {
+    private int index;
+    private Long seq;
+    private String error;
+
+    public static TodosBatchItemResult success(int index, Long seq) {
+        TodosBatchItemResult result = new TodosBatchItemResult();
+        result.index = index;
+        result.seq = seq;
+        return result;
+    }
+
+    public static TodosBatchItemResult failure(int index, String error) {
+        TodosBatchItemResult result = new TodosBatchItemResult();
+        result.index = index;
+        result.error = error;
+        return result;
+    }
+}
@@ -0,0 +1,23 @@
+package com.aladdin.task.practice.vo;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * <p> POST /todos/batch 응답. results는 요청 배열과 같은 순서입니다.</p>
+ * */
+@Data
+public class TodosBatchResponse {
+    private int requested;
+    private int created;
+    private int failed;
+    private List<TodosBatchItemResult> results;
+
+    public TodosBatchResponse(List<TodosBatchItemResult> results) {
+        this.results = results;
+        this.requested = results.size();
+        this.created = (int) results.stream().filter(r -> r.getSeq() != null).count();
+        this.failed = requested - created;
+    }
+}
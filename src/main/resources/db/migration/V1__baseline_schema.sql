@@ -0,0 +1,79 @@
+-- V1 : 기존 schema.sql 기준 스키마 (Flyway 버전 마이그레이션, flyway_schema_history 에 체크섬과 함께 기록)
+-- ※ 적용된 마이그레이션 파일은 수정하지 않습니다. (체크섬 검증 실패로 기동 중단) 스키마 변경은 V2__*.sql 부터 새 파일로 추가
+-- 이력 테이블 없이 schema.sql 로 만들어진 기존 DB에도 적용할 수 있도록 모든 객체를 IF NOT EXISTS 로 생성합니다.
+-- (spring.flyway.baseline-on-migrate=true, baseline-version=0)
+
+-- Users 테이블 생성 (UsersEntity 기반)
+CREATE TABLE IF NOT EXISTS users (
+    seq INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    todos_version INTEGER NOT NULL DEFAULT 0 -- 사용자 todo 목록 버전 (GET /todos ETag, 아래 트리거로 증가)
+);
+
+-- Todos 테이블 생성 (이전에 공유해주신 TodosEntity 기반)
+CREATE TABLE IF NOT EXISTS todos (
+    seq INTEGER PRIMARY KEY AUTOINCREMENT,
+    owner_seq INTEGER NOT NULL REFERENCES users(seq) ON DELETE CASCADE, -- 작성자(users.seq)
+    content VARCHAR(255) NOT NULL,
+    version INTEGER NOT NULL DEFAULT 0 -- 낙관적 잠금 버전 (TodosEntity @Version, ETag)
+);
+
+-- 사용자별 목록/단건 조회가 (owner_seq, seq) 범위 스캔으로 처리되도록 복합 인덱스 생성
+CREATE INDEX IF NOT EXISTS idx_todos_owner_seq ON todos (owner_seq, seq);
+
+-- Todos 전문 검색(FTS5) 인덱스 (외부 콘텐츠 테이블 방식: 본문은 todos에만 저장하고 인덱스만 보관)
+CREATE VIRTUAL TABLE IF NOT EXISTS todos_fts USING fts5(
+    content,
+    content='todos',
+    content_rowid='seq'
+);
+
+-- todos 변경 시 FTS 인덱스 동기화 트리거 (JPA, JDBC 일괄 등록 등 모든 쓰기 경로에 적용)
+CREATE TRIGGER IF NOT EXISTS todos_fts_ai AFTER INSERT ON todos BEGIN
+    INSERT INTO todos_fts(rowid, content) VALUES (new.seq, new.content);
+END;
+
+CREATE TRIGGER IF NOT EXISTS todos_fts_ad AFTER DELETE ON todos BEGIN
+    INSERT INTO todos_fts(todos_fts, rowid, content) VALUES ('delete', old.seq, old.content);
+END;
+
+CREATE TRIGGER IF NOT EXISTS todos_fts_au AFTER UPDATE OF content ON todos BEGIN
+    INSERT INTO todos_fts(todos_fts, rowid, content) VALUES ('delete', old.seq, old.content);
+    INSERT INTO todos_fts(rowid, content) VALUES (new.seq, new.content);
+END;
+
+-- todos 변경 시 작성자의 목록 버전 증가 (GET /todos ETag가 한 번의 PK 조회로 계산되도록)
+CREATE TRIGGER IF NOT EXISTS todos_version_ai AFTER INSERT ON todos BEGIN
+    UPDATE users SET todos_version = todos_version + 1 WHERE seq = new.owner_seq;
+END;
+
+CREATE TRIGGER IF NOT EXISTS todos_version_ad AFTER DELETE ON todos BEGIN
+    UPDATE users SET todos_version = todos_version + 1 WHERE seq = old.owner_seq;
+END;
+
+CREATE TRIGGER IF NOT EXISTS todos_version_au AFTER UPDATE ON todos BEGIN
+    UPDATE users SET todos_version = todos_version + 1 WHERE seq IN (old.owner_seq, new.owner_seq);
+END;
+
+-- Refresh token (원문 대신 SHA-256 해시만 저장). 사용된 토큰은 used_at을 기록해 재사용 탐지에 사용
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    token_hash VARCHAR(64) PRIMARY KEY,
+    user_seq INTEGER NOT NULL REFERENCES users(seq) ON DELETE CASCADE,
+    expires_at INTEGER NOT NULL, -- epoch millis
+    used_at INTEGER -- 교체(rotation)된 시각, NULL이면 사용 가능
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_seq ON refresh_tokens (user_seq);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+-- 폐기된 access token (jti). 기동 시 메모리(JwtRevocationList)로 적재하며, exp가 지나면 정리
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    expires_at INTEGER NOT NULL -- 토큰 exp (epoch millis)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- 이미 존재하는 todos 데이터로 인덱스 재구성 (기존 DB에 처음 적용될 때 1회만 실행)
+INSERT INTO todos_fts(todos_fts) VALUES ('rebuild');
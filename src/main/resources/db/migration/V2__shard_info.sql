@@ -0,0 +1,20 @@
+-- V2 : 샤드 정보와 샤드별 seq 시작값 (sqlite.shards)
+-- ${shard_index} / ${shard_count} / ${id_base} 는 SqliteShardConfig가 샤드 파일마다 채워서 적용합니다.
+-- 단일 DB(sqlite.shards=1)에서는 shard_index=0, shard_count=1, id_base=0 이므로 기존 데이터와 seq에 영향이 없습니다.
+
+-- 이 파일이 몇 번째 샤드인지 기록 (기동 시 현재 설정과 비교해 샤드 수 변경을 거부)
+CREATE TABLE IF NOT EXISTS shard_info (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    shard_index INTEGER NOT NULL,
+    shard_count INTEGER NOT NULL
+);
+
+INSERT OR IGNORE INTO shard_info (id, shard_index, shard_count) VALUES (1, ${shard_index}, ${shard_count});
+
+-- users.seq / todos.seq 가 id_base + 1 부터 발급되도록 AUTOINCREMENT 시작값 지정 (샤드 간 seq가 겹치지 않음)
+-- 이미 행이 있어 값이 기록된 테이블(기존 단일 DB)은 그대로 둠
+INSERT INTO sqlite_sequence (name, seq)
+SELECT 'users', ${id_base} WHERE NOT EXISTS (SELECT 1 FROM sqlite_sequence WHERE name = 'users');
+
+INSERT INTO sqlite_sequence (name, seq)
+SELECT 'todos', ${id_base} WHERE NOT EXISTS (SELECT 1 FROM sqlite_sequence WHERE name = 'todos');
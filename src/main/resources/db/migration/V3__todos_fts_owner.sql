@@ -0,0 +1,39 @@
+-- V3 : 검색 인덱스(todos_fts)에 작성자 토큰 추가
+-- V1의 todos_fts는 content만 색인하므로 MATCH가 모든 사용자의 일치 행을 찾아 bm25 점수를 매긴 뒤에야 JOIN에서 다른 사용자 행이 걸러졌습니다.
+-- owner 컬럼에 'o<owner_seq>' 토큰을 색인하고 검색어와 AND로 묶어(owner : "o1" AND content : (...)) FTS5가 작성자 행으로 좁힌 뒤 점수를 매기도록 합니다.
+
+DROP TRIGGER IF EXISTS todos_fts_ai;
+DROP TRIGGER IF EXISTS todos_fts_ad;
+DROP TRIGGER IF EXISTS todos_fts_au;
+DROP TABLE IF EXISTS todos_fts;
+
+-- 외부 콘텐츠 원본 (FTS 컬럼 이름과 같은 컬럼을 제공하는 뷰, rebuild 시 사용)
+CREATE VIEW IF NOT EXISTS todos_fts_source AS
+SELECT seq, content, 'o' || owner_seq AS owner FROM todos;
+
+CREATE VIRTUAL TABLE todos_fts USING fts5(
+    content,
+    owner,
+    content='todos_fts_source',
+    content_rowid='seq'
+);
+
+-- 순위(rank)는 content 점수만 사용 (owner 토큰은 사용자 안에서 모든 행이 같으므로 가중치 0)
+INSERT INTO todos_fts(todos_fts, rank) VALUES ('rank', 'bm25(1.0, 0.0)');
+
+-- todos 변경 시 FTS 인덱스 동기화 트리거 (외부 콘텐츠 방식이라 삭제 시 이전 값을 그대로 넘겨야 함)
+CREATE TRIGGER todos_fts_ai AFTER INSERT ON todos BEGIN
+    INSERT INTO todos_fts(rowid, content, owner) VALUES (new.seq, new.content, 'o' || new.owner_seq);
+END;
+
+CREATE TRIGGER todos_fts_ad AFTER DELETE ON todos BEGIN
+    INSERT INTO todos_fts(todos_fts, rowid, content, owner) VALUES ('delete', old.seq, old.content, 'o' || old.owner_seq);
+END;
+
+CREATE TRIGGER todos_fts_au AFTER UPDATE OF content, owner_seq ON todos BEGIN
+    INSERT INTO todos_fts(todos_fts, rowid, content, owner) VALUES ('delete', old.seq, old.content, 'o' || old.owner_seq);
+    INSERT INTO todos_fts(rowid, content, owner) VALUES (new.seq, new.content, 'o' || new.owner_seq);
+END;
+
+-- 기존 todos로 인덱스 재구성 (적용 시 1회)
+INSERT INTO todos_fts(todos_fts) VALUES ('rebuild');
@@ -0,0 +1,182 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.utils.jwt.JwtTokenProvider;
+import com.aladdin.task.practice.utils.logging.AccessLogFilter;
+import com.aladdin.task.practice.utils.logging.DiscardingAsyncAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+
+@SpringBootTest(properties = "jwt.keys.store=")
+@AutoConfigureMockMvc
+@TestInstance(Lifecycle.PER_CLASS)
+@DisplayName("비동기 로그 / 접근 로그 테스트")
+public class AsyncLoggingTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private UsersRepository usersRepository;
+	
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+	
+	private static final String TEST_USERID = "access_log_user";
+	
+	private final ListAppender<ILoggingEvent> accessEvents = new ListAppender<>();
+	private Logger accessLogger;
+	
+	@BeforeAll
+	void setup() {
+		usersRepository.save(new UsersEntity(TEST_USERID, "password"));
+		accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+		accessEvents.start();
+		accessLogger.addAppender(accessEvents);
+	}
+	
+	@AfterAll
+	void cleanup() {
+		accessLogger.detachAppender(accessEvents);
+		usersRepository.deleteByUserId(TEST_USERID);
+	}
+	
+	@Test
+	@DisplayName("1. 요청마다 method, route, status, user, latency, sql 필드를 가진 JSON 접근 로그가 기록되어야 함")
+	void testAccessLogLine() throws Exception {
+		String bearer = "Bearer " + jwtTokenProvider.createToken(
+				new UsernamePasswordAuthenticationToken(TEST_USERID, null, Collections.emptyList()));
+		String batch = mockMvc.perform(post("/todos/batch")
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"content\":\"접근 로그 할 일\"}]"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		long seq = objectMapper.readTree(batch).get("results").get(0).get("seq").asLong();
+		
+		accessEvents.list.clear();
+		// 본문은 StreamingResponseBody로 기록되므로 접근 로그는 비동기 처리가 끝난 뒤에 남음
+		MvcResult streamed = mockMvc.perform(get("/todos/" + seq).header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(streamed)).andExpect(status().isOk());
+		mockMvc.perform(get("/todos/" + seq).header(HttpHeaders.AUTHORIZATION, "Bearer invalid")).andExpect(status().isUnauthorized());
+		
+		List<ILoggingEvent> events = accessEvents.list;
+		assertEquals(2, events.size());
+		
+		JsonNode ok = objectMapper.readTree("{" + events.get(0).getFormattedMessage() + "}");
+		assertEquals("GET", ok.get("method").asText());
+		assertEquals("/todos/{id}", ok.get("route").asText());
+		assertEquals(200, ok.get("status").asInt());
+		assertEquals(TEST_USERID, ok.get("user").asText());
+		assertTrue(ok.get("latency_ms").asDouble() > 0);
+		assertTrue(ok.get("sql").asLong() >= 1);
+		
+		// 인증 실패는 컨트롤러 매핑 전에 끝나므로 route는 URI, user는 null
+		JsonNode unauthorized = objectMapper.readTree("{" + events.get(1).getFormattedMessage() + "}");
+		assertEquals(401, unauthorized.get("status").asInt());
+		assertEquals("/todos/" + seq, unauthorized.get("route").asText());
+		assertTrue(unauthorized.get("user").isNull());
+	}
+	
+	@Test
+	@DisplayName("2. 출력이 막혀도 로그 호출은 대기하지 않고, 큐가 밀리면 DEBUG부터 버려야 함")
+	void testAsyncAppenderNeverBlocks() throws Exception {
+		LoggerContext context = new LoggerContext();
+		CountDownLatch release = new CountDownLatch(1);
+		BlockedAppender blocked = new BlockedAppender(release);
+		blocked.setContext(context);
+		blocked.start();
+		
+		DiscardingAsyncAppender async = new DiscardingAsyncAppender();
+		async.setContext(context);
+		async.setQueueSize(10); // discardingThreshold = 2
+		async.addAppender(blocked);
+		async.start();
+		
+		Logger logger = context.getLogger("test");
+		logger.setLevel(Level.DEBUG);
+		logger.addAppender(async);
+		try {
+			logger.info("worker가 꺼내서 막히는 첫 이벤트");
+			assertTrue(blocked.entered.await(5, TimeUnit.SECONDS));
+			
+			long start = System.nanoTime();
+			for (int i = 0; i < 9; i++) {
+				logger.info("info {}", i);
+			}
+			// 남은 용량 1 (< 2) -> DEBUG는 버리고 INFO는 큐에 넣음
+			logger.debug("discarded");
+			logger.info("kept");
+			// 큐가 가득 참 -> 레벨과 관계없이 버림
+			logger.warn("overflow");
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+			
+			assertEquals(1, async.getDiscardedCount());
+			assertEquals(1, async.getOverflowCount());
+		} finally {
+			release.countDown();
+			async.stop();
+		}
+		assertEquals(11, blocked.count);
+	}
+	
+	// 첫 이벤트에서 release 전까지 멈추는 appender
+	private static final class BlockedAppender extends AppenderBase<ILoggingEvent> {
+		private final CountDownLatch entered = new CountDownLatch(1);
+		private final CountDownLatch release;
+		private volatile int count;
+		
+		private BlockedAppender(CountDownLatch release) {
+			this.release = release;
+		}
+		
+		@Override
+		protected void append(ILoggingEvent event) {
+			count++;
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
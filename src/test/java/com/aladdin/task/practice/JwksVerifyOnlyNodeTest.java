@@ -0,0 +1,130 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.aladdin.task.practice.utils.jwt.JwtKeyRing;
+import com.aladdin.task.practice.utils.jwt.Jwks;
+import com.aladdin.task.practice.utils.jwt.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+
+// 교체한 키가 다음 실행까지 남지 않도록 서명 키 파일 없이 (키 파일 저장은 testSigningKeysSurviveRestartAndAreSharedBetweenNodes)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "jwt.keys.store=")
+@DisplayName("JWKS 공개 및 검증 전용 노드 테스트")
+public class JwksVerifyOnlyNodeTest {
+
+	private static final long VALIDITY_MILLIS = 900000;
+	
+	@LocalServerPort
+	private int port;
+	
+	@Autowired
+	private JwtKeyRing jwtKeyRing;
+	
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	private JwtKeyRing verifierKeyRing;
+	
+	@AfterEach
+	void tearDown() {
+		if (verifierKeyRing != null) {
+			verifierKeyRing.destroy();
+		}
+	}
+	
+	@Test
+	@DisplayName("검증 노드는 비밀키 없이 JWKS만으로 서명 노드 토큰을 검증하고, 키 교체 전후 토큰 모두 통과해야 함")
+	void testVerifyOnlyNodeAcceptsTokensAcrossRotation() throws Exception {
+		Authentication authentication = new UsernamePasswordAuthenticationToken("jwks_user", null, Collections.emptyList());
+		String beforeRotation = jwtTokenProvider.createToken(authentication);
+		
+		// JWKS에는 공개키만 (d 없음), 현재 키와 다음 키가 함께 공개됨
+		List<Map<String, Object>> jwks = jwtKeyRing.publicJwks();
+		assertEquals(2, jwks.size());
+		assertEquals("RSA", jwks.get(0).get("kty"));
+		assertEquals("RS256", jwks.get(0).get("alg"));
+		assertFalse(jwks.get(0).containsKey("d"));
+		assertFalse(jwks.get(0).containsKey("p"));
+		
+		// 검증 노드 : 다른 비밀값, 주기 갱신 없음 (기동 시 1회 조회)
+		verifierKeyRing = new JwtKeyRing("RS256", "verify-only-node-has-no-signing-secret-at-all",
+				VALIDITY_MILLIS, Duration.ZERO, "", "http://localhost:" + port + "/.well-known/jwks.json", Duration.ZERO, objectMapper);
+		JwtTokenProvider verifier = new JwtTokenProvider(verifierKeyRing, VALIDITY_MILLIS);
+		assertEquals("jwks_user", verifier.getUsernameFromToken(beforeRotation));
+		assertThrows(IllegalStateException.class, () -> verifier.createToken(authentication));
+		
+		// 교체 후 새 kid로 서명된 토큰도 (미리 공개된 다음 키이므로) JWKS 재조회 없이 검증되어야 함
+		String previousKid = jwtKeyRing.signingKey().getKid();
+		jwtKeyRing.rotate();
+		assertNotEquals(previousKid, jwtKeyRing.signingKey().getKid());
+		String afterRotation = jwtTokenProvider.createToken(authentication);
+		assertEquals("jwks_user", verifier.getUsernameFromToken(afterRotation));
+		assertEquals("jwks_user", jwtTokenProvider.getUsernameFromToken(beforeRotation));
+		
+		// 다른 서명 노드(모르는 kid)가 발급한 토큰은 거절
+		JwtKeyRing otherSigner = new JwtKeyRing("ES256", "unused", VALIDITY_MILLIS, Duration.ZERO, "", "", Duration.ZERO, objectMapper);
+		String foreignToken = new JwtTokenProvider(otherSigner, VALIDITY_MILLIS).createToken(authentication);
+		assertThrows(SignatureException.class, () -> jwtTokenProvider.parseClaims(foreignToken));
+		
+		// EC(P-256) JWK도 공개키로 변환 후 같은 JWK로 다시 내보내져야 함
+		Map<String, Object> ecJwk = otherSigner.publicJwks().get(0);
+		PublicKey ecKey = Jwks.parsePublicKey(objectMapper.valueToTree(ecJwk));
+		assertEquals(ecJwk, Jwks.toJwk((String) ecJwk.get("kid"), SignatureAlgorithm.ES256, ecKey));
+	}
+	
+	@Test
+	@DisplayName("서명 키는 파일에서 다시 읽어 재시작 후에도 기존 토큰을 검증하고, 같은 파일을 쓰는 노드는 같은 키로 서명해야 함")
+	void testSigningKeysSurviveRestartAndAreSharedBetweenNodes(@TempDir Path dir) throws Exception {
+		String keyStore = dir.resolve("jwt-keys.json").toString();
+		Authentication authentication = new UsernamePasswordAuthenticationToken("key_store_user", null, Collections.emptyList());
+		
+		JwtKeyRing first = new JwtKeyRing("ES256", "unused", VALIDITY_MILLIS, Duration.ZERO, keyStore, "", Duration.ZERO, objectMapper);
+		String beforeRotation = new JwtTokenProvider(first, VALIDITY_MILLIS).createToken(authentication);
+		assertTrue(Files.exists(Path.of(keyStore)));
+		
+		// 같은 파일을 쓰는 다른 노드 : 새로 생성하지 않고 같은 키 사용
+		JwtKeyRing second = new JwtKeyRing("ES256", "unused", VALIDITY_MILLIS, Duration.ZERO, keyStore, "", Duration.ZERO, objectMapper);
+		assertEquals(first.signingKey().getKid(), second.signingKey().getKid());
+		
+		// 한 노드가 교체하면 다른 노드는 교체 시점에 새로 교체하지 않고 저장된 키를 따라감
+		first.rotate();
+		String afterRotation = new JwtTokenProvider(first, VALIDITY_MILLIS).createToken(authentication);
+		second.rotate();
+		assertEquals(first.signingKey().getKid(), second.signingKey().getKid());
+		assertEquals(first.publicJwks(), second.publicJwks());
+		
+		// 재시작 : 저장된 현재/이전 키로 교체 전후 토큰 모두 검증
+		first.destroy();
+		second.destroy();
+		JwtKeyRing restarted = new JwtKeyRing("ES256", "unused", VALIDITY_MILLIS, Duration.ZERO, keyStore, "", Duration.ZERO, objectMapper);
+		JwtTokenProvider provider = new JwtTokenProvider(restarted, VALIDITY_MILLIS);
+		assertEquals(first.signingKey().getKid(), restarted.signingKey().getKid());
+		assertEquals("key_store_user", provider.getUsernameFromToken(beforeRotation));
+		assertEquals("key_store_user", provider.getUsernameFromToken(afterRotation));
+		restarted.destroy();
+	}
+}
@@ -0,0 +1,149 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.utils.jwt.JwtTokenCache;
+import com.aladdin.task.practice.vo.LoginRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "jwt.keys.store=")
+@AutoConfigureMockMvc
+@TestInstance(Lifecycle.PER_CLASS)
+@DisplayName("검증된 JWT 토큰 캐시 테스트 (적중, 만료, 크기 제한, 폐기)")
+public class JwtTokenCacheTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UsersRepository usersRepository;
+
+	@Autowired
+	private JwtTokenCache jwtTokenCache;
+
+	private static final String TEST_USERID = "token_cache_user";
+	private static final String TEST_PASSWORD = "testpassword";
+
+	@Test
+	@DisplayName("같은 토큰은 두 번째부터 캐시에서 반환되고 적중 횟수가 증가해야 함")
+	void testSecondLookupIsHit() {
+		JwtTokenCache cache = new JwtTokenCache(10);
+		assertNull(cache.get("token-a"));
+		cache.put("token-a", "user-a", "jti-a", new Date(System.currentTimeMillis() + 60_000));
+
+		JwtTokenCache.CachedToken cached = cache.get("token-a");
+		assertEquals("user-a", cached.getSubject());
+		assertEquals("jti-a", cached.getTokenId());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	@DisplayName("만료시각이 지난 엔트리는 조회 시 제거되고 반환되지 않아야 함")
+	void testExpiredEntryIsRemoved() {
+		JwtTokenCache cache = new JwtTokenCache(10);
+		cache.put("token-expired", "user-a", "jti-a", new Date(System.currentTimeMillis() - 1));
+		assertEquals(1, cache.size());
+
+		assertNull(cache.get("token-expired"));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	@DisplayName("max-size에 도달하면 만료된 엔트리부터 정리하고, 그래도 가득 차면 임의 엔트리를 제거해 크기를 유지해야 함")
+	void testEvictionAtMaxSize() {
+		long now = System.currentTimeMillis();
+		JwtTokenCache cache = new JwtTokenCache(2);
+		cache.put("token-expired", "user-a", "jti-a", new Date(now - 1));
+		cache.put("token-b", "user-b", "jti-b", new Date(now + 60_000));
+		cache.put("token-c", "user-c", "jti-c", new Date(now + 60_000));
+		// 만료된 엔트리만 제거되고 유효한 엔트리는 유지
+		assertEquals(2, cache.size());
+		assertNotNull(cache.get("token-b"));
+		assertNotNull(cache.get("token-c"));
+
+		cache.put("token-d", "user-d", "jti-d", new Date(now + 60_000));
+		assertEquals(2, cache.size());
+		assertNotNull(cache.get("token-d"));
+
+		// max-size 0 이면 캐시하지 않음
+		JwtTokenCache disabled = new JwtTokenCache(0);
+		assertEquals("user-a", disabled.put("token-a", "user-a", "jti-a", new Date(now + 60_000)).getSubject());
+		assertEquals(0, disabled.size());
+	}
+
+	@Test
+	@DisplayName("캐시된 토큰도 이후 폐기(로그아웃)되면 캐시 적중 시 401이 되어야 함")
+	void testRevokedTokenIsRejectedOnCacheHit() throws Exception {
+		performAsync(post("/users/signup")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new UsersEntity(TEST_USERID, TEST_PASSWORD))))
+				.andExpect(status().isCreated());
+		LoginRequest loginRequest = new LoginRequest();
+		loginRequest.setUserId(TEST_USERID);
+		loginRequest.setPassword(TEST_PASSWORD);
+		JsonNode tokens = objectMapper.readTree(performAsync(post("/users/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(loginRequest)))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString());
+		String bearer = "Bearer " + tokens.path("access_token").asText();
+
+		// 첫 요청에서 검증 결과 저장, 두 번째 요청은 캐시 적중
+		mockMvc.perform(get("/users/me").header("Authorization", bearer)).andExpect(status().isOk());
+		long hits = jwtTokenCache.getHitCount();
+		mockMvc.perform(get("/users/me").header("Authorization", bearer)).andExpect(status().isOk());
+		assertEquals(hits + 1, jwtTokenCache.getHitCount());
+
+		mockMvc.perform(post("/users/logout")
+						.header("Authorization", bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("refresh_token", tokens.path("refresh_token").asText()))))
+				.andExpect(status().isOk());
+
+		// 캐시에서 꺼낸 검증 결과라도 jti 폐기 여부는 매번 확인
+		hits = jwtTokenCache.getHitCount();
+		mockMvc.perform(get("/users/me").header("Authorization", bearer))
+				.andExpect(status().isUnauthorized())
+				.andExpect(content().string(org.hamcrest.Matchers.containsString("revoked")));
+		assertEquals(hits + 1, jwtTokenCache.getHitCount());
+	}
+
+	@AfterAll
+	void cleanupTestData() {
+		usersRepository.deleteByUserId(TEST_USERID);
+	}
+
+	// 비밀번호 해시가 포함된 API(회원 가입, 로그인)는 CompletableFuture로 응답하므로 asyncDispatch로 결과 확인
+	private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+		return mockMvc.perform(asyncDispatch(mvcResult));
+	}
+}
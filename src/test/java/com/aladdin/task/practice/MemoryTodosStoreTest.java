@@ -0,0 +1,298 @@
+package com.aladdin.task.practice;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.TodosStore;
+import com.aladdin.task.practice.repository.memory.MemoryTodosStore;
+import com.aladdin.task.practice.vo.LoginRequest;
+import com.aladdin.task.practice.vo.TodoView;
+import com.aladdin.task.practice.vo.TodosBatchItemResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("메모리 todo 저장소 테스트 (memory-store 프로필)")
+public class MemoryTodosStoreTest {
+
+	private static final long OWNER = 1L;
+	private static final long OTHER_OWNER = 2L;
+
+	private Path dir;
+
+	@BeforeEach
+	void setup() throws Exception {
+		dir = Files.createTempDirectory("practice-memory-store-");
+	}
+
+	@AfterEach
+	void cleanup() throws Exception {
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("등록/조회/페이지/수정/삭제/검색이 JPA 저장소와 같은 규칙으로 동작해야 함")
+	void testCrud() throws Exception {
+		MemoryTodosStore store = open(dir.resolve("store"));
+		try {
+			long first = insert(store, OWNER, "일괄 등록 할 일");
+			long second = insert(store, OWNER, "수정된 할 일");
+			long other = insert(store, OTHER_OWNER, "다른 사용자 할 일");
+			assertTrue(first < second && second < other, "seq는 증가하는 값으로 발급");
+			assertEquals(3, store.collectionVersion(OWNER) + store.collectionVersion(OTHER_OWNER));
+
+			// 다른 사용자의 todo는 없는 것으로 처리
+			TodoView view = store.findById(OWNER, first);
+			assertEquals("일괄 등록 할 일", view.getContent());
+			assertEquals(0L, view.getVersion());
+			assertNull(store.findById(OWNER, other));
+			assertNull(store.update(OWNER, other, "변경", null));
+
+			// keyset 페이지
+			Slice<TodoView> page = store.findPage(OWNER, 0, 1);
+			assertEquals(List.of(first), seqs(page.getContent()));
+			assertTrue(page.hasNext());
+			page = store.findPage(OWNER, first, 1);
+			assertEquals(List.of(second), seqs(page.getContent()));
+			assertFalse(page.hasNext());
+
+			// If-Match 버전 조건
+			assertNull(store.update(OWNER, first, "변경", List.of(5L)));
+			assertNull(store.update(OWNER, first, "변경", List.of()));
+			assertEquals(1L, store.update(OWNER, first, "변경된 일괄 등록", List.of(0L)));
+			assertEquals(1L, store.findById(OWNER, first).getVersion());
+			assertEquals(0, store.delete(OWNER, second, List.of(1L)));
+			assertEquals(1, store.delete(OWNER, second, List.of(0L)));
+			assertNull(store.findById(OWNER, second));
+			assertEquals(4, store.collectionVersion(OWNER));
+
+			// 단어 AND / 접두어 / 구문
+			insert(store, OWNER, "등록 일괄 처리");
+			assertEquals(2, store.search(OWNER, "일괄 등록", 10, 0).size());
+			assertEquals(2, store.search(OWNER, "일*", 10, 0).size());
+			assertEquals(1, store.search(OWNER, "\"등록 일괄\"", 10, 0).size());
+			assertEquals(1, store.search(OWNER, "일괄", 1, 1).size());
+			assertEquals(0, store.search(OTHER_OWNER, "일괄", 10, 0).size());
+			assertTrue(store.search(OWNER, "  ", 10, 0).isEmpty());
+
+			// 일괄 등록은 항목별 성공/실패
+			List<TodosBatchItemResult> results = store.insertAll(OWNER,
+					Arrays.asList(new TodosEntity("일괄 1"), new TodosEntity(" "), null, new TodosEntity("일괄 2")));
+			assertEquals(List.of(true, false, false, true),
+					results.stream().map(result -> result.getSeq() != null).collect(Collectors.toList()));
+
+			// 회원 탈퇴 후에도 다른 사용자는 그대로
+			store.deleteByOwner(OWNER);
+			assertTrue(store.findPage(OWNER, 0, 10).getContent().isEmpty());
+			assertEquals(1, store.size());
+		} finally {
+			store.close();
+		}
+	}
+
+	@Test
+	@DisplayName("일괄 등록 중 로그 레코드 상한을 넘는 항목만 실패하고 나머지는 기록되어 재시작 후에도 남아야 함")
+	void testInsertAllRejectsOversizedItem() throws Exception {
+		Path storeDir = dir.resolve("store");
+		MemoryTodosStore store = open(storeDir);
+		List<TodosBatchItemResult> results;
+		try {
+			results = store.insertAll(OWNER, Arrays.asList(new TodosEntity("앞 항목"),
+					new TodosEntity("가".repeat(400_000)), new TodosEntity("뒤 항목")));
+			assertEquals(List.of(true, false, true),
+					results.stream().map(result -> result.getSeq() != null).collect(Collectors.toList()));
+			assertEquals("내용이 너무 깁니다.", results.get(1).getError());
+			assertEquals(2, store.size());
+		} finally {
+			store.close();
+		}
+
+		store = open(storeDir);
+		try {
+			assertEquals("앞 항목", store.findById(OWNER, results.get(0).getSeq()).getContent());
+			assertEquals("뒤 항목", store.findById(OWNER, results.get(2).getSeq()).getContent());
+			assertEquals(2, store.size());
+		} finally {
+			store.close();
+		}
+	}
+
+	@Test
+	@DisplayName("재시작 시 스냅샷 + 이후 로그를 재생해 같은 상태로 복구하고, 잘린 로그 꼬리는 버려야 함")
+	void testRecovery() throws Exception {
+		Path storeDir = dir.resolve("store");
+		MemoryTodosStore store = open(storeDir);
+		List<Long> seqs = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			seqs.add(insert(store, OWNER, "할 일 " + i));
+		}
+		store.update(OWNER, seqs.get(0), "수정된 할 일", null);
+		store.snapshot();
+		// 스냅샷 이후 변경은 로그에만 있음
+		store.delete(OWNER, seqs.get(1), null);
+		long afterSnapshot = insert(store, OTHER_OWNER, "스냅샷 이후 할 일");
+		long version = store.collectionVersion(OWNER);
+		store.close();
+		try (Stream<Path> files = Files.list(storeDir)) {
+			assertEquals(List.of("log-1.bin", "snapshot-1.bin"),
+					files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList()));
+		}
+
+		store = open(storeDir);
+		try {
+			assertEquals(100, store.size());
+			assertEquals("수정된 할 일", store.findById(OWNER, seqs.get(0)).getContent());
+			assertEquals(1L, store.findById(OWNER, seqs.get(0)).getVersion());
+			assertNull(store.findById(OWNER, seqs.get(1)));
+			assertNotNull(store.findById(OTHER_OWNER, afterSnapshot));
+			assertEquals(version, store.collectionVersion(OWNER));
+			assertTrue(insert(store, OWNER, "복구 후 할 일") > afterSnapshot, "복구 후에도 seq는 이어서 발급");
+		} finally {
+			store.close();
+		}
+
+		// 마지막 레코드를 기록하다 종료된 경우 : 잘린 레코드만 버리고 기동
+		Path logFile = storeDir.resolve("log-1.bin");
+		long size = Files.size(logFile);
+		try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+			channel.truncate(size - 3);
+		}
+		store = open(storeDir);
+		try {
+			assertEquals(100, store.size(), "잘린 마지막 insert는 없는 것으로 복구");
+			insert(store, OWNER, "꼬리를 잘라낸 뒤 할 일");
+		} finally {
+			store.destroy();
+		}
+		store = open(storeDir);
+		try {
+			assertEquals(101, store.size());
+		} finally {
+			store.close();
+		}
+	}
+
+	@Test
+	@DisplayName("memory-store 프로필로 기동하면 todo API가 메모리 저장소를 사용하고 재기동 후에도 유지되어야 함")
+	void testApiWithMemoryStoreProfile() throws Exception {
+		try (ConfigurableApplicationContext context = start()) {
+			assertTrue(context.getBean(TodosStore.class) instanceof MemoryTodosStore);
+			MockMvc mockMvc = mockMvc(context);
+			ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+			performAsync(mockMvc, post("/users/signup")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(new UsersEntity("memory_user", "testpassword"))))
+					.andExpect(status().isCreated());
+			String accessToken = login(mockMvc, objectMapper);
+
+			MvcResult created = performAsync(mockMvc, post("/todos")
+					.header("Authorization", "Bearer " + accessToken)
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"content\": \"메모리 할 일\"}"))
+					.andExpect(status().isCreated())
+					.andReturn();
+			String todoUrl = created.getResponse().getHeader("Location");
+
+			performAsync(mockMvc, get(todoUrl).header("Authorization", "Bearer " + accessToken))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.todo.content").value("메모리 할 일"))
+					.andExpect(jsonPath("$.todo.ownerSeq").doesNotExist());
+		}
+
+		try (ConfigurableApplicationContext context = start()) {
+			MockMvc mockMvc = mockMvc(context);
+			String accessToken = login(mockMvc, context.getBean(ObjectMapper.class));
+			performAsync(mockMvc, get("/todos").header("Authorization", "Bearer " + accessToken))
+					.andExpect(status().isOk())
+					.andExpect(header().exists("ETag"))
+					.andExpect(content().string(containsString("메모리 할 일")));
+		}
+	}
+
+	private static MemoryTodosStore open(Path storeDir) throws Exception {
+		MemoryTodosStore store = new MemoryTodosStore(storeDir, true, Duration.ZERO, 16);
+		store.afterPropertiesSet();
+		return store;
+	}
+
+	private static long insert(TodosStore store, long ownerSeq, String content) {
+		TodosEntity todos = new TodosEntity(content);
+		todos.setOwnerSeq(ownerSeq);
+		store.insert(todos);
+		return todos.getSeq();
+	}
+
+	private static List<Long> seqs(List<TodoView> views) {
+		return views.stream().map(TodoView::getSeq).collect(Collectors.toList());
+	}
+
+	// application.properties의 datasource url보다 우선하도록 명령행 인자로 전달
+	private ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(PracticeApplication.class)
+				.web(WebApplicationType.SERVLET)
+				.run("--spring.profiles.active=" + MemoryTodosStore.PROFILE,
+						"--spring.datasource.url=jdbc:sqlite:" + dir.resolve("memory.db").toAbsolutePath(),
+						"--todos.memory-store.dir=" + dir.resolve("todos-store").toAbsolutePath(),
+						"--spring.jpa.show-sql=false", "--server.port=0", "--jwt.keys.store=");
+	}
+
+	private static MockMvc mockMvc(ConfigurableApplicationContext context) {
+		return MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+				.apply(SecurityMockMvcConfigurers.springSecurity()).build();
+	}
+
+	private static String login(MockMvc mockMvc, ObjectMapper objectMapper) throws Exception {
+		LoginRequest loginRequest = new LoginRequest();
+		loginRequest.setUserId("memory_user");
+		loginRequest.setPassword("testpassword");
+
+		MvcResult result = performAsync(mockMvc, post("/users/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(loginRequest)))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString()).path("access_token").asText();
+	}
+
+	// 회원 가입, 로그인, POST /todos는 CompletableFuture로 응답하므로 asyncDispatch로 결과 확인
+	private static ResultActions performAsync(MockMvc mockMvc, RequestBuilder requestBuilder) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+		return mockMvc.perform(asyncDispatch(mvcResult));
+	}
+}
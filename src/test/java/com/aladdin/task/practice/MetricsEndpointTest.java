@@ -0,0 +1,36 @@
+package com.aladdin.task.practice;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "jwt.keys.store=")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics // 테스트에서는 기본적으로 Prometheus 레지스트리가 비활성화됨
+@DisplayName("Prometheus 메트릭 노출 테스트")
+public class MetricsEndpointTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	@DisplayName("잘못된 토큰 요청 후 JWT 필터 단계 Timer와 실패 사유 Counter가 노출되어야 함")
+	void testJwtFilterMetricsExposed() throws Exception {
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer not-a-jwt"))
+				.andExpect(status().isUnauthorized());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("jwt_filter_phase_seconds_bucket")))
+				.andExpect(content().string(containsString("reason=\"malformed\"")))
+				.andExpect(content().string(containsString("cache_requests_total")));
+	}
+}
@@ -0,0 +1,57 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.aladdin.task.practice.utils.auth.PasswordHashingExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("비밀번호 해시 전용 실행기 테스트")
+public class PasswordHashingExecutorTest {
+
+	@Test
+	@DisplayName("스레드와 대기 큐가 모두 차면 작업을 거절하고 거절 횟수를 기록해야 함")
+	void testRejectsWhenQueueIsFull() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, meterRegistry);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		try {
+			// 1번 작업은 스레드를 점유, 2번 작업은 큐에서 대기
+			CompletableFuture<String> running = executor.submit(() -> {
+				started.countDown();
+				await(release);
+				return "first";
+			});
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			CompletableFuture<String> queued = executor.submit(() -> "second");
+			
+			assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value());
+			assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> "third"));
+			assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+			
+			release.countDown();
+			assertEquals("first", running.get(5, TimeUnit.SECONDS));
+			assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+		} finally {
+			release.countDown();
+			executor.destroy();
+		}
+	}
+	
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.vo.LoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "jwt.keys.store=")
+@AutoConfigureMockMvc
+@DisplayName("로그인 시 약한 비밀번호 해시 자동 재해시 테스트")
+public class PasswordRehashOnLoginTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private UsersRepository usersRepository;
+	
+	private static final String TEST_USERID = "rehash_user";
+	private static final String TEST_PASSWORD = "testpassword";
+	
+	@Test
+	@DisplayName("접두어 없는 낮은 strength 해시는 로그인 성공 후 {bcrypt} 현재 정책 해시로 교체되어야 함")
+	void testLegacyHashIsUpgradedOnLogin() throws Exception {
+		// 정책 도입 전 형식 : 접두어 없음, strength 4
+		String legacyHash = new BCryptPasswordEncoder(4).encode(TEST_PASSWORD);
+		usersRepository.save(new UsersEntity(TEST_USERID, legacyHash));
+		
+		login();
+		
+		String upgradedHash = usersRepository.findByUserId(TEST_USERID).orElseThrow().getPassword();
+		assertNotEquals(legacyHash, upgradedHash);
+		assertTrue(upgradedHash.startsWith("{bcrypt}$2a$"), upgradedHash);
+		assertFalse(upgradedHash.startsWith("{bcrypt}$2a$04$"), upgradedHash);
+		
+		// 재해시 이후에도 같은 비밀번호로 로그인 가능, 추가 재해시는 없어야 함
+		login();
+		assertEquals(upgradedHash, usersRepository.findByUserId(TEST_USERID).orElseThrow().getPassword());
+	}
+	
+	private void login() throws Exception {
+		LoginRequest loginRequest = new LoginRequest();
+		loginRequest.setUserId(TEST_USERID);
+		loginRequest.setPassword(TEST_PASSWORD);
+		
+		MvcResult mvcResult = mockMvc.perform(post("/users/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(loginRequest)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(mvcResult))
+				.andExpect(status().isCreated());
+	}
+	
+	@AfterEach
+	void cleanupTestData() {
+		usersRepository.deleteByUserId(TEST_USERID);
+	}
+}
@@ -3,7 +3,7 @@ package com.aladdin.task.practice;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "jwt.keys.store=")
 class PracticeApplicationTests {
 
 	@Test
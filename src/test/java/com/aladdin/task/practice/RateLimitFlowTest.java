@@ -0,0 +1,155 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.vo.LoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// 쓰기 한도를 작게 잡은 별도 컨텍스트 (토큰이 거의 채워지지 않도록 초당 0.01개)
+@SpringBootTest(properties = {
+		"jwt.keys.store=",
+		"rate-limit.user.write.permits-per-second=0.01",
+		"rate-limit.user.write.burst=2",
+		"rate-limit.ip.write.permits-per-second=0.01",
+		"rate-limit.ip.write.burst=6"
+})
+@AutoConfigureMockMvc
+@TestInstance(Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("사용자/IP별 요청 한도(429) 테스트")
+public class RateLimitFlowTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private UsersRepository usersRepository;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	private static final String TEST_USERID = "rate_limit_user";
+	private static final String TEST_PASSWORD = "testpassword";
+	
+	private String bearer;
+	
+	@Test
+	@Order(1)
+	@DisplayName("1. 사용자 쓰기 한도를 넘으면 429 + Retry-After, 읽기 요청은 계속 허용되어야 함")
+	void testUserWriteQuota() throws Exception {
+		// 모든 쓰기 요청은 IP 쓰기 한도 차감 (회원 가입/로그인으로 6개 중 2개 사용)
+		performAsync(post("/users/signup")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new UsersEntity(TEST_USERID, TEST_PASSWORD))))
+				.andExpect(status().isCreated());
+		LoginRequest loginRequest = new LoginRequest();
+		loginRequest.setUserId(TEST_USERID);
+		loginRequest.setPassword(TEST_PASSWORD);
+		MvcResult login = performAsync(post("/users/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(loginRequest)))
+				.andExpect(status().isCreated())
+				.andReturn();
+		bearer = "Bearer " + objectMapper.readTree(login.getResponse().getContentAsString()).path("access_token").asText();
+		
+		// 허용된 등록은 CompletableFuture로 응답, 한도 초과는 필터에서 바로 429 (등록 3건은 IP 한도도 3개 사용, 5/6)
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(asyncDispatch(postTodo().andExpect(request().asyncStarted()).andReturn()))
+					.andExpect(status().isCreated());
+		}
+		MvcResult limited = postTodo()
+				.andExpect(status().isTooManyRequests())
+				.andExpect(content().string(org.hamcrest.Matchers.containsString("Too many requests")))
+				.andReturn();
+		assertTrue(Long.parseLong(limited.getResponse().getHeader(HttpHeaders.RETRY_AFTER)) > 0);
+		
+		mockMvc.perform(get("/todos").header("Authorization", bearer))
+				.andExpect(status().isOk());
+		assertEquals(1.0, meterRegistry.get("rate.limit.rejected").tag("scope", "user").tag("type", "write").counter().count());
+	}
+	
+	@Test
+	@Order(2)
+	@DisplayName("2. 인증 없는 요청은 IP 쓰기 한도를 넘으면 429가 되어야 함")
+	void testIpWriteQuota() throws Exception {
+		// 마지막 IP 쓰기 토큰 (6/6)
+		mockMvc.perform(post("/users/token/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("refresh_token", "unknown"))))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/users/token/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("refresh_token", "unknown"))))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+		assertEquals(1.0, meterRegistry.get("rate.limit.rejected").tag("scope", "ip").tag("type", "write").counter().count());
+		
+		// 헬스체크는 한도 대상이 아님
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+	
+	@Test
+	@Order(3)
+	@DisplayName("3. 잘못된 토큰 요청도 JWT 검증 전에 IP 한도로 차감되어 401 대신 429가 되어야 함")
+	void testInvalidTokenChargedToIp() throws Exception {
+		double jwtFailures = meterRegistry.find("jwt.filter.failures").counters().stream().mapToDouble(Counter::count).sum();
+		
+		mockMvc.perform(post("/todos")
+						.header("Authorization", "Bearer invalid.token.value")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"content\":\"한도 테스트\"}"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+		assertEquals(2.0, meterRegistry.get("rate.limit.rejected").tag("scope", "ip").tag("type", "write").counter().count());
+		// JWT 필터까지 가지 않았으므로 검증 실패 집계도 그대로
+		assertEquals(jwtFailures, meterRegistry.find("jwt.filter.failures").counters().stream().mapToDouble(Counter::count).sum());
+	}
+	
+	private ResultActions postTodo() throws Exception {
+		return mockMvc.perform(post("/todos")
+				.header("Authorization", bearer)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"content\":\"한도 테스트\"}"));
+	}
+	
+	@AfterAll
+	void cleanupTestData() {
+		usersRepository.deleteByUserId(TEST_USERID);
+	}
+
+	// 비밀번호 해시가 포함된 API(회원 가입, 로그인)는 CompletableFuture로 응답하므로 asyncDispatch로 결과 확인
+	private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+		return mockMvc.perform(asyncDispatch(mvcResult));
+	}
+}
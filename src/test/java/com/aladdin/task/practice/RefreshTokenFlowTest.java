@@ -0,0 +1,170 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.service.TokenRevocationService;
+import com.aladdin.task.practice.utils.jwt.JwtRevocationList;
+import com.aladdin.task.practice.vo.LoginRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "jwt.keys.store=")
+@AutoConfigureMockMvc
+@TestInstance(Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Refresh token 교체 및 access token 폐기 흐름 테스트")
+public class RefreshTokenFlowTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private UsersRepository usersRepository;
+	
+	@Autowired
+	private JwtRevocationList jwtRevocationList;
+	
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+	
+	private static final String TEST_USERID = "refresh_user";
+	private static final String TEST_PASSWORD = "testpassword";
+	
+	private String refreshToken;
+	private String rotatedRefreshToken;
+	
+	@Test
+	@Order(1)
+	@DisplayName("1. 로그인 시 access token과 refresh token이 함께 발급되어야 함")
+	void testLoginIssuesRefreshToken() throws Exception {
+		performAsync(post("/users/signup")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new UsersEntity(TEST_USERID, TEST_PASSWORD))))
+				.andExpect(status().isCreated());
+		
+		JsonNode tokens = login();
+		assertFalse(tokens.path("access_token").asText().isEmpty());
+		refreshToken = tokens.path("refresh_token").asText();
+		assertFalse(refreshToken.isEmpty());
+	}
+	
+	@Test
+	@Order(2)
+	@DisplayName("2. refresh token으로 새 access/refresh token을 받고, 새 access token으로 인증되어야 함")
+	void testRefreshRotatesToken() throws Exception {
+		JsonNode tokens = refresh(refreshToken);
+		rotatedRefreshToken = tokens.path("refresh_token").asText();
+		assertNotEquals(refreshToken, rotatedRefreshToken);
+		
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + tokens.path("access_token").asText()))
+				.andExpect(status().isOk());
+	}
+	
+	@Test
+	@Order(3)
+	@DisplayName("3. 이미 교체된 refresh token 재사용 시 401, 같은 사용자의 refresh token은 모두 폐기되어야 함")
+	void testReusedRefreshTokenRevokesAll() throws Exception {
+		mockMvc.perform(post("/users/token/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("refresh_token", refreshToken))))
+				.andExpect(status().isUnauthorized());
+		
+		mockMvc.perform(post("/users/token/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("refresh_token", rotatedRefreshToken))))
+				.andExpect(status().isUnauthorized());
+	}
+	
+	@Test
+	@Order(4)
+	@DisplayName("4. 로그아웃하면 access token과 refresh token이 즉시 폐기되고, 재기동(재적재) 후에도 유지되어야 함")
+	void testLogoutRevokesTokens() throws Exception {
+		JsonNode tokens = login();
+		String accessToken = tokens.path("access_token").asText();
+		String logoutRefreshToken = tokens.path("refresh_token").asText();
+		
+		// 캐시에 검증 결과가 남아 있어도 폐기 여부는 매번 확인
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + accessToken))
+				.andExpect(status().isOk());
+		
+		mockMvc.perform(post("/users/logout")
+						.header("Authorization", "Bearer " + accessToken)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("refresh_token", logoutRefreshToken))))
+				.andExpect(status().isOk());
+		
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + accessToken))
+				.andExpect(status().isUnauthorized())
+				.andExpect(content().string(org.hamcrest.Matchers.containsString("revoked")));
+		mockMvc.perform(post("/users/token/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("refresh_token", logoutRefreshToken))))
+				.andExpect(status().isUnauthorized());
+		
+		// 메모리 목록을 비운 뒤 저장소에서 다시 적재해도 폐기 상태 유지
+		jwtRevocationList.replaceAll(Map.of());
+		tokenRevocationService.reload();
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + accessToken))
+				.andExpect(status().isUnauthorized());
+	}
+	
+	private JsonNode login() throws Exception {
+		LoginRequest loginRequest = new LoginRequest();
+		loginRequest.setUserId(TEST_USERID);
+		loginRequest.setPassword(TEST_PASSWORD);
+		
+		MvcResult result = performAsync(post("/users/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(loginRequest)))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString());
+	}
+	
+	private JsonNode refresh(String token) throws Exception {
+		MvcResult result = mockMvc.perform(post("/users/token/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("refresh_token", token))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString());
+	}
+	
+	@AfterAll
+	void cleanupTestData() {
+		// refresh_tokens는 user_seq ON DELETE CASCADE로 함께 삭제
+		usersRepository.deleteByUserId(TEST_USERID);
+	}
+
+	// 비밀번호 해시가 포함된 API(회원 가입, 로그인)는 CompletableFuture로 응답하므로 asyncDispatch로 결과 확인
+	private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+		return mockMvc.perform(asyncDispatch(mvcResult));
+	}
+}
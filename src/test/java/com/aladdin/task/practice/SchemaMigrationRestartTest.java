@@ -0,0 +1,142 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.utils.startup.StartupTimingReporter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@DisplayName("스키마 마이그레이션 재기동 테스트 (데이터 유지, 체크섬 이력, 기동 시간 보고)")
+public class SchemaMigrationRestartTest {
+
+	private Path db;
+	
+	@AfterEach
+	void cleanup() throws Exception {
+		if (db != null) {
+			Files.deleteIfExists(db);
+			Files.deleteIfExists(Path.of(db + "-wal"));
+			Files.deleteIfExists(Path.of(db + "-shm"));
+		}
+	}
+	
+	@Test
+	@DisplayName("재기동해도 데이터가 유지되고, 이미 적용된 마이그레이션은 다시 실행되지 않아야 함 (lazy 프로필 포함)")
+	void testRestartKeepsDataAndSkipsAppliedMigrations() throws Exception {
+		db = Files.createTempFile("practice-migration-", ".db");
+		Files.delete(db); // 빈 DB에서 V1부터 적용
+		
+		try (ConfigurableApplicationContext context = start()) {
+			context.getBean(UsersRepository.class).save(new UsersEntity("migration_user", "password"));
+			
+			List<Map<String, Object>> history = history(context);
+			assertEquals(List.of("1", "2", "3"), history.stream().map(row -> (String) row.get("version")).collect(Collectors.toList()));
+			assertNotNull(history.get(0).get("checksum"));
+			// 단일 DB는 샤드 0 하나 (seq 시작값 변화 없음)
+			assertEquals(Map.of("shard_index", 0, "shard_count", 1),
+					context.getBean(JdbcTemplate.class).queryForMap("SELECT shard_index, shard_count FROM shard_info"));
+		}
+		
+		try (ConfigurableApplicationContext context = start("--spring.profiles.active=lazy")) {
+			assertTrue(context.getBean(UsersRepository.class).findByUserId("migration_user").isPresent());
+			// 두 번째 기동에서는 이력 검증만 하고 추가 적용 없음
+			assertEquals(3, history(context).size());
+			
+			MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+			for (String phase : List.of(StartupTimingReporter.PHASE_CONTEXT_REFRESH, StartupTimingReporter.PHASE_DATASOURCE,
+					StartupTimingReporter.PHASE_MIGRATIONS, StartupTimingReporter.PHASE_JPA)) {
+				assertTrue(meterRegistry.get("application.startup.phase").tag("phase", phase).timeGauge().value() > 0, phase);
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName("Flyway 도입 전 schema.sql 로 만든 DB는 빠진 컬럼을 보정한 뒤 V1, V2가 적용되고 기존 데이터가 유지되어야 함")
+	void testLegacySchemaSqlDatabaseIsUpgraded() throws Exception {
+		db = Files.createTempFile("practice-migration-legacy-", ".db");
+		Files.delete(db);
+		try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + db.toAbsolutePath());
+		     Statement statement = connection.createStatement()) {
+			for (String sql : BASELINE_SCHEMA_SQL) {
+				statement.executeUpdate(sql);
+			}
+			statement.executeUpdate("INSERT INTO users (user_id, password) VALUES ('legacy_user', 'password')");
+			statement.executeUpdate("INSERT INTO todos (content) VALUES ('기존 할 일')");
+		}
+		
+		try (ConfigurableApplicationContext context = start()) {
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			// baseline(0) + V1 + V2 + V3
+			assertEquals(List.of("0", "1", "2", "3"), history(context).stream().map(row -> (String) row.get("version")).collect(Collectors.toList()));
+			
+			UsersEntity user = context.getBean(UsersRepository.class).findByUserId("legacy_user").orElseThrow();
+			assertEquals(0L, jdbcTemplate.queryForObject("SELECT todos_version FROM users WHERE seq = ?", Long.class, user.getSeq()));
+			// 작성자 없이 남은 기존 todo (보정 컬럼 기본값) + FTS 재구성
+			assertEquals(Map.of("owner_seq_null", 1, "version", 0),
+					jdbcTemplate.queryForMap("SELECT owner_seq IS NULL AS owner_seq_null, version FROM todos WHERE content = '기존 할 일'"));
+			assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM todos_fts WHERE todos_fts MATCH '기존'", Integer.class));
+			
+			// V1의 인덱스/트리거가 보정된 컬럼으로 동작
+			jdbcTemplate.update("INSERT INTO todos (owner_seq, content) VALUES (?, '새 할 일')", user.getSeq());
+			assertEquals(1L, jdbcTemplate.queryForObject("SELECT todos_version FROM users WHERE seq = ?", Long.class, user.getSeq()));
+			assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM todos WHERE owner_seq = ?", Integer.class, user.getSeq()));
+		}
+		
+		// 보정 후 재기동은 검증만
+		try (ConfigurableApplicationContext context = start()) {
+			assertEquals(4, history(context).size());
+		}
+	}
+	
+	// Flyway 도입 전(baseline) src/main/resources/schema.sql
+	private static final String[] BASELINE_SCHEMA_SQL = {
+			"DROP TABLE IF EXISTS users",
+			"DROP TABLE IF EXISTS todos",
+			"CREATE TABLE users (\n"
+					+ "    seq INTEGER PRIMARY KEY AUTOINCREMENT,\n"
+					+ "    user_id VARCHAR(255) NOT NULL UNIQUE,\n"
+					+ "    password VARCHAR(255) NOT NULL\n"
+					+ ")",
+			"CREATE TABLE todos (\n"
+					+ "    seq INTEGER PRIMARY KEY AUTOINCREMENT,\n"
+					+ "    content VARCHAR(255) NOT NULL\n"
+					+ ")"
+	};
+	
+	// application.properties의 datasource url보다 우선하도록 명령행 인자로 전달
+	private ConfigurableApplicationContext start(String... extraArgs) {
+		List<String> args = new ArrayList<>(List.of("--spring.datasource.url=jdbc:sqlite:" + db.toAbsolutePath(),
+				"--spring.jpa.show-sql=false", "--server.port=0", "--jwt.keys.store="));
+		args.addAll(List.of(extraArgs));
+		return new SpringApplicationBuilder(PracticeApplication.class)
+				.web(WebApplicationType.SERVLET)
+				.applicationStartup(new BufferingApplicationStartup(StartupTimingReporter.STEP_CAPACITY))
+				.run(args.toArray(new String[0]));
+	}
+	
+	private static List<Map<String, Object>> history(ConfigurableApplicationContext context) {
+		return context.getBean(JdbcTemplate.class).queryForList(
+				"SELECT version, checksum FROM flyway_schema_history WHERE success = 1 ORDER BY installed_rank");
+	}
+}
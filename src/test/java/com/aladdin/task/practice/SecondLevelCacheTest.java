@@ -0,0 +1,162 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.aladdin.task.practice.config.HibernateCacheConfig;
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.service.TodosService;
+import com.aladdin.task.practice.service.UsersService;
+import com.aladdin.task.practice.vo.TodoView;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = "jwt.keys.store=")
+@TestInstance(Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Hibernate 2차 캐시(todos, users, userId 자연키) 테스트")
+public class SecondLevelCacheTest {
+
+	@Autowired
+	private TodosService todosService;
+	
+	@Autowired
+	private UsersService usersService;
+	
+	@Autowired
+	private UsersRepository usersRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	private static final String TEST_USERID = "l2_cache_user";
+	private static final String RENAMED_USERID = "l2_cache_user_renamed";
+	
+	private Statistics statistics;
+	private UsersEntity owner;
+	private Long firstSeq;
+	private Long secondSeq;
+	
+	@BeforeAll
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		owner = usersRepository.save(new UsersEntity(TEST_USERID, "password"));
+		firstSeq = insert("2차 캐시 할 일 1");
+		secondSeq = insert("2차 캐시 할 일 2");
+	}
+	
+	@Test
+	@Order(1)
+	@DisplayName("1. 같은 todo를 다시 조회하면 SQL 없이 캐시에서 읽어야 함")
+	void testTodoReadHitsCache() {
+		todosService.getTodosBySeq(owner.getSeq(), firstSeq);
+		todosService.getTodosBySeq(owner.getSeq(), secondSeq);
+		
+		long statements = statistics.getPrepareStatementCount();
+		long hits = regionHits(HibernateCacheConfig.TODOS_REGION);
+		TodoView todo = todosService.getTodosBySeq(owner.getSeq(), firstSeq);
+		
+		assertEquals("2차 캐시 할 일 1", todo.getContent());
+		assertEquals(statements, statistics.getPrepareStatementCount());
+		assertEquals(hits + 1, regionHits(HibernateCacheConfig.TODOS_REGION));
+		
+		// 캐시에 있어도 다른 사용자의 todo는 조회되지 않음
+		assertNull(todosService.getTodosBySeq(owner.getSeq() + 1000, firstSeq));
+	}
+	
+	@Test
+	@Order(2)
+	@DisplayName("2. todo 수정/삭제는 해당 엔트리만 무효화해야 함 (다른 todo는 계속 캐시 사용)")
+	void testUpdateInvalidatesOnlyThatTodo() {
+		assertEquals(1L, todosService.updateTodo(owner.getSeq(), firstSeq, "수정된 2차 캐시 할 일", null));
+		
+		TodoView updated = todosService.getTodosBySeq(owner.getSeq(), firstSeq);
+		assertEquals("수정된 2차 캐시 할 일", updated.getContent());
+		assertEquals(1L, updated.getVersion());
+		
+		long hits = regionHits(HibernateCacheConfig.TODOS_REGION);
+		todosService.getTodosBySeq(owner.getSeq(), secondSeq);
+		assertEquals(hits + 1, regionHits(HibernateCacheConfig.TODOS_REGION));
+		
+		assertEquals(1, todosService.DeleteTodo(owner.getSeq(), secondSeq, List.of(0L)));
+		assertNull(todosService.getTodosBySeq(owner.getSeq(), secondSeq));
+	}
+	
+	@Test
+	@Order(3)
+	@DisplayName("3. userId 자연키 조회는 캐시를 사용하고, 아이디 변경 후에는 새 아이디로만 조회되어야 함")
+	void testNaturalIdCache() {
+		usersRepository.findByNaturalId(TEST_USERID);
+		long hits = statistics.getNaturalIdCacheHitCount();
+		long statements = statistics.getPrepareStatementCount();
+		
+		assertEquals(owner.getSeq(), usersRepository.findByNaturalId(TEST_USERID).orElseThrow().getSeq());
+		assertEquals(hits + 1, statistics.getNaturalIdCacheHitCount());
+		assertEquals(statements, statistics.getPrepareStatementCount());
+		
+		owner.setUserId(RENAMED_USERID);
+		assertEquals(1, usersService.updateUsers(owner));
+		assertTrue(usersRepository.findByNaturalId(TEST_USERID).isEmpty());
+		assertEquals(owner.getSeq(), usersRepository.findByNaturalId(RENAMED_USERID).orElseThrow().getSeq());
+	}
+	
+	@Test
+	@Order(4)
+	@DisplayName("4. 사용자 삭제 시 ON DELETE CASCADE로 지워진 todo가 캐시에서 조회되지 않아야 함")
+	void testUserDeleteEvictsCascadedTodos() {
+		assertNotNull(todosService.getTodosBySeq(owner.getSeq(), firstSeq));
+		assertEquals(1, usersService.deleteUser(owner));
+		
+		assertNull(todosService.getTodosBySeq(owner.getSeq(), firstSeq));
+		assertTrue(usersRepository.findByNaturalId(RENAMED_USERID).isEmpty());
+	}
+	
+	@Test
+	@Order(5)
+	@DisplayName("5. region별 hit/miss와 eviction 메트릭이 등록되어야 함")
+	void testCacheMetrics() {
+		assertTrue(meterRegistry.find("hibernate.second.level.cache.requests")
+				.tag("region", HibernateCacheConfig.TODOS_REGION).tag("result", "hit").functionCounter().count() > 0);
+		assertTrue(meterRegistry.find("hibernate.cache.natural.id.requests").tag("result", "hit").functionCounter().count() > 0);
+		assertNotNull(meterRegistry.find("cache.evictions").tag("cache", HibernateCacheConfig.TODOS_REGION).meter());
+	}
+	
+	@AfterAll
+	void cleanupTestData() {
+		usersRepository.deleteByUserId(TEST_USERID);
+		usersRepository.deleteByUserId(RENAMED_USERID);
+	}
+	
+	private Long insert(String content) {
+		TodosEntity todos = new TodosEntity(content);
+		todos.setOwnerSeq(owner.getSeq());
+		todosService.insertTodos(todos);
+		return todos.getSeq();
+	}
+	
+	private long regionHits(String region) {
+		return statistics.getDomainDataRegionStatistics(region).getHitCount();
+	}
+}
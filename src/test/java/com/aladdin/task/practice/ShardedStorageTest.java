@@ -0,0 +1,196 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.aladdin.task.practice.config.SqliteShards;
+import com.aladdin.task.practice.config.SqliteShardsHealthIndicator;
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+import com.aladdin.task.practice.vo.LoginRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("SQLite 샤드 저장소 테스트 (sqlite.shards=4)")
+public class ShardedStorageTest {
+
+	private static final int SHARDS = 4;
+	private static final String TEST_PASSWORD = "testpassword";
+
+	private Path dir;
+
+	@AfterEach
+	void cleanup() throws Exception {
+		if (dir != null) {
+			try (Stream<Path> files = Files.walk(dir)) {
+				for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("사용자는 userId 해시 샤드 파일에 저장되고, 샤드마다 가입/로그인/todo/토큰 교체가 동작해야 함")
+	void testUsersAndTodosLiveInTheirShard() throws Exception {
+		dir = Files.createTempDirectory("practice-shards-");
+
+		try (ConfigurableApplicationContext context = start(SHARDS)) {
+			ShardResolver shardResolver = context.getBean(ShardResolver.class);
+			SqliteShards sqliteShards = context.getBean(SqliteShards.class);
+			MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+					.apply(SecurityMockMvcConfigurers.springSecurity()).build();
+			ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+			// 샤드 0은 설정된 파일, 나머지는 <이름>-shard<i>.db
+			for (int i = 1; i < SHARDS; i++) {
+				assertTrue(Files.exists(dir.resolve("shards-shard" + i + ".db")), "shard" + i);
+			}
+
+			List<String> userIds = userIdPerShard(shardResolver);
+			for (int shard = 0; shard < SHARDS; shard++) {
+				String userId = userIds.get(shard);
+				performAsync(mockMvc, post("/users/signup")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new UsersEntity(userId, TEST_PASSWORD))))
+						.andExpect(status().isCreated());
+
+				JsonNode tokens = login(mockMvc, objectMapper, userId);
+				String accessToken = tokens.path("access_token").asText();
+				assertTrue(tokens.path("refresh_token").asText().endsWith("." + shard));
+
+				MvcResult created = performAsync(mockMvc, post("/todos")
+						.header("Authorization", "Bearer " + accessToken)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"content\": \"shard todo " + shard + "\"}"))
+						.andExpect(status().isCreated())
+						.andReturn();
+				long todoSeq = Long.parseLong(created.getResponse().getHeader("Location").substring("/todos/".length()));
+				assertEquals(shard, ShardResolver.shardOfSeq(todoSeq));
+
+				mockMvc.perform(get("/todos/" + todoSeq).header("Authorization", "Bearer " + accessToken))
+						.andExpect(status().isOk());
+				mockMvc.perform(get("/todos").header("Authorization", "Bearer " + accessToken))
+						.andExpect(status().isOk());
+
+				// 사용자 행과 todo는 해당 샤드 파일에만 있고, seq는 샤드 범위에서 발급됨
+				for (int i = 0; i < SHARDS; i++) {
+					JdbcTemplate jdbcTemplate = new JdbcTemplate(sqliteShards.get(i).getReadDataSource());
+					List<Long> userSeqs = jdbcTemplate.queryForList("SELECT seq FROM users WHERE user_id = ?", Long.class, userId);
+					assertEquals(i == shard ? 1 : 0, userSeqs.size(), userId + " in shard" + i);
+					if (i == shard) {
+						assertEquals(ShardResolver.idBase(shard) + 1, userSeqs.get(0));
+						assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos WHERE owner_seq = ?", Integer.class, userSeqs.get(0)));
+					}
+				}
+
+				// 인증 정보 없이 들어오는 refresh token 교체도 사용자의 샤드에서 처리
+				mockMvc.perform(post("/users/token/refresh")
+								.contentType(MediaType.APPLICATION_JSON)
+								.content(objectMapper.writeValueAsString(Map.of("refresh_token", tokens.path("refresh_token").asText()))))
+						.andExpect(status().isCreated());
+
+				// 다른 샤드에 배정되는 아이디로는 변경 불가
+				String otherShardUserId = userIds.get((shard + 1) % SHARDS) + "_renamed";
+				while (shardResolver.shardOf(otherShardUserId) == shard) {
+					otherShardUserId += "_";
+				}
+				performAsync(mockMvc, put("/users/me")
+								.header("Authorization", "Bearer " + accessToken)
+								.contentType(MediaType.APPLICATION_JSON)
+								.content(objectMapper.writeValueAsString(new UsersEntity(otherShardUserId, TEST_PASSWORD))))
+						.andExpect(status().isConflict());
+			}
+
+			// 모든 샤드에 V1, V2가 적용되고 헬스 체크 UP
+			Health health = context.getBean(SqliteShardsHealthIndicator.class).health();
+			assertEquals(Status.UP, health.getStatus());
+			for (int i = 0; i < SHARDS; i++) {
+				assertEquals("3", ((Map<?, ?>) health.getDetails().get("shard." + i)).get("schemaVersion"));
+				assertEquals(Map.of("shard_index", i, "shard_count", SHARDS), new JdbcTemplate(sqliteShards.get(i).getReadDataSource())
+						.queryForMap("SELECT shard_index, shard_count FROM shard_info"));
+			}
+		}
+
+		// 샤드 수를 바꾸면 사용자 배정이 달라지므로 기동 거부
+		RuntimeException e = assertThrows(RuntimeException.class, () -> start(2).close());
+		assertTrue(hasCause(e, IllegalStateException.class), e.toString());
+	}
+
+	// 샤드마다 배정되는 userId 하나씩
+	private static List<String> userIdPerShard(ShardResolver shardResolver) {
+		String[] userIds = new String[SHARDS];
+		int found = 0;
+		for (int n = 0; found < SHARDS; n++) {
+			String userId = "shard_user_" + n;
+			int shard = shardResolver.shardOf(userId);
+			if (userIds[shard] == null) {
+				userIds[shard] = userId;
+				found++;
+			}
+		}
+		return List.of(userIds);
+	}
+
+	private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (type.isInstance(cause)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// application.properties의 datasource url보다 우선하도록 명령행 인자로 전달
+	private ConfigurableApplicationContext start(int shards) {
+		return new SpringApplicationBuilder(PracticeApplication.class)
+				.web(WebApplicationType.SERVLET)
+				.run("--spring.datasource.url=jdbc:sqlite:" + dir.resolve("shards.db").toAbsolutePath(),
+						"--sqlite.shards=" + shards, "--spring.jpa.show-sql=false", "--server.port=0", "--jwt.keys.store=");
+	}
+
+	private static JsonNode login(MockMvc mockMvc, ObjectMapper objectMapper, String userId) throws Exception {
+		LoginRequest loginRequest = new LoginRequest();
+		loginRequest.setUserId(userId);
+		loginRequest.setPassword(TEST_PASSWORD);
+
+		MvcResult result = performAsync(mockMvc, post("/users/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(loginRequest)))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString());
+	}
+
+	// 비밀번호 해시가 포함된 API(회원 가입, 로그인, 내 정보 수정)와 POST /todos는 CompletableFuture로 응답하므로 asyncDispatch로 결과 확인
+	private static ResultActions performAsync(MockMvc mockMvc, RequestBuilder requestBuilder) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+		return mockMvc.perform(asyncDispatch(mvcResult));
+	}
+}
@@ -16,6 +16,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 
@@ -23,7 +25,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @Slf4j
-@SpringBootTest // Spring Boot 애플리케이션 컨텍스트 로드
+@SpringBootTest(properties = "jwt.keys.store=") // Spring Boot 애플리케이션 컨텍스트 로드 (서명 키는 파일에 저장하지 않음)
 @AutoConfigureMockMvc // MockMvc 자동 구성
 @TestInstance(Lifecycle.PER_CLASS) // 클래스당 하나의 테스트 인스턴스 사용 (beforeAll, afterAll에서 non-static 필드 사용 가능)
 @TestMethodOrder(OrderAnnotation.class) // @Order 어노테이션으로 테스트 메소드 순서 지정
@@ -45,11 +47,15 @@ public class TodosApiCrudFlowTest {
     // 테스트 전역에서 사용할 변수
     private static String jwtAccessToken; // 로그인 후 발급받은 JWT 토큰
     private static Long createdTodoSeq; // 생성된 TODO의 시퀀스 (ID)
+    private static Long batchTodoSeq; // 일괄 생성된 TODO 중 첫 번째 시퀀스
 
     private static final String TEST_USERID = "test_todo_user";
     private static final String TEST_PASSWORD = "testpassword";
     private static final String INITIAL_TODO_CONTENT = "첫 번째 할 일";
     private static final String UPDATED_TODO_CONTENT = "수정된 할 일";
+    private static final String BATCH_TODO_CONTENT = "일괄 등록 할 일";
+    private static final String OTHER_USERID = "test_todo_other_user";
+    private static final String PAGE_USERID = "test_todo_page_user";
 
 
     // 모든 테스트 메소드 실행 전에 한 번 실행
@@ -64,7 +70,7 @@ public class TodosApiCrudFlowTest {
         signupUser.setUserId(TEST_USERID);
         signupUser.setPassword(TEST_PASSWORD); // 실제 암호화 로직에 맞게 처리 필요
 
-        mockMvc.perform(post(signupUrl)
+        performAsync(post(signupUrl)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(signupUser)))
                 .andExpect(status().isCreated()); // 회원가입 성공 (201 Created) 기대
@@ -74,7 +80,7 @@ public class TodosApiCrudFlowTest {
         loginUser.setUserId(TEST_USERID);
         loginUser.setPassword(TEST_PASSWORD); // 실제 암호화 로직에 맞게 처리 필요
 
-        MvcResult loginResult = mockMvc.perform(post(loginUrl)
+        MvcResult loginResult = performAsync(post(loginUrl)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginUser)))
                 .andExpect(status().isCreated()) // 로그인 성공 (200 OK) 기대
@@ -125,7 +131,8 @@ public class TodosApiCrudFlowTest {
         // newTodo.setCompleted(false); // 필요한 필드 설정
 
         // POST 요청 보내기
-        MvcResult result = mockMvc.perform(post("/todos")
+        // 등록은 CompletableFuture로 응답하므로 asyncDispatch로 결과 확인
+        MvcResult result = performAsync(post("/todos")
                         .header("Authorization", "Bearer " + jwtAccessToken) // 발급받은 JWT 토큰 사용
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(newTodo))) // TODO 객체를 JSON 문자열로 변환하여 본문에 포함
@@ -133,25 +140,12 @@ public class TodosApiCrudFlowTest {
                 .andExpect(content().string(Matchers.containsString("todos 리스트 생성 완료!"))) // 응답 본문 검증
                 .andReturn();
 
-        // 생성된 TODO의 ID(seq) 추출 (필요하다면 응답 본문에서 파싱하거나 다른 방법 사용)
-        // 현재 컨트롤러는 "todos 리스트 생성 완료!" 문자열만 반환하므로,
-        // 생성된 TODO의 ID를 얻으려면 컨트롤러의 응답 형식을 변경해야 합니다.
-        // 예를 들어, 생성된 TodosEntity 객체 자체를 응답하거나, ID를 포함하는 JSON 객체를 반환하도록 합니다.
-        // 여기서는 임시로 다음 테스트를 위해 createdTodoSeq 변수에 값을 할당하지 못하지만,
-        // 실제로는 여기서 응답 본문을 파싱하여 createdTodoSeq 값을 추출해야 합니다.
-        // 예시: 응답 본문이 {"id": 1, "content": "...", ...} 형태라면
-        // String responseBody = result.getResponse().getContentAsString();
-        // Map<String, Object> responseMap = objectMapper.readValue(responseBody, new TypeReference<Map<String, Object>>() {});
-        // createdTodoSeq = ((Number) responseMap.get("id")).longValue(); // Long 타입으로 변환
-
-        // 만약 컨트롤러에서 ID를 반환하지 않는다면, 다음 테스트(수정/삭제)를 위해
-        // 목록 조회 후 생성된 항목을 찾거나 다른 방법을 사용해야 합니다.
-        // 테스트의 편의를 위해 TODO 생성 시 생성된 TodosEntity 객체 또는 ID를 반환하도록 API 수정을 고려해볼 수 있습니다.
-
-        // 임시로 createdTodoSeq에 임의의 값 할당 (실제 구현 시 위에서 파싱해야 함)
-        // TODO: 실제 응답에서 생성된 TODO의 ID를 파싱하는 코드로 대체하십시오.
-        createdTodoSeq = 1L; // <-- 이 부분은 실제 응답 파싱 결과로 대체되어야 합니다.
-        log.info("임시로 설정된 생성된 TODO의 ID: {}", createdTodoSeq); // <-- 디버깅용 로그
+        // 생성된 TODO의 ID(seq)는 Location 헤더(/todos/{seq})에서 추출
+        // (기동 시 테이블을 지우지 않으므로 seq가 1부터 시작한다고 가정할 수 없음)
+        String location = result.getResponse().getHeader("Location");
+        org.junit.jupiter.api.Assertions.assertNotNull(location, "생성 응답에 Location 헤더가 있어야 합니다.");
+        createdTodoSeq = Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+        log.info("생성된 TODO의 ID: {}", createdTodoSeq);
 
         org.junit.jupiter.api.Assertions.assertNotNull(createdTodoSeq, "생성된 TODO의 ID(seq)를 가져오는데 실패했습니다.");
     }
@@ -161,7 +155,7 @@ public class TodosApiCrudFlowTest {
     @DisplayName("2. TODO 목록 조회 테스트 (GET /todos)")
     void testGetTodosList() throws Exception {
         // GET 요청 보내기
-        MvcResult result = mockMvc.perform(get("/todos")
+        MvcResult result = performAsync(get("/todos")
                         .header("Authorization", "Bearer " + jwtAccessToken)) // 발급받은 JWT 토큰 사용
                 .andExpect(status().isOk()) // 200 OK 상태 코드 기대
                 .andExpect(content().string(Matchers.containsString("todos 리스트 조회 성공!"))) // 응답 본문 검증 (성공 메시지)
@@ -170,7 +164,7 @@ public class TodosApiCrudFlowTest {
                 .andReturn();
 
         // 응답 본문에서 TODO 목록 파싱 (응답 형태에 따라 구현 필요)
-        // 현재 컨트롤러는 "todos 리스트 조회 성공! [TodosEntity(seq=1, content=...)]" 와 같은 문자열을 반환하므로,
+        // 현재 컨트롤러는 {"message":"todos 리스트 조회 성공!","todos":[{"seq":1,"content":"...","version":0}]} 와 같은 JSON을 반환하므로,
         // 이를 파싱하여 List<TodosEntity> 객체로 만들거나, 문자열 내에서 원하는 정보(예: createdTodoSeq)가 있는지 확인합니다.
         // 테스트의 편의를 위해 GET /todos API가 List<TodosEntity> 객체를 JSON 배열 형태로 반환하도록 수정하는 것을 고려할 수 있습니다.
         String responseBody = result.getResponse().getContentAsString();
@@ -184,7 +178,7 @@ public class TodosApiCrudFlowTest {
          // 임시 문자열 포함 확인 (컨트롤러 응답 형태에 맞춤)
         org.junit.jupiter.api.Assertions.assertTrue(responseBody.contains(INITIAL_TODO_CONTENT), "조회된 목록에 생성된 TODO 내용이 포함되어 있어야 합니다.");
         // 생성된 TODO ID가 응답 문자열에 포함되어 있는지 확인 (컨트롤러 응답 형태에 맞춤)
-         org.junit.jupiter.api.Assertions.assertTrue(responseBody.contains("seq=" + createdTodoSeq), "조회된 목록에 생성된 TODO의 ID가 포함되어 있어야 합니다.");
+         org.junit.jupiter.api.Assertions.assertTrue(responseBody.contains("\"seq\":" + createdTodoSeq + ","), "조회된 목록에 생성된 TODO의 ID가 포함되어 있어야 합니다.");
 
     }
 
@@ -198,14 +192,30 @@ public class TodosApiCrudFlowTest {
         // updateTodo.setCompleted(true); // 필요한 필드 설정
 
         // PUT 요청 보내기
-        mockMvc.perform(put("/todos/" + createdTodoSeq) // 생성된 TODO의 ID 사용
+        performAsync(put("/todos/" + createdTodoSeq) // 생성된 TODO의 ID 사용
                         .header("Authorization", "Bearer " + jwtAccessToken) // 발급받은 JWT 토큰 사용
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateTodo))) // 수정할 TODO 객체를 JSON 문자열로 변환
                 .andExpect(status().isOk()) // 200 OK 상태 코드 기대
                 .andExpect(content().string(Matchers.containsString("todo 업데이트 성공!!"))) // 응답 본문 검증
                 // TODO: 수정된 TODO 내용이 응답 본문에 포함되어 있는지 추가 검증
-                 .andExpect(content().string(Matchers.containsString(UPDATED_TODO_CONTENT))); // 수정된 할 일 내용 포함 검증 (응답 본문 형태에 따라 수정)
+                 .andExpect(content().string(Matchers.containsString(UPDATED_TODO_CONTENT))) // 수정된 할 일 내용 포함 검증 (응답 본문 형태에 따라 수정)
+                // If-Match 없는 수정도 변경 후 version과 ETag를 반환
+                .andExpect(jsonPath("$.todo.version").value(1))
+                .andExpect(header().string("ETag", "\"" + createdTodoSeq + "-1\""));
+
+        // 내용이 비어 있으면 등록과 같이 400
+        performAsync(put("/todos/" + createdTodoSeq)
+                        .header("Authorization", "Bearer " + jwtAccessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\": \" \"}"))
+                .andExpect(status().isBadRequest());
+
+        // 수정 내용이 실제로 DB에 반영되었는지 다시 조회해서 확인
+        performAsync(get("/todos/" + createdTodoSeq)
+                        .header("Authorization", "Bearer " + jwtAccessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString(UPDATED_TODO_CONTENT)));
     }
 
     @Test
@@ -225,12 +235,172 @@ public class TodosApiCrudFlowTest {
     @DisplayName("5. 삭제된 TODO 조회 테스트 (실패 - 404 Not Found)")
     void testGetDeletedTodo() throws Exception {
         // 삭제된 TODO ID로 다시 조회 시 404 Not Found 기대
-        mockMvc.perform(get("/todos/" + createdTodoSeq) // 삭제된 TODO의 ID 사용
+        performAsync(get("/todos/" + createdTodoSeq) // 삭제된 TODO의 ID 사용
                         .header("Authorization", "Bearer " + jwtAccessToken)) // 발급받은 JWT 토큰 사용
                  .andExpect(status().isNotFound()) // 목록 조회는 성공해야 함
-                 .andExpect(content().string(Matchers.not(Matchers.containsString("seq=" + createdTodoSeq)))); // 응답 본문에 삭제된 TODO ID가 포함되지 않음을 검증 (응답 본문 형태에 따라 수정)
+                 .andExpect(content().string(Matchers.not(Matchers.containsString("\"seq\":" + createdTodoSeq + ",")))); // 응답 본문에 삭제된 TODO ID가 포함되지 않음을 검증 (응답 본문 형태에 따라 수정)
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("6. TODO 일괄 생성 테스트 (POST /todos/batch) - 항목별 실패는 전체를 중단시키지 않음")
+    void testCreateTodosBatch() throws Exception {
+        String batchBody = objectMapper.writeValueAsString(java.util.List.of(
+                new TodosEntity(BATCH_TODO_CONTENT),
+                new TodosEntity(" "), // 필수값 누락 -> 해당 항목만 실패
+                new TodosEntity(BATCH_TODO_CONTENT)));
+
+        MvcResult result = mockMvc.perform(post("/todos/batch")
+                        .header("Authorization", "Bearer " + jwtAccessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchBody))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].error").exists())
+                .andReturn();
+
+        // 생성된 seq는 요청 순서대로 증가해야 함
+        com.fasterxml.jackson.databind.JsonNode results = objectMapper.readTree(result.getResponse().getContentAsString()).get("results");
+        org.junit.jupiter.api.Assertions.assertTrue(results.get(0).get("seq").asLong() < results.get(2).get("seq").asLong(),
+                "일괄 생성된 seq는 요청 순서대로 증가해야 합니다.");
+        batchTodoSeq = results.get(0).get("seq").asLong();
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("7. TODO 전문 검색 테스트 (GET /todos/search) - 단어/접두어/구문 검색")
+    void testSearchTodos() throws Exception {
+        // 단어 AND 검색
+        performAsync(get("/todos/search").param("content", "일괄 등록")
+                        .header("Authorization", "Bearer " + jwtAccessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString(BATCH_TODO_CONTENT)));
+
+        // 접두어 검색
+        performAsync(get("/todos/search").param("content", "일*")
+                        .header("Authorization", "Bearer " + jwtAccessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString(BATCH_TODO_CONTENT)));
+
+        // 구문 검색은 단어 순서까지 일치해야 함
+        performAsync(get("/todos/search").param("content", "\"등록 일괄\"")
+                        .header("Authorization", "Bearer " + jwtAccessToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("8. 다른 사용자의 TODO는 조회/검색/수정/삭제할 수 없음 (사용자별 소유권)")
+    void testOtherUserCannotAccessTodos() throws Exception {
+        performAsync(post("/users/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UsersEntity(OTHER_USERID, TEST_PASSWORD))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = performAsync(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UsersEntity(OTHER_USERID, TEST_PASSWORD))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String otherToken = objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("access_token").asText();
+
+        performAsync(get("/todos").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+        performAsync(get("/todos/" + batchTodoSeq).header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+        performAsync(get("/todos/search").param("content", "일괄").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+        performAsync(put("/todos/" + batchTodoSeq)
+                        .header("Authorization", "Bearer " + otherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodosEntity(UPDATED_TODO_CONTENT))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/todos/" + batchTodoSeq).header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+
+        // 원래 작성자는 그대로 조회 가능
+        performAsync(get("/todos/" + batchTodoSeq).header("Authorization", "Bearer " + jwtAccessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString(BATCH_TODO_CONTENT)));
     }
 
+    @Test
+    @Order(9)
+    @DisplayName("9. TODO 목록 keyset 페이지 (GET /todos?after&limit) - 커서를 따라가면 중복/누락 없이 끝까지 조회")
+    void testGetTodosPagination() throws Exception {
+        performAsync(post("/users/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UsersEntity(PAGE_USERID, TEST_PASSWORD))))
+                .andExpect(status().isCreated());
+        MvcResult loginResult = performAsync(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UsersEntity(PAGE_USERID, TEST_PASSWORD))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String pageToken = "Bearer " + objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("access_token").asText();
+
+        // 페이지 상한(1000건)을 넘도록 1000 + 5건 등록 (일괄 등록 상한이 1000건)
+        java.util.List<Long> created = new java.util.ArrayList<>();
+        for (int count : new int[] {1000, 5}) {
+            java.util.List<TodosEntity> todos = new java.util.ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                todos.add(new TodosEntity("페이지 할 일 " + (created.size() + i)));
+            }
+            MvcResult result = mockMvc.perform(post("/todos/batch")
+                            .header("Authorization", pageToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(todos)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.created").value(count))
+                    .andReturn();
+            for (com.fasterxml.jackson.databind.JsonNode item : objectMapper.readTree(result.getResponse().getContentAsString()).get("results")) {
+                created.add(item.get("seq").asLong());
+            }
+        }
+
+        // 잘못된 커서/크기는 400
+        performAsync(get("/todos").param("after", "-1").header("Authorization", pageToken))
+                .andExpect(status().isBadRequest());
+        performAsync(get("/todos").param("limit", "0").header("Authorization", pageToken))
+                .andExpect(status().isBadRequest());
+
+        // limit은 최대 1000건으로 제한되고, 남은 todo가 있으므로 커서 반환
+        MvcResult capped = performAsync(get("/todos").param("limit", "5000").header("Authorization", pageToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todos.length()").value(1000))
+                .andExpect(header().string("X-Next-Cursor", String.valueOf(created.get(999))))
+                .andReturn();
+        org.junit.jupiter.api.Assertions.assertEquals(created.get(999),
+                objectMapper.readTree(capped.getResponse().getContentAsString()).get("nextCursor").asLong());
+
+        // 커서를 따라 끝까지 조회 (400 + 400 + 205건), 마지막 페이지는 커서 없음
+        java.util.List<Long> fetched = new java.util.ArrayList<>();
+        java.util.List<Integer> pageSizes = new java.util.ArrayList<>();
+        String cursor = "0";
+        while (cursor != null) {
+            MvcResult page = performAsync(get("/todos").param("after", cursor).param("limit", "400")
+                            .header("Authorization", pageToken))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            com.fasterxml.jackson.databind.JsonNode body = objectMapper.readTree(page.getResponse().getContentAsString());
+            for (com.fasterxml.jackson.databind.JsonNode todo : body.get("todos")) {
+                fetched.add(todo.get("seq").asLong());
+            }
+            pageSizes.add(body.get("todos").size());
+            cursor = page.getResponse().getHeader("X-Next-Cursor");
+            org.junit.jupiter.api.Assertions.assertEquals(cursor, body.has("nextCursor") ? body.get("nextCursor").asText() : null,
+                    "본문의 nextCursor와 X-Next-Cursor 헤더가 같아야 합니다.");
+        }
+        org.junit.jupiter.api.Assertions.assertEquals(java.util.List.of(400, 400, 205), pageSizes);
+        org.junit.jupiter.api.Assertions.assertEquals(created, fetched, "모든 todo가 seq 순서로 한 번씩 조회되어야 합니다.");
+
+        // 마지막 todo 다음부터는 없음
+        performAsync(get("/todos").param("after", String.valueOf(created.get(created.size() - 1)))
+                        .header("Authorization", pageToken))
+                .andExpect(status().isNotFound());
+    }
 
     @AfterAll
     @DisplayName("테스트 데이터 정리")
@@ -247,6 +417,10 @@ public class TodosApiCrudFlowTest {
         
         log.info("모든 테스트 완료 후 todo 테스트 데이터 정리 실행: {}", UPDATED_TODO_CONTENT);
 
+        usersRepository.deleteByUserId(OTHER_USERID);
+        // 페이지 테스트 todo는 ON DELETE CASCADE로 함께 삭제
+        usersRepository.deleteByUserId(PAGE_USERID);
+        todosRepository.deleteByContent(BATCH_TODO_CONTENT);
         long todosDeletedCount = todosRepository.deleteByContent(UPDATED_TODO_CONTENT);
         if (todosDeletedCount > 0) {
              log.info("테스트 todo 삭제 성공: content: {}", UPDATED_TODO_CONTENT);
@@ -254,4 +428,10 @@ public class TodosApiCrudFlowTest {
              log.warn("테스트 todo 삭제 대상 없음: content: {}", UPDATED_TODO_CONTENT);
         }
     }
+
+    // 비밀번호 해시가 포함된 API(회원 가입, 로그인, 내 정보 수정)와 todo 등록은 CompletableFuture로 응답하므로 asyncDispatch로 결과 확인
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
@@ -0,0 +1,180 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "jwt.keys.store=")
+@AutoConfigureMockMvc
+@TestInstance(Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("TODO ETag / 조건부 요청 테스트")
+public class TodosConditionalRequestTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private UsersRepository usersRepository;
+	
+	private static final String TEST_USERID = "etag_user";
+	private static final String TEST_PASSWORD = "testpassword";
+	
+	private String bearer;
+	private String todoUrl;
+	private String todoETag;
+	
+	@Test
+	@Order(1)
+	@DisplayName("1. 단건 조회 ETag와 If-None-Match 304")
+	void testGetTodoNotModified() throws Exception {
+		performAsync(post("/users/signup")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new UsersEntity(TEST_USERID, TEST_PASSWORD))))
+				.andExpect(status().isCreated());
+		MvcResult login = performAsync(post("/users/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new UsersEntity(TEST_USERID, TEST_PASSWORD))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		bearer = "Bearer " + objectMapper.readTree(login.getResponse().getContentAsString()).get("access_token").asText();
+		
+		MvcResult batch = mockMvc.perform(post("/todos/batch")
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"content\":\"ETAG 할 일\"}]"))
+				.andExpect(status().isCreated())
+				.andReturn();
+		long seq = objectMapper.readTree(batch.getResponse().getContentAsString()).get("results").get(0).get("seq").asLong();
+		todoUrl = "/todos/" + seq;
+		
+		todoETag = mockMvc.perform(get(todoUrl).header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + seq + "-0\""))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		
+		MvcResult notModified = mockMvc.perform(get(todoUrl)
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.header(HttpHeaders.IF_NONE_MATCH, todoETag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, todoETag))
+				.andReturn();
+		assertEquals("", notModified.getResponse().getContentAsString());
+	}
+	
+	@Test
+	@Order(2)
+	@DisplayName("2. 이전 버전 If-Match로 수정하면 412, 현재 버전이면 수정 후 ETag 변경")
+	void testPutWithIfMatch() throws Exception {
+		String staleETag = todoETag;
+		
+		mockMvc.perform(put(todoUrl)
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.header(HttpHeaders.IF_MATCH, "\"0-999\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"content\":\"수정 실패\"}"))
+				.andExpect(status().isPreconditionFailed());
+		
+		todoETag = mockMvc.perform(put(todoUrl)
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.header(HttpHeaders.IF_MATCH, staleETag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"content\":\"ETAG 수정된 할 일\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(staleETag, todoETag);
+		
+		// 변경 전 ETag로는 304가 아닌 새 본문을 받아야 함
+		mockMvc.perform(get(todoUrl)
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.header(HttpHeaders.IF_NONE_MATCH, staleETag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, todoETag));
+		
+		// 같은 ETag로 다시 수정하면 이미 변경된 것이므로 412
+		mockMvc.perform(put(todoUrl)
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.header(HttpHeaders.IF_MATCH, staleETag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"content\":\"덮어쓰기\"}"))
+				.andExpect(status().isPreconditionFailed());
+	}
+	
+	@Test
+	@Order(3)
+	@DisplayName("3. 목록 ETag는 todo 추가 전까지 304, 추가 후에는 새 목록 반환")
+	void testListNotModifiedUntilChanged() throws Exception {
+		String listETag = mockMvc.perform(get("/todos").header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(listETag);
+		
+		mockMvc.perform(get("/todos")
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.header(HttpHeaders.IF_NONE_MATCH, listETag))
+				.andExpect(status().isNotModified());
+		
+		performAsync(post("/todos")
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"content\":\"ETAG 추가 할 일\"}"))
+				.andExpect(status().isCreated());
+		
+		mockMvc.perform(get("/todos")
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.header(HttpHeaders.IF_NONE_MATCH, listETag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(listETag)));
+	}
+	
+	@Test
+	@Order(4)
+	@DisplayName("4. 삭제도 If-Match가 일치할 때만 수행")
+	void testDeleteWithIfMatch() throws Exception {
+		mockMvc.perform(delete(todoUrl)
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.header(HttpHeaders.IF_MATCH, "\"0-999\""))
+				.andExpect(status().isPreconditionFailed());
+		
+		mockMvc.perform(delete(todoUrl)
+				.header(HttpHeaders.AUTHORIZATION, bearer)
+				.header(HttpHeaders.IF_MATCH, todoETag))
+				.andExpect(status().isOk());
+	}
+	
+	@AfterAll
+	void cleanupTestData() {
+		// todos는 owner_seq ON DELETE CASCADE로 함께 삭제
+		usersRepository.deleteByUserId(TEST_USERID);
+	}
+	
+	private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+		return mockMvc.perform(asyncDispatch(mvcResult));
+	}
+}
@@ -0,0 +1,114 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.aladdin.task.practice.entity.TodosEntity;
+import com.aladdin.task.practice.service.TodosIngestService;
+import com.aladdin.task.practice.service.TodosService;
+import com.aladdin.task.practice.vo.TodosBatchItemResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("todo 등록 group commit 테스트")
+public class TodosIngestServiceTest {
+
+	@Test
+	@DisplayName("버퍼가 가득 차면 거절하고, 배치 커밋이 끝나면 각 요청이 자기 seq로 완료되어야 함")
+	void testRejectsWhenBufferIsFullAndCompletesWithSeq() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		BlockingTodosService todosService = new BlockingTodosService();
+		// 버퍼 1칸, 배치당 1건
+		TodosIngestService ingest = new TodosIngestService(todosService, meterRegistry, TodosIngestService.MODE_GROUP_COMMIT, 1, 1, 0);
+		ingest.afterPropertiesSet();
+		try {
+			// 1번 요청은 writer가 커밋 중(대기), 2번 요청은 버퍼에서 대기
+			CompletableFuture<Long> committing = ingest.insert(todo("first"));
+			assertTrue(todosService.started.await(5, TimeUnit.SECONDS));
+			CompletableFuture<Long> buffered = ingest.insert(todo("second"));
+			
+			assertEquals(1.0, meterRegistry.get("todos.ingest.queued").gauge().value());
+			assertThrows(RejectedExecutionException.class, () -> ingest.insert(todo("third")));
+			assertEquals(1.0, meterRegistry.get("todos.ingest.rejected").counter().count());
+			
+			todosService.release.countDown();
+			assertEquals(1L, committing.get(5, TimeUnit.SECONDS));
+			assertEquals(2L, buffered.get(5, TimeUnit.SECONDS));
+			assertEquals(2, meterRegistry.get("todos.ingest.batch.size").summary().count());
+		} finally {
+			todosService.release.countDown();
+			ingest.destroy();
+		}
+	}
+	
+	@Test
+	@DisplayName("대기 중인 요청은 한 번의 커밋으로 모아서 처리되어야 함")
+	void testGroupsPendingRequestsIntoOneCommit() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		BlockingTodosService todosService = new BlockingTodosService();
+		TodosIngestService ingest = new TodosIngestService(todosService, meterRegistry, TodosIngestService.MODE_GROUP_COMMIT, 64, 64, 0);
+		ingest.afterPropertiesSet();
+		try {
+			CompletableFuture<Long> first = ingest.insert(todo("first"));
+			assertTrue(todosService.started.await(5, TimeUnit.SECONDS));
+			// 첫 커밋이 끝나기 전에 들어온 10건은 다음 커밋 1회로 처리
+			List<CompletableFuture<Long>> pending = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				pending.add(ingest.insert(todo("pending " + i)));
+			}
+			todosService.release.countDown();
+			
+			assertEquals(1L, first.get(5, TimeUnit.SECONDS));
+			for (int i = 0; i < pending.size(); i++) {
+				assertEquals(i + 2L, pending.get(i).get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(2, meterRegistry.get("todos.ingest.batch.size").summary().count());
+			assertEquals(11.0, meterRegistry.get("todos.ingest.batch.size").summary().totalAmount());
+		} finally {
+			todosService.release.countDown();
+			ingest.destroy();
+		}
+	}
+	
+	private static TodosEntity todo(String content) {
+		TodosEntity todos = new TodosEntity(content);
+		todos.setOwnerSeq(1L);
+		return todos;
+	}
+	
+	// 첫 커밋에서 release 될 때까지 대기하고, 항목마다 1부터 순서대로 seq를 부여하는 TodosService
+	private static class BlockingTodosService extends TodosService {
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final AtomicLong seq = new AtomicLong();
+		
+		BlockingTodosService() {
+			super(null);
+		}
+		
+		@Override
+		public List<TodosBatchItemResult> insertTodosGroup(List<TodosEntity> todosList) {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			List<TodosBatchItemResult> results = new ArrayList<>();
+			for (int i = 0; i < todosList.size(); i++) {
+				results.add(TodosBatchItemResult.success(i, seq.incrementAndGet()));
+			}
+			return results;
+		}
+	}
+}
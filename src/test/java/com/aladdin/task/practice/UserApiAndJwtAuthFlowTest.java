@@ -16,6 +16,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.aladdin.task.practice.entity.UsersEntity;
@@ -29,7 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.TestInstance.Lifecycle; // Lifecycle 임포트
 
 @Slf4j
-@SpringBootTest
+@SpringBootTest(properties = "jwt.keys.store=")
 @AutoConfigureMockMvc
 @TestInstance(Lifecycle.PER_CLASS) // <-- 추가: @AfterAll에서 @Autowired 사용 가능하게 함
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)  // 메소드 실행 순서를 직접 입력한다는 뜻.
@@ -62,7 +64,7 @@ public class UserApiAndJwtAuthFlowTest {
     	newUser.setUserId(testUserId);
     	newUser.setPassword(testPassword);
     	
-    	mockMvc.perform(post("/users/signup")
+    	performAsync(post("/users/signup")
                 .contentType(MediaType.APPLICATION_JSON) // 요청 본문 타입 JSON
                 .content(objectMapper.writeValueAsString(newUser))) // UsersEntity 객체를 JSON 문자열로 변환하여 본문에 담음
                 .andExpect(status().isCreated()) // 또는 .andExpect(status().isCreated()) - 응답 상태 코드 200 또는 201 기대
@@ -77,7 +79,7 @@ public class UserApiAndJwtAuthFlowTest {
     	loginRequest.setUserId(testUserId);
     	loginRequest.setPassword(testPassword);
     	
-    	MvcResult result = mockMvc.perform(post("/users/login")
+    	MvcResult result = performAsync(post("/users/login")
     			.contentType(MediaType.APPLICATION_JSON)
     			.content(objectMapper.writeValueAsString(loginRequest)))
     			.andExpect(status().isCreated())
@@ -145,4 +147,10 @@ public class UserApiAndJwtAuthFlowTest {
              log.warn("테스트 사용자 삭제 대상 없음: userId: {}", testUserId);
         }
     }
+
+    // 비밀번호 해시가 포함된 API(회원 가입, 로그인, 내 정보 수정)는 CompletableFuture로 응답하므로 asyncDispatch로 결과 확인
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 }
@@ -0,0 +1,185 @@
+package com.aladdin.task.practice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aladdin.task.practice.entity.UsersEntity;
+import com.aladdin.task.practice.repository.UsersRepository;
+import com.aladdin.task.practice.service.UsersCacheService;
+import com.aladdin.task.practice.utils.shard.ShardResolver;
+import com.aladdin.task.practice.vo.LoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@SpringBootTest(properties = "jwt.keys.store=")
+@AutoConfigureMockMvc
+@TestInstance(Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("사용자 캐시 무효화 흐름 테스트 (아이디 변경/삭제 즉시 반영)")
+public class UserCacheInvalidationFlowTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private UsersRepository usersRepository;
+	
+	private static final String TEST_USERID = "cache_user";
+	private static final String RENAMED_USERID = "cache_user_renamed";
+	private static final String TEST_PASSWORD = "testpassword";
+	
+	private String oldToken;
+	private String renamedToken;
+	
+	@Test
+	@Order(1)
+	@DisplayName("1. 회원 가입 후 로그인, 캐시를 채우기 위해 내 정보 조회")
+	void testSignupLoginAndWarmCache() throws Exception {
+		performAsync(post("/users/signup")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new UsersEntity(TEST_USERID, TEST_PASSWORD))))
+				.andExpect(status().isCreated());
+		
+		oldToken = login(TEST_USERID);
+		
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + oldToken))
+				.andExpect(status().isOk());
+	}
+	
+	@Test
+	@Order(2)
+	@DisplayName("2. 아이디 변경 후 이전 토큰은 즉시 사용할 수 없어야 함")
+	void testRenameInvalidatesOldUserId() throws Exception {
+		performAsync(put("/users/me")
+				.header("Authorization", "Bearer " + oldToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new UsersEntity(RENAMED_USERID, TEST_PASSWORD))))
+				.andExpect(status().isOk());
+		
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + oldToken))
+				.andExpect(status().isNotFound());
+		
+		renamedToken = login(RENAMED_USERID);
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + renamedToken))
+				.andExpect(status().isOk());
+	}
+	
+	@Test
+	@Order(3)
+	@DisplayName("3. 계정 삭제 후 토큰은 즉시 사용할 수 없어야 함")
+	void testDeleteInvalidatesUser() throws Exception {
+		// 같은 계정의 다른 세션 토큰 (삭제 요청에 사용하지 않아 폐기되지 않음 → 캐시 무효화로 404)
+		String otherSessionToken = login(RENAMED_USERID);
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + otherSessionToken))
+				.andExpect(status().isOk());
+		
+		mockMvc.perform(delete("/users/me").header("Authorization", "Bearer " + renamedToken))
+				.andExpect(status().isOk());
+		
+		// 삭제 요청에 사용한 토큰은 폐기되어 401
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + renamedToken))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + otherSessionToken))
+				.andExpect(status().isNotFound());
+	}
+	
+	@Test
+	@Order(4)
+	@DisplayName("4. 캐시 미스 조회가 DB를 읽은 뒤 무효화되면, 읽어 둔 이전 값을 캐시에 넣지 않아야 함")
+	void testEvictDuringLoadDoesNotCacheStaleUser() throws Exception {
+		AtomicReference<String> storedPassword = new AtomicReference<>("old-hash");
+		AtomicBoolean blockFirstLoad = new AtomicBoolean(true);
+		CountDownLatch loaded = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		
+		// 첫 조회만 DB 값을 읽은 직후 멈추는 저장소 (findByNaturalId 외에는 사용하지 않음)
+		UsersRepository blockingRepository = (UsersRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] {UsersRepository.class}, (proxy, method, args) -> {
+					if (!"findByNaturalId".equals(method.getName())) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					UsersEntity user = new UsersEntity((String) args[0], storedPassword.get());
+					user.setSeq(1L);
+					if (blockFirstLoad.getAndSet(false)) {
+						loaded.countDown();
+						assertTrue(release.await(10, TimeUnit.SECONDS));
+					}
+					return Optional.of(user);
+				});
+		UsersCacheService usersCacheService = new UsersCacheService(blockingRepository, new ShardResolver(1), 100, 60_000);
+		
+		CompletableFuture<Optional<UsersEntity>> staleLoad = CompletableFuture.supplyAsync(() -> usersCacheService.getUser("race_user"));
+		assertTrue(loaded.await(10, TimeUnit.SECONDS));
+		
+		// 조회가 이전 값을 읽은 상태에서 수정 + 무효화 (putMe/deleteMe와 같은 순서)
+		storedPassword.set("new-hash");
+		usersCacheService.evict("race_user");
+		release.countDown();
+		assertEquals("old-hash", staleLoad.get(10, TimeUnit.SECONDS).orElseThrow().getPassword());
+		
+		// 이전 값이 캐시에 들어갔다면 여기서 hit로 old-hash가 반환됨
+		assertEquals("new-hash", usersCacheService.getUser("race_user").orElseThrow().getPassword());
+		assertEquals(2, usersCacheService.getMissCount());
+		assertEquals("new-hash", usersCacheService.getUser("race_user").orElseThrow().getPassword());
+		assertEquals(1, usersCacheService.getHitCount());
+	}
+	
+	private String login(String userId) throws Exception {
+		LoginRequest loginRequest = new LoginRequest();
+		loginRequest.setUserId(userId);
+		loginRequest.setPassword(TEST_PASSWORD);
+		
+		MvcResult result = performAsync(post("/users/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(loginRequest)))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString()).get("access_token").asText();
+	}
+	
+	@AfterAll
+	@Transactional
+	void cleanupTestData() {
+		log.info("사용자 캐시 테스트 데이터 정리: {}, {}", TEST_USERID, RENAMED_USERID);
+		usersRepository.deleteByUserId(TEST_USERID);
+		usersRepository.deleteByUserId(RENAMED_USERID);
+	}
+
+	// 비밀번호 해시가 포함된 API(회원 가입, 로그인, 내 정보 수정)는 CompletableFuture로 응답하므로 asyncDispatch로 결과 확인
+	private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+		return mockMvc.perform(asyncDispatch(mvcResult));
+	}
+}